@@ -99,7 +99,7 @@ public class SoundManager {
             }
 
             clip.start();
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
+        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException | IllegalArgumentException e) {
             e.printStackTrace();
         }
     }
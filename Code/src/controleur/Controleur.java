@@ -102,7 +102,7 @@ public class Controleur {
     public void caseCliquee(int x, int y) {
         if (jeuActuel == null) return;
 
-        Case c = Plateau.getCase(x, y);
+        Case c = jeuActuel.getPlateau().getCase(x, y);
         Coup coup = new Coup(c, c);
         jeuActuel.setCoup(coup);
     }
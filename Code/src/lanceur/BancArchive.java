@@ -0,0 +1,95 @@
+package lanceur;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import modele.archive.ArchiveParties;
+import modele.archive.EcrivainArchive;
+import modele.archive.PartieArchivee;
+import modele.jeu.EtatJeu;
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.JeuTicTacToe3D;
+import modele.jeu.MoveList;
+import modele.plateau.Plateau;
+
+/**
+ * Archives binaires de parties ({@link EcrivainArchive}, {@link ArchiveParties}).
+ * <p>
+ * Sans argument, fait jouer au hasard des parties des quatre jeux, les archive dans un fichier
+ * temporaire puis mesure l'écriture, la taille par partie et les accès directs à des parties tirées
+ * au hasard. Avec {@code <archive> <n>}, rejoue la partie n° n d'une archive et affiche sa position finale.
+ * </p>
+ * Usage : {@code BancArchive [nombreParties] | <archive> <n>}
+ */
+public class BancArchive {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2) {
+            try (ArchiveParties archive = new ArchiveParties(Paths.get(args[0]))) {
+                PartieArchivee partie = archive.lire(Integer.parseInt(args[1]));
+                Jeu jeu = partie.rejouer();
+                System.out.println(partie);
+                if (jeu instanceof JeuEchec echecs) System.out.println(echecs.getFen());
+            }
+            return;
+        }
+
+        int nombre = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        Path fichier = Files.createTempFile("banc", ".parties");
+        try {
+            Random hasard = new Random(1);
+            long debut = System.nanoTime();
+            try (EcrivainArchive ecrivain = new EcrivainArchive(fichier)) {
+                for (int i = 0; i < nombre; i++) {
+                    ecrivain.ajouter(jouerAuHasard(i % 4, hasard));
+                }
+            }
+            long duree = System.nanoTime() - debut;
+            afficher("Parties jouées et archivées", nombre, duree);
+            System.out.printf("Taille : %,d octets (%.1f octets/partie)%n",
+                    Files.size(fichier), Files.size(fichier) / (double) nombre);
+
+            try (ArchiveParties archive = new ArchiveParties(fichier)) {
+                MoveList coups = new MoveList();
+                long total = 0;
+                int acces = 1_000_000;
+                debut = System.nanoTime();
+                for (int i = 0; i < acces; i++) {
+                    total += archive.lireCoups(hasard.nextInt(archive.getNombreParties()), coups);
+                }
+                afficher("Accès directs (" + total + " coups lus)", acces, System.nanoTime() - debut);
+            }
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+    }
+
+    /** Joue une partie au hasard jusqu'à sa fin (au plus 200 coups aux échecs). */
+    private static Jeu jouerAuHasard(int famille, Random hasard) {
+        Jeu jeu = switch (famille) {
+            case 0 -> new JeuEchec(new Plateau(8, 8), false);
+            case 1 -> new JeuPuissance4(new Plateau(6, 7), false);
+            case 2 -> new JeuTicTacToe(new Plateau(3, 3), false);
+            default -> new JeuTicTacToe3D(new Plateau(4, 4, 4), false);
+        };
+        for (int n = 0; n < 200 && !jeu.estTermine(); n++) {
+            // État recréé à chaque coup : une sous-promotion y serait jouée en dame par la partie
+            EtatJeu etat = jeu.creerEtat();
+            int[] coups = new int[etat.getNombreMaxCoups()];
+            jeu.jouerPartie(jeu.versCoup(coups[hasard.nextInt(etat.coupsLegaux(coups))]));
+        }
+        return jeu;
+    }
+
+    private static void afficher(String libelle, long nombre, long dureeNanos) {
+        double secondes = dureeNanos / 1e9;
+        System.out.printf("%s : %,d en %.3f s (%,.0f/s)%n",
+                libelle, nombre, secondes, secondes > 0 ? nombre / secondes : 0.0);
+    }
+}
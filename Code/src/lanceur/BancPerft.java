@@ -0,0 +1,85 @@
+package lanceur;
+
+import java.util.Map;
+
+import modele.plateau.BitboardPosition;
+import modele.plateau.Perft;
+
+/**
+ * Banc d'essai du générateur de coups d'échecs.
+ * <p>
+ * Sans argument, rejoue toutes les positions de référence de {@link Perft} et affiche pour
+ * chacune le nombre de nœuds, le temps et le débit en nœuds par seconde.
+ * Avec arguments : {@code <profondeur> [divide] <fen...>} calcule le perft d'une position
+ * (et le détail par coup en mode divide).
+ * </p>
+ * Exemple : {@code mvn exec:java -Dexec.mainClass=lanceur.BancPerft -Dexec.args="4 divide 8/8/8/8/8/8/8/K6k w - - 0 1"}
+ */
+public class BancPerft {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.exit(lancerSuite() ? 0 : 1);
+        }
+
+        int profondeur = Integer.parseInt(args[0]);
+        boolean divide = args.length > 1 && args[1].equalsIgnoreCase("divide");
+        StringBuilder fen = new StringBuilder();
+        for (int i = divide ? 2 : 1; i < args.length; i++) {
+            fen.append(args[i]).append(' ');
+        }
+
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen(fen.length() == 0 ? Perft.REFERENCES[0].getFen() : fen.toString());
+        Perft perft = new Perft(position);
+
+        long debut = System.nanoTime();
+        long noeuds;
+        if (divide) {
+            noeuds = 0;
+            for (Map.Entry<String, Long> e : perft.diviser(profondeur).entrySet()) {
+                System.out.println(e.getKey() + ": " + e.getValue());
+                noeuds += e.getValue();
+            }
+            System.out.println();
+        } else {
+            noeuds = perft.compter(profondeur);
+        }
+        afficher("perft(" + profondeur + ")", noeuds, System.nanoTime() - debut);
+    }
+
+    /**
+     * Calcule toutes les positions de référence jusqu'à leur profondeur maximale.
+     * @return true si tous les comptes sont conformes
+     */
+    private static boolean lancerSuite() {
+        boolean ok = true;
+        long totalNoeuds = 0;
+        long totalTemps = 0;
+        for (Perft.Reference ref : Perft.REFERENCES) {
+            BitboardPosition position = new BitboardPosition();
+            position.chargerFen(ref.getFen());
+            Perft perft = new Perft(position);
+            int profondeur = ref.getProfondeurMax();
+
+            long debut = System.nanoTime();
+            long noeuds = perft.compter(profondeur);
+            long duree = System.nanoTime() - debut;
+
+            boolean conforme = noeuds == ref.getNoeuds(profondeur);
+            ok &= conforme;
+            totalNoeuds += noeuds;
+            totalTemps += duree;
+            afficher(String.format("%-11s perft(%d) %s", ref.getNom(), profondeur,
+                    conforme ? "OK    " : "ÉCHEC (attendu " + ref.getNoeuds(profondeur) + ")"), noeuds, duree);
+        }
+        afficher("Total", totalNoeuds, totalTemps);
+        return ok;
+    }
+
+    private static void afficher(String libelle, long noeuds, long dureeNanos) {
+        double secondes = dureeNanos / 1e9;
+        System.out.printf("%s : %,d nœuds en %.3f s (%,.0f nœuds/s)%n",
+                libelle, noeuds, secondes, secondes > 0 ? noeuds / secondes : 0.0);
+    }
+}
@@ -0,0 +1,82 @@
+package lanceur;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import modele.jeu.MoveList;
+import modele.pgn.EcrivainPgn;
+import modele.pgn.LecteurPgn;
+import modele.pgn.PartiePgn;
+import modele.pgn.ResultatLecturePgn;
+import modele.plateau.BitboardPosition;
+
+/**
+ * Débit d'import PGN : lit un fichier avec 1 puis N threads et affiche les parties par seconde.
+ * <p>
+ * Sans fichier, écrit d'abord dans un fichier temporaire des parties aléatoires (coups légaux
+ * tirés au hasard, au plus 200 demi-coups) par l'{@link EcrivainPgn}.
+ * </p>
+ * Usage : {@code BancPgn [fichier.pgn | nombreParties] [threads]}
+ */
+public class BancPgn {
+
+    public static void main(String[] args) throws IOException {
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path fichier;
+        boolean temporaire = args.length == 0 || args[0].chars().allMatch(Character::isDigit);
+        if (temporaire) {
+            int parties = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+            fichier = Files.createTempFile("banc", ".pgn");
+            long debut = System.nanoTime();
+            generer(fichier, parties);
+            afficher("Écriture", parties, 0, System.nanoTime() - debut);
+        } else {
+            fichier = Paths.get(args[0]);
+        }
+        try {
+            for (int n : threads > 1 ? new int[]{1, threads} : new int[]{1}) {
+                ResultatLecturePgn r = LecteurPgn.lireFichier(fichier, n, p -> { });
+                afficher("Lecture " + n + " thread(s), " + r.getMorceaux() + " morceau(x)",
+                        r.getParties(), r.getErreurs(), r.getDureeMs() * 1_000_000);
+            }
+        } finally {
+            if (temporaire) Files.deleteIfExists(fichier);
+        }
+    }
+
+    private static void generer(Path fichier, int nombre) throws IOException {
+        Random hasard = new Random(1);
+        BitboardPosition position = new BitboardPosition();
+        MoveList coups = new MoveList();
+        try (EcrivainPgn ecrivain = new EcrivainPgn(Files.newBufferedWriter(fichier, StandardCharsets.UTF_8))) {
+            for (int i = 0; i < nombre; i++) {
+                PartiePgn partie = new PartiePgn();
+                partie.setBalise("Event", "Banc PGN");
+                partie.setBalise("Round", String.valueOf(i + 1));
+                position.chargerFen(BitboardPosition.FEN_INITIALE);
+                for (int demiCoup = 0; demiCoup < 200; demiCoup++) {
+                    position.genererCoupsLegaux(coups);
+                    if (coups.estVide()) {
+                        partie.setResultat(!position.estEnEchec(position.getTrait()) ? "1/2-1/2"
+                                : position.getTrait() == BitboardPosition.BLANC ? "0-1" : "1-0");
+                        break;
+                    }
+                    int m = coups.get(hasard.nextInt(coups.taille()));
+                    position.makeMove(m);
+                    partie.getCoups().ajouter(m);
+                }
+                ecrivain.ecrire(partie);
+            }
+        }
+    }
+
+    private static void afficher(String libelle, long parties, long erreurs, long dureeNanos) {
+        double secondes = dureeNanos / 1e9;
+        System.out.printf("%s : %,d parties (%,d rejetées) en %.3f s (%,.0f parties/s)%n",
+                libelle, parties, erreurs, secondes, secondes > 0 ? parties / secondes : 0.0);
+    }
+}
@@ -0,0 +1,37 @@
+package lanceur;
+
+import modele.ia.puissance4.SolveurPuissance4;
+import modele.plateau.BitboardPuissance4;
+
+/**
+ * Résolution de positions de Puissance 4 par le {@link SolveurPuissance4}.
+ * <p>
+ * Chaque argument est une position donnée par la suite des colonnes jouées, numérotées à partir
+ * de 1 (« - » pour la position initiale). Affiche le score exact, le nombre de positions
+ * explorées, la durée et le débit.
+ * </p>
+ * Usage : {@code BancPuissance4 [faible] <suite>...}
+ */
+public class BancPuissance4 {
+
+    public static void main(String[] args) {
+        boolean faible = args.length > 0 && args[0].equals("faible");
+        SolveurPuissance4 solveur = new SolveurPuissance4();
+        for (int i = faible ? 1 : 0; i < args.length; i++) {
+            String suite = args[i].equals("-") ? "" : args[i];
+            BitboardPuissance4 position = new BitboardPuissance4();
+            if (position.jouer(suite) != suite.length()) {
+                System.out.println(suite + " : suite invalide");
+                continue;
+            }
+            solveur.vider();
+            long noeudsAvant = solveur.getNoeuds();
+            long debut = System.nanoTime();
+            int score = solveur.resoudre(position, faible);
+            long dureeNs = System.nanoTime() - debut;
+            long noeuds = solveur.getNoeuds() - noeudsAvant;
+            System.out.printf("%-42s score %3d  %,14d positions  %8.1f ms  %,12.0f positions/s%n",
+                    args[i], score, noeuds, dureeNs / 1e6, noeuds * 1e9 / Math.max(1, dureeNs));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package lanceur;
+
+import modele.ia.echec.ConfigurationMoteur;
+import modele.ia.echec.RechercheParallele;
+import modele.ia.echec.ResultatRecherche;
+import modele.ia.echec.TableTransposition;
+import modele.plateau.BitboardPosition;
+import modele.plateau.Perft;
+
+/**
+ * Mesure du passage à l'échelle de la recherche parallèle (Lazy SMP).
+ * <p>
+ * Pour 1, 2, 4... threads (jusqu'au nombre configuré par {@link ConfigurationMoteur}), lance une
+ * recherche à temps fixe sur chaque position de référence de {@link Perft} et affiche le débit
+ * total en nœuds par seconde, le gain par rapport à un thread et la profondeur atteinte.
+ * </p>
+ * Usage : {@code BancRecherche [tempsMs] [threadsMax]}
+ */
+public class BancRecherche {
+
+    public static void main(String[] args) {
+        long tempsMs = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        int threadsMax = args.length > 1 ? Integer.parseInt(args[1]) : ConfigurationMoteur.getNombreThreads();
+
+        long npsReference = 0;
+        for (int threads = 1; threads <= threadsMax; threads = threads < threadsMax ? Math.min(threads * 2, threadsMax) : threads + 1) {
+            long noeuds = 0;
+            long dureeMs = 0;
+            int profondeurs = 0;
+            for (Perft.Reference ref : Perft.REFERENCES) {
+                BitboardPosition position = new BitboardPosition();
+                position.chargerFen(ref.getFen());
+                RechercheParallele recherche = new RechercheParallele(
+                        new TableTransposition(ConfigurationMoteur.getTailleTableMo()), threads);
+                ResultatRecherche r = recherche.chercher(position, Integer.MAX_VALUE, tempsMs);
+                recherche.fermer();
+                noeuds += r.getNoeuds();
+                dureeMs += r.getDureeMs();
+                profondeurs += r.getProfondeur();
+            }
+            long nps = dureeMs > 0 ? noeuds * 1000 / dureeMs : 0;
+            if (threads == 1) npsReference = nps;
+            System.out.printf("%3d thread(s) : %,14d nœuds/s  x%.2f  profondeur moyenne %.1f%n",
+                    threads, nps, npsReference > 0 ? (double) nps / npsReference : 0.0,
+                    (double) profondeurs / Perft.REFERENCES.length);
+        }
+    }
+}
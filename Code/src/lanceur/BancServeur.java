@@ -0,0 +1,75 @@
+package lanceur;
+
+import serveur.ServeurJeux;
+import serveur.ServeurSocket;
+import serveur.TypeJeu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Charge un {@link ServeurJeux} avec de nombreuses parties simultanées.
+ * <p>
+ * Ouvre {@code sessions} parties de Puissance 4, puis joue {@code tours} coups aléatoires dans
+ * chacune (toutes les sessions à la fois) ; une partie terminée est remplacée par une nouvelle.
+ * Affiche la mémoire occupée par session, le débit en coups/s, les sessions par cœur et les
+ * centiles de latence d'un coup.
+ * </p>
+ * Usage : {@code BancServeur [sessions] [tours]}, ou {@code BancServeur ecoute [port]} pour
+ * seulement démarrer le serveur et son protocole texte local (voir {@link ServeurSocket}).
+ */
+public class BancServeur {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("ecoute")) {
+            ecouter(args.length > 1 ? Integer.parseInt(args[1]) : 7777);
+            return;
+        }
+        int nombreSessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int tours = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        try (ServeurJeux serveur = new ServeurJeux()) {
+            Runtime rt = Runtime.getRuntime();
+            System.gc();
+            long memoireAvant = rt.totalMemory() - rt.freeMemory();
+            long debut = System.nanoTime();
+            List<String> ids = new ArrayList<>(nombreSessions);
+            for (int i = 0; i < nombreSessions; i++) ids.add(serveur.creer(TypeJeu.PUISSANCE4));
+            long creationMs = (System.nanoTime() - debut) / 1_000_000;
+            System.gc();
+            long memoireApres = rt.totalMemory() - rt.freeMemory();
+            System.out.printf("%,d sessions créées en %d ms, ~%,d octets par session, %d threads actifs%n",
+                    nombreSessions, creationMs, (memoireApres - memoireAvant) / nombreSessions, Thread.activeCount());
+
+            Random aleatoire = new Random(1);
+            debut = System.nanoTime();
+            long coups = 0;
+            for (int t = 0; t < tours; t++) {
+                List<CompletableFuture<Boolean>> enCours = new ArrayList<>(nombreSessions);
+                for (String id : ids) enCours.add(serveur.jouer(id, Integer.toString(aleatoire.nextInt(7))));
+                for (int i = 0; i < enCours.size(); i++) {
+                    try {
+                        if (enCours.get(i).join()) coups++;
+                    } catch (RuntimeException e) {
+                        // Partie terminée : on la remplace
+                        serveur.fermer(ids.get(i));
+                        ids.set(i, serveur.creer(TypeJeu.PUISSANCE4));
+                    }
+                }
+            }
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            System.out.printf("%,d coups en %.2f s : %,.0f coups/s%n", coups, secondes, coups / secondes);
+            System.out.println(serveur.getStatistiques());
+        }
+    }
+
+    private static void ecouter(int port) throws Exception {
+        ServeurJeux serveur = new ServeurJeux();
+        try (ServeurSocket socket = new ServeurSocket(serveur, port)) {
+            System.out.println("Serveur de parties à l'écoute sur 127.0.0.1:" + socket.getPort());
+            Thread.currentThread().join();
+        }
+    }
+}
@@ -4,11 +4,15 @@ import java.util.Scanner;
 
 import javax.swing.SwingUtilities;
 
+import modele.ia.mcts.JoueurMCTS;
+import modele.ia.puissance4.JoueurPuissance4Parfait;
+import modele.ia.tictactoe.JoueurTicTacToeParfait;
 import modele.jeu.Jeu;
 import modele.jeu.JeuEchec;
 import modele.jeu.JeuPuissance4;
 import modele.jeu.JeuTicTacToe;
 import modele.jeu.JeuTicTacToe3D;
+import modele.jeu.Joueur;
 import modele.plateau.Plateau;
 import vue.VueConsole;
 import vue.VueTicTacToe3DConsole;
@@ -37,6 +41,11 @@ public class Main {
         System.out.println("  2. Puissance4");
         System.out.println("  3. TicTacToe 3D");
         System.out.println("  4. Échecs");
+        System.out.println("  5. Puissance4 contre l'ordinateur parfait");
+        System.out.println("  6. Gomoku / morpion m,n,k");
+        System.out.println("  7. TicTacToe contre l'ordinateur parfait");
+        System.out.println("  8. Qubic (TicTacToe 3D 4x4x4)");
+        System.out.println("  9. Contre l'ordinateur MCTS (tous les jeux)");
         System.out.println("------------------------------------------");
         System.out.print("Choix : ");
         
@@ -56,6 +65,23 @@ public class Main {
             case "4":
                 Plateau plateauEchec = new Plateau(8, 8);
                 return new JeuEchec(plateauEchec);
+            case "5":
+                // L'ordinateur joue les Noirs avec le solveur exact
+                JeuPuissance4 jeuContreOrdinateur = new JeuPuissance4(new Plateau(6, 7));
+                jeuContreOrdinateur.setJoueur(new JoueurPuissance4Parfait(Joueur.Couleur.NOIR));
+                return jeuContreOrdinateur;
+            case "6":
+                return choisirJeuMNK(scanner);
+            case "7":
+                // L'ordinateur joue les Noirs en lisant la base de positions résolues
+                JeuTicTacToe morpionContreOrdinateur = new JeuTicTacToe(new Plateau(3, 3));
+                morpionContreOrdinateur.setJoueur(new JoueurTicTacToeParfait(Joueur.Couleur.NOIR));
+                return morpionContreOrdinateur;
+            case "8":
+                // Qubic : 4 grilles 4x4, 4 pions à aligner
+                return new JeuTicTacToe3D(new Plateau(4, 4, 4));
+            case "9":
+                return choisirJeuContreMCTS(scanner);
             default:
                 System.err.println("Choix de jeu invalide.");
                 return null; // Retourne null si le choix est mauvais
@@ -63,6 +89,60 @@ public class Main {
     }
 
 
+    /**
+     * Demande les paramètres d'une partie m,n,k (Gomoku 15x15 à 5 alignés par défaut).
+     * @param scanner Le Scanner pour lire l'entrée utilisateur.
+     * @return la partie, ou null si les paramètres sont invalides.
+     */
+    private static Jeu choisirJeuMNK(Scanner scanner) {
+        System.out.print("Lignes, colonnes et nombre à aligner (ex. 19 19 5, Entrée pour 15 15 5) : ");
+        String saisie = scanner.nextLine().trim();
+        int lignes = 15, colonnes = 15, k = JeuTicTacToe.LONGUEUR_GOMOKU;
+        try {
+            if (!saisie.isEmpty()) {
+                String[] champs = saisie.split("\\s+");
+                lignes = Integer.parseInt(champs[0]);
+                colonnes = Integer.parseInt(champs[1]);
+                k = Integer.parseInt(champs[2]);
+            }
+            return new JeuTicTacToe(new Plateau(lignes, colonnes), k, true);
+        } catch (RuntimeException e) {
+            System.err.println("Paramètres invalides : " + saisie);
+            return null;
+        }
+    }
+
+
+    /**
+     * Demande le jeu à jouer contre la recherche Monte-Carlo, qui prend les Noirs.
+     * @param scanner Le Scanner pour lire l'entrée utilisateur.
+     * @return la partie, ou null si le choix est invalide.
+     */
+    private static Jeu choisirJeuContreMCTS(Scanner scanner) {
+        System.out.print("Jeu (1. TicTacToe, 2. Puissance4, 3. TicTacToe 3D, 4. Échecs) : ");
+        Jeu jeu;
+        switch (scanner.nextLine().trim()) {
+            case "1":
+                jeu = new JeuTicTacToe(new Plateau(3, 3));
+                break;
+            case "2":
+                jeu = new JeuPuissance4(new Plateau(6, 7));
+                break;
+            case "3":
+                jeu = new JeuTicTacToe3D(new Plateau(3, 3, 3));
+                break;
+            case "4":
+                jeu = new JeuEchec(new Plateau(8, 8));
+                break;
+            default:
+                System.err.println("Choix de jeu invalide.");
+                return null;
+        }
+        jeu.setJoueur(new JoueurMCTS(Joueur.Couleur.NOIR));
+        return jeu;
+    }
+
+
     public static void main(String[] args) {
         
         // Un Scanner temporaire pour le choix initial du mode..
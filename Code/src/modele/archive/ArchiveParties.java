@@ -0,0 +1,140 @@
+package modele.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import modele.jeu.MoveList;
+
+/**
+ * Lecture d'une archive écrite par {@link EcrivainArchive}, projetée en mémoire
+ * ({@link MappedByteBuffer}).
+ * <p>
+ * L'accès à la partie n° {@code i} ne lit que son entrée d'index puis son enregistrement : aucun
+ * enregistrement précédent n'est parcouru. Les lectures se font par positions absolues dans la
+ * projection, si bien qu'une même archive peut être lue par plusieurs threads. La projection est
+ * limitée à 2 Go, la taille maximale d'un {@link MappedByteBuffer}.
+ * </p>
+ */
+public class ArchiveParties implements Closeable {
+
+    private final FileChannel canal;
+    private final MappedByteBuffer octets;
+    private final long index;
+    private final int nombre;
+
+    /**
+     * Ouvre une archive fermée proprement.
+     * @param fichier chemin de l'archive
+     * @throws IOException si le fichier n'est pas une archive complète
+     */
+    public ArchiveParties(Path fichier) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        try {
+            long taille = canal.size();
+            if (taille > Integer.MAX_VALUE) throw new IOException("Archive de plus de 2 Go : " + fichier);
+            if (taille < EcrivainArchive.TAILLE_EN_TETE + EcrivainArchive.TAILLE_PIED) {
+                throw new IOException("Archive tronquée : " + fichier);
+            }
+            octets = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+            int pied = (int) taille - EcrivainArchive.TAILLE_PIED;
+            if (octets.getInt(0) != EcrivainArchive.MAGIE || octets.getInt(pied + 12) != EcrivainArchive.MAGIE) {
+                throw new IOException("Archive non fermée ou fichier étranger : " + fichier);
+            }
+            if (octets.getInt(4) != EcrivainArchive.VERSION) {
+                throw new IOException("Version d'archive inconnue : " + octets.getInt(4));
+            }
+            index = octets.getLong(pied);
+            nombre = octets.getInt(pied + 8);
+            if (index + (long) nombre * Long.BYTES != pied) throw new IOException("Index d'archive incohérent : " + fichier);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /** @return nombre de parties de l'archive */
+    public int getNombreParties() {
+        return nombre;
+    }
+
+    /**
+     * Lit une partie complète.
+     * @param i numéro de la partie, entre 0 et {@link #getNombreParties()} - 1
+     * @return la partie enregistrée
+     */
+    public PartieArchivee lire(int i) {
+        int p = debut(i);
+        FamilleJeu famille = FamilleJeu.values()[octets.get(p)];
+        int lignes = octets.get(p + 1) & 0xFF;
+        int colonnes = octets.get(p + 2) & 0xFF;
+        int couches = octets.get(p + 3) & 0xFF;
+        int alignement = octets.get(p + 4) & 0xFF;
+        PartieArchivee.Resultat resultat = PartieArchivee.Resultat.values()[octets.get(p + 5)];
+        int[] curseur = {p + 6};
+        int longueurFen = lireVarint(curseur);
+        String fen = null;
+        if (longueurFen > 0) {
+            byte[] texte = new byte[longueurFen];
+            for (int k = 0; k < longueurFen; k++) texte[k] = octets.get(curseur[0] + k);
+            fen = new String(texte, StandardCharsets.UTF_8);
+            curseur[0] += longueurFen;
+        }
+        int[] coups = new int[lireVarint(curseur)];
+        for (int k = 0; k < coups.length; k++) coups[k] = lireVarint(curseur);
+        return new PartieArchivee(famille, lignes, colonnes, couches, alignement, resultat, fen, coups);
+    }
+
+    /** @return famille de la partie n° {@code i}, sans lire ses coups */
+    public FamilleJeu getFamille(int i) {
+        return FamilleJeu.values()[octets.get(debut(i))];
+    }
+
+    /** @return résultat de la partie n° {@code i}, sans lire ses coups */
+    public PartieArchivee.Resultat getResultat(int i) {
+        return PartieArchivee.Resultat.values()[octets.get(debut(i) + 5)];
+    }
+
+    /**
+     * Lit les seuls coups d'une partie dans une liste réutilisable, sans objet par coup.
+     * @param i numéro de la partie
+     * @param destination liste vidée puis remplie des coups
+     * @return nombre de coups
+     */
+    public int lireCoups(int i, MoveList destination) {
+        int[] curseur = {debut(i) + 6};
+        int longueurFen = lireVarint(curseur);
+        curseur[0] += longueurFen;
+        int n = lireVarint(curseur);
+        destination.vider();
+        for (int k = 0; k < n; k++) destination.ajouter(lireVarint(curseur));
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private int debut(int i) {
+        if (i < 0 || i >= nombre) throw new IndexOutOfBoundsException("Partie " + i + " sur " + nombre);
+        return (int) octets.getLong((int) index + i * Long.BYTES);
+    }
+
+    /** Lit un varint à la position {@code curseur[0]} et avance le curseur. */
+    private int lireVarint(int[] curseur) {
+        int p = curseur[0];
+        int v = 0;
+        for (int decalage = 0; ; decalage += 7) {
+            byte b = octets.get(p++);
+            v |= (b & 0x7F) << decalage;
+            if (b >= 0) break;
+        }
+        curseur[0] = p;
+        return v;
+    }
+}
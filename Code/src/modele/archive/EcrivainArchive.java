@@ -0,0 +1,148 @@
+package modele.archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import modele.jeu.Jeu;
+
+/**
+ * Écriture d'une archive de parties au format binaire lu par {@link ArchiveParties}.
+ * <p>
+ * Format (entiers en gros-boutiste) :
+ * <ul>
+ * <li>en-tête : {@link #MAGIE} puis {@link #VERSION} (2 × 4 octets) ;</li>
+ * <li>un enregistrement par partie : famille ({@link FamilleJeu}), lignes, colonnes, couches,
+ * alignement et résultat ({@link PartieArchivee.Resultat}) sur un octet chacun, longueur puis
+ * octets UTF-8 de la FEN de départ (longueur 0 : position initiale), nombre de coups puis coups,
+ * tous ces entiers en varint (7 bits par octet, bit de poids fort à 1 s'il en suit un autre) ;</li>
+ * <li>l'index : la position de chaque enregistrement (8 octets par partie) ;</li>
+ * <li>le pied : position de l'index (8 octets), nombre de parties et {@link #MAGIE} (4 octets chacun).</li>
+ * </ul>
+ * Un coup de Puissance 4 ou de TicTacToe 3x3 tient sur un octet, un coup d'échecs sur deux
+ * (trois pour une promotion).
+ * </p>
+ * <p>
+ * Les enregistrements sont ajoutés au fil de l'eau dans un tampon de 64 Ko ; seules les positions
+ * de l'index restent en mémoire jusqu'à {@link #close()}, qui écrit l'index et le pied. Une archive
+ * non fermée est illisible. Les ajouts sont synchronisés : plusieurs parties (sessions d'un
+ * serveur, parties d'auto-apprentissage) peuvent écrire dans la même archive.
+ * </p>
+ */
+public class EcrivainArchive implements Closeable {
+
+    /** « PART » en ASCII. */
+    public static final int MAGIE = 0x50415254;
+    public static final int VERSION = 1;
+    static final int TAILLE_EN_TETE = 8;
+    static final int TAILLE_PIED = 16;
+
+    private final FileChannel canal;
+    private final ByteBuffer tampon = ByteBuffer.allocate(1 << 16);
+    private long[] positions = new long[1024];
+    private int nombre;
+    private long position;
+    private boolean ferme;
+
+    /**
+     * Crée (ou remplace) une archive.
+     * @param fichier chemin de l'archive
+     */
+    public EcrivainArchive(Path fichier) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        tampon.putInt(MAGIE).putInt(VERSION);
+        position = TAILLE_EN_TETE;
+    }
+
+    /**
+     * Enregistre l'état courant d'une partie.
+     * @param jeu partie d'un des quatre jeux
+     * @return numéro de la partie dans l'archive
+     */
+    public int ajouter(Jeu jeu) throws IOException {
+        return ajouter(PartieArchivee.depuis(jeu));
+    }
+
+    /**
+     * Enregistre une partie.
+     * @param partie partie à ajouter
+     * @return numéro de la partie dans l'archive
+     */
+    public synchronized int ajouter(PartieArchivee partie) throws IOException {
+        if (ferme) throw new IOException("Archive fermée");
+        byte[] fen = partie.getFenDepart() == null ? new byte[0]
+                : partie.getFenDepart().getBytes(StandardCharsets.UTF_8);
+        int[] coups = partie.getCoups();
+        // Taille maximale : 6 octets fixes, 5 par varint
+        int taille = 6 + 5 + fen.length + 5 + 5 * coups.length;
+        if (tampon.remaining() < taille) vider();
+        ByteBuffer b = tampon.remaining() >= taille ? tampon : ByteBuffer.allocate(taille);
+
+        int debut = b.position();
+        b.put((byte) partie.getFamille().ordinal())
+                .put((byte) partie.getLignes())
+                .put((byte) partie.getColonnes())
+                .put((byte) partie.getCouches())
+                .put((byte) partie.getAlignement())
+                .put((byte) partie.getResultat().ordinal());
+        ecrireVarint(b, fen.length);
+        b.put(fen);
+        ecrireVarint(b, coups.length);
+        for (int c : coups) ecrireVarint(b, c);
+
+        if (nombre == positions.length) positions = Arrays.copyOf(positions, nombre * 2);
+        positions[nombre] = position;
+        position += b.position() - debut;
+        if (b != tampon) {
+            b.flip();
+            while (b.hasRemaining()) canal.write(b);
+        }
+        return nombre++;
+    }
+
+    /** @return nombre de parties ajoutées */
+    public synchronized int getNombreParties() {
+        return nombre;
+    }
+
+    /**
+     * Écrit l'index et le pied, puis ferme le fichier.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (ferme) return;
+        ferme = true;
+        try {
+            long index = position;
+            for (int i = 0; i < nombre; i++) {
+                if (tampon.remaining() < Long.BYTES) vider();
+                tampon.putLong(positions[i]);
+            }
+            if (tampon.remaining() < TAILLE_PIED) vider();
+            tampon.putLong(index).putInt(nombre).putInt(MAGIE);
+            vider();
+        } finally {
+            canal.close();
+        }
+    }
+
+    private void vider() throws IOException {
+        tampon.flip();
+        while (tampon.hasRemaining()) canal.write(tampon);
+        tampon.clear();
+    }
+
+    static void ecrireVarint(ByteBuffer b, int v) {
+        while ((v & ~0x7F) != 0) {
+            b.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        b.put((byte) v);
+    }
+}
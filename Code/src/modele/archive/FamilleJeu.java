@@ -0,0 +1,74 @@
+package modele.archive;
+
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.JeuTicTacToe3D;
+import modele.plateau.Plateau;
+
+/**
+ * Les quatre jeux enregistrables dans une archive de parties. Le rang de chaque constante est
+ * écrit tel quel dans les enregistrements : l'ordre ne doit plus changer.
+ */
+public enum FamilleJeu {
+
+    ECHECS {
+        @Override
+        Jeu creerPartie(int lignes, int colonnes, int couches, int alignement) {
+            return new JeuEchec(new Plateau(lignes, colonnes), false);
+        }
+    },
+
+    PUISSANCE4 {
+        @Override
+        Jeu creerPartie(int lignes, int colonnes, int couches, int alignement) {
+            return new JeuPuissance4(new Plateau(lignes, colonnes), false);
+        }
+    },
+
+    /** TicTacToe m,n,k, Gomoku compris. */
+    TICTACTOE {
+        @Override
+        Jeu creerPartie(int lignes, int colonnes, int couches, int alignement) {
+            return new JeuTicTacToe(new Plateau(lignes, colonnes), alignement, false);
+        }
+    },
+
+    /** TicTacToe 3D et Qubic. */
+    TICTACTOE3D {
+        @Override
+        Jeu creerPartie(int lignes, int colonnes, int couches, int alignement) {
+            return new JeuTicTacToe3D(new Plateau(lignes, colonnes, couches), false);
+        }
+    };
+
+    /**
+     * Crée une partie hébergée (sans thread dédié) aux dimensions données, position initiale.
+     */
+    abstract Jeu creerPartie(int lignes, int colonnes, int couches, int alignement);
+
+    /**
+     * @param jeu partie à enregistrer
+     * @return la famille de la partie
+     * @throws IllegalArgumentException pour un jeu inconnu
+     */
+    public static FamilleJeu de(Jeu jeu) {
+        if (jeu instanceof JeuEchec) return ECHECS;
+        if (jeu instanceof JeuPuissance4) return PUISSANCE4;
+        if (jeu instanceof JeuTicTacToe) return TICTACTOE;
+        if (jeu instanceof JeuTicTacToe3D) return TICTACTOE3D;
+        throw new IllegalArgumentException("Jeu non enregistrable : " + jeu.getClass().getSimpleName());
+    }
+
+    /**
+     * @param jeu partie de cette famille
+     * @return nombre de pions à aligner pour gagner, 0 aux échecs
+     */
+    static int alignement(Jeu jeu) {
+        if (jeu instanceof JeuTicTacToe ttt) return ttt.getLongueurAlignement();
+        if (jeu instanceof JeuTicTacToe3D cube) return cube.getTaille();
+        if (jeu instanceof JeuPuissance4) return 4;
+        return 0;
+    }
+}
@@ -0,0 +1,137 @@
+package modele.archive;
+
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+import modele.plateau.Plateau;
+
+/**
+ * Partie enregistrée dans une archive : jeu, dimensions du plateau, position de départ (échecs),
+ * coups et résultat.
+ * <p>
+ * Les coups sont dans le codage de {@link Jeu#versCoup(int)} : colonne au Puissance 4, case
+ * {@code x * n + y} au TicTacToe, {@code (x * N + y) * N + z} en 3D. Aux échecs, seuls la case de
+ * départ, la case d'arrivée et la promotion d'un coup ({@link modele.jeu.Move}) sont conservés :
+ * les drapeaux se déduisent de la position ({@link BitboardPosition#creerMove(int, int)}).
+ * </p>
+ */
+public class PartieArchivee {
+
+    /** Masque des champs départ, arrivée et promotion d'un coup d'échecs. */
+    static final int MASQUE_ECHECS = 0x7FFF;
+
+    /** Issue d'une partie. Le rang de chaque constante est écrit dans les enregistrements. */
+    public enum Resultat {
+        EN_COURS, VICTOIRE_BLANCS, VICTOIRE_NOIRS, NULLE
+    }
+
+    private final FamilleJeu famille;
+    private final int lignes;
+    private final int colonnes;
+    private final int couches;
+    private final int alignement;
+    private final Resultat resultat;
+    private final String fenDepart;
+    private final int[] coups;
+
+    /**
+     * @param fenDepart position de départ d'une partie d'échecs, ou null pour la position initiale
+     */
+    public PartieArchivee(FamilleJeu famille, int lignes, int colonnes, int couches, int alignement,
+                          Resultat resultat, String fenDepart, int[] coups) {
+        this.famille = famille;
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.couches = couches;
+        this.alignement = alignement;
+        this.resultat = resultat;
+        this.fenDepart = fenDepart;
+        this.coups = coups;
+    }
+
+    /**
+     * Photographie une partie (terminée ou non) pour l'enregistrer.
+     * @param jeu partie d'un des quatre jeux
+     * @return l'enregistrement de ses coups joués et de son résultat
+     */
+    public static PartieArchivee depuis(Jeu jeu) {
+        FamilleJeu famille = FamilleJeu.de(jeu);
+        Plateau plateau = jeu.getPlateau();
+        MoveList liste = new MoveList(Math.max(1, jeu.getNombreCoupsJoues()));
+        jeu.getCoupsJoues(liste);
+        int[] coups = new int[liste.taille()];
+        for (int i = 0; i < coups.length; i++) {
+            coups[i] = famille == FamilleJeu.ECHECS ? liste.get(i) & MASQUE_ECHECS : liste.get(i);
+        }
+        Resultat resultat = Resultat.EN_COURS;
+        if (jeu.estTermine()) {
+            if (jeu.getGagnant() == null) resultat = Resultat.NULLE;
+            else resultat = jeu.getGagnant() == jeu.getJoueurBlanc() ? Resultat.VICTOIRE_BLANCS : Resultat.VICTOIRE_NOIRS;
+        }
+        String fen = null;
+        if (jeu instanceof JeuEchec echecs && !echecs.getFenDepart().equals(BitboardPosition.FEN_INITIALE)) {
+            fen = echecs.getFenDepart();
+        }
+        return new PartieArchivee(famille, plateau.getSizeX(), plateau.getSizeY(), plateau.getSizeZ(),
+                FamilleJeu.alignement(jeu), resultat, fen, coups);
+    }
+
+    /**
+     * Recrée la partie et y rejoue tous les coups.
+     * @return une partie hébergée (sans thread dédié) dans l'état final enregistré
+     * @throws IllegalStateException si un coup enregistré est refusé par les règles
+     */
+    public Jeu rejouer() {
+        Jeu jeu = famille.creerPartie(lignes, colonnes, couches, alignement);
+        if (fenDepart != null) ((JeuEchec) jeu).chargerFen(fenDepart);
+        for (int i = 0; i < coups.length; i++) {
+            if (!jeu.jouerPartie(jeu.versCoup(coups[i]))) {
+                throw new IllegalStateException("Coup " + (i + 1) + " refusé : " + coups[i]);
+            }
+        }
+        return jeu;
+    }
+
+    public FamilleJeu getFamille() {
+        return famille;
+    }
+
+    public int getLignes() {
+        return lignes;
+    }
+
+    public int getColonnes() {
+        return colonnes;
+    }
+
+    /** @return nombre de couches (1 pour un plateau 2D) */
+    public int getCouches() {
+        return couches;
+    }
+
+    /** @return nombre de pions à aligner pour gagner, 0 aux échecs */
+    public int getAlignement() {
+        return alignement;
+    }
+
+    public Resultat getResultat() {
+        return resultat;
+    }
+
+    /** @return FEN de départ d'une partie d'échecs, ou null pour la position initiale */
+    public String getFenDepart() {
+        return fenDepart;
+    }
+
+    /** @return coups joués, dans l'ordre (tableau interne, à ne pas modifier) */
+    public int[] getCoups() {
+        return coups;
+    }
+
+    @Override
+    public String toString() {
+        return famille + " " + lignes + "x" + colonnes + (couches > 1 ? "x" + couches : "")
+                + " " + resultat + " (" + coups.length + " coups)";
+    }
+}
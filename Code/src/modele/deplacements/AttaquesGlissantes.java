@@ -0,0 +1,172 @@
+package modele.deplacements;
+
+/**
+ * Tables d'attaque précalculées des pièces glissantes (tour, fou, reine) par « magic bitboards ».
+ * <p>
+ * Pour chaque case, l'occupation utile (les cases situées sur les rayons de la pièce, bords exclus)
+ * est multipliée par un nombre magique puis décalée pour obtenir un indice dans une table
+ * contenant directement le bitboard des cases attaquées. Le calcul d'un ensemble de destinations
+ * se réduit ainsi à un masque, une multiplication et une lecture de tableau, sans aucune
+ * allocation ni parcours case par case.
+ * </p>
+ * <p>
+ * Les nombres magiques sont recherchés une seule fois au chargement de la classe à partir d'un
+ * générateur pseudo-aléatoire à graine fixe, ce qui rend les tables déterministes.
+ * Les cases sont numérotées comme dans {@link modele.plateau.BitboardPosition} (ligne * 8 + colonne).
+ * </p>
+ */
+public final class AttaquesGlissantes {
+
+    private static final int[][] DIRECTIONS_TOUR = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+    private static final int[][] DIRECTIONS_FOU = {{-1, 1}, {-1, -1}, {1, 1}, {1, -1}};
+
+    private static final long[] MASQUE_TOUR = new long[64];
+    private static final long[] MAGIE_TOUR = new long[64];
+    private static final int[] DECALAGE_TOUR = new int[64];
+    private static final int[] DEBUT_TOUR = new int[64];
+    private static final long[] TABLE_TOUR;
+
+    private static final long[] MASQUE_FOU = new long[64];
+    private static final long[] MAGIE_FOU = new long[64];
+    private static final int[] DECALAGE_FOU = new int[64];
+    private static final int[] DEBUT_FOU = new int[64];
+    private static final long[] TABLE_FOU;
+
+    /** État du générateur xorshift utilisé pour la recherche des nombres magiques. */
+    private static long graine = 0x9E3779B97F4A7C15L;
+
+    static {
+        TABLE_TOUR = construire(DIRECTIONS_TOUR, MASQUE_TOUR, MAGIE_TOUR, DECALAGE_TOUR, DEBUT_TOUR);
+        TABLE_FOU = construire(DIRECTIONS_FOU, MASQUE_FOU, MAGIE_FOU, DECALAGE_FOU, DEBUT_FOU);
+    }
+
+    private AttaquesGlissantes() {
+    }
+
+    /**
+     * Cases attaquées par une tour, la première pièce rencontrée dans chaque direction incluse.
+     * @param sq case de la tour
+     * @param occupees occupation du plateau
+     * @return bitboard des cases attaquées
+     */
+    public static long tour(int sq, long occupees) {
+        int i = (int) (((occupees & MASQUE_TOUR[sq]) * MAGIE_TOUR[sq]) >>> DECALAGE_TOUR[sq]);
+        return TABLE_TOUR[DEBUT_TOUR[sq] + i];
+    }
+
+    /**
+     * Cases attaquées par un fou, la première pièce rencontrée dans chaque direction incluse.
+     * @param sq case du fou
+     * @param occupees occupation du plateau
+     * @return bitboard des cases attaquées
+     */
+    public static long fou(int sq, long occupees) {
+        int i = (int) (((occupees & MASQUE_FOU[sq]) * MAGIE_FOU[sq]) >>> DECALAGE_FOU[sq]);
+        return TABLE_FOU[DEBUT_FOU[sq] + i];
+    }
+
+    /**
+     * Cases attaquées par une reine (union des attaques de tour et de fou).
+     * @param sq case de la reine
+     * @param occupees occupation du plateau
+     * @return bitboard des cases attaquées
+     */
+    public static long reine(int sq, long occupees) {
+        return tour(sq, occupees) | fou(sq, occupees);
+    }
+
+    // --- CONSTRUCTION DES TABLES ---
+
+    private static long[] construire(int[][] directions, long[] masques, long[] magies, int[] decalages, int[] debuts) {
+        int taille = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            masques[sq] = masqueUtile(sq, directions);
+            int bits = Long.bitCount(masques[sq]);
+            decalages[sq] = 64 - bits;
+            debuts[sq] = taille;
+            taille += 1 << bits;
+        }
+
+        long[] table = new long[taille];
+        for (int sq = 0; sq < 64; sq++) {
+            int n = 1 << Long.bitCount(masques[sq]);
+            long[] occupations = new long[n];
+            long[] attaques = new long[n];
+
+            // Énumération de tous les sous-ensembles du masque (carry-rippler)
+            long sousEnsemble = 0L;
+            for (int i = 0; i < n; i++) {
+                occupations[i] = sousEnsemble;
+                attaques[i] = attaquesLentes(sq, sousEnsemble, directions);
+                sousEnsemble = (sousEnsemble - masques[sq]) & masques[sq];
+            }
+            magies[sq] = chercherMagie(masques[sq], decalages[sq], occupations, attaques, table, debuts[sq]);
+        }
+        return table;
+    }
+
+    private static long chercherMagie(long masque, int decalage, long[] occupations, long[] attaques,
+                                      long[] table, int debut) {
+        int n = occupations.length;
+        boolean[] utilise = new boolean[n];
+        while (true) {
+            long candidat = aleatoire() & aleatoire() & aleatoire();
+            if (Long.bitCount((masque * candidat) & 0xFF00000000000000L) < 6) continue;
+
+            java.util.Arrays.fill(utilise, false);
+            boolean valide = true;
+            for (int i = 0; i < n && valide; i++) {
+                int indice = (int) ((occupations[i] * candidat) >>> decalage);
+                if (!utilise[indice]) {
+                    utilise[indice] = true;
+                    table[debut + indice] = attaques[i];
+                } else if (table[debut + indice] != attaques[i]) {
+                    valide = false;
+                }
+            }
+            if (valide) return candidat;
+        }
+    }
+
+    private static long masqueUtile(int sq, int[][] directions) {
+        long masque = 0L;
+        int x0 = sq >>> 3;
+        int y0 = sq & 7;
+        for (int[] d : directions) {
+            int x = x0 + d[0];
+            int y = y0 + d[1];
+            // On s'arrête avant le bord : la dernière case d'un rayon n'influence jamais les attaques
+            while (x + d[0] >= 0 && x + d[0] < 8 && y + d[1] >= 0 && y + d[1] < 8) {
+                masque |= 1L << ((x << 3) | y);
+                x += d[0];
+                y += d[1];
+            }
+        }
+        return masque;
+    }
+
+    private static long attaquesLentes(int sq, long occupees, int[][] directions) {
+        long resultat = 0L;
+        int x0 = sq >>> 3;
+        int y0 = sq & 7;
+        for (int[] d : directions) {
+            int x = x0 + d[0];
+            int y = y0 + d[1];
+            while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                long bit = 1L << ((x << 3) | y);
+                resultat |= bit;
+                if ((occupees & bit) != 0) break;
+                x += d[0];
+                y += d[1];
+            }
+        }
+        return resultat;
+    }
+
+    private static long aleatoire() {
+        graine ^= graine >>> 12;
+        graine ^= graine << 25;
+        graine ^= graine >>> 27;
+        return graine * 0x2545F4914F6CDD1DL;
+    }
+}
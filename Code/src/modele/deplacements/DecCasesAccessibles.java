@@ -1,6 +1,11 @@
 package modele.deplacements;
 
+import modele.jeu.Piece;
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
+import modele.plateau.Plateau;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -10,8 +15,16 @@ import java.util.List;
  * Chaque implémentation fournit ses propres cases accessibles via {@link #getMesCA(Case)} et la
  * méthode finale {@link #getCA(Case)} fusionne ces résultats avec ceux de la base si elle existe.
  * </p>
+ * <p>
+ * Pour les parcours répétés, {@link #getCA(Case, int[], int)} écrit les indices des cases
+ * accessibles (ligne * 8 + colonne, comme {@link BitboardPosition#indice(Case)}) dans un tampon
+ * fourni et réutilisé par l'appelant : aucune liste n'est alors créée.
+ * </p>
  */
 public abstract class DecCasesAccessibles {
+    /** Nombre maximal de cases accessibles depuis une case : taille suffisante d'un tampon. */
+    public static final int CASES_MAX = 64;
+
     /** Décorateur de base (peut être null) dont on agrège également les résultats. */
     private DecCasesAccessibles base;
 
@@ -45,4 +58,112 @@ public abstract class DecCasesAccessibles {
         }
         return cA;
     }
+
+    /**
+     * Écrit les indices des cases accessibles propres à ce décorateur dans un tampon.
+     * <p>
+     * L'implémentation par défaut convertit la liste de {@link #getMesCA(Case)} ; les stratégies
+     * des échecs la redéfinissent pour écrire directement leur bitboard de destinations.
+     * </p>
+     * @param c case de départ
+     * @param tampon tampon d'indices, d'au moins {@link #CASES_MAX} places après {@code debut}
+     * @param debut première place libre du tampon
+     * @return place libre suivant le dernier indice écrit
+     */
+    public int getMesCA(Case c, int[] tampon, int debut) {
+        List<Case> cases = getMesCA(c);
+        if (cases != null) {
+            for (Case cible : cases) {
+                tampon[debut++] = BitboardPosition.indice(cible);
+            }
+        }
+        return debut;
+    }
+
+    /**
+     * Écrit les indices des cases accessibles de ce décorateur puis de la base, sans allocation
+     * pour les stratégies des échecs.
+     * @param c case de départ
+     * @param tampon tampon d'indices réutilisé par l'appelant
+     * @param debut première place libre du tampon
+     * @return place libre suivant le dernier indice écrit
+     */
+    public int getCA(Case c, int[] tampon, int debut) {
+        int fin = getMesCA(c, tampon, debut);
+        if (base != null) {
+            fin = base.getMesCA(c, tampon, fin);
+        }
+        return fin;
+    }
+
+    /**
+     * Occupation du plateau de la pièce posée sur c, lue sur la position bitboard attachée au plateau
+     * ou, à défaut, reconstruite depuis la grille de cases.
+     * @param c case occupée par la pièce qui se déplace
+     * @return bitboard des cases occupées
+     */
+    protected static long occupation(Case c) {
+        Plateau plateau = c.getPiece().getPlateau();
+        BitboardPosition position = plateau.getPosition();
+        if (position != null) {
+            return position.getOccupation();
+        }
+        long occupees = 0L;
+        for (int sq = 0; sq < 64; sq++) {
+            if (plateau.getCase(sq >>> 3, sq & 7).getPiece() != null) occupees |= 1L << sq;
+        }
+        return occupees;
+    }
+
+    /**
+     * Cases occupées par les pièces alliées de la pièce posée sur c (elle comprise).
+     * @param c case occupée par la pièce qui se déplace
+     * @return bitboard des cases alliées
+     */
+    protected static long allies(Case c) {
+        Piece piece = c.getPiece();
+        Plateau plateau = piece.getPlateau();
+        BitboardPosition position = plateau.getPosition();
+        if (position != null) {
+            int code = position.getPiece(BitboardPosition.indice(c));
+            return position.getOccupation(BitboardPosition.couleurDe(code));
+        }
+        long allies = 0L;
+        for (int sq = 0; sq < 64; sq++) {
+            Piece autre = plateau.getCase(sq >>> 3, sq & 7).getPiece();
+            if (autre == piece || piece.estAlliee(autre)) allies |= 1L << sq;
+        }
+        return allies;
+    }
+
+    /**
+     * Écrit les indices d'un bitboard de destinations dans un tampon.
+     * @param cibles bitboard des cases accessibles
+     * @param tampon tampon d'indices
+     * @param debut première place libre du tampon
+     * @return place libre suivant le dernier indice écrit
+     */
+    protected static int versIndices(long cibles, int[] tampon, int debut) {
+        while (cibles != 0L) {
+            tampon[debut++] = Long.numberOfTrailingZeros(cibles);
+            cibles &= cibles - 1;
+        }
+        return debut;
+    }
+
+    /**
+     * Convertit un bitboard de destinations en liste de cases du plateau.
+     * @param plateau plateau dont on renvoie les cases
+     * @param cibles bitboard des cases accessibles
+     * @return la liste des cases correspondantes
+     */
+    protected static List<Case> versCases(Plateau plateau, long cibles) {
+        List<Case> cases = new ArrayList<>(Long.bitCount(cibles));
+        while (cibles != 0L) {
+            int sq = Long.numberOfTrailingZeros(cibles);
+            cibles &= cibles - 1;
+            cases.add(plateau.getCase(sq >>> 3, sq & 7));
+        }
+        return cases;
+    }
 }
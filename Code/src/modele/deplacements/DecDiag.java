@@ -1,16 +1,16 @@
 package modele.deplacements;
 
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
-import modele.plateau.Plateau;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Stratégie de déplacement en diagonale (type fou aux échecs).
  * <p>
- * Calcule les cases accessibles en diagonales à partir d'une case donnée, en s'arrêtant
- * sur la première pièce rencontrée (capture possible si ennemie, arrêt si alliée).
+ * Calcule les cases accessibles en diagonales à partir d'une case donnée par une lecture
+ * dans la table magique {@link AttaquesGlissantes#fou(int, long)}, en s'arrêtant sur la
+ * première pièce rencontrée (capture possible si ennemie, arrêt si alliée).
  * </p>
  */
 public class DecDiag extends DecCasesAccessibles {
@@ -30,43 +30,16 @@ public class DecDiag extends DecCasesAccessibles {
      */
     @Override
     public List<Case> getMesCA(Case c) {
-        List<Case> casesAccessibles = new ArrayList<>();
-
-        int[][] directions = {
-                {-1, 1},  // Haut Droite
-                {-1, -1}, // Haut Gauche
-                {1, 1},  // Bas Droite
-                {1, -1}  // Bas Gauche
-        };
-
-        for (int[] direction : directions) {
-            int dx = direction[0];
-            int dy = direction[1];
-
-            for (int i = 1; i < 8; i++) {
-                // On applique le déplacement à la case actuelle pour obtenir la nouvelle case
-                Case nouvelleCase = Plateau.getCasePR(c, new int[]{dx * i, dy * i});
+        return versCases(c.getPiece().getPlateau(), cibles(c));
+    }
 
-                // Si la case est valide (pas hors du plateau), on l'ajoute à la liste
-                if (nouvelleCase != null) {
-                    if (nouvelleCase.getPiece() != null) {
-                        if(c.getPiece().estAlliee(nouvelleCase.getPiece())) {
-                            break;
-                        } else {
-                            casesAccessibles.add(nouvelleCase);
-                            break;
-                        }
-                    } else {
-                        casesAccessibles.add(nouvelleCase);
-                    }
-                } else {
-                    // Si la case est invalide ou un obstacle, on arrête le déplacement dans cette direction
-                    break;
-                }
-            }
-        }
+    @Override
+    public int getMesCA(Case c, int[] tampon, int debut) {
+        return versIndices(cibles(c), tampon, debut);
+    }
 
-        return casesAccessibles;
+    private static long cibles(Case c) {
+        return AttaquesGlissantes.fou(BitboardPosition.indice(c), occupation(c)) & ~allies(c);
     }
 
 }
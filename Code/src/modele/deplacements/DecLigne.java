@@ -1,16 +1,16 @@
 package modele.deplacements;
 
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
-import modele.plateau.Plateau;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Stratégie de déplacement en ligne (type tour aux échecs).
  * <p>
- * Parcourt les quatre directions orthogonales jusqu’à rencontrer une pièce ou la
- * limite du plateau.
+ * Les quatre directions orthogonales sont lues en une fois dans la table magique
+ * {@link AttaquesGlissantes#tour(int, long)} : le rayon s'arrête sur la première pièce
+ * rencontrée, capturable si elle est ennemie.
  * </p>
  */
 public class DecLigne extends DecCasesAccessibles {
@@ -21,43 +21,16 @@ public class DecLigne extends DecCasesAccessibles {
 
     @Override
     public List<Case> getMesCA(Case c) {
-        List<Case> casesAccessibles = new ArrayList<>();
-
-        int[][] directions = {
-                {0, 1},  // Droite
-                {0, -1}, // Gauche
-                {1, 0},  // Bas
-                {-1, 0}  // Haut
-        };
-
-        for (int[] direction : directions) {
-            int dx = direction[0];
-            int dy = direction[1];
-
-            for (int i = 1; i < 8; i++) {
-                // On applique le déplacement à la case actuelle pour obtenir la nouvelle case
-                Case nouvelleCase = Plateau.getCasePR(c, new int[]{dx * i, dy * i});
-
-                // Si la case est valide (pas hors du plateau), on l'ajoute à la liste
-                if (nouvelleCase != null) {
-                    if (nouvelleCase.getPiece() != null) {
-                        if(c.getPiece().estAlliee(nouvelleCase.getPiece())) {
-                            break;
-                        } else {
-                            casesAccessibles.add(nouvelleCase);
-                            break;
-                        }
-                    } else {
-                        casesAccessibles.add(nouvelleCase);
-                    }
-                } else {
-                    // Si la case est invalide ou un obstacle, on arrête le déplacement dans cette direction
-                    break;
-                }
-            }
-        }
-
-        return casesAccessibles;
+        return versCases(c.getPiece().getPlateau(), cibles(c));
+    }
+
+    @Override
+    public int getMesCA(Case c, int[] tampon, int debut) {
+        return versIndices(cibles(c), tampon, debut);
+    }
+
+    private static long cibles(Case c) {
+        return AttaquesGlissantes.tour(BitboardPosition.indice(c), occupation(c)) & ~allies(c);
     }
 
 }
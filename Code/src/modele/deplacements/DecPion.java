@@ -1,13 +1,11 @@
 package modele.deplacements;
 
-import modele.jeu.Coup;
-import modele.jeu.Jeu;
+import modele.jeu.Joueur;
 import modele.jeu.Piece;
-import modele.jeu.Pieces.PiecesEchec.Pion;
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
 import modele.plateau.Plateau;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -31,33 +29,41 @@ public class DecPion extends DecCasesAccessibles {
 
     @Override
     public List<Case> getMesCA(Case c) {
-        List<Case> casesAccessibles = new ArrayList<>();
+        return versCases(c.getPiece().getPlateau(), cibles(c));
+    }
+
+    @Override
+    public int getMesCA(Case c, int[] tampon, int debut) {
+        return versIndices(cibles(c), tampon, debut);
+    }
+
+    private long cibles(Case c) {
+        Plateau plateau = c.getPiece().getPlateau();
+        long cibles = 0L;
         Piece pion = c.getPiece();
-        String couleur = pion.getCouleur();
+        boolean blanc = pion.getCouleurJoueur() == Joueur.Couleur.BLANC;
         int dir;
 
         caseAPrendreEnPassant = null;
 
-        Coup dernierCoup = Jeu.getInstance().getDernierCoup();
-
-        if (couleur.equals("Blanc")) {
+        if (blanc) {
             dir = -1;
         } else{
             dir = 1;
         }
-        Case nouvelleCase = Plateau.getCasePR(c, new int[]{dir, 0});
-        Case nouvelleCaseBis = Plateau.getCasePR(c, new int[]{dir*2, 0});
+        Case nouvelleCase = plateau.getCasePR(c, dir, 0);
 
         //Mouvement d'une case
         if (nouvelleCase != null) {
             if (nouvelleCase.getPiece() == null) {
-                casesAccessibles.add(nouvelleCase);
+                cibles |= 1L << BitboardPosition.indice(nouvelleCase);
 
                 //Mouvement de 2 cases au premier tour
-                int ligneDepart = couleur.equals("Blanc") ? 6 : 1;
+                int ligneDepart = blanc ? 6 : 1;
                 if (c.getPosX() == ligneDepart) {
+                    Case nouvelleCaseBis = plateau.getCasePR(c, dir * 2, 0);
                     if(nouvelleCaseBis.getPiece() == null) {
-                        casesAccessibles.add(nouvelleCaseBis);
+                        cibles |= 1L << BitboardPosition.indice(nouvelleCaseBis);
                     }
                 }
             }
@@ -65,35 +71,32 @@ public class DecPion extends DecCasesAccessibles {
 
         //Prise en diagonale
         for (int i = -1; i < 2; i+=2){
-            nouvelleCase = Plateau.getCasePR(c, new int[]{dir, i});
+            nouvelleCase = plateau.getCasePR(c, dir, i);
             if (nouvelleCase != null) {
                 if (nouvelleCase.getPiece() != null) {
                     if (!c.getPiece().estAlliee(nouvelleCase.getPiece())) {
-                        casesAccessibles.add(nouvelleCase);
+                        cibles |= 1L << BitboardPosition.indice(nouvelleCase);
                     }
                 }
             }
         }
 
-        //Prise en passant
-        if (dernierCoup != null) {
-            Case dep = dernierCoup.getDepart();
-            Case arr = dernierCoup.getArrivee();
-            Piece piece = arr.getPiece();
-
-            if (piece instanceof Pion &&
-                    Math.abs(arr.getPosX() - dep.getPosX()) == 2 &&
-                    arr.getPosX() == c.getPosX() &&
-                    Math.abs(arr.getPosY() - c.getPosY()) == 1) {
-                Case caseEnPassant = Plateau.getCasePR(arr, new int[]{dir, 0});
-                if (caseEnPassant != null && caseEnPassant.getPiece() == null) {
-                    caseAPrendreEnPassant = arr;
-                    casesAccessibles.add(caseEnPassant);
-                }
+        //Prise en passant : connue uniquement via la position bitboard attachée au plateau de la partie
+        BitboardPosition position = plateau.getPosition();
+        if (position != null) {
+            // La position bitboard connaît la case sautée par la dernière poussée de deux cases
+            int enPassant = position.getEnPassant();
+            int codePion = position.getPiece(BitboardPosition.indice(c));
+            if (enPassant != BitboardPosition.AUCUNE_CASE
+                    && BitboardPosition.couleurDe(codePion) == position.getTrait()
+                    && (enPassant >>> 3) == c.getPosX() + dir
+                    && Math.abs((enPassant & 7) - c.getPosY()) == 1) {
+                caseAPrendreEnPassant = plateau.getCase(c.getPosX(), enPassant & 7);
+                cibles |= 1L << enPassant;
             }
         }
 
-        return casesAccessibles;
+        return cibles;
     }
 
 }
@@ -2,17 +2,18 @@ package modele.deplacements;
 
 import modele.jeu.Pieces.PiecesEchec.Roi;
 import modele.jeu.Pieces.PiecesEchec.Tour;
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
 import modele.plateau.Plateau;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Stratégie de déplacement du roi (échecs).
  * <p>
  * Le roi se déplace d’une case dans toutes les directions et gère ici les
- * mouvements spéciaux de roque (petit et grand) sous conditions.
+ * mouvements spéciaux de roque (petit et grand) sous conditions. Les pas du roi
+ * sont lus dans la table d'attaques de {@link BitboardPosition}.
  * </p>
  */
 public class DecRoi extends DecCasesAccessibles {
@@ -23,75 +24,41 @@ public class DecRoi extends DecCasesAccessibles {
 
     @Override
     public List<Case> getMesCA(Case c) {
-        List<Case> casesAccessibles = new ArrayList<>();
-
-        int[][] directions = {
-                {0, 1},  // Droite
-                {0, -1}, // Gauche
-                {1, 0},  // Bas
-                {-1, 0},  // Haut
-                {-1, 1},  // Haut Droite
-                {-1, -1}, // Haut Gauche
-                {1, 1},  // Bas Droite
-                {1, -1}  // Bas Gauche
-        };
-
-        for (int[] direction : directions) {
-            int dx = direction[0];
-            int dy = direction[1];
+        return versCases(c.getPiece().getPlateau(), cibles(c));
+    }
 
-            Case nouvelleCase = Plateau.getCasePR(c, new int[]{dx, dy});
+    @Override
+    public int getMesCA(Case c, int[] tampon, int debut) {
+        return versIndices(cibles(c), tampon, debut);
+    }
 
-            // Si la case est valide (pas hors du plateau), on l'ajoute à la liste
-            if (nouvelleCase != null) {
-                if (nouvelleCase.getPiece() != null) {
-                    if (!c.getPiece().estAlliee(nouvelleCase.getPiece())) {
-                        casesAccessibles.add(nouvelleCase);
-                    }
-                } else {
-                    casesAccessibles.add(nouvelleCase);
-                }
-            }
-        }
+    private static long cibles(Case c) {
+        long cibles = BitboardPosition.attaquesRoi(BitboardPosition.indice(c)) & ~allies(c);
 
         // Roque du Roi
-        // Petit Roque
         if (c.getPosY() == 4 && c.getPiece() instanceof Roi roi && !roi.getADejaBouge()) {
-            Case tourDroite = Plateau.getCasePR(c, new int[]{0, 3});  // La case de la tour à droite (case 7,1)
-            if (tourDroite != null && tourDroite.getPiece() instanceof Tour) {
-                Tour tour = (Tour) tourDroite.getPiece();
-                if(!tour.getADejaBouge()){
-                    // Vérifie qu'il n'y a pas de pièces entre le roi et la tour à droite
-                    Case case1 = Plateau.getCasePR(c, new int[]{0, 1});
-                    Case case2 = Plateau.getCasePR(c, new int[]{0, 2});
-
-                    if (case1 != null && case2 != null && case1.getPiece() == null && case2.getPiece() == null) {
-                        casesAccessibles.add(case2);
-                    }
-                }
+            Plateau plateau = c.getPiece().getPlateau();
+            int x = c.getPosX();
+            // Petit Roque : la tour à droite n'a pas bougé et les deux cases intermédiaires sont vides
+            if (tourImmobile(plateau.getCase(x, 7)) && estVide(plateau, x, 5) && estVide(plateau, x, 6)) {
+                cibles |= 1L << BitboardPosition.indice(x, 6);
             }
-        }
-
-        // Grand Roque
-        if (c.getPosY() == 4 && c.getPiece() instanceof Roi roi && !roi.getADejaBouge()) {
-            Case tourGauche = Plateau.getCasePR(c, new int[]{0, -4});
-            if (tourGauche != null && tourGauche.getPiece() instanceof Tour) {
-                Tour tour = (Tour) tourGauche.getPiece();
-                if(!tour.getADejaBouge()) {
-                    // Vérifie qu'il n'y a pas de pièces entre le roi et la tour à gauche
-                    Case case1 = Plateau.getCasePR(c, new int[]{0, -1});
-                    Case case2 = Plateau.getCasePR(c, new int[]{0, -2});
-                    Case case3 = Plateau.getCasePR(c, new int[]{0, -3});
-
-                    if (case1 != null && case2 != null && case3 != null &&
-                            case1.getPiece() == null && case2.getPiece() == null && case3.getPiece() == null) {
-                        casesAccessibles.add(case2);
-                        }
-                }
+            // Grand Roque : idem avec les trois cases vers la tour à gauche
+            if (tourImmobile(plateau.getCase(x, 0))
+                    && estVide(plateau, x, 1) && estVide(plateau, x, 2) && estVide(plateau, x, 3)) {
+                cibles |= 1L << BitboardPosition.indice(x, 2);
             }
         }
+        return cibles;
+    }
+
+    private static boolean tourImmobile(Case c) {
+        return c != null && c.getPiece() instanceof Tour tour && !tour.getADejaBouge();
+    }
 
-        return casesAccessibles;
+    private static boolean estVide(Plateau plateau, int x, int y) {
+        Case c = plateau.getCase(x, y);
+        return c != null && c.getPiece() == null;
     }
 
 }
@@ -0,0 +1,33 @@
+package modele.ia.echec;
+
+/**
+ * Paramètres du moteur d'échecs lus dans les propriétés système de la JVM,
+ * par exemple {@code java -Dechecs.table.mo=256 ...}.
+ */
+public final class ConfigurationMoteur {
+
+    /** Propriété donnant la taille de la table de transposition, en mégaoctets. */
+    public static final String PROPRIETE_TAILLE_TABLE = "echecs.table.mo";
+    /** Taille par défaut de la table de transposition, en mégaoctets. */
+    public static final int TAILLE_TABLE_DEFAUT_MO = 32;
+
+    /** Propriété donnant le nombre de threads de recherche (Lazy SMP). */
+    public static final String PROPRIETE_THREADS = "echecs.threads";
+
+    private ConfigurationMoteur() {
+    }
+
+    /**
+     * @return taille configurée de la table de transposition, en mégaoctets (au moins 1)
+     */
+    public static int getTailleTableMo() {
+        return Math.max(1, Integer.getInteger(PROPRIETE_TAILLE_TABLE, TAILLE_TABLE_DEFAUT_MO));
+    }
+
+    /**
+     * @return nombre configuré de threads de recherche ; par défaut, un par cœur disponible
+     */
+    public static int getNombreThreads() {
+        return Math.max(1, Integer.getInteger(PROPRIETE_THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+}
@@ -0,0 +1,128 @@
+package modele.ia.echec;
+
+import modele.plateau.BitboardPosition;
+
+/**
+ * Évaluation statique d'une position d'échecs, en centipions.
+ * <p>
+ * Somme du matériel et de tables pièce-case ; la table du roi est interpolée entre milieu
+ * et fin de partie selon le matériel restant. Les tables sont écrites du point de vue des
+ * Blancs dans l'ordre des indices bitboard (8e rangée en premier) ; elles sont lues en miroir
+ * vertical ({@code sq ^ 56}) pour les Noirs.
+ * </p>
+ */
+public final class Evaluation {
+
+    /** Valeur de chaque type de pièce (indexée par {@link BitboardPosition#PION}...). */
+    public static final int[] VALEURS = {100, 320, 330, 500, 900, 0};
+
+    /** Poids de chaque type dans la phase de jeu (24 = toutes les pièces présentes). */
+    private static final int[] PHASE = {0, 1, 1, 2, 4, 0};
+    private static final int PHASE_MAX = 24;
+
+    private static final int[] PION = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final int[] CAVALIER = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50};
+
+    private static final int[] FOU = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20};
+
+    private static final int[] TOUR = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0};
+
+    private static final int[] REINE = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20};
+
+    private static final int[] ROI_MILIEU = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20};
+
+    private static final int[] ROI_FINALE = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50};
+
+    private static final int[][] TABLES = {PION, CAVALIER, FOU, TOUR, REINE};
+
+    private Evaluation() {
+    }
+
+    /**
+     * Évalue la position du point de vue du camp au trait.
+     * @param position position à évaluer
+     * @return score en centipions (positif si le camp au trait est mieux)
+     */
+    public static int evaluer(BitboardPosition position) {
+        int score = 0;
+        int phase = 0;
+        for (int couleur = BitboardPosition.BLANC; couleur <= BitboardPosition.NOIR; couleur++) {
+            int signe = couleur == BitboardPosition.BLANC ? 1 : -1;
+            int miroir = couleur == BitboardPosition.BLANC ? 0 : 56;
+            for (int type = BitboardPosition.PION; type < BitboardPosition.ROI; type++) {
+                int[] table = TABLES[type];
+                for (long bb = position.getPieces(couleur, type); bb != 0; bb &= bb - 1) {
+                    int sq = Long.numberOfTrailingZeros(bb) ^ miroir;
+                    score += signe * (VALEURS[type] + table[sq]);
+                    phase += PHASE[type];
+                }
+            }
+        }
+        phase = Math.min(phase, PHASE_MAX);
+        for (int couleur = BitboardPosition.BLANC; couleur <= BitboardPosition.NOIR; couleur++) {
+            long roi = position.getPieces(couleur, BitboardPosition.ROI);
+            if (roi == 0) continue;
+            int sq = Long.numberOfTrailingZeros(roi) ^ (couleur == BitboardPosition.BLANC ? 0 : 56);
+            int valeur = (ROI_MILIEU[sq] * phase + ROI_FINALE[sq] * (PHASE_MAX - phase)) / PHASE_MAX;
+            score += couleur == BitboardPosition.BLANC ? valeur : -valeur;
+        }
+        return position.getTrait() == BitboardPosition.BLANC ? score : -score;
+    }
+}
@@ -0,0 +1,63 @@
+package modele.ia.echec;
+
+import modele.jeu.Coup;
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.Joueur;
+import modele.jeu.Move;
+
+/**
+ * Joueur d'échecs automatique : à son tour, il lance une {@link RechercheParallele} sur la
+ * position de la partie et renvoie le meilleur coup trouvé dans le budget de temps.
+ * Taille de table et nombre de threads proviennent de {@link ConfigurationMoteur}.
+ * <p>
+ * Il s'installe avec {@link Jeu#setJoueur(Joueur)} ; le coup est calculé sur le thread du jeu,
+ * comme un coup humain reçu par {@link Jeu#setCoup(Coup)}. Une promotion est toujours jouée
+ * en dame, seule promotion exprimable par un {@link Coup}.
+ * </p>
+ */
+public class JoueurEchecIA extends Joueur {
+
+    /** Recherche (et table de transposition) conservée d'un coup à l'autre. */
+    private final RechercheParallele recherche = RechercheParallele.depuisConfiguration();
+    private final long tempsMs;
+    private final int profondeurMax;
+    private volatile ResultatRecherche dernierResultat;
+
+    /**
+     * @param couleur couleur jouée par l'IA
+     * @param tempsMs budget de réflexion par coup, en millisecondes
+     */
+    public JoueurEchecIA(Couleur couleur, long tempsMs) {
+        this(couleur, tempsMs, Recherche.PROFONDEUR_MAX);
+    }
+
+    /**
+     * @param couleur couleur jouée par l'IA
+     * @param tempsMs budget de réflexion par coup, en millisecondes
+     * @param profondeurMax profondeur maximale de recherche
+     */
+    public JoueurEchecIA(Couleur couleur, long tempsMs, int profondeurMax) {
+        super(couleur);
+        this.tempsMs = tempsMs;
+        this.profondeurMax = profondeurMax;
+    }
+
+    @Override
+    public Coup choisirCoup(Jeu jeu) {
+        if (!(jeu instanceof JeuEchec echec) || jeu.estTermine()) {
+            return null;
+        }
+        dernierResultat = recherche.chercher(echec.getPosition(), profondeurMax, tempsMs);
+        int m = dernierResultat.getCoup();
+        return m == Move.AUCUN ? null : Move.versCoup(m, jeu.getPlateau());
+    }
+
+    /**
+     * Résultat de la dernière recherche (variante principale, score, profondeur, nœuds/s).
+     * @return le dernier résultat, ou null si l'IA n'a pas encore joué
+     */
+    public ResultatRecherche getDernierResultat() {
+        return dernierResultat;
+    }
+}
@@ -0,0 +1,377 @@
+package modele.ia.echec;
+
+import modele.jeu.Move;
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Recherche négamax alpha-bêta à approfondissement itératif sur une {@link BitboardPosition}.
+ * <p>
+ * Chaque itération part de la variante principale de la précédente et de la
+ * {@link TableTransposition}, qui mémorise bornes et meilleurs coups par clé de Zobrist ;
+ * une répétition de position est évaluée nulle. La recherche utilise une
+ * fenêtre nulle hors variante principale (PVS), l'élagage par coup nul, une réduction des coups
+ * calmes tardifs, l'extension des échecs, une recherche de quiescence sur les prises et un tri
+ * des coups par variante principale, MVV-LVA, coups tueurs et historique.
+ * Elle s'arrête à la profondeur demandée ou à l'épuisement du budget de temps ; l'itération
+ * interrompue est alors ignorée.
+ * </p>
+ * <p>
+ * La position fournie est modifiée pendant la recherche puis restaurée : une instance ne doit
+ * être utilisée que par un seul thread.
+ * </p>
+ */
+public class Recherche {
+
+    /** Profondeur nominale maximale d'une itération. */
+    public static final int PROFONDEUR_MAX = 64;
+    /** Score d'un mat immédiat ; un mat en n demi-coups vaut {@code MAT - n}. */
+    public static final int MAT = 100_000;
+    static final int INFINI = 1_000_000;
+    /** Nombre maximal de demi-coups explorés depuis la racine (extensions comprises). */
+    static final int PLY_MAX = 128;
+
+    private static final int NOTE_TABLE = 3_000_000;
+    private static final int NOTE_PV = 2_000_000;
+    private static final int NOTE_PRISE = 1_000_000;
+    private static final int NOTE_TUEUR = 900_000;
+    private static final int NOTE_HISTORIQUE_MAX = 800_000;
+
+    private final BitboardPosition position;
+    private final TableTransposition table;
+    private final MoveList[] listes = new MoveList[PLY_MAX];
+    private final int[][] notes = new int[PLY_MAX][256];
+    private final int[][] variantes = new int[PLY_MAX][PLY_MAX];
+    private final int[] longueurs = new int[PLY_MAX];
+    /** Variante principale de l'itération précédente, jouée en premier. */
+    private final int[] variantePrecedente = new int[PLY_MAX];
+    private final int[][] tueurs = new int[PLY_MAX][2];
+    private final int[][] historique = new int[64][64];
+
+    private long noeuds;
+    private long echeance;
+    private int profondeurIteration;
+    private volatile boolean arret;
+    private Consumer<ResultatRecherche> suivi;
+    /** Profondeur de la première itération (décalée pour varier les threads auxiliaires). */
+    private int profondeurInitiale = 1;
+    /** Un thread auxiliaire cherche jusqu'à être arrêté, sans gestion du temps propre. */
+    private boolean auxiliaire;
+    /** Recherche menée par une {@link RechercheParallele}, qui gère la génération de la table et l'arrêt. */
+    private boolean pilotee;
+
+    /**
+     * Crée une recherche disposant de sa propre petite table de transposition (1 Mo).
+     * @param position position à analyser (modifiée pendant la recherche puis restaurée)
+     */
+    public Recherche(BitboardPosition position) {
+        this(position, new TableTransposition(1));
+    }
+
+    /**
+     * @param position position à analyser (modifiée pendant la recherche puis restaurée)
+     * @param table table de transposition utilisée (conservée d'un coup à l'autre par l'appelant)
+     */
+    public Recherche(BitboardPosition position, TableTransposition table) {
+        this.position = position;
+        this.table = table;
+        for (int i = 0; i < PLY_MAX; i++) listes[i] = new MoveList();
+    }
+
+    /**
+     * Définit un observateur appelé à la fin de chaque itération (profondeur, score, variante...).
+     * @param suivi observateur, ou null
+     */
+    public void setSuivi(Consumer<ResultatRecherche> suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Interrompt la recherche en cours depuis un autre thread.
+     */
+    public void arreter() {
+        arret = true;
+    }
+
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /**
+     * Configure cette recherche comme thread auxiliaire d'une {@link RechercheParallele} : elle
+     * commence à la profondeur donnée et ne s'arrête qu'à l'appel de {@link #arreter()}.
+     * @param profondeurInitiale profondeur de la première itération
+     */
+    void setAuxiliaire(int profondeurInitiale) {
+        this.auxiliaire = true;
+        this.pilotee = true;
+        this.profondeurInitiale = profondeurInitiale;
+    }
+
+    /**
+     * Place cette recherche sous le contrôle d'une {@link RechercheParallele} : {@link #chercher}
+     * n'avance plus la génération de la table partagée et ne réarme plus l'arrêt, afin qu'un
+     * {@link #arreter()} reçu avant le démarrage du thread ne soit pas perdu.
+     */
+    void setPilotee() {
+        this.pilotee = true;
+    }
+
+    /**
+     * Lance une recherche à approfondissement itératif.
+     * La première itération est toujours menée à son terme afin de disposer d'un coup.
+     * @param profondeurMax profondeur maximale (bornée par {@link #PROFONDEUR_MAX})
+     * @param tempsMs budget de temps en millisecondes
+     * @return le résultat de la dernière itération complète
+     */
+    public ResultatRecherche chercher(int profondeurMax, long tempsMs) {
+        long debut = System.nanoTime();
+        echeance = debut + tempsMs * 1_000_000L;
+        noeuds = 0;
+        if (!pilotee) {
+            arret = false;
+            table.nouvelleRecherche();
+        }
+        for (int[] t : tueurs) Arrays.fill(t, Move.AUCUN);
+        for (int[] h : historique) Arrays.fill(h, 0);
+        Arrays.fill(variantePrecedente, Move.AUCUN);
+
+        ResultatRecherche resultat = new ResultatRecherche(new int[0], 0, 0, 0, 0);
+        for (int p = profondeurInitiale; p <= Math.min(profondeurMax, PROFONDEUR_MAX); p++) {
+            profondeurIteration = p;
+            int score = negamax(p, -INFINI, INFINI, 0, false);
+            if (arret && p > profondeurInitiale) break;
+
+            int[] variante = Arrays.copyOf(variantes[0], longueurs[0]);
+            resultat = new ResultatRecherche(variante, score, p, noeuds, System.nanoTime() - debut);
+            if (suivi != null) suivi.accept(resultat);
+            if (variante.length == 0 || (resultat.estMat() && !auxiliaire)) break;
+            System.arraycopy(variante, 0, variantePrecedente, 0, variante.length);
+            // Une nouvelle itération coûte plusieurs fois la précédente : inutile de la commencer
+            if (!auxiliaire && System.nanoTime() - debut > (echeance - debut) / 2) break;
+        }
+        return resultat;
+    }
+
+    private int negamax(int profondeur, int alpha, int beta, int ply, boolean nulAutorise) {
+        longueurs[ply] = ply;
+        if ((++noeuds & 2047) == 0) verifierTemps();
+        if (arret) return 0;
+        if (ply > 0 && (position.getDemiCoups() >= 100 || position.nombreRepetitions() > 0)) return 0;
+        if (ply >= PLY_MAX - 1) return Evaluation.evaluer(position);
+
+        long cle = position.getHash();
+        long entree = table.sonder(cle);
+        int coupTable = Move.AUCUN;
+        if (entree != 0) {
+            coupTable = TableTransposition.coup(entree);
+            if (ply > 0 && beta - alpha == 1 && TableTransposition.profondeur(entree) >= profondeur) {
+                int score = scoreDepuisTable(TableTransposition.score(entree), ply);
+                int borne = TableTransposition.borne(entree);
+                if (borne == TableTransposition.EXACTE
+                        || (borne == TableTransposition.BORNE_INF && score >= beta)
+                        || (borne == TableTransposition.BORNE_SUP && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int profondeurDemandee = profondeur;
+        int alphaInitial = alpha;
+        int nous = position.getTrait();
+        boolean enEchec = position.estEnEchec(nous);
+        if (enEchec) profondeur++;
+        if (profondeur <= 0) return quiescence(alpha, beta, ply);
+
+        // Coup nul : si passer son tour suffit déjà à dépasser bêta, le nœud est élagué
+        if (nulAutorise && beta - alpha == 1 && !enEchec && profondeur >= 3 && aDesPieces(nous)
+                && Evaluation.evaluer(position) >= beta) {
+            position.jouerCoupNul();
+            int score = -negamax(profondeur - 3, -beta, -beta + 1, ply + 1, false);
+            position.unmakeMove();
+            if (arret) return 0;
+            if (score >= beta) return beta;
+        }
+
+        MoveList coups = listes[ply];
+        position.genererCoups(coups);
+        noter(coups, ply, coupTable);
+
+        int legaux = 0;
+        int meilleur = -INFINI;
+        int meilleurCoup = Move.AUCUN;
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = extraireMeilleur(coups, ply, i);
+            if (!position.estLegal(m)) continue;
+            position.makeMove(m);
+            legaux++;
+
+            int score;
+            if (legaux == 1) {
+                score = -negamax(profondeur - 1, -beta, -alpha, ply + 1, true);
+            } else {
+                int reduction = profondeur >= 3 && legaux > 3 && !enEchec && estCalme(m)
+                        && !position.estEnEchec(position.getTrait()) ? 1 : 0;
+                score = -negamax(profondeur - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+                if (score > alpha && (reduction > 0 || score < beta)) {
+                    score = -negamax(profondeur - 1, -beta, -alpha, ply + 1, true);
+                }
+            }
+            position.unmakeMove();
+            if (arret) return 0;
+
+            if (score > meilleur) {
+                meilleur = score;
+                meilleurCoup = m;
+            }
+            if (score > alpha) {
+                alpha = score;
+                mettreAJourVariante(ply, m);
+                if (score >= beta) {
+                    if (estCalme(m)) enregistrerCoupCalme(m, ply, profondeur);
+                    table.enregistrer(cle, m, scoreVersTable(score, ply), profondeurDemandee, TableTransposition.BORNE_INF);
+                    return score;
+                }
+            }
+        }
+        if (legaux == 0) {
+            return enEchec ? -MAT + ply : 0;
+        }
+        table.enregistrer(cle, meilleurCoup, scoreVersTable(meilleur, ply), profondeurDemandee,
+                alpha > alphaInitial ? TableTransposition.EXACTE : TableTransposition.BORNE_SUP);
+        return meilleur;
+    }
+
+    private int quiescence(int alpha, int beta, int ply) {
+        longueurs[ply] = ply;
+        if ((++noeuds & 2047) == 0) verifierTemps();
+        if (arret) return 0;
+
+        int statique = Evaluation.evaluer(position);
+        if (statique >= beta || ply >= PLY_MAX - 1) return statique;
+        if (statique > alpha) alpha = statique;
+
+        MoveList coups = listes[ply];
+        position.genererPrises(coups);
+        noter(coups, ply, Move.AUCUN);
+
+        int meilleur = statique;
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = extraireMeilleur(coups, ply, i);
+            if (!position.estLegal(m)) continue;
+            position.makeMove(m);
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            position.unmakeMove();
+            if (arret) return 0;
+
+            if (score > meilleur) {
+                meilleur = score;
+                if (score > alpha) {
+                    alpha = score;
+                    mettreAJourVariante(ply, m);
+                    if (score >= beta) return score;
+                }
+            }
+        }
+        return meilleur;
+    }
+
+    /** Les scores de mat sont stockés relativement au nœud, et non à la racine. */
+    private static int scoreVersTable(int score, int ply) {
+        if (score > MAT - PLY_MAX) return score + ply;
+        if (score < -MAT + PLY_MAX) return score - ply;
+        return score;
+    }
+
+    private static int scoreDepuisTable(int score, int ply) {
+        if (score > MAT - PLY_MAX) return score - ply;
+        if (score < -MAT + PLY_MAX) return score + ply;
+        return score;
+    }
+
+    private void mettreAJourVariante(int ply, int m) {
+        variantes[ply][ply] = m;
+        int fin = longueurs[ply + 1];
+        System.arraycopy(variantes[ply + 1], ply + 1, variantes[ply], ply + 1, fin - ply - 1);
+        longueurs[ply] = Math.max(fin, ply + 1);
+    }
+
+    private void enregistrerCoupCalme(int m, int ply, int profondeur) {
+        if (tueurs[ply][0] != m) {
+            tueurs[ply][1] = tueurs[ply][0];
+            tueurs[ply][0] = m;
+        }
+        int[] h = historique[Move.depart(m)];
+        h[Move.arrivee(m)] = Math.min(NOTE_HISTORIQUE_MAX - 1, h[Move.arrivee(m)] + profondeur * profondeur);
+    }
+
+    /**
+     * Attribue à chaque coup une note de tri : coup de la table, variante principale, prises
+     * (victime la plus chère par l'attaquant le moins cher), promotions, coups tueurs puis historique.
+     */
+    private void noter(MoveList coups, int ply, int coupTable) {
+        if (notes[ply].length < coups.taille()) notes[ply] = new int[coups.taille()];
+        int[] n = notes[ply];
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = coups.get(i);
+            int note;
+            if (m == coupTable) {
+                note = NOTE_TABLE;
+            } else if (m == variantePrecedente[ply]) {
+                note = NOTE_PV;
+            } else if (Move.estPrise(m)) {
+                int victime = Move.estEnPassant(m) ? BitboardPosition.PION
+                        : BitboardPosition.typeDe(position.getPiece(Move.arrivee(m)));
+                int attaquant = BitboardPosition.typeDe(position.getPiece(Move.depart(m)));
+                note = NOTE_PRISE + 10 * Evaluation.VALEURS[victime] - attaquant;
+            } else if (Move.promotion(m) != Move.SANS_PROMOTION) {
+                note = NOTE_PRISE + Evaluation.VALEURS[Move.promotion(m)];
+            } else if (m == tueurs[ply][0]) {
+                note = NOTE_TUEUR;
+            } else if (m == tueurs[ply][1]) {
+                note = NOTE_TUEUR - 1;
+            } else {
+                note = historique[Move.depart(m)][Move.arrivee(m)];
+            }
+            n[i] = note;
+        }
+    }
+
+    /**
+     * Amène en position {@code i} le coup le mieux noté parmi les coups restants (tri par sélection
+     * paresseux : une coupure bêta évite de trier le reste de la liste).
+     */
+    private int extraireMeilleur(MoveList coups, int ply, int i) {
+        int[] n = notes[ply];
+        int meilleur = i;
+        for (int j = i + 1; j < coups.taille(); j++) {
+            if (n[j] > n[meilleur]) meilleur = j;
+        }
+        int m = coups.get(meilleur);
+        if (meilleur != i) {
+            coups.set(meilleur, coups.get(i));
+            coups.set(i, m);
+            int note = n[meilleur];
+            n[meilleur] = n[i];
+            n[i] = note;
+        }
+        return m;
+    }
+
+    private boolean aDesPieces(int couleur) {
+        return (position.getOccupation(couleur)
+                & ~position.getPieces(couleur, BitboardPosition.PION)
+                & ~position.getPieces(couleur, BitboardPosition.ROI)) != 0;
+    }
+
+    private static boolean estCalme(int m) {
+        return !Move.estPrise(m) && Move.promotion(m) == Move.SANS_PROMOTION;
+    }
+
+    private void verifierTemps() {
+        if (profondeurIteration > profondeurInitiale && System.nanoTime() >= echeance) arret = true;
+    }
+}
@@ -0,0 +1,119 @@
+package modele.ia.echec;
+
+import modele.plateau.BitboardPosition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Recherche parallèle « Lazy SMP » : plusieurs {@link Recherche} indépendantes explorent la même
+ * position et ne communiquent qu'au travers d'une {@link TableTransposition} partagée.
+ * <p>
+ * Le thread appelant mène la recherche principale, dont le résultat est retenu ; les threads
+ * auxiliaires remplissent la table (la moitié d'entre eux commence une profondeur plus loin pour
+ * diversifier les arbres) et sont arrêtés dès que la recherche principale se termine.
+ * Chaque thread travaille sur sa propre copie de la position. Les recherches sont recréées à chaque
+ * appel : un arrêt demandé avant qu'un thread auxiliaire n'ait démarré reste donc pris en compte.
+ * </p>
+ */
+public class RechercheParallele {
+
+    private final TableTransposition table;
+    private final int nombreThreads;
+    private final ExecutorService auxiliaires;
+    private Consumer<ResultatRecherche> suivi;
+
+    /**
+     * @param table table de transposition partagée par tous les threads
+     * @param nombreThreads nombre total de threads, thread appelant compris (au moins 1)
+     */
+    public RechercheParallele(TableTransposition table, int nombreThreads) {
+        this.table = table;
+        this.nombreThreads = Math.max(1, nombreThreads);
+        this.auxiliaires = this.nombreThreads > 1
+                ? Executors.newFixedThreadPool(this.nombreThreads - 1, r -> {
+                    Thread t = new Thread(r, "recherche-auxiliaire");
+                    t.setDaemon(true);
+                    return t;
+                })
+                : null;
+    }
+
+    /**
+     * Crée une recherche dimensionnée par {@link ConfigurationMoteur} (taille de table et nombre de threads).
+     * @return la recherche parallèle
+     */
+    public static RechercheParallele depuisConfiguration() {
+        return new RechercheParallele(TableTransposition.depuisConfiguration(), ConfigurationMoteur.getNombreThreads());
+    }
+
+    public int getNombreThreads() {
+        return nombreThreads;
+    }
+
+    public TableTransposition getTable() {
+        return table;
+    }
+
+    /**
+     * Définit un observateur des itérations de la recherche principale.
+     * @param suivi observateur, ou null
+     */
+    public void setSuivi(Consumer<ResultatRecherche> suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Cherche le meilleur coup de la position avec tous les threads.
+     * @param position position à analyser (non modifiée : chaque thread en utilise une copie)
+     * @param profondeurMax profondeur maximale
+     * @param tempsMs budget de temps en millisecondes
+     * @return le résultat de la recherche principale ; le nombre de nœuds est la somme de tous les threads
+     */
+    public ResultatRecherche chercher(BitboardPosition position, int profondeurMax, long tempsMs) {
+        long debut = System.nanoTime();
+        Recherche principale = new Recherche(new BitboardPosition(position), table);
+        principale.setSuivi(suivi);
+        principale.setPilotee();
+        // Une seule nouvelle génération par coup, avant le départ des threads auxiliaires
+        table.nouvelleRecherche();
+
+        List<Recherche> recherches = new ArrayList<>();
+        List<Future<?>> taches = new ArrayList<>();
+        for (int i = 1; i < nombreThreads; i++) {
+            Recherche aux = new Recherche(new BitboardPosition(position), table);
+            aux.setAuxiliaire(1 + (i & 1));
+            recherches.add(aux);
+            taches.add(auxiliaires.submit(() -> aux.chercher(profondeurMax, tempsMs)));
+        }
+
+        ResultatRecherche resultat = principale.chercher(profondeurMax, tempsMs);
+
+        long noeuds = principale.getNoeuds();
+        for (Recherche aux : recherches) aux.arreter();
+        for (int i = 0; i < taches.size(); i++) {
+            try {
+                taches.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Échec d'un thread de recherche", e.getCause());
+            }
+            noeuds += recherches.get(i).getNoeuds();
+        }
+        return new ResultatRecherche(resultat.getVariante(), resultat.getScore(), resultat.getProfondeur(),
+                noeuds, System.nanoTime() - debut);
+    }
+
+    /**
+     * Libère les threads auxiliaires.
+     */
+    public void fermer() {
+        if (auxiliaires != null) auxiliaires.shutdownNow();
+    }
+}
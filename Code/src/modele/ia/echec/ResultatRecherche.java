@@ -0,0 +1,88 @@
+package modele.ia.echec;
+
+import modele.jeu.Move;
+
+/**
+ * Résultat d'une itération de la recherche : meilleur coup, score, variante principale
+ * et statistiques (profondeur atteinte, nœuds visités, durée).
+ */
+public class ResultatRecherche {
+    private final int[] variante;
+    private final int score;
+    private final int profondeur;
+    private final long noeuds;
+    private final long dureeNanos;
+
+    ResultatRecherche(int[] variante, int score, int profondeur, long noeuds, long dureeNanos) {
+        this.variante = variante;
+        this.score = score;
+        this.profondeur = profondeur;
+        this.noeuds = noeuds;
+        this.dureeNanos = dureeNanos;
+    }
+
+    /**
+     * @return le meilleur coup encodé, ou {@link Move#AUCUN} si la position n'a aucun coup légal
+     */
+    public int getCoup() {
+        return variante.length > 0 ? variante[0] : Move.AUCUN;
+    }
+
+    /**
+     * @return score du camp au trait en centipions (au-delà de {@link Recherche#MAT} - 128 : mat forcé)
+     */
+    public int getScore() {
+        return score;
+    }
+
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    /**
+     * @return copie de la variante principale (coups encodés)
+     */
+    public int[] getVariante() {
+        return variante.clone();
+    }
+
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    public long getDureeMs() {
+        return dureeNanos / 1_000_000;
+    }
+
+    public long getNoeudsParSeconde() {
+        return dureeNanos > 0 ? noeuds * 1_000_000_000L / dureeNanos : 0;
+    }
+
+    /**
+     * Indique si le score annonce un mat forcé (pour l'un ou l'autre camp).
+     * @return true si le score est un score de mat
+     */
+    public boolean estMat() {
+        return Math.abs(score) > Recherche.MAT - Recherche.PLY_MAX;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("profondeur ").append(profondeur).append(" score ");
+        if (estMat()) {
+            int demiCoups = Recherche.MAT - Math.abs(score);
+            sb.append(score > 0 ? "mat en " : "maté en ").append((demiCoups + 1) / 2);
+        } else {
+            sb.append(String.format("%+.2f", score / 100.0));
+        }
+        sb.append(" noeuds ").append(noeuds)
+                .append(" temps ").append(getDureeMs()).append(" ms")
+                .append(" nps ").append(getNoeudsParSeconde())
+                .append(" pv");
+        for (int m : variante) {
+            sb.append(' ').append(Move.versTexte(m));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,152 @@
+package modele.ia.echec;
+
+import modele.jeu.Move;
+
+/**
+ * Table de transposition de taille fixe mémorisant les résultats de recherche par clé de Zobrist.
+ * <p>
+ * Chaque entrée occupe deux {@code long} : la donnée compacte (coup, score, profondeur, type de
+ * borne, génération) et la clé combinée par OU exclusif avec cette donnée. Une lecture n'est
+ * acceptée que si {@code cle ^ donnee} redonne la clé cherchée : une entrée à moitié écrite
+ * par un autre thread est ainsi rejetée sans verrou, ce qui permet de partager la table entre
+ * plusieurs recherches simultanées.
+ * </p>
+ * <p>
+ * Remplacement : une entrée est écrasée si elle concerne la même position, si elle date d'une
+ * recherche précédente ou si la nouvelle recherche est au moins aussi profonde.
+ * </p>
+ */
+public class TableTransposition {
+
+    /** Le score est exact. */
+    public static final int EXACTE = 0;
+    /** Le score est une borne inférieure (coupure bêta). */
+    public static final int BORNE_INF = 1;
+    /** Le score est une borne supérieure (aucun coup n'a dépassé alpha). */
+    public static final int BORNE_SUP = 2;
+
+    private static final int DECALAGE_SCORE = 19;
+    private static final int DECALAGE_PROFONDEUR = 40;
+    private static final int DECALAGE_BORNE = 47;
+    private static final int DECALAGE_GENERATION = 49;
+    private static final long PRESENT = 1L << 57;
+    private static final int BIAIS_SCORE = 1 << 20;
+
+    private final long[] entrees;
+    private final int masque;
+    private int generation;
+
+    /**
+     * Crée une table occupant au plus {@code tailleMo} mégaoctets
+     * (le nombre d'entrées est arrondi à la puissance de deux inférieure).
+     * @param tailleMo taille en mégaoctets (au moins 1)
+     */
+    public TableTransposition(int tailleMo) {
+        long octets = Math.max(1, tailleMo) * 1024L * 1024L;
+        int nombre = Integer.highestOneBit((int) Math.min(octets / 16, 1 << 30));
+        entrees = new long[nombre * 2];
+        masque = nombre - 1;
+    }
+
+    /**
+     * Crée une table à la taille donnée par {@link ConfigurationMoteur#getTailleTableMo()}.
+     * @return la nouvelle table
+     */
+    public static TableTransposition depuisConfiguration() {
+        return new TableTransposition(ConfigurationMoteur.getTailleTableMo());
+    }
+
+    /**
+     * Signale le début d'une nouvelle recherche : les entrées plus anciennes deviennent remplaçables.
+     * Une table partagée n'avance qu'une fois par coup, depuis le thread qui lance les recherches
+     * et avant leur démarrage.
+     */
+    public void nouvelleRecherche() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Efface toutes les entrées.
+     */
+    public void vider() {
+        java.util.Arrays.fill(entrees, 0L);
+    }
+
+    public int getNombreEntrees() {
+        return masque + 1;
+    }
+
+    /**
+     * Cherche l'entrée d'une position.
+     * @param cle clé de Zobrist
+     * @return la donnée compacte (à décoder avec {@link #coup(long)}, {@link #score(long)}...), ou 0 si absente
+     */
+    public long sonder(long cle) {
+        int i = ((int) cle & masque) << 1;
+        long donnee = entrees[i + 1];
+        return (entrees[i] ^ donnee) == cle ? donnee : 0L;
+    }
+
+    /**
+     * Mémorise le résultat de la recherche d'une position.
+     * @param cle clé de Zobrist
+     * @param coup meilleur coup trouvé ou {@link Move#AUCUN}
+     * @param score score (déjà corrigé des distances de mat par l'appelant)
+     * @param profondeur profondeur de la recherche
+     * @param borne {@link #EXACTE}, {@link #BORNE_INF} ou {@link #BORNE_SUP}
+     */
+    public void enregistrer(long cle, int coup, int score, int profondeur, int borne) {
+        int i = ((int) cle & masque) << 1;
+        long ancienne = entrees[i + 1];
+        boolean memePosition = (entrees[i] ^ ancienne) == cle;
+        if (ancienne != 0 && !memePosition && generation(ancienne) == generation
+                && profondeur < profondeur(ancienne)) {
+            return;
+        }
+        if (coup == Move.AUCUN && memePosition) {
+            coup = coup(ancienne);
+        }
+        long donnee = (coup & 0x7FFFFL)
+                | (long) (score + BIAIS_SCORE) << DECALAGE_SCORE
+                | (long) Math.min(profondeur, 127) << DECALAGE_PROFONDEUR
+                | (long) borne << DECALAGE_BORNE
+                | (long) generation << DECALAGE_GENERATION
+                | PRESENT;
+        entrees[i] = cle ^ donnee;
+        entrees[i + 1] = donnee;
+    }
+
+    /**
+     * Taux de remplissage estimé sur les 1000 premières entrées, en pour mille.
+     * @return nombre d'entrées de la génération courante parmi 1000
+     */
+    public int getRemplissagePourMille() {
+        int n = Math.min(1000, getNombreEntrees());
+        int pleines = 0;
+        for (int i = 0; i < n; i++) {
+            long donnee = entrees[2 * i + 1];
+            if (donnee != 0 && generation(donnee) == generation) pleines++;
+        }
+        return pleines * 1000 / n;
+    }
+
+    public static int coup(long donnee) {
+        return (int) (donnee & 0x7FFFF);
+    }
+
+    public static int score(long donnee) {
+        return (int) (donnee >>> DECALAGE_SCORE & 0x1FFFFF) - BIAIS_SCORE;
+    }
+
+    public static int profondeur(long donnee) {
+        return (int) (donnee >>> DECALAGE_PROFONDEUR & 127);
+    }
+
+    public static int borne(long donnee) {
+        return (int) (donnee >>> DECALAGE_BORNE & 3);
+    }
+
+    private static int generation(long donnee) {
+        return (int) (donnee >>> DECALAGE_GENERATION & 0xFF);
+    }
+}
@@ -0,0 +1,60 @@
+package modele.ia.mcts;
+
+import modele.jeu.Coup;
+import modele.jeu.Jeu;
+import modele.jeu.Joueur;
+
+/**
+ * Adversaire automatique pour n'importe quel {@link Jeu} : chaque coup est choisi par une
+ * {@link RechercheMCTS} sur l'{@link modele.jeu.EtatJeu} de la partie, sans aucune évaluation
+ * propre au jeu. L'arbre est conservé d'un coup à l'autre.
+ * <p>
+ * Il s'installe avec {@link Jeu#setJoueur(Joueur)}.
+ * </p>
+ */
+public class JoueurMCTS extends Joueur {
+
+    /** Budget de playouts par coup par défaut. */
+    public static final long PLAYOUTS_DEFAUT = 50_000;
+    /** Budget de temps par coup par défaut, en millisecondes. */
+    public static final long TEMPS_DEFAUT_MS = 2_000;
+
+    private final RechercheMCTS recherche;
+    private final long playouts;
+    private final long tempsMs;
+    private ResultatMCTS dernierResultat;
+
+    /**
+     * Joueur aux budgets par défaut, un thread par cœur disponible.
+     * @param couleur couleur jouée par l'ordinateur
+     */
+    public JoueurMCTS(Couleur couleur) {
+        this(couleur, new RechercheMCTS(Runtime.getRuntime().availableProcessors(),
+                RechercheMCTS.CONSTANTE_UCT_DEFAUT, System.nanoTime()), PLAYOUTS_DEFAUT, TEMPS_DEFAUT_MS);
+    }
+
+    /**
+     * @param couleur couleur jouée par l'ordinateur
+     * @param recherche moteur (threads, constante d'exploration)
+     * @param playouts nombre de playouts par coup
+     * @param tempsMs temps maximal par coup, en millisecondes
+     */
+    public JoueurMCTS(Couleur couleur, RechercheMCTS recherche, long playouts, long tempsMs) {
+        super(couleur);
+        this.recherche = recherche;
+        this.playouts = playouts;
+        this.tempsMs = tempsMs;
+    }
+
+    @Override
+    public Coup choisirCoup(Jeu jeu) {
+        if (jeu.estTermine()) return null;
+        dernierResultat = recherche.chercher(jeu.creerEtat(), playouts, tempsMs);
+        return dernierResultat.getCoup() < 0 ? null : jeu.versCoup(dernierResultat.getCoup());
+    }
+
+    /** @return statistiques de la dernière recherche (dont les playouts par seconde), ou null */
+    public ResultatMCTS getDernierResultat() {
+        return dernierResultat;
+    }
+}
@@ -0,0 +1,75 @@
+package modele.ia.mcts;
+
+import modele.jeu.EtatJeu;
+
+import java.util.Arrays;
+
+/**
+ * Nœud de l'arbre de recherche : le coup qui y mène, ses statistiques de playouts et ses enfants.
+ * Les gains sont comptés du point de vue du joueur qui a joué ce coup (1 par victoire, 0,5 par nulle).
+ */
+final class NoeudMCTS {
+
+    final int coup;
+    /** Joueur qui a joué {@link #coup} ({@link EtatJeu#BLANC} ou {@link EtatJeu#NOIR}). */
+    final int joueur;
+    int visites;
+    double gains;
+
+    NoeudMCTS[] enfants = new NoeudMCTS[0];
+    int nombreEnfants;
+    /** Coups pas encore développés ; null tant que le nœud n'a pas été atteint par une sélection. */
+    int[] nonEssayes;
+    int nombreNonEssayes;
+
+    NoeudMCTS(int coup, int joueur) {
+        this.coup = coup;
+        this.joueur = joueur;
+    }
+
+    /** Prépare la liste des coups à développer depuis la position du nœud. */
+    void initialiser(EtatJeu etat, int[] tampon) {
+        int nb = etat.coupsLegaux(tampon);
+        nonEssayes = Arrays.copyOf(tampon, nb);
+        nombreNonEssayes = nb;
+        enfants = new NoeudMCTS[nb];
+    }
+
+    /** @return true si tous les coups ont un enfant */
+    boolean estDeveloppe() {
+        return nonEssayes != null && nombreNonEssayes == 0;
+    }
+
+    NoeudMCTS ajouterEnfant(int coup, int joueur) {
+        NoeudMCTS enfant = new NoeudMCTS(coup, joueur);
+        enfants[nombreEnfants++] = enfant;
+        return enfant;
+    }
+
+    /**
+     * Enfant maximisant la borne UCB1 : taux de gain + c * sqrt(ln(N) / n).
+     * @param constante constante d'exploration c
+     */
+    NoeudMCTS selectionnerUCT(double constante) {
+        double logParent = Math.log(visites);
+        NoeudMCTS meilleur = null;
+        double meilleureValeur = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < nombreEnfants; i++) {
+            NoeudMCTS e = enfants[i];
+            double valeur = e.gains / e.visites + constante * Math.sqrt(logParent / e.visites);
+            if (valeur > meilleureValeur) {
+                meilleureValeur = valeur;
+                meilleur = e;
+            }
+        }
+        return meilleur;
+    }
+
+    /** @return l'enfant atteint par ce coup, ou null */
+    NoeudMCTS enfant(int coup) {
+        for (int i = 0; i < nombreEnfants; i++) {
+            if (enfants[i].coup == coup) return enfants[i];
+        }
+        return null;
+    }
+}
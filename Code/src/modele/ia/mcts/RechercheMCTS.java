@@ -0,0 +1,265 @@
+package modele.ia.mcts;
+
+import modele.jeu.EtatJeu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Recherche arborescente Monte-Carlo (MCTS) avec sélection UCT, pour tout jeu décrit par un {@link EtatJeu}.
+ * <p>
+ * Chaque itération descend l'arbre en maximisant la borne UCB1, développe un coup non essayé,
+ * termine la partie au hasard (playout) puis remonte le résultat le long du chemin. Aucune
+ * connaissance du jeu n'est nécessaire : les quatre jeux du lanceur partagent ce moteur.
+ * </p>
+ * <p>
+ * Parallélisation à la racine : chaque thread fait croître son propre arbre sur sa copie de la
+ * position, sans aucune synchronisation ; les visites des coups de la racine sont additionnées à la
+ * fin. D'un appel à l'autre, chaque arbre est réutilisé : la nouvelle position est cherchée parmi
+ * les enfants et petits-enfants de l'ancienne racine (coup joué puis réponse adverse), et le
+ * sous-arbre correspondant devient la racine avec ses statistiques.
+ * </p>
+ */
+public class RechercheMCTS {
+
+    /** Constante d'exploration de UCB1 (racine de 2). */
+    public static final double CONSTANTE_UCT_DEFAUT = Math.sqrt(2);
+    /** Nombre de coups au-delà duquel un playout est compté comme une nulle. */
+    public static final int LONGUEUR_MAX_PLAYOUT_DEFAUT = 500;
+
+    private final double constante;
+    private final Arbre[] arbres;
+    private final ExecutorService auxiliaires;
+    private int longueurMaxPlayout = LONGUEUR_MAX_PLAYOUT_DEFAUT;
+
+    /**
+     * Recherche sur un seul thread, constante d'exploration par défaut.
+     */
+    public RechercheMCTS() {
+        this(1, CONSTANTE_UCT_DEFAUT, System.nanoTime());
+    }
+
+    /**
+     * @param nombreThreads nombre d'arbres cultivés en parallèle, thread appelant compris (au moins 1)
+     * @param constante constante d'exploration de UCB1
+     * @param graine graine des tirages aléatoires (recherche reproductible sur un seul thread)
+     */
+    public RechercheMCTS(int nombreThreads, double constante, long graine) {
+        this.constante = constante;
+        SplittableRandom aleatoire = new SplittableRandom(graine);
+        this.arbres = new Arbre[Math.max(1, nombreThreads)];
+        for (int i = 0; i < arbres.length; i++) arbres[i] = new Arbre(aleatoire.split());
+        this.auxiliaires = arbres.length > 1
+                ? Executors.newFixedThreadPool(arbres.length - 1, r -> {
+                    Thread t = new Thread(r, "mcts-auxiliaire");
+                    t.setDaemon(true);
+                    return t;
+                })
+                : null;
+    }
+
+    public int getNombreThreads() {
+        return arbres.length;
+    }
+
+    /**
+     * @param longueurMaxPlayout nombre de coups au-delà duquel un playout est arrêté et compté nul
+     */
+    public void setLongueurMaxPlayout(int longueurMaxPlayout) {
+        this.longueurMaxPlayout = Math.max(1, longueurMaxPlayout);
+    }
+
+    /**
+     * Cherche le meilleur coup de la position, jusqu'à épuisement du premier des deux budgets.
+     * @param etat position à analyser (non modifiée : chaque arbre garde sa propre copie)
+     * @param playoutsMax nombre total de playouts, répartis entre les threads
+     * @param tempsMs budget de temps en millisecondes
+     * @return le coup le plus visité et les statistiques de la recherche
+     */
+    public ResultatMCTS chercher(EtatJeu etat, long playoutsMax, long tempsMs) {
+        long debut = System.nanoTime();
+        long echeance = debut + tempsMs * 1_000_000L;
+        long reutilises = 0;
+        for (Arbre a : arbres) reutilises += a.placerRacine(etat);
+
+        if (etat.estTermine()) {
+            return new ResultatMCTS(-1, 0, 0, 0, reutilises, System.nanoTime() - debut);
+        }
+        long parArbre = Math.max(1, playoutsMax / arbres.length);
+        List<Future<?>> taches = new ArrayList<>();
+        for (int i = 1; i < arbres.length; i++) {
+            Arbre a = arbres[i];
+            taches.add(auxiliaires.submit(() -> a.iterer(parArbre, echeance)));
+        }
+        long playouts = arbres[0].iterer(parArbre, echeance);
+        for (int i = 0; i < taches.size(); i++) {
+            try {
+                taches.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Échec d'un thread de recherche", e.getCause());
+            }
+            playouts += arbres[i + 1].derniersPlayouts;
+        }
+
+        // Vote à la racine : visites et gains additionnés coup par coup
+        NoeudMCTS racine = arbres[0].racine;
+        int meilleur = -1;
+        int meilleuresVisites = -1;
+        double meilleursGains = 0;
+        for (int i = 0; i < racine.nombreEnfants; i++) {
+            int coup = racine.enfants[i].coup;
+            int visites = 0;
+            double gains = 0;
+            for (Arbre a : arbres) {
+                NoeudMCTS e = a.racine.enfant(coup);
+                if (e == null) continue;
+                visites += e.visites;
+                gains += e.gains;
+            }
+            if (visites > meilleuresVisites) {
+                meilleuresVisites = visites;
+                meilleursGains = gains;
+                meilleur = coup;
+            }
+        }
+        double taux = meilleuresVisites > 0 ? meilleursGains / meilleuresVisites : 0;
+        return new ResultatMCTS(meilleur, Math.max(0, meilleuresVisites), taux, playouts, reutilises,
+                System.nanoTime() - debut);
+    }
+
+    /** Oublie les arbres : la prochaine recherche repart de zéro. */
+    public void vider() {
+        for (Arbre a : arbres) {
+            a.racine = null;
+            a.etat = null;
+        }
+    }
+
+    /** Arrête les threads auxiliaires. */
+    public void arreter() {
+        if (auxiliaires != null) auxiliaires.shutdownNow();
+    }
+
+    /**
+     * Arbre d'un thread : sa racine, sa copie de la position de la racine et son générateur aléatoire.
+     */
+    private final class Arbre {
+        private final SplittableRandom aleatoire;
+        private EtatJeu etat;
+        private NoeudMCTS racine;
+        private int[] tampon;
+        private NoeudMCTS[] chemin = new NoeudMCTS[64];
+        private long derniersPlayouts;
+
+        Arbre(SplittableRandom aleatoire) {
+            this.aleatoire = aleatoire;
+        }
+
+        /**
+         * Amène la racine sur la position cherchée, en réutilisant le sous-arbre correspondant s'il
+         * se trouve à un ou deux coups de l'ancienne racine.
+         * @return nombre de visites conservées
+         */
+        long placerRacine(EtatJeu cible) {
+            long cle = cible.cle();
+            if (etat != null && racine != null) {
+                if (etat.cle() == cle) return racine.visites;
+                for (int i = 0; i < racine.nombreEnfants; i++) {
+                    NoeudMCTS enfant = racine.enfants[i];
+                    etat.jouer(enfant.coup);
+                    if (etat.cle() == cle) {
+                        racine = enfant;
+                        return racine.visites;
+                    }
+                    for (int j = 0; j < enfant.nombreEnfants; j++) {
+                        NoeudMCTS petitEnfant = enfant.enfants[j];
+                        etat.jouer(petitEnfant.coup);
+                        if (etat.cle() == cle) {
+                            racine = petitEnfant;
+                            return racine.visites;
+                        }
+                        etat.annuler();
+                    }
+                    etat.annuler();
+                }
+            }
+            etat = cible.copier();
+            tampon = new int[etat.getNombreMaxCoups()];
+            racine = new NoeudMCTS(-1, etat.getTrait() ^ 1);
+            return 0;
+        }
+
+        /**
+         * Joue des playouts depuis la racine.
+         * @return nombre de playouts joués
+         */
+        long iterer(long playoutsMax, long echeance) {
+            long n = 0;
+            while (n < playoutsMax && ((n & 63) != 0 || System.nanoTime() < echeance)) {
+                iteration();
+                n++;
+            }
+            derniersPlayouts = n;
+            return n;
+        }
+
+        private void iteration() {
+            NoeudMCTS noeud = racine;
+            int profondeur = 0;
+            chemin[0] = noeud;
+
+            // Sélection : descendre tant que tous les coups du nœud ont été essayés
+            while (noeud.estDeveloppe() && noeud.nombreEnfants > 0) {
+                noeud = noeud.selectionnerUCT(constante);
+                etat.jouer(noeud.coup);
+                empiler(++profondeur, noeud);
+            }
+
+            // Développement d'un coup non essayé, tiré au hasard
+            if (!etat.estTermine()) {
+                if (noeud.nonEssayes == null) noeud.initialiser(etat, tampon);
+                if (noeud.nombreNonEssayes > 0) {
+                    int i = aleatoire.nextInt(noeud.nombreNonEssayes);
+                    int coup = noeud.nonEssayes[i];
+                    noeud.nonEssayes[i] = noeud.nonEssayes[--noeud.nombreNonEssayes];
+                    int joueur = etat.getTrait();
+                    etat.jouer(coup);
+                    noeud = noeud.ajouterEnfant(coup, joueur);
+                    empiler(++profondeur, noeud);
+                }
+            }
+
+            // Playout : coups au hasard jusqu'à la fin de la partie
+            int joues = 0;
+            while (joues < longueurMaxPlayout) {
+                int nb = etat.coupsLegaux(tampon);
+                if (nb == 0) break;
+                etat.jouer(tampon[aleatoire.nextInt(nb)]);
+                joues++;
+            }
+            int gagnant = etat.estTermine() ? etat.getGagnant() : EtatJeu.NUL;
+            for (int i = joues + profondeur; i > 0; i--) etat.annuler();
+
+            // Rétropropagation du point de vue de chaque joueur
+            for (int i = 0; i <= profondeur; i++) {
+                NoeudMCTS v = chemin[i];
+                v.visites++;
+                if (gagnant == v.joueur) v.gains += 1;
+                else if (gagnant == EtatJeu.NUL) v.gains += 0.5;
+            }
+        }
+
+        private void empiler(int profondeur, NoeudMCTS noeud) {
+            if (profondeur == chemin.length) chemin = Arrays.copyOf(chemin, profondeur * 2);
+            chemin[profondeur] = noeud;
+        }
+    }
+}
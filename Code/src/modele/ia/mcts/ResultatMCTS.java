@@ -0,0 +1,67 @@
+package modele.ia.mcts;
+
+/**
+ * Résultat d'une recherche {@link RechercheMCTS} : coup le plus visité et statistiques
+ * (playouts, playouts réutilisés de la recherche précédente, durée).
+ */
+public class ResultatMCTS {
+    private final int coup;
+    private final int visites;
+    private final double tauxGain;
+    private final long playouts;
+    private final long reutilises;
+    private final long dureeNanos;
+
+    ResultatMCTS(int coup, int visites, double tauxGain, long playouts, long reutilises, long dureeNanos) {
+        this.coup = coup;
+        this.visites = visites;
+        this.tauxGain = tauxGain;
+        this.playouts = playouts;
+        this.reutilises = reutilises;
+        this.dureeNanos = dureeNanos;
+    }
+
+    /** @return meilleur coup (entier d'{@link modele.jeu.EtatJeu}), ou -1 si la partie est terminée */
+    public int getCoup() {
+        return coup;
+    }
+
+    /** @return visites du meilleur coup, tous arbres confondus */
+    public int getVisites() {
+        return visites;
+    }
+
+    /** @return proportion de points marqués par le meilleur coup (victoire 1, nulle 0,5), entre 0 et 1 */
+    public double getTauxGain() {
+        return tauxGain;
+    }
+
+    /** @return nombre de playouts joués par cette recherche */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /** @return visites de la racine héritées de la recherche précédente (réutilisation de l'arbre) */
+    public long getReutilises() {
+        return reutilises;
+    }
+
+    public long getDureeMs() {
+        return dureeNanos / 1_000_000;
+    }
+
+    public long getPlayoutsParSeconde() {
+        return dureeNanos > 0 ? playouts * 1_000_000_000L / dureeNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "coup " + coup
+                + " visites " + visites
+                + String.format(" gain %.1f%%", 100 * tauxGain)
+                + " playouts " + playouts
+                + " reutilises " + reutilises
+                + " temps " + getDureeMs() + " ms"
+                + " playouts/s " + getPlayoutsParSeconde();
+    }
+}
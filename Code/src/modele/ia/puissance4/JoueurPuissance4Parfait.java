@@ -0,0 +1,58 @@
+package modele.ia.puissance4;
+
+import modele.jeu.Coup;
+import modele.jeu.Jeu;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.Joueur;
+import modele.plateau.BitboardPuissance4;
+
+/**
+ * Adversaire « parfait » au Puissance 4 : chaque coup est choisi par le {@link SolveurPuissance4}
+ * pour conserver l'issue théorique de la partie lorsque celle-ci peut être établie dans le budget.
+ * <p>
+ * Il s'installe avec {@link Jeu#setJoueur(Joueur)} ; la table de transposition est conservée
+ * d'un coup à l'autre. Pour ne pas figer la partie, chaque coup est limité à un budget de
+ * positions : les premiers coups viennent du livre d'ouverture du solveur, et entre la fin du
+ * livre et le moment où la résolution tient dans le budget (vers le milieu de partie), le coup
+ * est choisi par les menaces et peut ne pas être parfait.
+ * </p>
+ */
+public class JoueurPuissance4Parfait extends Joueur {
+
+    private final SolveurPuissance4 solveur = new SolveurPuissance4();
+    private final long budgetNoeuds;
+
+    /**
+     * @param couleur couleur jouée par l'ordinateur
+     */
+    public JoueurPuissance4Parfait(Couleur couleur) {
+        this(couleur, SolveurPuissance4.BUDGET_COUP_DEFAUT);
+    }
+
+    /**
+     * @param couleur couleur jouée par l'ordinateur
+     * @param budgetNoeuds nombre maximal de positions explorées par coup ({@link Long#MAX_VALUE} : sans limite)
+     */
+    public JoueurPuissance4Parfait(Couleur couleur, long budgetNoeuds) {
+        super(couleur);
+        this.budgetNoeuds = budgetNoeuds;
+    }
+
+    @Override
+    public Coup choisirCoup(Jeu jeu) {
+        if (!(jeu instanceof JeuPuissance4 p4) || jeu.estTermine()) {
+            return null;
+        }
+        int colonne = solveur.meilleurCoup(new BitboardPuissance4(p4.getBitboard()), budgetNoeuds);
+        return colonne < 0 ? null : new Coup(null, jeu.getPlateau().getCase(0, colonne));
+    }
+
+    /**
+     * Score exact de chaque colonne pour le joueur au trait (voir {@link SolveurPuissance4#analyser}).
+     * @param jeu partie analysée
+     * @return les scores par colonne
+     */
+    public int[] evaluerColonnes(JeuPuissance4 jeu) {
+        return solveur.analyser(new BitboardPuissance4(jeu.getBitboard()));
+    }
+}
@@ -0,0 +1,364 @@
+package modele.ia.puissance4;
+
+import modele.plateau.BitboardPuissance4;
+
+import java.util.Arrays;
+
+/**
+ * Solveur exact du Puissance 4 : négamax avec élagage alpha-bêta sur {@link BitboardPuissance4}.
+ * <p>
+ * Le score d'une position est donné du point de vue du joueur au trait : 0 pour une nulle,
+ * positif s'il gagne (d'autant plus grand qu'il gagne tôt : 22 moins le nombre de ses pierres
+ * à la fin de la partie), négatif s'il perd. La recherche combine :
+ * <ul>
+ * <li>une fenêtre nulle resserrée par dichotomie autour du score ;</li>
+ * <li>l'élimination des coups qui offrent une victoire immédiate à l'adversaire ;</li>
+ * <li>l'ordonnancement par nombre de menaces créées, à égalité les colonnes centrales d'abord ;</li>
+ * <li>une table de transposition mémorisant une borne par position.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * En début de partie, une résolution coûte des centaines de millions de positions (plus d'une
+ * minute par coup candidat). {@link #meilleurCoup(BitboardPuissance4, long)} lit donc les deux
+ * premiers coups dans un petit livre d'ouverture calculé hors ligne, puis borne le nombre de
+ * positions explorées : au-delà, le coup est choisi par les menaces créées et l'issue théorique
+ * n'est plus garantie tant que la partie n'est pas assez avancée pour tenir dans le budget.
+ * </p>
+ */
+public class SolveurPuissance4 {
+
+    private static final int LARGEUR = BitboardPuissance4.LARGEUR;
+    private static final int NOMBRE_CASES = BitboardPuissance4.NOMBRE_CASES;
+    public static final int SCORE_MIN = -NOMBRE_CASES / 2 + 3;
+    public static final int SCORE_MAX = (NOMBRE_CASES + 1) / 2 - 3;
+    /** Valeur de {@link #analyser} pour une colonne pleine. */
+    public static final int COLONNE_PLEINE = Integer.MIN_VALUE;
+
+    /** Taille minimale de la table (log2) : en deçà, deux positions pourraient partager une entrée. */
+    public static final int LOG2_ENTREES_MIN = 18;
+    /** Taille maximale de la table (log2), limitée par la taille d'un tableau. */
+    public static final int LOG2_ENTREES_MAX = 30;
+
+    /** Budget d'un coup de {@link JoueurPuissance4Parfait} : quelques secondes de résolution. */
+    public static final long BUDGET_COUP_DEFAUT = 20_000_000L;
+
+    /**
+     * Livre d'ouverture : réponse du second joueur à chaque premier coup (colonne jouée → colonne
+     * de la réponse), qui préserve sa victoire après un premier coup en colonne a, b, f ou g et la
+     * nulle après c ou e. Toutes les réponses perdent après le coup central ; la colonne centrale
+     * est alors retenue. Calculé avec {@link #resoudre(BitboardPuissance4, boolean)}.
+     */
+    private static final int[] REPONSES_PREMIER_COUP = {3, 2, 3, 3, 3, 4, 3};
+
+    /** Colonnes de la plus centrale à la plus excentrée. */
+    private static final int[] ORDRE_COLONNES = new int[LARGEUR];
+
+    static {
+        for (int i = 0; i < LARGEUR; i++) {
+            ORDRE_COLONNES[i] = LARGEUR / 2 + (1 - 2 * (i % 2)) * (i + 1) / 2;
+        }
+    }
+
+    private final TableBornes table;
+    /** Listes de coups réutilisées à chaque profondeur, pour ne rien allouer pendant la recherche. */
+    private final long[][] coupsParProfondeur = new long[NOMBRE_CASES + 1][LARGEUR];
+    private final int[][] scoresParProfondeur = new int[NOMBRE_CASES + 1][LARGEUR];
+    private long noeuds;
+    /** Nombre de positions au-delà duquel la recherche en cours est abandonnée. */
+    private long limiteNoeuds = Long.MAX_VALUE;
+    private boolean interrompu;
+
+    /**
+     * Solveur avec une table de 2^23 entrées (environ 40 Mo), suffisante depuis la position initiale.
+     */
+    public SolveurPuissance4() {
+        this(23);
+    }
+
+    /**
+     * @param log2Entrees logarithme en base 2 du nombre d'entrées de la table de transposition,
+     *                    entre {@link #LOG2_ENTREES_MIN} et {@link #LOG2_ENTREES_MAX}
+     * @throws IllegalArgumentException si la taille demandée est hors de ces bornes
+     */
+    public SolveurPuissance4(int log2Entrees) {
+        if (log2Entrees < LOG2_ENTREES_MIN || log2Entrees > LOG2_ENTREES_MAX) {
+            throw new IllegalArgumentException("Taille de table invalide : 2^" + log2Entrees + " (de 2^"
+                    + LOG2_ENTREES_MIN + " à 2^" + LOG2_ENTREES_MAX + ")");
+        }
+        this.table = new TableBornes(log2Entrees);
+    }
+
+    /**
+     * Calcule le score exact de la position.
+     * @param position position à résoudre (non modifiée)
+     * @return score du joueur au trait (voir la description de la classe)
+     */
+    public int resoudre(BitboardPuissance4 position) {
+        return resoudre(position, false);
+    }
+
+    /**
+     * Calcule le score de la position, éventuellement réduit à son signe (solveur « faible »,
+     * plus rapide : -1 perdu, 0 nul, 1 gagné).
+     * @param position position à résoudre (non modifiée)
+     * @param faible true pour ne déterminer que l'issue de la partie
+     * @return score du joueur au trait
+     */
+    public int resoudre(BitboardPuissance4 position, boolean faible) {
+        int n = position.getNombreCoups();
+        if (position.peutGagnerAuProchainCoup()) {
+            return faible ? 1 : (NOMBRE_CASES + 1 - n) / 2;
+        }
+        int min = -(NOMBRE_CASES - n) / 2;
+        int max = (NOMBRE_CASES + 1 - n) / 2;
+        if (faible) {
+            min = -1;
+            max = 1;
+        }
+        long pierres = position.getPierresJoueurCourant();
+        long masque = position.getMasque();
+        while (min < max) {
+            // Fenêtre nulle, biaisée vers 0 pour profiter des coupures des petits scores
+            int milieu = min + (max - min) / 2;
+            if (milieu <= 0 && min / 2 < milieu) milieu = min / 2;
+            else if (milieu >= 0 && max / 2 > milieu) milieu = max / 2;
+            int r = negamax(pierres, masque, n, milieu, milieu + 1);
+            if (interrompu) return 0;
+            if (r <= milieu) max = r;
+            else min = r;
+        }
+        return min;
+    }
+
+    /**
+     * Score de chaque colonne pour le joueur au trait, pour l'aide de jeu.
+     * @param position position analysée (non modifiée)
+     * @return tableau de {@link BitboardPuissance4#LARGEUR} scores ; {@link #COLONNE_PLEINE} si la colonne est pleine
+     */
+    public int[] analyser(BitboardPuissance4 position) {
+        int[] scores = new int[LARGEUR];
+        for (int col = 0; col < LARGEUR; col++) {
+            if (!position.peutJouer(col)) {
+                scores[col] = COLONNE_PLEINE;
+            } else if (position.estCoupGagnant(col)) {
+                scores[col] = (NOMBRE_CASES + 1 - position.getNombreCoups()) / 2;
+            } else {
+                BitboardPuissance4 suivante = new BitboardPuissance4(position);
+                suivante.jouer(col);
+                scores[col] = -resoudre(suivante);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Choisit un coup qui préserve l'issue théorique de la partie (victoire, sinon nulle), en
+     * préférant les colonnes centrales, sans limite de temps : en tout début de partie hors du
+     * livre d'ouverture, la résolution peut prendre plusieurs minutes.
+     * @param position position (non modifiée), qui doit avoir au moins un coup possible
+     * @return colonne à jouer
+     */
+    public int meilleurCoup(BitboardPuissance4 position) {
+        return meilleurCoup(position, Long.MAX_VALUE);
+    }
+
+    /**
+     * Choisit un coup qui préserve l'issue théorique de la partie si elle peut être établie en
+     * au plus {@code budgetNoeuds} positions ; sinon, le coup non réfuté qui crée le plus de
+     * menaces (nulle conservée si une colonne a déjà été prouvée nulle).
+     * @param position position (non modifiée), qui doit avoir au moins un coup possible
+     * @param budgetNoeuds nombre maximal de positions explorées pour ce coup
+     * @return colonne à jouer
+     */
+    public int meilleurCoup(BitboardPuissance4 position, long budgetNoeuds) {
+        int n = position.getNombreCoups();
+        if (n == 0) {
+            // Résultat connu (Allis, 1988) : seule la colonne centrale gagne depuis la position initiale
+            return LARGEUR / 2;
+        }
+        if (n == 1) {
+            return REPONSES_PREMIER_COUP[BitboardPuissance4.colonneDe(Long.numberOfTrailingZeros(position.getMasque()))];
+        }
+        for (int col : ORDRE_COLONNES) {
+            if (position.peutJouer(col) && position.estCoupGagnant(col)) return col;
+        }
+        long nonPerdants = position.coupsNonPerdants();
+        if (nonPerdants == 0) {
+            // Partie perdue : n'importe quel coup possible
+            nonPerdants = position.coupsPossibles();
+        } else if ((nonPerdants & (nonPerdants - 1)) == 0) {
+            // Un seul coup ne perd pas tout de suite : inutile de chercher
+            return BitboardPuissance4.colonneDe(Long.numberOfTrailingZeros(nonPerdants));
+        }
+        limiteNoeuds = budgetNoeuds == Long.MAX_VALUE ? Long.MAX_VALUE : noeuds + budgetNoeuds;
+        interrompu = false;
+        try {
+            int meilleur = -1;
+            int meilleurScore = Integer.MIN_VALUE;
+            long nonRefutes = nonPerdants;
+            for (int col : ORDRE_COLONNES) {
+                if ((nonPerdants & BitboardPuissance4.masqueColonne(col)) == 0) continue;
+                BitboardPuissance4 suivante = new BitboardPuissance4(position);
+                suivante.jouer(col);
+                int score = -resoudre(suivante, true);
+                if (interrompu) break;
+                if (score < 0) nonRefutes &= ~BitboardPuissance4.masqueColonne(col);
+                if (score > meilleurScore) {
+                    meilleurScore = score;
+                    meilleur = col;
+                    if (score > 0) break;
+                }
+            }
+            if (!interrompu || meilleurScore >= 0) return meilleur;
+            return coupParMenaces(position, nonRefutes != 0 ? nonRefutes : nonPerdants);
+        } finally {
+            limiteNoeuds = Long.MAX_VALUE;
+            interrompu = false;
+        }
+    }
+
+    /** @return colonne du coup candidat créant le plus de menaces, les colonnes centrales d'abord à égalité */
+    private static int coupParMenaces(BitboardPuissance4 position, long candidats) {
+        int meilleur = -1;
+        int meilleurScore = -1;
+        for (int col : ORDRE_COLONNES) {
+            long coup = candidats & BitboardPuissance4.masqueColonne(col);
+            if (coup == 0) continue;
+            int score = position.scoreCoup(coup);
+            if (score > meilleurScore) {
+                meilleurScore = score;
+                meilleur = col;
+            }
+        }
+        return meilleur;
+    }
+
+    /** @return nombre de positions explorées depuis la création du solveur */
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /** Oublie les positions mémorisées. */
+    public void vider() {
+        table.vider();
+    }
+
+    /**
+     * @param pierres pierres du joueur au trait, qui ne peut pas gagner immédiatement
+     * @param masque toutes les pierres posées
+     * @param n nombre de coups joués
+     */
+    private int negamax(long pierres, long masque, int n, int alpha, int beta) {
+        if (++noeuds > limiteNoeuds) {
+            interrompu = true;
+            return 0;
+        }
+        long suivants = BitboardPuissance4.coupsNonPerdants(pierres, masque);
+        if (suivants == 0) return -(NOMBRE_CASES - n) / 2; // Tous les coups perdent au coup suivant
+        if (n >= NOMBRE_CASES - 2) return 0; // Aucun des deux camps ne peut plus gagner
+
+        int min = -(NOMBRE_CASES - 2 - n) / 2; // L'adversaire ne peut pas gagner au prochain coup
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) return alpha;
+        }
+        int max = (NOMBRE_CASES - 1 - n) / 2; // Nous ne pouvons pas gagner tout de suite
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) return beta;
+        }
+        long cle = pierres + masque;
+        int valeur = table.lire(cle);
+        if (valeur != 0) {
+            if (valeur > SCORE_MAX - SCORE_MIN + 1) {
+                min = valeur + 2 * SCORE_MIN - SCORE_MAX - 2; // Borne inférieure
+                if (alpha < min) {
+                    alpha = min;
+                    if (alpha >= beta) return alpha;
+                }
+            } else {
+                max = valeur + SCORE_MIN - 1; // Borne supérieure
+                if (beta > max) {
+                    beta = max;
+                    if (alpha >= beta) return beta;
+                }
+            }
+        }
+
+        // Tri par insertion des coups : menaces décroissantes, colonnes centrales d'abord à égalité
+        long[] coups = coupsParProfondeur[n];
+        int[] scores = scoresParProfondeur[n];
+        int nb = 0;
+        for (int i = LARGEUR - 1; i >= 0; i--) {
+            long coup = suivants & BitboardPuissance4.masqueColonne(ORDRE_COLONNES[i]);
+            if (coup == 0) continue;
+            int score = Long.bitCount(BitboardPuissance4.casesGagnantes(pierres | coup, masque));
+            int j = nb++;
+            for (; j > 0 && scores[j - 1] > score; j--) {
+                coups[j] = coups[j - 1];
+                scores[j] = scores[j - 1];
+            }
+            coups[j] = coup;
+            scores[j] = score;
+        }
+
+        for (int i = nb - 1; i >= 0; i--) {
+            // Après le coup, l'adversaire est au trait : ses pierres sont les autres pierres posées
+            int score = -negamax(pierres ^ masque, masque | coups[i], n + 1, -beta, -alpha);
+            if (interrompu) return 0; // Rien n'est mémorisé d'une recherche abandonnée
+            if (score >= beta) {
+                table.ecrire(cle, score + SCORE_MAX - 2 * SCORE_MIN + 2);
+                return score;
+            }
+            if (score > alpha) alpha = score;
+        }
+        table.ecrire(cle, alpha - SCORE_MIN + 1);
+        return alpha;
+    }
+
+    /**
+     * Table de transposition à adressage direct : une borne codée sur un octet par position,
+     * la clé (49 bits) étant vérifiée sur ses 32 bits de poids faible. Deux clés de mêmes 32 bits
+     * de poids faible diffèrent d'un multiple {@code d * 2^32} avec {@code |d| < 2^17} : la taille
+     * de la table étant un nombre premier d'au moins 2^17 (table de 2^18 entrées ou plus), elles
+     * tombent dans des entrées différentes et le couple (indice, 32 bits de poids faible) est unique.
+     */
+    static final class TableBornes {
+        private final int[] cles;
+        private final byte[] valeurs;
+        private final int taille;
+
+        TableBornes(int log2Entrees) {
+            this.taille = premierInferieur(1 << log2Entrees);
+            this.cles = new int[taille];
+            this.valeurs = new byte[taille];
+        }
+
+        private static int premierInferieur(int n) {
+            for (int p = n - 1; ; p--) {
+                boolean premier = p > 1;
+                for (int d = 2; (long) d * d <= p && premier; d++) {
+                    if (p % d == 0) premier = false;
+                }
+                if (premier) return p;
+            }
+        }
+
+        void ecrire(long cle, int valeur) {
+            int i = (int) (cle % taille);
+            cles[i] = (int) cle;
+            valeurs[i] = (byte) valeur;
+        }
+
+        /** @return la valeur mémorisée, ou 0 si la position est absente */
+        int lire(long cle) {
+            int i = (int) (cle % taille);
+            return cles[i] == (int) cle ? valeurs[i] : 0;
+        }
+
+        void vider() {
+            Arrays.fill(cles, 0);
+            Arrays.fill(valeurs, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package modele.ia.tictactoe;
+
+import modele.jeu.Piece;
+import modele.plateau.Plateau;
+
+/**
+ * Base de données complète du TicTacToe 3x3 : valeur théorique et meilleurs coups de chaque position.
+ * <p>
+ * Une position est codée en base 3 ({@code 0} vide, {@code 1} Blanc/X, {@code 2} Noir/O), la case
+ * {@code (x, y)} portant le chiffre de poids {@code 3^(3x + y)} : il y a {@value #NOMBRE_INDICES}
+ * codes. Seule la forme canonique de chaque position sous les 8 symétries du carré (rotations et
+ * réflexions) est résolue et stockée, soit 765 positions sur les 5478 accessibles.
+ * </p>
+ * <p>
+ * Chaque entrée tient dans un {@code short} :
+ * <ul>
+ * <li>bits 0 à 8 : cases des meilleurs coups (bit {@code 3x + y}) ;</li>
+ * <li>bits 9 à 13 : score négamax + 10, du point de vue du joueur au trait (positif s'il gagne,
+ * d'autant plus grand que la victoire est rapide ; négatif s'il perd ; 0 pour une nulle) ;</li>
+ * <li>bit 14 : entrée présente.</li>
+ * </ul>
+ * La table (38 Ko) est construite une fois, au chargement de la classe, en quelques millisecondes
+ * (765 positions développées) ; une consultation ne fait ensuite plus aucune recherche : une
+ * canonisation par tables de masques et une lecture de tableau.
+ * </p>
+ */
+public final class BaseTicTacToe {
+
+    public static final int NOMBRE_INDICES = 19683; // 3^9
+    private static final int PRESENT = 1 << 14;
+    private static final int MASQUE_COUPS = 0x1FF;
+
+    /** Les 8 lignes gagnantes, en masques de cases. */
+    private static final int[] LIGNES = {
+            0007, 0070, 0700, 0111, 0222, 0444, 0421, 0124
+    };
+
+    /** SYMETRIES[s][c] : case image de la case c par la symétrie s. */
+    private static final int[][] SYMETRIES = new int[8][9];
+    /** Puissances de 3 : PUISSANCES[c] = 3^c. */
+    private static final int[] PUISSANCES = new int[9];
+    /** IMAGES[s][m] : image d'un masque de cases par la symétrie s. */
+    private static final short[][] IMAGES = new short[8][512];
+    /** TERNAIRE[m] : somme des 3^c des cases du masque. */
+    private static final short[] TERNAIRE = new short[512];
+
+    private static final short[] TABLE = new short[NOMBRE_INDICES];
+    private static final int POSITIONS_CANONIQUES;
+    private static final long DUREE_CONSTRUCTION_NS;
+
+    static {
+        PUISSANCES[0] = 1;
+        for (int c = 1; c < 9; c++) PUISSANCES[c] = PUISSANCES[c - 1] * 3;
+        for (int s = 0; s < 8; s++) {
+            for (int c = 0; c < 9; c++) {
+                int x = c / 3, y = c % 3;
+                // Rotation d'un quart de tour s % 4 fois, précédée d'une réflexion si s >= 4
+                if (s >= 4) y = 2 - y;
+                for (int r = 0; r < s % 4; r++) {
+                    int t = x;
+                    x = y;
+                    y = 2 - t;
+                }
+                SYMETRIES[s][c] = 3 * x + y;
+            }
+        }
+        for (int m = 0; m < 512; m++) {
+            for (int c = 0; c < 9; c++) {
+                if ((m & (1 << c)) == 0) continue;
+                TERNAIRE[m] += PUISSANCES[c];
+                for (int s = 0; s < 8; s++) IMAGES[s][m] |= 1 << SYMETRIES[s][c];
+            }
+        }
+        long debut = System.nanoTime();
+        resoudre(0, 0, 0);
+        DUREE_CONSTRUCTION_NS = System.nanoTime() - debut;
+        int n = 0;
+        for (short e : TABLE) if (e != 0) n++;
+        POSITIONS_CANONIQUES = n;
+    }
+
+    private BaseTicTacToe() {
+    }
+
+    // --- CONSTRUCTION ---
+
+    private static boolean aligne(int cases) {
+        for (int l : LIGNES) {
+            if ((cases & l) == l) return true;
+        }
+        return false;
+    }
+
+    /** Code base 3 des masques de cases blanches et noires. */
+    private static int coder(int blancs, int noirs) {
+        return TERNAIRE[blancs] + 2 * TERNAIRE[noirs];
+    }
+
+    /**
+     * Symétrie qui amène une position sur sa forme canonique (le plus petit code de ses 8 images).
+     * @return symétrie dans les 4 bits de poids faible, code canonique au-dessus
+     */
+    private static int canoniser(int blancs, int noirs) {
+        int meilleure = 0;
+        int min = coder(blancs, noirs);
+        for (int s = 1; s < 8; s++) {
+            int image = coder(IMAGES[s][blancs], IMAGES[s][noirs]);
+            if (image < min) {
+                min = image;
+                meilleure = s;
+            }
+        }
+        return (min << 4) | meilleure;
+    }
+
+    /** Masque des cases portant le chiffre donné dans un code base 3. */
+    private static int cases(int indice, int chiffre) {
+        int m = 0;
+        for (int c = 0; c < 9; c++, indice /= 3) {
+            if (indice % 3 == chiffre) m |= 1 << c;
+        }
+        return m;
+    }
+
+    /**
+     * Négamax exhaustif mémorisé sur les formes canoniques.
+     * @param blancs cases blanches
+     * @param noirs cases noires
+     * @param trait 0 si les Blancs jouent, 1 sinon
+     * @return score pour le joueur au trait
+     */
+    private static int resoudre(int blancs, int noirs, int trait) {
+        int forme = canoniser(blancs, noirs);
+        int s = forme & 0xF;
+        int canonique = forme >>> 4;
+        short entree = TABLE[canonique];
+        if (entree != 0) return ((entree >>> 9) & 0x1F) - 10;
+
+        int occupees = blancs | noirs;
+        int vides = 9 - Integer.bitCount(occupees);
+        int score;
+        int coups = 0;
+        if (aligne(trait == 0 ? noirs : blancs)) {
+            score = -(vides + 1); // L'adversaire vient d'aligner
+        } else if (vides == 0) {
+            score = 0;
+        } else {
+            score = Integer.MIN_VALUE;
+            for (int c = 0; c < 9; c++) {
+                if ((occupees & (1 << c)) != 0) continue;
+                int v = trait == 0
+                        ? -resoudre(blancs | (1 << c), noirs, 1)
+                        : -resoudre(blancs, noirs | (1 << c), 0);
+                if (v > score) {
+                    score = v;
+                    coups = 0;
+                }
+                // Les coups sont stockés dans le repère de la forme canonique
+                if (v == score) coups |= 1 << SYMETRIES[s][c];
+            }
+        }
+        TABLE[canonique] = (short) (PRESENT | ((score + 10) << 9) | coups);
+        return score;
+    }
+
+    // --- CONSULTATION ---
+
+    /**
+     * Code base 3 d'un plateau 3x3.
+     * @param plateau plateau de TicTacToe
+     * @return code de la position
+     */
+    public static int indice(Plateau plateau) {
+        int indice = 0;
+        byte[] codes = plateau.getCodes();
+        for (int c = 0; c < 9; c++) {
+            if (codes[c] == Piece.VIDE) continue;
+            indice += (Piece.couleurDe(codes[c]) + 1) * PUISSANCES[c];
+        }
+        return indice;
+    }
+
+    /** @return forme canonique d'un code (voir {@link #canoniser}) */
+    private static int canoniser(int indice) {
+        if (indice < 0 || indice >= NOMBRE_INDICES) throw new IllegalArgumentException("Code invalide : " + indice);
+        return canoniser(cases(indice, 1), cases(indice, 2));
+    }
+
+    /** @return entrée de la forme canonique, ou 0 si la position est inaccessible */
+    private static int entree(int indice) {
+        return TABLE[canoniser(indice) >>> 4];
+    }
+
+    /**
+     * @param indice code base 3 de la position
+     * @return true si la position peut survenir dans une partie (Blancs au premier coup)
+     */
+    public static boolean estAccessible(int indice) {
+        return entree(indice) != 0;
+    }
+
+    /**
+     * Score négamax du joueur au trait : s'il gagne, 10 moins le nombre de cases occupées à la fin
+     * de la partie ; l'opposé s'il perd ; 0 pour une nulle.
+     * @param indice code base 3 d'une position accessible
+     * @return score
+     * @throws IllegalArgumentException si la position est inaccessible
+     */
+    public static int score(int indice) {
+        int e = entree(indice);
+        if (e == 0) throw new IllegalArgumentException("Position inaccessible : " + indice);
+        return ((e >>> 9) & 0x1F) - 10;
+    }
+
+    /**
+     * @param indice code base 3 d'une position accessible
+     * @return 1 si le joueur au trait gagne, 0 si la partie est nulle, -1 s'il perd
+     */
+    public static int valeur(int indice) {
+        return Integer.signum(score(indice));
+    }
+
+    /**
+     * Meilleurs coups du joueur au trait : ceux qui gagnent le plus vite, à défaut qui annulent,
+     * à défaut qui perdent le plus tard.
+     * @param indice code base 3 d'une position accessible
+     * @return masque des cases (bit {@code 3x + y}) ; 0 si la partie est terminée
+     */
+    public static int meilleursCoups(int indice) {
+        int forme = canoniser(indice);
+        int s = forme & 0xF;
+        int e = TABLE[forme >>> 4];
+        if (e == 0) throw new IllegalArgumentException("Position inaccessible : " + indice);
+        int coupsCanoniques = e & MASQUE_COUPS;
+        int coups = 0;
+        for (int c = 0; c < 9; c++) {
+            if ((coupsCanoniques & (1 << SYMETRIES[s][c])) != 0) coups |= 1 << c;
+        }
+        return coups;
+    }
+
+    /**
+     * Conseil pour le joueur au trait : le premier de ses meilleurs coups.
+     * @param plateau plateau 3x3 d'une partie non terminée
+     * @return numéro de case {@code 3x + y}, ou -1 si la partie est terminée
+     */
+    public static int conseil(Plateau plateau) {
+        int coups = meilleursCoups(indice(plateau));
+        return coups == 0 ? -1 : Integer.numberOfTrailingZeros(coups);
+    }
+
+    /** @return nombre de positions canoniques stockées (765) */
+    public static int getNombrePositions() {
+        return POSITIONS_CANONIQUES;
+    }
+
+    /** @return durée de construction de la table, en nanosecondes */
+    public static long getDureeConstructionNs() {
+        return DUREE_CONSTRUCTION_NS;
+    }
+}
@@ -0,0 +1,63 @@
+package modele.ia.tictactoe;
+
+import modele.jeu.Coup;
+import modele.jeu.Jeu;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.Joueur;
+
+import java.util.Random;
+
+/**
+ * Adversaire parfait au TicTacToe 3x3 : chaque coup est lu dans la {@link BaseTicTacToe}, sans
+ * aucune recherche. Il gagne le plus vite possible, ne perd jamais une nulle acquise et varie
+ * ses coups en tirant au hasard parmi les meilleurs.
+ * <p>
+ * Il s'installe avec {@link Jeu#setJoueur(Joueur)}. Sur un plateau m,n,k autre que 3x3 à trois
+ * alignés, il laisse la main (aucun coup proposé).
+ * </p>
+ */
+public class JoueurTicTacToeParfait extends Joueur {
+
+    private final Random aleatoire;
+
+    /**
+     * @param couleur couleur jouée par l'ordinateur
+     */
+    public JoueurTicTacToeParfait(Couleur couleur) {
+        this(couleur, new Random());
+    }
+
+    /**
+     * @param couleur couleur jouée par l'ordinateur
+     * @param aleatoire source du choix entre coups équivalents
+     */
+    public JoueurTicTacToeParfait(Couleur couleur, Random aleatoire) {
+        super(couleur);
+        this.aleatoire = aleatoire;
+    }
+
+    /**
+     * @param jeu partie
+     * @return true si la partie se joue sur le plateau standard couvert par la base
+     */
+    public static boolean estCouvert(Jeu jeu) {
+        return jeu instanceof JeuTicTacToe t
+                && t.getLongueurAlignement() == JeuTicTacToe.LONGUEUR_ALIGNEMENT
+                && jeu.getPlateau().getSizeX() == 3 && jeu.getPlateau().getSizeY() == 3;
+    }
+
+    @Override
+    public Coup choisirCoup(Jeu jeu) {
+        if (!estCouvert(jeu) || jeu.estTermine()) {
+            return null;
+        }
+        int coups = BaseTicTacToe.meilleursCoups(BaseTicTacToe.indice(jeu.getPlateau()));
+        if (coups == 0) return null;
+        // Tirage uniforme parmi les meilleurs coups
+        for (int tirage = aleatoire.nextInt(Integer.bitCount(coups)); tirage > 0; tirage--) {
+            coups &= coups - 1;
+        }
+        int c = Integer.numberOfTrailingZeros(coups);
+        return new Coup(null, jeu.getPlateau().getCase(c / 3, c % 3));
+    }
+}
@@ -0,0 +1,77 @@
+package modele.ia.tictactoe3d;
+
+/**
+ * Résultat d'une résolution par {@link SolveurTicTacToe3D} : verdict, coup gagnant et
+ * statistiques (nœuds développés, mémoire de la table, durée).
+ */
+public class ResultatPreuve {
+
+    /** Issue de la résolution, du point de vue du joueur au trait. */
+    public enum Verdict {
+        /** Le joueur au trait gagne quelle que soit la défense. */
+        GAIN_FORCE,
+        /** L'adversaire peut au moins obtenir la nulle. */
+        PAS_DE_GAIN_FORCE,
+        /** Budget de nœuds épuisé avant la fin de la preuve. */
+        INCONNU
+    }
+
+    private final Verdict verdict;
+    private final int coupGagnant;
+    private final long noeuds;
+    private final long memoireOctets;
+    private final long dureeNanos;
+
+    ResultatPreuve(Verdict verdict, int coupGagnant, long noeuds, long memoireOctets, long dureeNanos) {
+        this.verdict = verdict;
+        this.coupGagnant = coupGagnant;
+        this.noeuds = noeuds;
+        this.memoireOctets = memoireOctets;
+        this.dureeNanos = dureeNanos;
+    }
+
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    /** @return true si la position est un gain forcé pour le joueur au trait */
+    public boolean estGainForce() {
+        return verdict == Verdict.GAIN_FORCE;
+    }
+
+    /**
+     * @return case du coup gagnant (indice {@code (x * N + y) * N + z}) si la position est un gain
+     * forcé, -1 sinon
+     */
+    public int getCoupGagnant() {
+        return coupGagnant;
+    }
+
+    /** @return nombre de nœuds développés */
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /** @return taille de la table de transposition, en octets */
+    public long getMemoireOctets() {
+        return memoireOctets;
+    }
+
+    public long getDureeMs() {
+        return dureeNanos / 1_000_000;
+    }
+
+    public long getNoeudsParSeconde() {
+        return dureeNanos > 0 ? noeuds * 1_000_000_000L / dureeNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return verdict
+                + (coupGagnant >= 0 ? " coup " + coupGagnant : "")
+                + " noeuds " + noeuds
+                + " memoire " + (memoireOctets >> 20) + " Mo"
+                + " temps " + getDureeMs() + " ms"
+                + " nps " + getNoeudsParSeconde();
+    }
+}
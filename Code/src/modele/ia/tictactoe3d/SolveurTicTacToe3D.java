@@ -0,0 +1,461 @@
+package modele.ia.tictactoe3d;
+
+import modele.plateau.BitboardCube;
+
+import java.util.Arrays;
+
+/**
+ * Solveur du TicTacToe 3D (cube 3x3x3, Qubic 4x4x4) par recherche en profondeur des nombres de
+ * preuve (df-pn, Nagai 2002) : il répond à la question « le joueur au trait a-t-il un gain forcé ? ».
+ * <p>
+ * Chaque position porte un nombre de preuve (nombre minimal de feuilles à prouver pour établir le
+ * gain du joueur au trait de la racine, l'attaquant) et un nombre de réfutation (idem pour établir
+ * que le défenseur tient au moins la nulle). La recherche descend toujours vers le nœud le plus
+ * facile à trancher, avec des seuils qui lui évitent de remonter à la racine entre deux
+ * développements. Contrairement à l'alpha-bêta, elle ne souffre pas du facteur de branchement
+ * de 64 du Qubic : elle s'engouffre dans les suites forcées.
+ * </p>
+ * <p>
+ * Réductions :
+ * <ul>
+ * <li>espace des menaces : un joueur qui a une ligne à une case de la fin gagne ; face à une
+ * menace adverse, seul le coup de parade est généré ; face à deux menaces, la position est perdue ;</li>
+ * <li>symétries : les positions sont ramenées à leur forme canonique sous les 48 automorphismes
+ * du cube (6 permutations des axes × 8 réflexions), tenue à jour incrémentalement, et les coups
+ * symétriques d'une même position ne sont développés qu'une fois ;</li>
+ * <li>table de transposition de taille fixe (deux entrées par seau, la moins coûteuse à recalculer
+ * est remplacée) : la mémoire reste bornée, une position oubliée est simplement redéveloppée.</li>
+ * </ul>
+ * Les cubes de côté 2 à 4 tiennent dans un {@code long}.
+ * </p>
+ */
+public class SolveurTicTacToe3D {
+
+    /** Nombre de symétries du cube. */
+    public static final int NOMBRE_SYMETRIES = 48;
+    private static final int INFINI = 1 << 28;
+    private static final int OCTETS_PAR_ENTREE = 8 + 8 + 4 + 4 + 4;
+
+    private static final int EN_COURS = 0;
+    private static final int GAGNE = 1;
+    private static final int PERDU = 2;
+    private static final int NUL = 3;
+
+    private final int n;
+    private final long plein;
+    private final long[] lignes;
+    /** images[s][c] : bit de l'image de la case c par la symétrie s. */
+    private final long[][] images;
+    /** Cases de la plus centrale (traversée par le plus de lignes) à la moins centrale. */
+    private final int[] ordre;
+
+    // Table de transposition
+    private final long[] clesA;
+    private final long[] clesD;
+    private final int[] pnTable;
+    private final int[] dnTable;
+    private final int[] travailTable;
+    private final int masqueTable;
+    private int luPn;
+    private int luDn;
+    /** Parité de la dernière résolution : true si l'attaquant avait autant de pierres que le défenseur. */
+    private Boolean attaquantPremier;
+
+    // Piles de recherche, une ligne par profondeur
+    private final long[][] imagesA;
+    private final long[][] imagesD;
+    private final int[][] coupsEnfants;
+    private final long[][] clesAEnfants;
+    private final long[][] clesDEnfants;
+    private final int[][] pnEnfants;
+    private final int[][] dnEnfants;
+
+    /** Forme canonique calculée par {@link #canoniser}. */
+    private long cleA;
+    private long cleD;
+    private int enfantsRacine;
+    private long coups;
+    private int retourPn;
+    private int retourDn;
+    private long noeuds;
+    private long limite;
+
+    /**
+     * Solveur avec une table de transposition de 64 Mo.
+     * @param n côté du cube (2 à 4)
+     */
+    public SolveurTicTacToe3D(int n) {
+        this(n, 64);
+    }
+
+    /**
+     * @param n côté du cube (2 à 4)
+     * @param tailleMo taille maximale de la table de transposition, en mégaoctets (au moins 1)
+     */
+    public SolveurTicTacToe3D(int n, int tailleMo) {
+        this.n = n;
+        this.lignes = BitboardCube.masquesLignes(n);
+        int nombreCases = n * n * n;
+        this.plein = nombreCases == 64 ? -1L : (1L << nombreCases) - 1;
+
+        this.images = new long[NOMBRE_SYMETRIES][nombreCases];
+        int[][] permutations = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+        for (int s = 0; s < NOMBRE_SYMETRIES; s++) {
+            int[] p = permutations[s / 8];
+            for (int c = 0; c < nombreCases; c++) {
+                int[] coord = {c / (n * n), (c / n) % n, c % n};
+                int[] image = new int[3];
+                for (int axe = 0; axe < 3; axe++) {
+                    image[axe] = coord[p[axe]];
+                    if ((s & (1 << axe)) != 0) image[axe] = n - 1 - image[axe];
+                }
+                images[s][c] = 1L << ((image[0] * n + image[1]) * n + image[2]);
+            }
+        }
+
+        int[] lignesParCase = new int[nombreCases];
+        for (long l : lignes) {
+            for (long m = l; m != 0; m &= m - 1) lignesParCase[Long.numberOfTrailingZeros(m)]++;
+        }
+        this.ordre = new int[nombreCases];
+        for (int c = 0; c < nombreCases; c++) ordre[c] = c;
+        for (int i = 1; i < nombreCases; i++) {
+            int c = ordre[i];
+            int j = i;
+            for (; j > 0 && lignesParCase[ordre[j - 1]] < lignesParCase[c]; j--) ordre[j] = ordre[j - 1];
+            ordre[j] = c;
+        }
+
+        long octets = Math.max(1, tailleMo) * 1024L * 1024L;
+        int nombre = Integer.highestOneBit((int) Math.min(octets / OCTETS_PAR_ENTREE, 1 << 28));
+        this.clesA = new long[nombre];
+        this.clesD = new long[nombre];
+        this.pnTable = new int[nombre];
+        this.dnTable = new int[nombre];
+        this.travailTable = new int[nombre];
+        this.masqueTable = nombre - 1;
+
+        int profondeurs = nombreCases + 1;
+        this.imagesA = new long[profondeurs][NOMBRE_SYMETRIES];
+        this.imagesD = new long[profondeurs][NOMBRE_SYMETRIES];
+        this.coupsEnfants = new int[profondeurs][nombreCases];
+        this.clesAEnfants = new long[profondeurs][nombreCases];
+        this.clesDEnfants = new long[profondeurs][nombreCases];
+        this.pnEnfants = new int[profondeurs][nombreCases];
+        this.dnEnfants = new int[profondeurs][nombreCases];
+    }
+
+    // --- RÉSOLUTION ---
+
+    /**
+     * Résout la position d'un cube, le trait étant aux Blancs à égalité de pierres.
+     * @param cube cube de côté égal à celui du solveur (non modifié)
+     * @return verdict pour le joueur au trait
+     */
+    public ResultatPreuve resoudre(BitboardCube cube) {
+        if (cube.getTaille() != n) throw new IllegalArgumentException("Cube de côté " + cube.getTaille() + " au lieu de " + n);
+        long blancs = cube.getPierres(BitboardCube.BLANC);
+        long noirs = cube.getPierres(BitboardCube.NOIR);
+        return Long.bitCount(blancs) == Long.bitCount(noirs)
+                ? resoudre(blancs, noirs, Long.MAX_VALUE)
+                : resoudre(noirs, blancs, Long.MAX_VALUE);
+    }
+
+    /**
+     * Cherche un gain forcé pour le joueur au trait.
+     * @param trait pierres du joueur au trait (bit {@code (x * N + y) * N + z})
+     * @param adversaire pierres de son adversaire
+     * @param limiteNoeuds nombre maximal de nœuds développés avant d'abandonner
+     * @return verdict, coup gagnant et statistiques
+     */
+    public ResultatPreuve resoudre(long trait, long adversaire, long limiteNoeuds) {
+        long debut = System.nanoTime();
+        if ((trait & adversaire) != 0 || ((trait | adversaire) & ~plein) != 0) {
+            throw new IllegalArgumentException("Pierres superposées ou hors du cube");
+        }
+        boolean premier = Long.bitCount(trait) == Long.bitCount(adversaire);
+        if (attaquantPremier != null && attaquantPremier != premier) {
+            // Le trait ne se déduit plus de la même façon du nombre de pierres : la table est à refaire
+            vider();
+        }
+        attaquantPremier = premier;
+        noeuds = 0;
+        limite = limiteNoeuds;
+
+        ResultatPreuve.Verdict verdict;
+        int coupGagnant = -1;
+        if (aLigne(trait) || aLigne(adversaire)) {
+            verdict = ResultatPreuve.Verdict.PAS_DE_GAIN_FORCE; // Partie déjà terminée
+        } else {
+            int statut = evaluer(trait, adversaire);
+            if (statut == GAGNE) {
+                verdict = ResultatPreuve.Verdict.GAIN_FORCE;
+                coupGagnant = Long.numberOfTrailingZeros(menaces(trait, adversaire));
+            } else if (statut != EN_COURS) {
+                verdict = ResultatPreuve.Verdict.PAS_DE_GAIN_FORCE;
+            } else {
+                for (int s = 0; s < NOMBRE_SYMETRIES; s++) {
+                    imagesA[0][s] = image(s, trait);
+                    imagesD[0][s] = image(s, adversaire);
+                }
+                canoniser(imagesA[0], imagesD[0], -1, -1);
+                mid(trait, adversaire, true, cleA, cleD, 0, INFINI, INFINI);
+                if (retourPn == 0) {
+                    verdict = ResultatPreuve.Verdict.GAIN_FORCE;
+                    for (int i = 0; i < enfantsRacine && coupGagnant < 0; i++) {
+                        if (pnEnfants[0][i] == 0) coupGagnant = coupsEnfants[0][i];
+                    }
+                } else if (retourDn == 0) {
+                    verdict = ResultatPreuve.Verdict.PAS_DE_GAIN_FORCE;
+                } else {
+                    verdict = ResultatPreuve.Verdict.INCONNU;
+                }
+            }
+        }
+        return new ResultatPreuve(verdict, coupGagnant, noeuds, getMemoireOctets(), System.nanoTime() - debut);
+    }
+
+    /**
+     * Développe un nœud jusqu'à ce que ses nombres de preuve ou de réfutation atteignent leur seuil.
+     * Les nombres obtenus sont laissés dans {@link #retourPn} et {@link #retourDn}.
+     * @param a pierres de l'attaquant
+     * @param d pierres du défenseur
+     * @param ou true si l'attaquant est au trait (nœud OU)
+     */
+    private void mid(long a, long d, boolean ou, long cleNoeudA, long cleNoeudD, int prof, int seuilPn, int seuilDn) {
+        noeuds++;
+        long debutNoeuds = noeuds;
+        long moi = ou ? a : d;
+        long lui = ou ? d : a;
+        evaluer(moi, lui);
+        long candidats = coups;
+
+        // Génération des enfants, un seul par classe de symétrie
+        int[] coupsE = coupsEnfants[prof];
+        long[] clesAE = clesAEnfants[prof];
+        long[] clesDE = clesDEnfants[prof];
+        int[] pnE = pnEnfants[prof];
+        int[] dnE = dnEnfants[prof];
+        long[] imgA = imagesA[prof];
+        long[] imgD = imagesD[prof];
+        int nb = 0;
+        for (int c : ordre) {
+            if ((candidats & (1L << c)) == 0) continue;
+            canoniser(imgA, imgD, ou ? c : -1, ou ? -1 : c);
+            boolean doublon = false;
+            for (int i = 0; i < nb && !doublon; i++) {
+                doublon = clesAE[i] == cleA && clesDE[i] == cleD;
+            }
+            if (doublon) continue;
+            coupsE[nb] = c;
+            clesAE[nb] = cleA;
+            clesDE[nb] = cleD;
+            if (lire(cleA, cleD)) {
+                pnE[nb] = luPn;
+                dnE[nb] = luDn;
+            } else {
+                long bit = 1L << c;
+                // Après le coup, l'autre joueur est au trait
+                int statut = evaluer(lui, moi | bit);
+                initialiser(statut, !ou);
+                pnE[nb] = retourPn;
+                dnE[nb] = retourDn;
+            }
+            nb++;
+        }
+        if (prof == 0) enfantsRacine = nb;
+
+        int pn;
+        int dn;
+        while (true) {
+            // Nombres du nœud et choix de l'enfant le plus prometteur
+            int meilleur = 0;
+            int second = INFINI;
+            if (ou) {
+                pn = INFINI;
+                dn = 0;
+                for (int i = 0; i < nb; i++) {
+                    dn = Math.min(INFINI, dn + dnE[i]);
+                    if (pnE[i] < pn) {
+                        second = pn;
+                        pn = pnE[i];
+                        meilleur = i;
+                    } else if (pnE[i] < second) {
+                        second = pnE[i];
+                    }
+                }
+            } else {
+                pn = 0;
+                dn = INFINI;
+                for (int i = 0; i < nb; i++) {
+                    pn = Math.min(INFINI, pn + pnE[i]);
+                    if (dnE[i] < dn) {
+                        second = dn;
+                        dn = dnE[i];
+                        meilleur = i;
+                    } else if (dnE[i] < second) {
+                        second = dnE[i];
+                    }
+                }
+            }
+            if (pn >= seuilPn || dn >= seuilDn || noeuds >= limite) break;
+
+            int seuilPnEnfant;
+            int seuilDnEnfant;
+            if (ou) {
+                seuilPnEnfant = Math.min(seuilPn, second + 1);
+                seuilDnEnfant = Math.min(INFINI, seuilDn - dn + dnE[meilleur]);
+            } else {
+                seuilPnEnfant = Math.min(INFINI, seuilPn - pn + pnE[meilleur]);
+                seuilDnEnfant = Math.min(seuilDn, second + 1);
+            }
+            int c = coupsE[meilleur];
+            long bit = 1L << c;
+            long[] imgAEnfant = imagesA[prof + 1];
+            long[] imgDEnfant = imagesD[prof + 1];
+            for (int s = 0; s < NOMBRE_SYMETRIES; s++) {
+                imgAEnfant[s] = ou ? imgA[s] | images[s][c] : imgA[s];
+                imgDEnfant[s] = ou ? imgD[s] : imgD[s] | images[s][c];
+            }
+            mid(ou ? a | bit : a, ou ? d : d | bit, !ou, clesAE[meilleur], clesDE[meilleur], prof + 1,
+                    seuilPnEnfant, seuilDnEnfant);
+            pnE[meilleur] = retourPn;
+            dnE[meilleur] = retourDn;
+        }
+        ecrire(cleNoeudA, cleNoeudD, pn, dn, (int) Math.min(Integer.MAX_VALUE, noeuds - debutNoeuds + 1));
+        retourPn = pn;
+        retourDn = dn;
+    }
+
+    // --- MENACES ---
+
+    /** @return true si les pierres contiennent une ligne complète */
+    private boolean aLigne(long pierres) {
+        for (long l : lignes) {
+            if ((pierres & l) == l) return true;
+        }
+        return false;
+    }
+
+    /** @return cases vides qui compléteraient une ligne de {@code moi} */
+    private long menaces(long moi, long lui) {
+        long m = 0;
+        for (long l : lignes) {
+            if ((l & lui) == 0 && Long.bitCount(l & moi) == n - 1) m |= l & ~moi;
+        }
+        return m;
+    }
+
+    /**
+     * Statut d'une position sans ligne complète, pour le joueur au trait ; si la partie continue,
+     * les coups à examiner sont laissés dans {@link #coups}.
+     */
+    private int evaluer(long moi, long lui) {
+        if (menaces(moi, lui) != 0) return GAGNE;
+        long parades = menaces(lui, moi);
+        if (Long.bitCount(parades) >= 2) return PERDU; // Une seule menace peut être parée
+        coups = parades != 0 ? parades : plein & ~(moi | lui);
+        return coups == 0 ? NUL : EN_COURS;
+    }
+
+    /** Nombres initiaux d'une feuille, dans {@link #retourPn} et {@link #retourDn}. */
+    private void initialiser(int statut, boolean ou) {
+        boolean attaquantGagne = statut == GAGNE ? ou : statut == PERDU && !ou;
+        if (statut == EN_COURS) {
+            retourPn = 1;
+            retourDn = 1;
+        } else if (attaquantGagne) {
+            retourPn = 0;
+            retourDn = INFINI;
+        } else {
+            retourPn = INFINI;
+            retourDn = 0;
+        }
+    }
+
+    // --- SYMÉTRIES ---
+
+    /** @return image d'un ensemble de cases par la symétrie s */
+    private long image(int s, long cases) {
+        long r = 0;
+        for (long m = cases; m != 0; m &= m - 1) r |= images[s][Long.numberOfTrailingZeros(m)];
+        return r;
+    }
+
+    /**
+     * Forme canonique, dans {@link #cleA} et {@link #cleD} : la plus petite des 48 images (ordre
+     * lexicographique non signé sur le couple attaquant, défenseur) d'une position dont les images
+     * sont connues, après ajout éventuel d'une case à l'un des camps.
+     * @param caseA case ajoutée à l'attaquant, ou -1
+     * @param caseD case ajoutée au défenseur, ou -1
+     */
+    private void canoniser(long[] imgA, long[] imgD, int caseA, int caseD) {
+        long minA = 0;
+        long minD = 0;
+        for (int s = 0; s < NOMBRE_SYMETRIES; s++) {
+            long ia = caseA >= 0 ? imgA[s] | images[s][caseA] : imgA[s];
+            long id = caseD >= 0 ? imgD[s] | images[s][caseD] : imgD[s];
+            if (s == 0 || Long.compareUnsigned(ia, minA) < 0 || ia == minA && Long.compareUnsigned(id, minD) < 0) {
+                minA = ia;
+                minD = id;
+            }
+        }
+        cleA = minA;
+        cleD = minD;
+    }
+
+    // --- TABLE DE TRANSPOSITION ---
+
+    private int seau(long a, long d) {
+        long h = a * 0x9E3779B97F4A7C15L ^ d * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 31;
+        return (int) h & masqueTable & ~1;
+    }
+
+    /** @return true si la position est connue ; ses nombres sont alors dans {@link #luPn} et {@link #luDn} */
+    private boolean lire(long a, long d) {
+        int i = seau(a, d);
+        for (int j = i; j <= i + 1 && j <= masqueTable; j++) {
+            if (travailTable[j] != 0 && clesA[j] == a && clesD[j] == d) {
+                luPn = pnTable[j];
+                luDn = dnTable[j];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ecrire(long a, long d, int pn, int dn, int travail) {
+        int i = seau(a, d);
+        int j = i;
+        if (masqueTable > 0) {
+            boolean memeCle = travailTable[i] != 0 && clesA[i] == a && clesD[i] == d;
+            boolean memeCleSuivante = travailTable[i + 1] != 0 && clesA[i + 1] == a && clesD[i + 1] == d;
+            if (memeCleSuivante || !memeCle && travailTable[i + 1] < travailTable[i]) j = i + 1;
+        }
+        clesA[j] = a;
+        clesD[j] = d;
+        pnTable[j] = pn;
+        dnTable[j] = dn;
+        travailTable[j] = Math.max(1, travail);
+    }
+
+    /** Oublie les positions mémorisées. */
+    public void vider() {
+        Arrays.fill(travailTable, 0);
+    }
+
+    /** @return taille de la table de transposition, en octets */
+    public long getMemoireOctets() {
+        return (long) clesA.length * OCTETS_PAR_ENTREE;
+    }
+
+    /** @return nombre de nœuds développés par la dernière résolution */
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    public int getTaille() {
+        return n;
+    }
+}
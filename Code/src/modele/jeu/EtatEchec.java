@@ -0,0 +1,91 @@
+package modele.jeu;
+
+import modele.plateau.BitboardPosition;
+
+/**
+ * {@link EtatJeu} des échecs sur une {@link BitboardPosition}. Les coups sont les entiers de
+ * {@link Move} ; comme dans {@link JeuEchec}, un pion est toujours promu en dame, et la partie
+ * s'arrête sur mat, pat ou triple répétition.
+ */
+public class EtatEchec implements EtatJeu {
+
+    private final BitboardPosition position;
+    /** Coups légaux de la position courante, calculés à la demande. */
+    private final MoveList legaux = new MoveList();
+    private boolean legauxAJour;
+
+    /**
+     * @param source position à copier (non modifiée ; ses coups passés comptent pour les répétitions)
+     */
+    public EtatEchec(BitboardPosition source) {
+        this.position = new BitboardPosition(source);
+    }
+
+    private MoveList legaux() {
+        if (!legauxAJour) {
+            position.genererCoupsLegaux(legaux);
+            int nb = 0;
+            for (int i = 0; i < legaux.taille(); i++) {
+                int m = legaux.get(i);
+                int promotion = Move.promotion(m);
+                if (promotion == Move.SANS_PROMOTION || promotion == BitboardPosition.REINE) legaux.set(nb++, m);
+            }
+            legaux.tronquer(nb);
+            legauxAJour = true;
+        }
+        return legaux;
+    }
+
+    @Override
+    public int getTrait() {
+        return position.getTrait();
+    }
+
+    @Override
+    public int getNombreMaxCoups() {
+        return 256;
+    }
+
+    @Override
+    public int coupsLegaux(int[] coups) {
+        if (estTermine()) return 0;
+        MoveList l = legaux();
+        for (int i = 0; i < l.taille(); i++) coups[i] = l.get(i);
+        return l.taille();
+    }
+
+    @Override
+    public void jouer(int coup) {
+        position.makeMove(coup);
+        legauxAJour = false;
+    }
+
+    @Override
+    public void annuler() {
+        position.unmakeMove();
+        legauxAJour = false;
+    }
+
+    @Override
+    public boolean estTermine() {
+        return position.nombreRepetitions() >= 2 || legaux().estVide();
+    }
+
+    @Override
+    public int getGagnant() {
+        if (position.nombreRepetitions() < 2 && legaux().estVide() && position.estEnEchec(position.getTrait())) {
+            return position.getTrait() ^ 1; // Mat
+        }
+        return NUL;
+    }
+
+    @Override
+    public long cle() {
+        return position.getHash();
+    }
+
+    @Override
+    public EtatJeu copier() {
+        return new EtatEchec(position);
+    }
+}
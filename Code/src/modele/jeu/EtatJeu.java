@@ -0,0 +1,70 @@
+package modele.jeu;
+
+/**
+ * Position d'un jeu à deux joueurs réduite à ce qu'il faut pour la parcourir sans connaître ses
+ * règles : coups légaux, jouer, annuler, fin de partie et résultat. Les coups sont des entiers
+ * propres à chaque jeu, traduits en {@link Coup} par {@link Jeu#versCoup(int)}.
+ * <p>
+ * Chaque sous-classe de {@link Jeu} en fournit une copie indépendante de sa position courante par
+ * {@link Jeu#creerEtat()}, sur ses ensembles de bits : les recherches génériques (voir
+ * {@code modele.ia.mcts}) y jouent des millions de coups sans toucher au {@link modele.plateau.Plateau}
+ * ni aux pièces. Un état n'est pas partagé entre threads : chacun travaille sur sa {@link #copier() copie}.
+ * </p>
+ */
+public interface EtatJeu {
+
+    int BLANC = 0;
+    int NOIR = 1;
+    /** Résultat d'une partie nulle. */
+    int NUL = -1;
+
+    /** @return {@link #BLANC} ou {@link #NOIR}, le joueur au trait */
+    int getTrait();
+
+    /** @return taille suffisante du tampon passé à {@link #coupsLegaux(int[])} */
+    int getNombreMaxCoups();
+
+    /**
+     * Écrit les coups légaux du joueur au trait dans le tampon.
+     * @param coups tampon d'au moins {@link #getNombreMaxCoups()} cases
+     * @return nombre de coups écrits (0 si la partie est terminée)
+     */
+    int coupsLegaux(int[] coups);
+
+    /**
+     * Joue un coup légal et passe le trait.
+     * @param coup coup renvoyé par {@link #coupsLegaux(int[])}
+     */
+    void jouer(int coup);
+
+    /** Annule le dernier coup joué par {@link #jouer(int)} sur cet état. */
+    void annuler();
+
+    /** @return true si la partie est finie (alignement, mat, pat, plateau plein...) */
+    boolean estTermine();
+
+    /** @return {@link #BLANC}, {@link #NOIR} ou {@link #NUL} pour une partie terminée */
+    int getGagnant();
+
+    /** @return clé de hachage de la position (trait compris) */
+    long cle();
+
+    /**
+     * Copie indépendante de la position ; les coups joués avant la copie n'y sont pas annulables.
+     * @return la copie
+     */
+    EtatJeu copier();
+
+    /**
+     * Clé de Zobrist d'une pierre, pour les jeux de pose : mélange (splitmix64) de la case et de la couleur.
+     * @param indice case
+     * @param couleur {@link #BLANC} ou {@link #NOIR}
+     * @return valeur à combiner par OU exclusif dans la clé de la position
+     */
+    static long clePierre(int indice, int couleur) {
+        long z = (indice * 2L + couleur + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
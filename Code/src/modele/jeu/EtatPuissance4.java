@@ -0,0 +1,76 @@
+package modele.jeu;
+
+import modele.plateau.BitboardPuissance4;
+
+/**
+ * {@link EtatJeu} du Puissance 4 sur une {@link BitboardPuissance4}. Le coup est le numéro de
+ * colonne (0 à gauche) ; les Blancs commencent.
+ */
+public class EtatPuissance4 implements EtatJeu {
+
+    private final BitboardPuissance4 position;
+    /** Case jouée par chaque coup depuis la création de l'état, pour {@link #annuler()}. */
+    private final long[] pile = new long[BitboardPuissance4.NOMBRE_CASES];
+    private int hauteur;
+
+    /**
+     * @param source position à copier (non modifiée)
+     */
+    public EtatPuissance4(BitboardPuissance4 source) {
+        this.position = new BitboardPuissance4(source);
+    }
+
+    @Override
+    public int getTrait() {
+        return position.getNombreCoups() & 1;
+    }
+
+    @Override
+    public int getNombreMaxCoups() {
+        return BitboardPuissance4.LARGEUR;
+    }
+
+    @Override
+    public int coupsLegaux(int[] coups) {
+        if (estTermine()) return 0;
+        int nb = 0;
+        for (int col = 0; col < BitboardPuissance4.LARGEUR; col++) {
+            if (position.peutJouer(col)) coups[nb++] = col;
+        }
+        return nb;
+    }
+
+    @Override
+    public void jouer(int coup) {
+        long c = position.coupsPossibles() & BitboardPuissance4.masqueColonne(coup);
+        position.jouerCoup(c);
+        pile[hauteur++] = c;
+    }
+
+    @Override
+    public void annuler() {
+        position.annulerCoup(pile[--hauteur]);
+    }
+
+    @Override
+    public boolean estTermine() {
+        return BitboardPuissance4.aligne(position.getPierresAdversaire())
+                || position.getNombreCoups() == BitboardPuissance4.NOMBRE_CASES;
+    }
+
+    @Override
+    public int getGagnant() {
+        // Seul le joueur qui vient de jouer peut avoir aligné quatre pierres
+        return BitboardPuissance4.aligne(position.getPierresAdversaire()) ? getTrait() ^ 1 : NUL;
+    }
+
+    @Override
+    public long cle() {
+        return position.cle();
+    }
+
+    @Override
+    public EtatJeu copier() {
+        return new EtatPuissance4(position);
+    }
+}
@@ -0,0 +1,91 @@
+package modele.jeu;
+
+import modele.plateau.GrilleMNK;
+
+/**
+ * {@link EtatJeu} des jeux m,n,k (TicTacToe, Gomoku) sur une {@link GrilleMNK}. Le coup
+ * {@code x * n + y} pose une pierre en (x, y) ; les Blancs commencent.
+ */
+public class EtatTicTacToe implements EtatJeu {
+
+    private final GrilleMNK grille;
+    private final int colonnes;
+    /** Cases jouées depuis la création de l'état, pour {@link #annuler()}. */
+    private final int[] pile;
+    private int hauteur;
+    private long cle;
+
+    /**
+     * Copie la position d'une grille.
+     * @param source grille à copier (non modifiée)
+     */
+    public EtatTicTacToe(GrilleMNK source) {
+        this.grille = new GrilleMNK(source.getLignes(), source.getColonnes(), source.getLongueur());
+        this.colonnes = source.getColonnes();
+        this.pile = new int[source.getLignes() * colonnes];
+        for (int x = 0; x < source.getLignes(); x++) {
+            for (int y = 0; y < colonnes; y++) {
+                int c = source.getCouleur(x, y);
+                if (c < 0) continue;
+                grille.jouer(x, y, c);
+                cle ^= EtatJeu.clePierre(x * colonnes + y, c);
+            }
+        }
+    }
+
+    @Override
+    public int getTrait() {
+        return grille.getNombrePierres() & 1;
+    }
+
+    @Override
+    public int getNombreMaxCoups() {
+        return pile.length;
+    }
+
+    @Override
+    public int coupsLegaux(int[] coups) {
+        if (estTermine()) return 0;
+        int nb = 0;
+        for (int i = 0; i < pile.length; i++) {
+            if (grille.getCouleur(i / colonnes, i % colonnes) < 0) coups[nb++] = i;
+        }
+        return nb;
+    }
+
+    @Override
+    public void jouer(int coup) {
+        int couleur = getTrait();
+        grille.jouer(coup / colonnes, coup % colonnes, couleur);
+        cle ^= EtatJeu.clePierre(coup, couleur);
+        pile[hauteur++] = coup;
+    }
+
+    @Override
+    public void annuler() {
+        int coup = pile[--hauteur];
+        int couleur = getTrait() ^ 1;
+        grille.retirer(coup / colonnes, coup % colonnes, couleur);
+        cle ^= EtatJeu.clePierre(coup, couleur);
+    }
+
+    @Override
+    public boolean estTermine() {
+        return grille.estGagne() || grille.estPlein();
+    }
+
+    @Override
+    public int getGagnant() {
+        return grille.estGagne() ? grille.getCouleurGagnante() : NUL;
+    }
+
+    @Override
+    public long cle() {
+        return cle;
+    }
+
+    @Override
+    public EtatJeu copier() {
+        return new EtatTicTacToe(grille);
+    }
+}
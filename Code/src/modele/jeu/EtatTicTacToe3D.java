@@ -0,0 +1,87 @@
+package modele.jeu;
+
+import modele.plateau.BitboardCube;
+
+/**
+ * {@link EtatJeu} du TicTacToe 3D (3x3x3, Qubic 4x4x4) sur un {@link BitboardCube}. Le coup est
+ * l'indice {@code (x * N + y) * N + z} de la case ; les Blancs commencent.
+ */
+public class EtatTicTacToe3D implements EtatJeu {
+
+    private final BitboardCube cube;
+    private final int n;
+    private final int[] pile;
+    private int hauteur;
+    private long cle;
+
+    /**
+     * @param source cube à copier (non modifié)
+     */
+    public EtatTicTacToe3D(BitboardCube source) {
+        this.n = source.getTaille();
+        this.cube = new BitboardCube(n);
+        this.pile = new int[n * n * n];
+        for (int i = 0; i < pile.length; i++) {
+            int c = source.getCouleur(i / (n * n), (i / n) % n, i % n);
+            if (c < 0) continue;
+            cube.jouer(i / (n * n), (i / n) % n, i % n, c);
+            cle ^= EtatJeu.clePierre(i, c);
+        }
+    }
+
+    @Override
+    public int getTrait() {
+        return cube.getNombrePierres() & 1;
+    }
+
+    @Override
+    public int getNombreMaxCoups() {
+        return pile.length;
+    }
+
+    @Override
+    public int coupsLegaux(int[] coups) {
+        if (estTermine()) return 0;
+        int nb = 0;
+        for (int i = 0; i < pile.length; i++) {
+            if (cube.getCouleur(i / (n * n), (i / n) % n, i % n) < 0) coups[nb++] = i;
+        }
+        return nb;
+    }
+
+    @Override
+    public void jouer(int coup) {
+        int couleur = getTrait();
+        cube.jouer(coup / (n * n), (coup / n) % n, coup % n, couleur);
+        cle ^= EtatJeu.clePierre(coup, couleur);
+        pile[hauteur++] = coup;
+    }
+
+    @Override
+    public void annuler() {
+        int coup = pile[--hauteur];
+        int couleur = getTrait() ^ 1;
+        cube.retirer(coup / (n * n), (coup / n) % n, coup % n, couleur);
+        cle ^= EtatJeu.clePierre(coup, couleur);
+    }
+
+    @Override
+    public boolean estTermine() {
+        return cube.estGagne() || cube.estPlein();
+    }
+
+    @Override
+    public int getGagnant() {
+        return cube.estGagne() ? cube.getCouleurGagnante() : NUL;
+    }
+
+    @Override
+    public long cle() {
+        return cle;
+    }
+
+    @Override
+    public EtatJeu copier() {
+        return new EtatTicTacToe3D(cube);
+    }
+}
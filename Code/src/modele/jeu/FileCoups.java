@@ -0,0 +1,175 @@
+package modele.jeu;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * File bornée des coups transmis au thread d'une partie (vues, clients automatiques).
+ * <p>
+ * Aucun coup n'est perdu : un dépôt dans une file pleine attend qu'une place se libère
+ * (contre-pression) ou échoue au bout du délai demandé. Le thread du jeu peut prélever les coups
+ * un par un, avec ou sans délai, ou par lots. La file mesure sa profondeur et le temps passé par
+ * chaque coup entre son dépôt et sa prise en charge.
+ * </p>
+ */
+public class FileCoups {
+
+    /** Capacité par défaut d'une file de coups. */
+    public static final int CAPACITE_DEFAUT = 64;
+
+    /** Coup déposé, horodaté pour mesurer son attente dans la file. */
+    private static final class CoupDepose {
+        final Coup coup;
+        final long depot;
+
+        CoupDepose(Coup coup, long depot) {
+            this.coup = coup;
+            this.depot = depot;
+        }
+    }
+
+    private final BlockingQueue<CoupDepose> file;
+    private final LongAdder coupsDeposes = new LongAdder();
+    private final LongAdder coupsPris = new LongAdder();
+    private final LongAdder attenteTotaleNs = new LongAdder();
+    private final LongAccumulator attenteMaxNs = new LongAccumulator(Math::max, 0L);
+    private final LongAccumulator profondeurMax = new LongAccumulator(Math::max, 0L);
+    private final LongAdder depotsRefuses = new LongAdder();
+
+    public FileCoups() {
+        this(CAPACITE_DEFAUT);
+    }
+
+    /**
+     * @param capacite nombre maximal de coups en attente
+     */
+    public FileCoups(int capacite) {
+        this.file = new ArrayBlockingQueue<>(capacite);
+    }
+
+    /**
+     * Dépose un coup, en attendant si la file est pleine.
+     * @param coup coup à transmettre (non null)
+     * @throws InterruptedException si le thread appelant est interrompu pendant l'attente
+     */
+    public void deposer(Coup coup) throws InterruptedException {
+        file.put(new CoupDepose(coup, System.nanoTime()));
+        apresDepot();
+    }
+
+    /**
+     * Dépose un coup en attendant au plus le délai donné qu'une place se libère.
+     * @param coup coup à transmettre (non null)
+     * @param delai délai maximal d'attente
+     * @param unite unité du délai
+     * @return true si le coup a été déposé, false si la file est restée pleine
+     * @throws InterruptedException si le thread appelant est interrompu pendant l'attente
+     */
+    public boolean deposer(Coup coup, long delai, TimeUnit unite) throws InterruptedException {
+        if (!file.offer(new CoupDepose(coup, System.nanoTime()), delai, unite)) {
+            depotsRefuses.increment();
+            return false;
+        }
+        apresDepot();
+        return true;
+    }
+
+    private void apresDepot() {
+        coupsDeposes.increment();
+        profondeurMax.accumulate(file.size());
+    }
+
+    /**
+     * Prend le plus ancien coup, en attendant qu'il en arrive un.
+     * @return le coup
+     * @throws InterruptedException si le thread est interrompu pendant l'attente
+     */
+    public Coup prendre() throws InterruptedException {
+        return compter(file.take());
+    }
+
+    /**
+     * Prend le plus ancien coup en attendant au plus le délai donné.
+     * @param delai délai maximal d'attente
+     * @param unite unité du délai
+     * @return le coup, ou null si aucun coup n'est arrivé à temps
+     * @throws InterruptedException si le thread est interrompu pendant l'attente
+     */
+    public Coup prendre(long delai, TimeUnit unite) throws InterruptedException {
+        CoupDepose d = file.poll(delai, unite);
+        return d == null ? null : compter(d);
+    }
+
+    /**
+     * Attend au moins un coup puis prend, sans attendre davantage, ceux qui sont déjà en file.
+     * @param lot collection recevant les coups, dans l'ordre de dépôt
+     * @param maximum nombre maximal de coups pris (au moins 1)
+     * @return nombre de coups ajoutés au lot
+     * @throws InterruptedException si le thread est interrompu pendant l'attente
+     */
+    public int prendreLot(Collection<Coup> lot, int maximum) throws InterruptedException {
+        lot.add(prendre());
+        int n = 1;
+        CoupDepose d;
+        while (n < maximum && (d = file.poll()) != null) {
+            lot.add(compter(d));
+            n++;
+        }
+        return n;
+    }
+
+    private Coup compter(CoupDepose d) {
+        long attente = System.nanoTime() - d.depot;
+        coupsPris.increment();
+        attenteTotaleNs.add(attente);
+        attenteMaxNs.accumulate(attente);
+        return d.coup;
+    }
+
+    /**
+     * Retire les coups en attente sans les jouer (nouvelle partie, par exemple).
+     */
+    public void vider() {
+        file.clear();
+    }
+
+    // --- MESURES ---
+
+    /** @return nombre de coups actuellement en attente */
+    public int getProfondeur() {
+        return file.size();
+    }
+
+    /** @return plus grand nombre de coups observé en attente */
+    public long getProfondeurMax() {
+        return profondeurMax.get();
+    }
+
+    public long getCoupsDeposes() {
+        return coupsDeposes.sum();
+    }
+
+    public long getCoupsPris() {
+        return coupsPris.sum();
+    }
+
+    /** @return nombre de dépôts abandonnés faute de place dans le délai demandé */
+    public long getDepotsRefuses() {
+        return depotsRefuses.sum();
+    }
+
+    /** @return attente moyenne d'un coup entre son dépôt et sa prise, en nanosecondes */
+    public long getAttenteMoyenneNs() {
+        long pris = coupsPris.sum();
+        return pris == 0 ? 0 : attenteTotaleNs.sum() / pris;
+    }
+
+    /** @return plus longue attente d'un coup dans la file, en nanosecondes */
+    public long getAttenteMaxNs() {
+        return attenteMaxNs.get();
+    }
+}
@@ -2,27 +2,60 @@ package modele.jeu;
 
 import modele.plateau.Plateau;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Observable;
+import java.util.concurrent.TimeUnit;
 import audio.SoundManager;
 
 /**
  * Modèle abstrait d’un jeu sur plateau.
  * <p>
- * Gère le cycle de jeu (thread, file de coups), l’état des joueurs et expose
+ * Gère le cycle de jeu (thread, {@link FileCoups file de coups} bornée), l’état des joueurs et expose
  * des opérations communes aux variantes (affichage, réinitialisation, etc.).
  * </p>
  */
 public abstract class Jeu extends Observable implements Runnable {
-    static Plateau plateau;
-    protected Coup buffCoup;
-    private static List<Coup> historiqueCoups = new ArrayList<>();
-    private static Jeu instance;
-
-    protected final Joueur JOUEUR_BLANC = new Joueur(Joueur.Couleur.BLANC);
-    protected final Joueur JOUEUR_NOIR = new Joueur(Joueur.Couleur.NOIR);
-    protected Joueur joueurCourant = JOUEUR_BLANC;
+    /** Plateau propre à cette partie : plusieurs jeux peuvent coexister dans la même JVM. */
+    protected final Plateau plateau;
+    /** Coups transmis au thread du jeu, sans perte et dans l'ordre. */
+    protected final FileCoups fileCoups = new FileCoups();
+    /** Nombre maximal de coups pris d'un coup dans la file par le thread du jeu. */
+    private static final int TAILLE_LOT = 16;
+    /** Marqueur de la file portant un joueur à installer par le thread du jeu, entre deux coups. */
+    private static final class Remplacement extends Coup {
+        private final Joueur joueur;
+
+        Remplacement(Joueur joueur) {
+            super(null, null);
+            this.joueur = joueur;
+        }
+    }
+    /** Marqueur à transmettre par {@link #setCoup(Coup)} pour annuler le dernier coup dans le thread du jeu. */
+    public static final Coup ANNULER = new Coup(null, null);
+    /** Marqueur à transmettre par {@link #setCoup(Coup)} pour rejouer le dernier coup annulé dans le thread du jeu. */
+    public static final Coup REFAIRE = new Coup(null, null);
+    /** Coups appliqués, avec les cases réellement jouées (case d'arrivée du pion au Puissance 4). */
+    private final List<Coup> historiqueCoups = new ArrayList<>();
+    /**
+     * Coups appliqués depuis le début de la partie, dans le codage de {@link EtatJeu} et de
+     * {@link #versCoup(int)} ; chaque variante l'alimente par {@link #enregistrerCoup(int, Coup)}.
+     */
+    private final MoveList coupsJoues = new MoveList(64);
+    /** Coups annulés, le prochain à refaire en dernier ; vidée dès qu'un nouveau coup est joué. */
+    private final MoveList coupsAnnules = new MoveList(16);
+    /** Vrai pendant que {@link #refaireCoup()} rejoue un coup (la pile des coups annulés est gardée). */
+    private boolean enRejeu;
+
+    // Modifiés uniquement par le thread qui applique les coups (voir setJoueur), lus par les vues
+    protected volatile Joueur JOUEUR_BLANC = new Joueur(Joueur.Couleur.BLANC);
+    protected volatile Joueur JOUEUR_NOIR = new Joueur(Joueur.Couleur.NOIR);
+    protected volatile Joueur joueurCourant = JOUEUR_BLANC;
+    /** Thread dédié de la partie, ou null pour une partie hébergée. */
+    private final Thread threadJeu;
 
     protected Joueur gagnant = null; // null = nul, sinon référence au joueur gagnant
 
@@ -34,10 +67,25 @@ public abstract class Jeu extends Observable implements Runnable {
 
 
     public Jeu(Plateau plateau) {
-        SoundManager.playSound("Sounds/game-start.wav");
-        Jeu.plateau = plateau; // Initialisation du plateau
-        new Thread(this).start();
-        instance = this;
+        this(plateau, true);
+    }
+
+    /**
+     * @param plateau plateau propre à la partie
+     * @param threadDedie true pour une partie interactive animée par son propre thread (avec le son
+     *                    de début de partie) ; false pour une partie hébergée, dont les coups sont
+     *                    appliqués par l'appelant via {@link #jouerPartie(Coup)} (voir {@code serveur.ServeurJeux})
+     */
+    protected Jeu(Plateau plateau, boolean threadDedie) {
+        this.plateau = plateau; // Initialisation du plateau
+        clearWinningCells();
+        if (threadDedie) {
+            SoundManager.playSound("Sounds/game-start.wav");
+            threadJeu = new Thread(this);
+            threadJeu.start();
+        } else {
+            threadJeu = null;
+        }
     }
 
 
@@ -48,25 +96,211 @@ public abstract class Jeu extends Observable implements Runnable {
     public abstract boolean estTermine();
 
 
+    /**
+     * Copie de la position courante réduite à ses règles (coups légaux, jouer, annuler, résultat),
+     * pour les recherches qui ne connaissent pas le jeu (voir {@code modele.ia.mcts}).
+     * @return un état indépendant de la partie
+     */
+    public abstract EtatJeu creerEtat();
+
+    /**
+     * Traduit un coup d'{@link EtatJeu} en {@link Coup} sur les cases du plateau.
+     * @param coup coup renvoyé par {@link EtatJeu#coupsLegaux(int[])} pour la position courante
+     * @return le coup à transmettre à {@link #jouerPartie(Coup)} ou {@link #setCoup(Coup)}
+     */
+    public abstract Coup versCoup(int coup);
 
+
+
+    /**
+     * Transmet un coup au thread du jeu. Si la file est pleine, attend qu'une place se libère :
+     * aucun coup n'est perdu, même lorsqu'un client en envoie plusieurs à la suite.
+     * @param c coup à jouer
+     */
     public void setCoup(Coup c) {
-        synchronized (this) {
-            buffCoup = c;
-            notify();
+        try {
+            fileCoups.deposer(c);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Transmet un coup au thread du jeu en attendant au plus le délai donné si la file est pleine.
+     * @param c coup à jouer
+     * @param delai délai maximal d'attente
+     * @param unite unité du délai
+     * @return true si le coup a été accepté, false si la file est restée pleine ou si l'attente a été interrompue
+     */
+    public boolean setCoup(Coup c, long delai, TimeUnit unite) {
+        try {
+            return fileCoups.deposer(c, delai, unite);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
+    /**
+     * Remplace le joueur d'une couleur (par exemple par une IA).
+     * <p>
+     * Pour une partie animée par son propre thread, le remplacement passe par la file de coups :
+     * il est appliqué par ce thread entre deux coups (jamais pendant qu'un coup modifie le joueur
+     * courant), puis le nouveau joueur reçoit la main si c'est son tour. Une partie hébergée le
+     * reçoit immédiatement, depuis le thread qui lui applique ses coups.
+     * </p>
+     * @param joueur nouveau joueur ; sa couleur désigne le joueur remplacé
+     */
+    public void setJoueur(Joueur joueur) {
+        if (threadJeu == null || Thread.currentThread() == threadJeu) {
+            remplacerJoueur(joueur);
+        } else {
+            setCoup(new Remplacement(joueur));
+        }
+    }
+
+    private void remplacerJoueur(Joueur joueur) {
+        if (joueur.getCouleur() == Joueur.Couleur.BLANC) {
+            if (joueurCourant == JOUEUR_BLANC) joueurCourant = joueur;
+            JOUEUR_BLANC = joueur;
+        } else {
+            if (joueurCourant == JOUEUR_NOIR) joueurCourant = joueur;
+            JOUEUR_NOIR = joueur;
+        }
+    }
+
+    /**
+     * Attend le prochain coup transmis au jeu.
+     * @return le plus ancien coup en attente
+     */
     public Coup getCoup() {
-        synchronized (this) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+        try {
+            return fileCoups.prendre();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Attend le prochain coup transmis au jeu, au plus le délai donné.
+     * @param delai délai maximal d'attente
+     * @param unite unité du délai
+     * @return le plus ancien coup en attente, ou null si aucun n'est arrivé à temps
+     */
+    public Coup getCoup(long delai, TimeUnit unite) {
+        try {
+            return fileCoups.prendre(delai, unite);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * File des coups reçus, avec ses mesures de profondeur et de temps d'attente.
+     * @return la file de coups de la partie
+     */
+    public FileCoups getFileCoups() {
+        return fileCoups;
+    }
+
+    /** @return nombre de coups appliqués depuis le début de la partie */
+    public int getNombreCoupsJoues() {
+        return coupsJoues.taille();
+    }
+
+    /**
+     * Copie les coups appliqués depuis le début de la partie, pour les enregistrer
+     * (voir {@code modele.archive} et {@code modele.pgn}).
+     * @param destination liste vidée puis remplie des coups, dans l'ordre et dans le codage de
+     *                    {@link #versCoup(int)}
+     */
+    public void getCoupsJoues(MoveList destination) {
+        destination.vider();
+        for (int i = 0; i < coupsJoues.taille(); i++) destination.ajouter(coupsJoues.get(i));
+    }
+
+    /**
+     * Ajoute un coup appliqué à l'historique ; appelé par chaque variante une fois le coup joué.
+     * Un nouveau coup efface les coups annulés qui restaient à refaire.
+     * @param code coup dans le codage de {@link #versCoup(int)}
+     * @param coup coup tel qu'il a été joué (cases de départ et d'arrivée réelles)
+     */
+    protected void enregistrerCoup(int code, Coup coup) {
+        coupsJoues.ajouter(code);
+        historiqueCoups.add(coup);
+        if (!enRejeu) coupsAnnules.vider();
+    }
+
+    /** Efface l'historique et les coups à refaire (nouvelle partie ou nouvelle position). */
+    protected void viderHistorique() {
+        coupsJoues.vider();
+        historiqueCoups.clear();
+        coupsAnnules.vider();
+    }
+
+    /**
+     * Annule le dernier coup joué en défaisant uniquement ses effets (pièce posée ou déplacée,
+     * prise, roque, promotion, alignement gagnant), sans rejouer la partie depuis le début.
+     * <p>
+     * Comme {@link #jouerPartie(Coup)}, à appeler depuis le thread qui applique les coups ; une vue
+     * passe par {@code setCoup(Jeu.ANNULER)} pour une partie animée par son propre thread.
+     * </p>
+     * @return false s'il n'y a aucun coup à annuler
+     */
+    public boolean annulerCoup() {
+        int n = coupsJoues.taille();
+        if (n == 0) return false;
+        int code = coupsJoues.get(n - 1);
+        coupsJoues.tronquer(n - 1);
+        historiqueCoups.remove(n - 1);
+        defaireCoup(code);
+        coupsAnnules.ajouter(code);
+        setChanged();
+        notifyObservers();
+        return true;
+    }
+
+    /**
+     * Rejoue le dernier coup annulé par {@link #annulerCoup()}.
+     * @return false s'il n'y a aucun coup à refaire
+     */
+    public boolean refaireCoup() {
+        int n = coupsAnnules.taille();
+        if (n == 0) return false;
+        int code = coupsAnnules.get(n - 1);
+        coupsAnnules.tronquer(n - 1);
+        enRejeu = true;
+        try {
+            if (!jouerPartie(versCoup(code))) {
+                throw new IllegalStateException("Le coup annulé " + code + " n'est plus jouable");
             }
-            return buffCoup;
+        } finally {
+            enRejeu = false;
         }
+        return true;
     }
 
+    /** @return true si un coup peut être annulé */
+    public boolean peutAnnuler() {
+        return coupsJoues.taille() > 0;
+    }
+
+    /** @return true si un coup annulé peut être refait */
+    public boolean peutRefaire() {
+        return coupsAnnules.taille() > 0;
+    }
+
+    /**
+     * Défait le dernier coup joué, déjà retiré de l'historique : plateau, représentation interne,
+     * joueur courant, gagnant et cellules gagnantes reviennent à leur état d'avant le coup.
+     * @param code coup annulé, dans le codage de {@link #versCoup(int)}
+     */
+    protected abstract void defaireCoup(int code);
+
+    /**
+     * @return le dernier coup appliqué (cases réellement jouées), ou null en début de partie
+     */
     public Coup getDernierCoup() {
         if (historiqueCoups.isEmpty()) {
             return null;
@@ -85,10 +319,6 @@ public abstract class Jeu extends Observable implements Runnable {
         return plateau;
     }
 
-    public static Jeu getInstance() {
-        return instance;
-    }
-
     public Joueur getGagnant() {
         return gagnant;
     }
@@ -117,16 +347,26 @@ public abstract class Jeu extends Observable implements Runnable {
 
 
     /**
-     * Initialise (ou réinitialise) le tableau winningCells selon la taille du plateau.
+     * Initialise le tableau winningCells selon la taille du plateau, ou l'efface s'il existe déjà :
+     * le même tableau est réutilisé pendant toute la partie.
      */
     public void clearWinningCells() {
         int sx = plateau.getSizeX();
         int sy = plateau.getSizeY();
         if (plateau.is3D()) {
-            int sz = plateau.getSizeZ();
-            winningCells3D = new boolean[sx][sy][sz];
+            if (winningCells3D == null) {
+                winningCells3D = new boolean[sx][sy][plateau.getSizeZ()];
+                return;
+            }
+            for (boolean[][] grille : winningCells3D) {
+                for (boolean[] ligne : grille) Arrays.fill(ligne, false);
+            }
         } else {
-            winningCells = new boolean[sx][sy];
+            if (winningCells == null) {
+                winningCells = new boolean[sx][sy];
+                return;
+            }
+            for (boolean[] ligne : winningCells) Arrays.fill(ligne, false);
         }
     }
 
@@ -134,11 +374,33 @@ public abstract class Jeu extends Observable implements Runnable {
 
     @Override
     public void run() {
+        Deque<Coup> lot = new ArrayDeque<>();
         while (true) {
             // Afficher le plateau courant avant d'attendre le prochain coup
             afficherPlateauEtTrait();
-            Coup c = getCoup();
-            jouerPartie(c);
+            // Un joueur automatique joue directement, sinon on prend le coup suivant de la file
+            Coup c = joueurCourant.choisirCoup(this);
+            if (c == null) {
+                if (lot.isEmpty()) {
+                    try {
+                        fileCoups.prendreLot(lot, TAILLE_LOT);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                c = lot.poll();
+                if (c instanceof Remplacement r) {
+                    remplacerJoueur(r.joueur);
+                    continue;
+                }
+            }
+            if (c == ANNULER) {
+                annulerCoup();
+            } else if (c == REFAIRE) {
+                refaireCoup();
+            } else {
+                jouerPartie(c);
+            }
         }
     }
-}
\ No newline at end of file
+}
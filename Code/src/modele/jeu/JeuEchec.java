@@ -1,17 +1,19 @@
 package modele.jeu;
 
-import modele.deplacements.DecPion;
 import modele.jeu.Pieces.PiecesEchec.Cavalier;
 import modele.jeu.Pieces.PiecesEchec.Fou;
 import modele.jeu.Pieces.PiecesEchec.Pion;
 import modele.jeu.Pieces.PiecesEchec.Reine;
 import modele.jeu.Pieces.PiecesEchec.Roi;
 import modele.jeu.Pieces.PiecesEchec.Tour;
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
 import modele.plateau.Plateau;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 
-import static modele.plateau.Plateau.getCase;
 
 /**
  * Implémentation du jeu d’Échecs.
@@ -34,6 +36,44 @@ public class JeuEchec extends Jeu{
 
     private JeuEventListener listener;
 
+    /** Position bitboard servant de référence aux tests de légalité, synchronisée avec les cases. */
+    private final BitboardPosition position = new BitboardPosition();
+
+    /** Tampon réutilisé pour générer les coups sans allocation. */
+    private final MoveList coups = new MoveList();
+
+    /** Résultat de {@link #calculerFinDePartie()} pour la position courante. */
+    private boolean termine;
+
+    /**
+     * Pièces retirées du plateau lors du dernier chargement, rangées par code bitboard et
+     * réutilisées au chargement suivant plutôt que recréées.
+     */
+    private final List<ArrayDeque<Piece>> reserve = new ArrayList<>();
+
+    /** Position de départ de la partie, en FEN (voir {@link #chargerFen(String)}). */
+    private String fenDepart = BitboardPosition.FEN_INITIALE;
+
+    /** Ce que chaque coup joué a changé sur la grille de cases, pour {@link #defaireCoup(int)}. */
+    private final List<Annulation> annulations = new ArrayList<>();
+
+    /**
+     * Effets d'un coup sur les objets {@link Piece} et {@link Case} : pièce déplacée, pièce prise,
+     * tour du roque, pion remplacé par une dame, indicateur {@code aDejaBouge} d'avant le coup.
+     * La position bitboard, elle, s'annule par {@link BitboardPosition#unmakeMove()}.
+     */
+    private static final class Annulation {
+        Piece piece;
+        Case origine;
+        Case destination;
+        Piece prise;
+        Case casePrise;
+        Piece tour;
+        Case tourDepart;
+        Case tourArrivee;
+        boolean avaitBouge;
+    }
+
     /**
      * Définit le listener d'événements pour ce jeu d'échecs.
      * @param listener implémentation de JeuEventListener (vue/contrôleur)
@@ -42,12 +82,31 @@ public class JeuEchec extends Jeu{
         this.listener = listener;
     }
 
+    /**
+     * Retourne la position bitboard de référence de la partie.
+     * @return la position courante (modifiée à chaque coup joué)
+     */
+    public BitboardPosition getPosition() {
+        return position;
+    }
+
     /**
      * Construit un modèle d’échecs sur le plateau fourni et place les pièces.
      * @param plateau plateau 8x8 (ou de taille conforme) sur lequel jouer
      */
     public JeuEchec(Plateau plateau) {
-        super(plateau);
+        this(plateau, true);
+    }
+
+    /**
+     * Construit un modèle d’échecs, éventuellement sans thread dédié (partie hébergée par un serveur).
+     * @param plateau plateau 8x8 sur lequel jouer
+     * @param threadDedie false si les coups sont appliqués directement par l'appelant
+     */
+    public JeuEchec(Plateau plateau, boolean threadDedie) {
+        super(plateau, threadDedie);
+        for (int code = 0; code < 12; code++) reserve.add(new ArrayDeque<>());
+        plateau.setPosition(position);
         reinitialiserPartie();   // Placer les pièces
     }
 
@@ -78,141 +137,79 @@ public class JeuEchec extends Jeu{
             notifyObservers();
             return false;
         }
-        if (!piece.getCouleur().equalsIgnoreCase(joueurCourant.getCouleur().name())) {
+        if (piece.getCouleurJoueur() != joueurCourant.getCouleur()) {
             if (listener != null) listener.onCoupInvalide("Ce n'est pas votre tour");
             setChanged();
             notifyObservers();
             return false;
         }
 
-        // Vérifier que la destination est accessible selon la pièce
-        List<Case> deplacementsPossibles = piece.getdCA().getCA(caseDepart);
-        if (!deplacementsPossibles.contains(caseArrivee)) {
+        // Le coup doit figurer parmi les coups pseudo-légaux générés sur les bitboards
+        Case origine = caseDepart;
+        Case destination = caseArrivee;
+        int coup = Move.depuisCoup(premierCoup, position);
+        position.genererCoups(coups);
+        if (!coups.contient(coup)) {
             if (listener != null) listener.onCoupInvalide("Coup invalide pour " + piece.getClass().getSimpleName());
             setChanged();
             notifyObservers();
             return false;
         }
 
-        // Sauvegardes pour simulation/retour arrière
-        Piece pieceCapturee = caseArrivee.getPiece();
-        Case origine = caseDepart;
-        Case destination = caseArrivee;
-        Piece pieceEnPassantCapturee = null;
-
-        // Gérer cas spéciaux AVANT validation finale (prise en passant, roque)
-        boolean roqueDroite = false;
-        boolean roqueGauche = false;
-        Case tourDepart = null;
-        Case tourArrivee = null;
-
-        if (piece instanceof Roi) {
-            int dx = destination.getPosX() - origine.getPosX();
-            int dy = destination.getPosY() - origine.getPosY();
-            if (dx == 0 && dy == 2) { // petit roque
-                roqueDroite = true;
-                Case c1 = Plateau.getCase(origine.getPosX(), origine.getPosY() + 1);
-                Case c2 = Plateau.getCase(origine.getPosX(), origine.getPosY() + 2);
-                if (caseMenacee(c1, joueurCourant) || caseMenacee(c2, joueurCourant)) {
-                    if (listener != null) listener.onCoupInvalide("Roque interdit: case traversée menacée");
-                    setChanged();
-                    notifyObservers();
-                    return false;
-                }
-                tourDepart = Plateau.getCase(origine.getPosX(), 7);
-                tourArrivee = Plateau.getCase(origine.getPosX(), 5);
-            } else if (dx == 0 && dy == -2) { // grand roque
-                roqueGauche = true;
-                Case c1 = Plateau.getCase(origine.getPosX(), origine.getPosY() - 1);
-                Case c2 = Plateau.getCase(origine.getPosX(), origine.getPosY() - 2);
-                if (caseMenacee(c1, joueurCourant) || caseMenacee(c2, joueurCourant)) {
-                    if (listener != null) listener.onCoupInvalide("Roque interdit: case traversée menacée");
-                    setChanged();
-                    notifyObservers();
-                    return false;
-                }
-                tourDepart = Plateau.getCase(origine.getPosX(), 0);
-                tourArrivee = Plateau.getCase(origine.getPosX(), 3);
+        // Le roi ne peut ni roquer en échec ni traverser une case menacée
+        if (Move.estRoque(coup)) {
+            Case traversee = plateau.getCase(origine.getPosX(), (origine.getPosY() + destination.getPosY()) / 2);
+            if (estEnEchec(joueurCourant) || caseMenacee(traversee, joueurCourant)) {
+                if (listener != null) listener.onCoupInvalide("Roque interdit: case traversée menacée");
+                setChanged();
+                notifyObservers();
+                return false;
             }
         }
 
-        // Gestion de la prise en passant pendant simulation
-        Case casePriseEnPassant = null;
-        if (piece instanceof Pion) {
-            DecPion deplacement = (DecPion) piece.getdCA();
-            casePriseEnPassant = deplacement.getCaseAPrendreEnPassant();
-        }
-
-        // Simulation du coup pour vérifier l'échec
-        origine.setPiece(null);
-        if (piece instanceof Pion && casePriseEnPassant != null && destination.getPiece() == null && destination.getPosY() != origine.getPosY()) {
-            // Mouvement diagonal sans pièce: c'est une prise en passant
-            pieceEnPassantCapturee = casePriseEnPassant.getPiece();
-            casePriseEnPassant.setPiece(null);
-        }
-        destination.setPiece(piece);
-        piece.setCase(destination);
-        // Déplacer tour pour roque pendant simulation (optionnel mais plus correct)
-        Piece tourSauvegardee = null;
-        if (roqueDroite || roqueGauche) {
-            tourSauvegardee = (tourDepart != null) ? tourDepart.getPiece() : null;
-            if (tourDepart != null && tourArrivee != null && tourSauvegardee instanceof Tour) {
-                tourDepart.setPiece(null);
-                tourArrivee.setPiece(tourSauvegardee);
-                tourSauvegardee.setCase(tourArrivee);
-            }
-        }
-
-        boolean illegal = estEnEchec(joueurCourant);
-
-        // Restaurer l'état après simulation
-        destination.setPiece(pieceCapturee);
-        origine.setPiece(piece);
-        piece.setCase(origine);
-        if (pieceEnPassantCapturee != null && casePriseEnPassant != null) {
-            casePriseEnPassant.setPiece(pieceEnPassantCapturee);
-        }
-        if (roqueDroite || roqueGauche) {
-            if (tourDepart != null && tourArrivee != null && tourSauvegardee instanceof Tour) {
-                tourArrivee.setPiece(null);
-                tourDepart.setPiece(tourSauvegardee);
-                tourSauvegardee.setCase(tourDepart);
-            }
-        }
-
-        if (illegal) {
+        // Le coup ne doit pas laisser le roi en échec (masques d'échec et de clouage, sans le jouer)
+        if (!position.estLegal(coup)) {
             if (listener != null) listener.onCoupInvalide("Ce coup laisse votre roi en échec");
             setChanged();
             notifyObservers();
             return false;
         }
+        position.makeMove(coup);
+
+        // Reporter le coup sur la grille de cases lue par les vues, en gardant de quoi l'annuler
+        Annulation a = new Annulation();
+        a.piece = piece;
+        a.origine = origine;
+        a.destination = destination;
+        a.casePrise = Move.estEnPassant(coup) ? plateau.getCase(origine.getPosX(), destination.getPosY()) : destination;
+        a.prise = a.casePrise.getPiece();
+        a.avaitBouge = piece instanceof Roi r ? r.getADejaBouge() : piece instanceof Tour t && t.getADejaBouge();
+        annulations.add(a);
 
-        // Appliquer le coup réellement
         origine.setPiece(null);
-        if (piece instanceof Pion && casePriseEnPassant != null && destination.getPiece() == null && destination.getPosY() != origine.getPosY()) {
-            // prise en passant effective
-            casePriseEnPassant.setPiece(null);
-        }
+        a.casePrise.setPiece(null);
         destination.setPiece(piece);
         piece.setCase(destination);
 
-        // Roque effectif: déplacer la tour
-        if (roqueDroite || roqueGauche) {
-            Piece tour = (tourDepart != null) ? tourDepart.getPiece() : null;
-            if (tour instanceof Tour && tourArrivee != null) {
-                tourDepart.setPiece(null);
-                tourArrivee.setPiece(tour);
-                tour.setCase(tourArrivee);
-            }
+        // Roque : déplacer la tour
+        if (Move.estRoque(coup)) {
+            boolean petitRoque = destination.getPosY() > origine.getPosY();
+            Case tourDepart = plateau.getCase(origine.getPosX(), petitRoque ? 7 : 0);
+            Case tourArrivee = plateau.getCase(origine.getPosX(), petitRoque ? 5 : 3);
+            Piece tour = tourDepart.getPiece();
+            a.tour = tour;
+            a.tourDepart = tourDepart;
+            a.tourArrivee = tourArrivee;
+            tourDepart.setPiece(null);
+            tourArrivee.setPiece(tour);
+            tour.setCase(tourArrivee);
+            ((Tour) tour).setADejaBouge(true);
         }
 
         // Promotion automatique en Reine
-        if (piece instanceof Pion) {
-            if (destination.getPosX() == 0 || destination.getPosX() == 7) {
-                // Remplacer le pion par une Reine
-                destination.setPiece(null);
-                new Reine(piece.getCouleur(), plateau, destination);
-            }
+        if (Move.promotion(coup) != Move.SANS_PROMOTION) {
+            destination.setPiece(null);
+            new Reine(piece.getCouleur(), plateau, destination);
         }
 
         // Marquer les pièces qui ont bougé
@@ -223,19 +220,18 @@ public class JeuEchec extends Jeu{
             tour.setADejaBouge(true);
         }
 
+        enregistrerCoup(coup, new Coup(origine, destination));
         if (listener != null) listener.onCoupJoue(joueurCourant, destination);
 
-        // Vérifier fin de partie
-        boolean fin = estTermine();
-        if (fin) {
+        // Alterner le joueur puis vérifier si l'adversaire peut encore jouer
+        joueurCourant = (joueurCourant == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC;
+        termine = calculerFinDePartie();
+        if (termine) {
             if (gagnant != null) {
                 if (listener != null) listener.onPartieTerminee(gagnant);
             } else {
                 if (listener != null) listener.onMatchNul();
             }
-        } else {
-            // Alterner le joueur
-            joueurCourant = (joueurCourant == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC;
         }
 
         setChanged();
@@ -245,32 +241,86 @@ public class JeuEchec extends Jeu{
 
 
 
+    /**
+     * Indique si la partie est terminée (mat, pat ou triple répétition).
+     * <p>
+     * Le résultat est calculé une fois après chaque coup appliqué : les vues peuvent donc
+     * l'interroger depuis leur propre thread sans rejouer de coups sur la position.
+     * </p>
+     * @return true si le joueur courant n'a plus aucun coup légal
+     */
     @Override
     public boolean estTermine() {
-        Joueur joueur = joueurCourant;
+        return termine;
+    }
 
-        // Vérifie si le roi est en échec
-        boolean enEchec = estEnEchec(joueur);
+    /**
+     * Défait le dernier coup : {@link BitboardPosition#unmakeMove()} pour la position, puis remise
+     * en place des pièces d'après son {@link Annulation} (la dame d'une promotion redevient le pion
+     * d'origine, la pièce prise et la tour du roque reprennent leur case).
+     */
+    @Override
+    protected void defaireCoup(int code) {
+        position.unmakeMove();
+        Annulation a = annulations.remove(annulations.size() - 1);
+
+        a.destination.setPiece(null); // Pièce déplacée ou dame de promotion
+        a.origine.setPiece(a.piece);
+        a.piece.setCase(a.origine);
+        if (a.prise != null) {
+            a.casePrise.setPiece(a.prise);
+            a.prise.setCase(a.casePrise);
+        }
+        if (a.tour != null) {
+            a.tourArrivee.setPiece(null);
+            a.tourDepart.setPiece(a.tour);
+            a.tour.setCase(a.tourDepart);
+            ((Tour) a.tour).setADejaBouge(false);
+        }
+        if (a.piece instanceof Roi roi) roi.setADejaBouge(a.avaitBouge);
+        if (a.piece instanceof Tour tour) tour.setADejaBouge(a.avaitBouge);
 
-        // Pour chaque pièce du joueur courant
-        for (int x = 0; x < 8; x++) {
-            for (int y = 0; y < 8; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
-                if (piece != null && piece.getCouleur().equalsIgnoreCase(joueur.getCouleur().name())) {
-                    List<Case> deplacements = piece.getdCA().getCA(piece.getCase());
-
-                    for (Case destination : deplacements) {
-                        if (coupEstLegal(piece, destination, joueur)) {
-                            return false; // Il reste au moins un coup légal
-                        }
-                    }
-                }
+        joueurCourant = position.getTrait() == BitboardPosition.BLANC ? JOUEUR_BLANC : JOUEUR_NOIR;
+        gagnant = null;
+        termine = calculerFinDePartie();
+    }
+
+    @Override
+    public EtatJeu creerEtat() {
+        return new EtatEchec(position);
+    }
+
+    /**
+     * @param coup coup encodé ({@link Move})
+     * @return le coup entre ses cases de départ et d'arrivée
+     */
+    @Override
+    public Coup versCoup(int coup) {
+        return Move.versCoup(coup, plateau);
+    }
+
+    /**
+     * Détecte la triple répétition, puis cherche un coup légal pour le camp au trait
+     * et fixe le gagnant s'il n'y en a aucun.
+     * @return true si la partie est terminée
+     */
+    private boolean calculerFinDePartie() {
+        // Triple répétition : la position courante est déjà apparue deux fois
+        if (position.nombreRepetitions() >= 2) {
+            gagnant = null;
+            return true;
+        }
+
+        position.genererCoups(coups);
+        for (int i = 0; i < coups.taille(); i++) {
+            if (position.estLegal(coups.get(i))) {
+                return false; // Il reste au moins un coup légal
             }
         }
 
         // Aucun coup légal trouvé
-        if (enEchec) {
-            gagnant = (joueur == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC; // échec et mat
+        if (estEnEchec(joueurCourant)) {
+            gagnant = (joueurCourant == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC; // échec et mat
         } else {
             gagnant = null; // pat
         }
@@ -288,124 +338,126 @@ public class JeuEchec extends Jeu{
 
     @Override
     public void reinitialiserPartie() {
-    // Réinitialiser le plateau
-        joueurCourant = JOUEUR_BLANC;
-        gagnant = null;
-
-        // Vider le plateau
-        for (int x = 0; x < plateau.getSizeX(); x++) {
-            for (int y = 0; y < plateau.getSizeY(); y++) {
-                Plateau.getCase(x, y).setPiece(null);
-            }
-        }
-
-        initialiserPieces();
-    }
-
-
-    private boolean coupEstLegal(Piece piece, Case destination, Joueur joueur) {
-        Case origine = piece.getCase();
-        Piece pieceCapturee = destination.getPiece();
-
-        // Simuler le coup
-        origine.setPiece(null);
-        destination.setPiece(piece);
-        piece.setCase(destination);
-
-        boolean roiEnDanger = estEnEchec(joueur);
-
-        // Restaurer l'état du plateau
-        destination.setPiece(pieceCapturee);
-        origine.setPiece(piece);
-        piece.setCase(origine);
-
-        return !roiEnDanger;
+        chargerFen(BitboardPosition.FEN_INITIALE);
     }
 
+    /**
+     * Remplace la partie par la position FEN donnée : placement, trait, droits de roque, case de
+     * prise en passant et compteurs. La FEN est d'abord lue sur les bitboards, puis la grille de
+     * cases est reconstruite en réutilisant les objets {@link Piece} déjà créés ; les indicateurs
+     * {@code aDejaBouge} des rois et des tours reflètent les droits de roque.
+     * @param fen description FEN de la position
+     * @throws IllegalArgumentException si la FEN est invalide (la partie est alors inchangée)
+     */
+    public void chargerFen(String fen) {
+        new BitboardPosition().chargerFen(fen); // Validation sans toucher à la partie
+        position.chargerFen(fen);
+        fenDepart = position.versFen();
+        viderHistorique();
+        annulations.clear();
+        joueurCourant = position.getTrait() == BitboardPosition.BLANC ? JOUEUR_BLANC : JOUEUR_NOIR;
+        gagnant = null;
 
-
-    public boolean estEnEchec(Joueur joueur) {
-        Piece roi = null;
+        // Ranger les pièces en place, puis les reposer d'après les bitboards
         for (int x = 0; x < 8; x++) {
             for (int y = 0; y < 8; y++) {
-                Piece p = Plateau.getCase(x, y).getPiece();
-                if (p instanceof Roi && p.getCouleur().equalsIgnoreCase(joueur.getCouleur().name())) {
-                    roi = p;
-                    break;
-                }
+                Case c = plateau.getCase(x, y);
+                Piece p = c.getPiece();
+                if (p == null) continue;
+                c.setPiece(null);
+                int code = BitboardPosition.codeDe(p);
+                if (code != BitboardPosition.VIDE) reserve.get(code).push(p);
             }
         }
-
-        if (roi == null) {
-            // Roi introuvable pour ce joueur (état invalide), considérer comme non en échec.
-            return false;
+        int roques = position.getRoques();
+        for (int sq = 0; sq < 64; sq++) {
+            int code = position.getPiece(sq);
+            if (code == BitboardPosition.VIDE) continue;
+            Case c = plateau.getCase(sq >>> 3, sq & 7);
+            Piece p = reserve.get(code).poll();
+            if (p == null) {
+                creerPiece(code, c);
+            } else {
+                c.setPiece(p);
+                p.setCase(c);
+            }
+            Piece posee = c.getPiece();
+            if (posee instanceof Roi roi) {
+                int droits = BitboardPosition.couleurDe(code) == BitboardPosition.BLANC
+                        ? BitboardPosition.ROQUE_BLANC_PETIT | BitboardPosition.ROQUE_BLANC_GRAND
+                        : BitboardPosition.ROQUE_NOIR_PETIT | BitboardPosition.ROQUE_NOIR_GRAND;
+                roi.setADejaBouge((roques & droits) == 0);
+            } else if (posee instanceof Tour tour) {
+                tour.setADejaBouge((roques & droitRoqueTour(sq)) == 0);
+            }
         }
 
-        Case caseRoi = roi.getCase();
+        termine = calculerFinDePartie();
+        setChanged();
+        notifyObservers();
+    }
 
-        for (int x = 0; x < 8; x++) {
-            for (int y = 0; y < 8; y++) {
-                Piece p = Plateau.getCase(x, y).getPiece();
-                if (p != null && !p.getCouleur().equalsIgnoreCase(joueur.getCouleur().name())) {
-                    List<Case> acces = p.getdCA().getCA(p.getCase());
-                    if (acces.contains(caseRoi)) {
-                        return true; // le roi est attaqué
-                    }
-                }
-            }
-        }
+    /**
+     * Décrit la position courante de la partie en notation FEN.
+     * @return la FEN de la position
+     */
+    public String getFen() {
+        return position.versFen();
+    }
 
-        return false; // le roi n'est pas menacé
+    /**
+     * @return FEN de la position de départ de la partie (position initiale, ou dernière FEN chargée)
+     */
+    public String getFenDepart() {
+        return fenDepart;
     }
 
+    /** Droit de roque attaché à une tour sur sa case d'origine, 0 ailleurs. */
+    private static int droitRoqueTour(int sq) {
+        if (sq == BitboardPosition.indice(7, 7)) return BitboardPosition.ROQUE_BLANC_PETIT;
+        if (sq == BitboardPosition.indice(7, 0)) return BitboardPosition.ROQUE_BLANC_GRAND;
+        if (sq == BitboardPosition.indice(0, 7)) return BitboardPosition.ROQUE_NOIR_PETIT;
+        if (sq == BitboardPosition.indice(0, 0)) return BitboardPosition.ROQUE_NOIR_GRAND;
+        return 0;
+    }
 
-    private boolean caseMenacee(Case c, Joueur joueur) {
-        for (int x = 0; x < 8; x++) {
-            for (int y = 0; y < 8; y++) {
-                Piece p = Plateau.getCase(x, y).getPiece();
-                if (p != null && !p.getCouleur().equalsIgnoreCase(joueur.getCouleur().name())) {
-                    if (p.getdCA().getCA(p.getCase()).contains(c)) {
-                        return true;
-                    }
-                }
-            }
+    private void creerPiece(int code, Case c) {
+        String couleur = BitboardPosition.couleurDe(code) == BitboardPosition.BLANC ? "Blanc" : "Noir";
+        switch (BitboardPosition.typeDe(code)) {
+            case BitboardPosition.PION:
+                new Pion(couleur, plateau, c);
+                break;
+            case BitboardPosition.CAVALIER:
+                new Cavalier(couleur, plateau, c);
+                break;
+            case BitboardPosition.FOU:
+                new Fou(couleur, plateau, c);
+                break;
+            case BitboardPosition.TOUR:
+                new Tour(couleur, plateau, c);
+                break;
+            case BitboardPosition.REINE:
+                new Reine(couleur, plateau, c);
+                break;
+            default:
+                new Roi(couleur, plateau, c);
+                break;
         }
-        return false;
     }
 
 
-    private void initialiserPieces() {
-        // Rois
-        new Roi("Blanc", plateau, getCase(7, 4));
-        new Roi("Noir", plateau, getCase(0, 4));
-
-        // Reines
-        new Reine("Blanc", plateau, getCase(7, 3));
-        new Reine("Noir", plateau, getCase(0, 3));
-
-        // Tours
-        new Tour("Blanc", plateau, getCase(7, 0));
-        new Tour("Blanc", plateau, getCase(7, 7));
-        new Tour("Noir", plateau, getCase(0, 0));
-        new Tour("Noir", plateau, getCase(0, 7));
-
-        // Fous
-        new Fou("Blanc", plateau, getCase(7, 2));
-        new Fou("Blanc", plateau, getCase(7, 5));
-        new Fou("Noir", plateau, getCase(0, 2));
-        new Fou("Noir", plateau, getCase(0, 5));
-
-        // Cavaliers
-        new Cavalier("Blanc", plateau, getCase(7, 1));
-        new Cavalier("Blanc", plateau, getCase(7, 6));
-        new Cavalier("Noir", plateau, getCase(0, 1));
-        new Cavalier("Noir", plateau, getCase(0, 6));
-
-        // Pions
-        for (int i = 0; i < 8; i++) {
-            new Pion("Blanc", plateau, getCase(6, i));
-            new Pion("Noir", plateau, getCase(1, i));
-        }
+    /**
+     * Indique si le roi du joueur donné est attaqué dans la position courante.
+     * @param joueur joueur dont on teste le roi
+     * @return true si le roi est en échec
+     */
+    public boolean estEnEchec(Joueur joueur) {
+        return position.estEnEchec(joueur.getCouleur().ordinal());
+    }
+
+
+    private boolean caseMenacee(Case c, Joueur joueur) {
+        int adversaire = joueur.getCouleur().ordinal() ^ 1;
+        return position.estAttaquee(BitboardPosition.indice(c), adversaire);
     }
-    
 }
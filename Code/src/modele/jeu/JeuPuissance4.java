@@ -1,7 +1,9 @@
 package modele.jeu;
 
 import modele.jeu.Pieces.PionPuissance4;
+import modele.plateau.BitboardPuissance4;
 import modele.plateau.Case;
+import modele.plateau.DetecteurAlignement;
 import modele.plateau.Plateau;
 
 /**
@@ -18,6 +20,11 @@ import modele.plateau.Plateau;
 public class JeuPuissance4 extends Jeu {
 
     private JeuEventListener listener;
+    /** Position bitboard tenue à jour à chaque coup, pour le solveur et les joueurs automatiques. */
+    private final BitboardPuissance4 bitboard = new BitboardPuissance4();
+    /** Alignements de 4 tenus à jour à chaque coup : victoire et cases gagnantes. */
+    private final DetecteurAlignement alignements =
+            new DetecteurAlignement(BitboardPuissance4.HAUTEUR, BitboardPuissance4.LARGEUR, 4);
 
     /**
      * Définit l'écouteur d'événements pour ce jeu.
@@ -38,7 +45,24 @@ public class JeuPuissance4 extends Jeu {
      * @param plateau le plateau de jeu sur lequel la partie se déroule (standard 6 lignes x 7 colonnes).
      */
     public JeuPuissance4(Plateau plateau) {
-        super(plateau);
+        this(plateau, true);
+    }
+
+    /**
+     * Construit une partie de Puissance 4, éventuellement sans thread dédié (partie hébergée par un serveur).
+     * @param plateau le plateau de jeu
+     * @param threadDedie false si les coups sont appliqués directement par l'appelant
+     */
+    public JeuPuissance4(Plateau plateau, boolean threadDedie) {
+        super(verifier(plateau), threadDedie);
+    }
+
+    /** Valide le plateau avant l'appel au constructeur de {@link Jeu}, qui lance le thread de la partie. */
+    private static Plateau verifier(Plateau plateau) {
+        if (plateau.getSizeX() != BitboardPuissance4.HAUTEUR || plateau.getSizeY() != BitboardPuissance4.LARGEUR) {
+            throw new IllegalArgumentException("Le Puissance 4 se joue sur un plateau de 6 lignes x 7 colonnes");
+        }
+        return plateau;
     }
 
     /**
@@ -46,6 +70,7 @@ public class JeuPuissance4 extends Jeu {
      * <p>
      * Cette méthode :
      * <ol>
+     * <li>Refuse le coup si la partie est déjà terminée.</li>
      * <li>Identifie la colonne ciblée par le {@code premierCoup}.</li>
      * <li>Cherche la première case vide dans cette colonne en partant du bas (gravité).</li>
      * <li>Si la colonne est pleine, notifie un coup invalide et retourne false.</li>
@@ -54,10 +79,12 @@ public class JeuPuissance4 extends Jeu {
      * </p>
      *
      * @param premierCoup l'objet Coup contenant les informations sur la case ciblée (principalement la colonne).
-     * @return {@code true} si le coup a été joué avec succès, {@code false} sinon (coup null, colonne pleine).
+     * @return {@code true} si le coup a été joué avec succès, {@code false} sinon (partie terminée, coup null, colonne pleine).
      */
     @Override
     public boolean jouerPartie(Coup premierCoup) {
+        // Le coup gagnant ne passe pas la main : un coup de plus serait compté au mauvais camp
+        if (estTermine()) return false;
         if (premierCoup == null) return false;
         Case caseArrivee = premierCoup.getArrivee();
         if (caseArrivee == null) return false;
@@ -66,7 +93,7 @@ public class JeuPuissance4 extends Jeu {
         // Chercher la première case vide en partant du bas
         Case caseLibre = null;
         for (int x = plateau.getSizeX() - 1; x >= 0; x--) {
-            Case c = Plateau.getCase(x, col);
+            Case c = plateau.getCase(x, col);
             if (c.getPiece() == null) {
                 caseLibre = c;
                 break;
@@ -81,6 +108,10 @@ public class JeuPuissance4 extends Jeu {
 
         // Placer le pion
         new PionPuissance4(joueurCourant.getCouleur().name(), plateau, caseLibre);
+        bitboard.jouer(col);
+        alignements.jouer(caseLibre.getPosX(), col,
+                joueurCourant.getCouleur() == Joueur.Couleur.BLANC ? DetecteurAlignement.BLANC : DetecteurAlignement.NOIR);
+        enregistrerCoup(col, new Coup(null, caseLibre));
         if (listener != null) listener.onCoupJoue(joueurCourant, caseLibre);
 
         // Vérifier fin de partie
@@ -103,14 +134,10 @@ public class JeuPuissance4 extends Jeu {
     /**
      * Vérifie si la partie est terminée (victoire ou match nul).
      * <p>
-     * La méthode parcourt le plateau pour détecter un alignement de 4 pions consécutifs de la même couleur :
-     * <ul>
-     * <li>Horizontalement</li>
-     * <li>Verticalement</li>
-     * <li>Diagonalement (descendante et montante)</li>
-     * </ul>
-     * Si une victoire est détectée, le champ {@code gagnant} est mis à jour et les cases gagnantes
-     * sont marquées dans le tableau {@code winningCells}.
+     * Le {@link DetecteurAlignement} tenu à jour à chaque coup a déjà constaté un éventuel alignement
+     * de 4 (horizontal, vertical ou diagonal) : rien n'est rebalayé. Si une victoire est détectée, le
+     * champ {@code gagnant} est mis à jour et les cases gagnantes sont marquées dans le tableau
+     * {@code winningCells}.
      * Si le plateau est plein sans vainqueur, la partie est déclarée nulle.
      * </p>
      *
@@ -118,111 +145,61 @@ public class JeuPuissance4 extends Jeu {
      */
     @Override
     public boolean estTermine() {
-        // Vérifier alignement de 4
-        int rows = plateau.getSizeX();
-        int cols = plateau.getSizeY();
-        // S'assurer que le tableau des cellules gagnantes existe
-        clearWinningCells();
-        for (int x = 0; x < rows; x++) {
-            for (int y = 0; y < cols; y++) {
-                Piece p = Plateau.getCase(x, y).getPiece();
-                if (p == null) continue;
-                String couleur = p.getCouleur();
-                // Horizontal
-                if (y <= cols - 4) {
-                    boolean win = true;
-                    for (int k = 1; k < 4; k++) {
-                        Piece p2 = Plateau.getCase(x, y + k).getPiece();
-                        if (p2 == null || !p2.getCouleur().equals(couleur)) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win) {
-                        gagnant = couleur.equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-                        winningCells[x][y] = true;
-                        winningCells[x][y + 1] = true;
-                        winningCells[x][y + 2] = true;
-                        winningCells[x][y + 3] = true;
-                        return true;
-                    }
-                }
-                // Vertical
-                if (x <= rows - 4) {
-                    boolean win = true;
-                    for (int k = 1; k < 4; k++) {
-                        Piece p2 = Plateau.getCase(x + k, y).getPiece();
-                        if (p2 == null || !p2.getCouleur().equals(couleur)) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win) {
-                        gagnant = couleur.equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-                        winningCells[x][y] = true;
-                        winningCells[x + 1][y] = true;
-                        winningCells[x + 2][y] = true;
-                        winningCells[x + 3][y] = true;
-                        return true;
-                    }
-                }
-                // Diagonale descendante
-                if (x <= rows - 4 && y <= cols - 4) {
-                    boolean win = true;
-                    for (int k = 1; k < 4; k++) {
-                        Piece p2 = Plateau.getCase(x + k, y + k).getPiece();
-                        if (p2 == null || !p2.getCouleur().equals(couleur)) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win) {
-                        gagnant = couleur.equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-                        winningCells[x][y] = true;
-                        winningCells[x + 1][y + 1] = true;
-                        winningCells[x + 2][y + 2] = true;
-                        winningCells[x + 3][y + 3] = true;
-                        return true;
-                    }
-                }
-                // Diagonale montante
-                if (x >= 3 && y <= cols - 4) {
-                    boolean win = true;
-                    for (int k = 1; k < 4; k++) {
-                        Piece p2 = Plateau.getCase(x - k, y + k).getPiece();
-                        if (p2 == null || !p2.getCouleur().equals(couleur)) {
-                            win = false;
-                            break;
-                        }
-                    }
-                    if (win) {
-                        gagnant = couleur.equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-                        winningCells[x][y] = true;
-                        winningCells[x - 1][y + 1] = true;
-                        winningCells[x - 2][y + 2] = true;
-                        winningCells[x - 3][y + 3] = true;
-                        return true;
-                    }
-                }
-            }
-        }
-        // Vérifier si le plateau est plein pour match nul
-        boolean plein = true;
-        for (int y = 0; y < cols; y++) {
-            if (Plateau.getCase(0, y).getPiece() == null) {
-                plein = false;
-                break;
-            }
+        if (alignements.estGagne()) {
+            clearWinningCells();
+            gagnant = alignements.getCouleurGagnante() == DetecteurAlignement.BLANC ? JOUEUR_BLANC : JOUEUR_NOIR;
+            alignements.marquer(winningCells);
+            return true;
         }
-        if (plein) {
+        if (alignements.estPlein()) {
             gagnant = null; // Match nul
-            // aucune cellule gagnante
-            clearWinningCells();
             return true;
         }
         return false;
     }
 
+    /**
+     * Retire le pion le plus haut de la colonne, sur le plateau, dans la {@link BitboardPuissance4} et
+     * dans le {@link DetecteurAlignement}.
+     * Un coup qui avait terminé la partie n'avait pas passé la main : le joueur courant ne change alors pas.
+     */
+    @Override
+    protected void defaireCoup(int code) {
+        boolean finie = estTermine();
+        int x = 0;
+        while (plateau.getCase(x, code).getPiece() == null) x++;
+        Case c = plateau.getCase(x, code);
+        int couleur = c.getPiece().getCouleurJoueur() == Joueur.Couleur.BLANC ? DetecteurAlignement.BLANC : DetecteurAlignement.NOIR;
+        c.setPiece(null);
+        bitboard.annulerCoup(1L << BitboardPuissance4.indice(x, code));
+        alignements.retirer(x, code, 0, couleur);
+        clearWinningCells();
+        gagnant = null;
+        if (!finie) joueurCourant = (joueurCourant == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC;
+    }
+
+    @Override
+    public EtatJeu creerEtat() {
+        return new EtatPuissance4(bitboard);
+    }
+
+    /**
+     * @param coup colonne jouée
+     * @return un coup visant cette colonne (le pion tombe)
+     */
+    @Override
+    public Coup versCoup(int coup) {
+        return new Coup(null, plateau.getCase(0, coup));
+    }
+
+    /**
+     * Position bitboard synchronisée avec le plateau (pour le solveur et les joueurs automatiques).
+     * @return la position courante ; ne pas la modifier
+     */
+    public BitboardPuissance4 getBitboard() {
+        return bitboard;
+    }
+
     /**
      * Méthode d'affichage (non utilisée directement dans le modèle).
      * <p>
@@ -252,9 +229,12 @@ public class JeuPuissance4 extends Jeu {
     public void reinitialiserPartie() {
         for (int x = 0; x < plateau.getSizeX(); x++) {
             for (int y = 0; y < plateau.getSizeY(); y++) {
-                Plateau.getCase(x, y).setPiece(null);
+                plateau.getCase(x, y).setPiece(null);
             }
         }
+        bitboard.vider();
+        alignements.vider();
+        viderHistorique();
         clearWinningCells();
         gagnant = null;
         joueurCourant = JOUEUR_BLANC;
@@ -2,15 +2,17 @@ package modele.jeu;
 
 import modele.jeu.Pieces.PionTicTacToe;
 import modele.plateau.Case;
+import modele.plateau.GrilleMNK;
 import modele.plateau.Plateau;
 
 /**
- * Implémentation du jeu de Morpion (Tic-Tac-Toe).
+ * Implémentation du jeu de Morpion (Tic-Tac-Toe), généralisé aux jeux m,n,k.
  * <p>
- * Cette classe gère les règles standards du Tic-Tac-Toe sur un plateau (généralement 3x3) :
+ * Cette classe gère les règles du Tic-Tac-Toe sur un plateau de m lignes et n colonnes :
  * <ul>
  * <li>Les joueurs posent tour à tour un symbole (Pion) sur une case vide.</li>
- * <li>Le premier joueur à aligner 3 symboles (ligne, colonne ou diagonale) gagne.</li>
+ * <li>Le premier joueur à aligner k symboles (ligne, colonne ou diagonale) gagne :
+ * 3 sur le Tic-Tac-Toe standard 3x3, 5 au Gomoku sur 15x15 ou 19x19.</li>
  * <li>Si le plateau est rempli sans vainqueur, la partie est nulle.</li>
  * </ul>
  * Elle hérite de la classe abstraite {@link Jeu}.
@@ -18,7 +20,14 @@ import modele.plateau.Plateau;
  */
 public class JeuTicTacToe extends Jeu {
 
+    /** Nombre de symboles à aligner au Tic-Tac-Toe standard. */
+    public static final int LONGUEUR_ALIGNEMENT = 3;
+    /** Nombre de pierres à aligner au Gomoku. */
+    public static final int LONGUEUR_GOMOKU = 5;
+
     private JeuEventListener listener;
+    /** Pierres rangées en ensembles de bits ; seules les directions de la dernière case sont examinées. */
+    private final GrilleMNK grille;
 
     /**
      * Définit l'écouteur d'événements pour ce jeu.
@@ -34,12 +43,40 @@ public class JeuTicTacToe extends Jeu {
     }
 
     /**
-     * Construit une nouvelle instance de jeu Tic-Tac-Toe.
+     * Construit une nouvelle instance de jeu Tic-Tac-Toe (3 symboles à aligner).
      *
      * @param plateau le plateau de jeu (doit être de dimension 3x3 pour le jeu standard).
      */
     public JeuTicTacToe(Plateau plateau) {
-        super(plateau);
+        this(plateau, LONGUEUR_ALIGNEMENT, true);
+    }
+
+    /**
+     * Construit une partie de Tic-Tac-Toe, éventuellement sans thread dédié (partie hébergée par un serveur).
+     * @param plateau le plateau de jeu
+     * @param threadDedie false si les coups sont appliqués directement par l'appelant
+     */
+    public JeuTicTacToe(Plateau plateau, boolean threadDedie) {
+        this(plateau, LONGUEUR_ALIGNEMENT, threadDedie);
+    }
+
+    /**
+     * Construit une partie m,n,k : le plateau donne m et n (ex. {@code new Plateau(15, 15)} et
+     * {@code longueur = 5} pour le Gomoku).
+     * @param plateau plateau 2D de la partie
+     * @param longueur nombre de symboles à aligner (k)
+     * @param threadDedie false si les coups sont appliqués directement par l'appelant
+     * @throws IllegalArgumentException si k dépasse les dimensions du plateau
+     */
+    public JeuTicTacToe(Plateau plateau, int longueur, boolean threadDedie) {
+        super(verifier(plateau, longueur), threadDedie);
+        this.grille = new GrilleMNK(plateau.getSizeX(), plateau.getSizeY(), longueur);
+    }
+
+    /** Valide m,n,k avant l'appel au constructeur de {@link Jeu}, qui lance le thread de la partie. */
+    private static Plateau verifier(Plateau plateau, int longueur) {
+        GrilleMNK.verifier(plateau.getSizeX(), plateau.getSizeY(), longueur);
+        return plateau;
     }
 
     /**
@@ -77,6 +114,9 @@ public class JeuTicTacToe extends Jeu {
 
         // Créer une nouvelle pièce et la placer
         new PionTicTacToe(joueurCourant.getCouleur().name(), plateau, caseArrivee);
+        grille.jouer(caseArrivee.getPosX(), caseArrivee.getPosY(),
+                joueurCourant.getCouleur() == Joueur.Couleur.BLANC ? GrilleMNK.BLANC : GrilleMNK.NOIR);
+        enregistrerCoup(caseArrivee.getPosX() * plateau.getSizeY() + caseArrivee.getPosY(), new Coup(null, caseArrivee));
 
         if (listener != null) listener.onCoupJoue(joueurCourant, caseArrivee);
 
@@ -102,108 +142,72 @@ public class JeuTicTacToe extends Jeu {
     /**
      * Vérifie les conditions de victoire ou de match nul.
      * <p>
-     * Cette méthode analyse le plateau pour trouver un alignement de 3 pièces identiques :
-     * <ul>
-     * <li>Sur les lignes horizontales.</li>
-     * <li>Sur les colonnes verticales.</li>
-     * <li>Sur la diagonale principale et la diagonale secondaire.</li>
-     * </ul>
-     * Si un alignement est trouvé, les cases concernées sont enregistrées dans {@code winningCells}
-     * pour l'affichage. Si le plateau est plein sans alignement, la partie est nulle.
+     * La {@link GrilleMNK} a déjà compté, au moment de chaque coup, les symboles contigus dans les
+     * seules directions passant par la case jouée (ligne, colonne et diagonales) : il n'y a plus
+     * qu'à consulter son état. Si un alignement est trouvé, les cases concernées sont enregistrées
+     * dans {@code winningCells} pour l'affichage. Si le plateau est plein sans alignement, la partie est nulle.
      * </p>
      *
      * @return {@code true} si la partie est finie, {@code false} sinon.
      */
     @Override
     public boolean estTermine() {
-        clearWinningCells();
-        int rows = plateau.getSizeX();
-        int cols = plateau.getSizeY();
-        // Vérifier les lignes
-        for (int x = 0; x < rows; x++) {
-            Piece p1 = Plateau.getCase(x, 0).getPiece();
-            Piece p2 = Plateau.getCase(x, 1).getPiece();
-            Piece p3 = Plateau.getCase(x, 2).getPiece();
-
-            if (p1 != null && p2 != null && p3 != null &&
-                    p1.getCouleur().equals(p2.getCouleur()) &&
-                    p2.getCouleur().equals(p3.getCouleur())) {
-                gagnant = p1.getCouleur().equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-                // marquer les cellules gagnantes
-                winningCells[x][0] = true;
-                winningCells[x][1] = true;
-                winningCells[x][2] = true;
-                return true;
-            }
-        }
-
-        // Vérifier les colonnes
-        for (int y = 0; y < cols; y++) {
-            Piece p1 = Plateau.getCase(0, y).getPiece();
-            Piece p2 = Plateau.getCase(1, y).getPiece();
-            Piece p3 = Plateau.getCase(2, y).getPiece();
-
-            if (p1 != null && p2 != null && p3 != null &&
-                    p1.getCouleur().equals(p2.getCouleur()) &&
-                    p2.getCouleur().equals(p3.getCouleur())) {
-                gagnant = p1.getCouleur().equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-                // marquer les cellules gagnantes
-                winningCells[0][y] = true;
-                winningCells[1][y] = true;
-                winningCells[2][y] = true;
-                return true;
-            }
-        }
-
-        // Vérifier la diagonale principale
-        Piece p1 = Plateau.getCase(0, 0).getPiece();
-        Piece p2 = Plateau.getCase(1, 1).getPiece();
-        Piece p3 = Plateau.getCase(2, 2).getPiece();
-
-        if (p1 != null && p2 != null && p3 != null &&
-                p1.getCouleur().equals(p2.getCouleur()) &&
-                p2.getCouleur().equals(p3.getCouleur())) {
-            gagnant = p1.getCouleur().equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-            winningCells[0][0] = true;
-            winningCells[1][1] = true;
-            winningCells[2][2] = true;
+        if (grille.estGagne()) {
+            gagnant = grille.getCouleurGagnante() == GrilleMNK.BLANC ? JOUEUR_BLANC : JOUEUR_NOIR;
+            clearWinningCells();
+            grille.marquer(winningCells);
             return true;
         }
-
-        // Vérifier la diagonale secondaire
-        p1 = Plateau.getCase(0, 2).getPiece();
-        p2 = Plateau.getCase(1, 1).getPiece();
-        p3 = Plateau.getCase(2, 0).getPiece();
-
-        if (p1 != null && p2 != null && p3 != null &&
-                p1.getCouleur().equals(p2.getCouleur()) &&
-                p2.getCouleur().equals(p3.getCouleur())) {
-            gagnant = p1.getCouleur().equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-            winningCells[0][2] = true;
-            winningCells[1][1] = true;
-            winningCells[2][0] = true;
+        if (grille.estPlein()) {
+            gagnant = null; // Match nul
             return true;
         }
+        return false;
+    }
 
-        // Vérifier si le plateau est plein
-        boolean plateauPlein = true;
-        for (int x = 0; x < plateau.getSizeX(); x++) {
-            for (int y = 0; y < plateau.getSizeY(); y++) {
-                if (Plateau.getCase(x, y).getPiece() == null) {
-                    plateauPlein = false;
-                    break;
-                }
-            }
-            if (!plateauPlein) break;
-        }
 
-        if (plateauPlein) {
-            gagnant = null; // Match nul
-            clearWinningCells();
-            return true;
-        }
+    /**
+     * Retire le dernier symbole posé, de la case et de la {@link GrilleMNK} (qui oublie l'alignement
+     * gagnant s'il en faisait partie). Un coup qui avait terminé la partie n'avait pas passé la main.
+     */
+    @Override
+    protected void defaireCoup(int code) {
+        boolean finie = estTermine();
+        Case c = plateau.getCase(code / plateau.getSizeY(), code % plateau.getSizeY());
+        int couleur = c.getPiece().getCouleurJoueur() == Joueur.Couleur.BLANC ? GrilleMNK.BLANC : GrilleMNK.NOIR;
+        c.setPiece(null);
+        grille.retirer(c.getPosX(), c.getPosY(), couleur);
+        clearWinningCells();
+        gagnant = null;
+        if (!finie) joueurCourant = (joueurCourant == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC;
+    }
 
-        return false;
+    @Override
+    public EtatJeu creerEtat() {
+        return new EtatTicTacToe(grille);
+    }
+
+    /**
+     * @param coup case {@code x * n + y}
+     * @return la pose d'un pion sur cette case
+     */
+    @Override
+    public Coup versCoup(int coup) {
+        return new Coup(null, plateau.getCase(coup / plateau.getSizeY(), coup % plateau.getSizeY()));
+    }
+
+
+    /** @return nombre de symboles à aligner pour gagner (k) */
+    public int getLongueurAlignement() {
+        return grille.getLongueur();
+    }
+
+    /**
+     * Grille synchronisée avec le plateau, avec les menaces de chaque joueur (pour les joueurs automatiques).
+     * @return la grille courante ; ne pas la modifier
+     */
+    public GrilleMNK getGrille() {
+        return grille;
     }
 
 
@@ -230,9 +234,11 @@ public class JeuTicTacToe extends Jeu {
     public void reinitialiserPartie() {
         for (int x = 0; x < plateau.getSizeX(); x++) {
             for (int y = 0; y < plateau.getSizeY(); y++) {
-                Plateau.getCase(x, y).setPiece(null);
+                plateau.getCase(x, y).setPiece(null);
             }
         }
+        grille.vider();
+        viderHistorique();
         clearWinningCells();
         gagnant = null;
         joueurCourant = JOUEUR_BLANC;
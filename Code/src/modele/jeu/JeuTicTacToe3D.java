@@ -2,24 +2,48 @@ package modele.jeu;
 
 import modele.jeu.Pieces.PionTicTacToe;
 import modele.plateau.Case;
+import modele.plateau.BitboardCube;
 import modele.plateau.Plateau;
 
 /**
- * Jeu de TicTacToe 3D : 3 grilles 3x3 représentant un cube.
+ * Jeu de TicTacToe 3D : N grilles NxN représentant un cube, où il faut aligner N pions.
+ * Le jeu standard se joue sur 3x3x3 ; le Qubic sur 4x4x4.
  * - Grille 1 (couche 0, z=0): a1-a9
  * - Grille 2 (couche 1, z=1): b1-b9
  * - Grille 3 (couche 2, z=2): c1-c9
+ * (sur 4x4x4 : a1-a16 à d1-d16)
  */
 public class JeuTicTacToe3D extends Jeu {
 
     private JeuEventListener listener;
+    /** Pions en ensembles de bits et masques des lignes du cube (49 pour N = 3, 76 pour N = 4). */
+    private final BitboardCube cube;
 
     public void setEventListener(JeuEventListener listener) {
         this.listener = listener;
     }
 
     public JeuTicTacToe3D(Plateau plateau) {
-        super(plateau);
+        this(plateau, true);
+    }
+
+    /**
+     * Construit une partie de TicTacToe 3D, éventuellement sans thread dédié (partie hébergée par un serveur).
+     * @param plateau le plateau de jeu
+     * @param threadDedie false si les coups sont appliqués directement par l'appelant
+     */
+    public JeuTicTacToe3D(Plateau plateau, boolean threadDedie) {
+        super(verifier(plateau), threadDedie);
+        this.cube = new BitboardCube(plateau.getSizeX());
+    }
+
+    /** Valide le plateau avant l'appel au constructeur de {@link Jeu}, qui lance le thread de la partie. */
+    private static Plateau verifier(Plateau plateau) {
+        int n = plateau.getSizeX();
+        if (!plateau.is3D() || n < 2 || plateau.getSizeY() != n || plateau.getSizeZ() != n) {
+            throw new IllegalArgumentException("Le TicTacToe 3D se joue sur un cube (Plateau(n, n, n))");
+        }
+        return plateau;
     }
 
     @Override
@@ -37,6 +61,10 @@ public class JeuTicTacToe3D extends Jeu {
 
         // Placer le pion
         new PionTicTacToe(joueurCourant.getCouleur().name(), plateau, caseArrivee);
+        cube.jouer(caseArrivee.getPosX(), caseArrivee.getPosY(), caseArrivee.getPosZ(),
+                joueurCourant.getCouleur() == Joueur.Couleur.BLANC ? BitboardCube.BLANC : BitboardCube.NOIR);
+        enregistrerCoup(cube.indice(caseArrivee.getPosX(), caseArrivee.getPosY(), caseArrivee.getPosZ()),
+                new Coup(null, caseArrivee));
 
         if (listener != null) listener.onCoupJoue(joueurCourant, caseArrivee);
 
@@ -58,202 +86,68 @@ public class JeuTicTacToe3D extends Jeu {
         return true;
     }
 
+    /**
+     * Vérifie la fin de partie. Les lignes du cube (lignes, colonnes et diagonales de chaque
+     * grille, colonnes verticales, diagonales des faces et grandes diagonales) sont testées par le
+     * {@link BitboardCube} au moment de chaque coup : un ET par ligne passant par la case jouée.
+     */
     @Override
     public boolean estTermine() {
-        clearWinningCells();
-        
-        // Vérifier toutes les conditions de victoire
-        
-        // 1. Victoires dans chaque grille (lignes, colonnes, diagonales)
-        for (int z = 0; z < 3; z++) {
-            if (verifierGrille(z)) return true;
-        }
-        
-        // 2. Victoires verticales (même position x,y sur différentes couches z)
-        if (verifierColonnesVerticales()) return true;
-        
-        // 3. Diagonales inter-grilles sur les faces du cube
-        if (verifierDiagonalesInterGrillesFaces()) return true;
-        
-        // 4. Diagonales principales du cube (4 diagonales traversant tout le cube)
-        if (verifierDiagonalesPrincipalesCube()) return true;
-
-        // Vérifier si le plateau est plein (match nul)
-        boolean plateauPlein = true;
-        for (int x = 0; x < 3; x++) {
-            for (int y = 0; y < 3; y++) {
-                for (int z = 0; z < 3; z++) {
-                    if (Plateau.getCase(x, y, z).getPiece() == null) {
-                        plateauPlein = false;
-                        break;
-                    }
-                }
-                if (!plateauPlein) break;
-            }
-            if (!plateauPlein) break;
+        if (cube.estGagne()) {
+            gagnant = cube.getCouleurGagnante() == BitboardCube.BLANC ? JOUEUR_BLANC : JOUEUR_NOIR;
+            clearWinningCells();
+            cube.marquer(winningCells3D);
+            return true;
         }
-
-        if (plateauPlein) {
+        if (cube.estPlein()) {
             gagnant = null;
-            clearWinningCells();
             return true;
         }
-
         return false;
     }
 
     /**
-     * Vérifie les victoires dans une grille donnée (lignes, colonnes, diagonales)
+     * Retire le dernier pion posé, de la case et du {@link BitboardCube} (qui annule la victoire si
+     * le pion appartenait à la ligne gagnante). Un coup qui avait terminé la partie n'avait pas passé la main.
      */
-    private boolean verifierGrille(int z) {
-        // Lignes
-        for (int x = 0; x < 3; x++) {
-            if (verifierAlignement(
-                Plateau.getCase(x, 0, z),
-                Plateau.getCase(x, 1, z),
-                Plateau.getCase(x, 2, z)
-            )) return true;
-        }
-
-        // Colonnes
-        for (int y = 0; y < 3; y++) {
-            if (verifierAlignement(
-                Plateau.getCase(0, y, z),
-                Plateau.getCase(1, y, z),
-                Plateau.getCase(2, y, z)
-            )) return true;
-        }
-
-        // Diagonale principale
-        if (verifierAlignement(
-            Plateau.getCase(0, 0, z),
-            Plateau.getCase(1, 1, z),
-            Plateau.getCase(2, 2, z)
-        )) return true;
-
-        // Diagonale secondaire
-        if (verifierAlignement(
-            Plateau.getCase(0, 2, z),
-            Plateau.getCase(1, 1, z),
-            Plateau.getCase(2, 0, z)
-        )) return true;
-
-        return false;
+    @Override
+    protected void defaireCoup(int code) {
+        boolean finie = estTermine();
+        Case c = versCoup(code).getArrivee();
+        int couleur = c.getPiece().getCouleurJoueur() == Joueur.Couleur.BLANC ? BitboardCube.BLANC : BitboardCube.NOIR;
+        c.setPiece(null);
+        cube.retirer(c.getPosX(), c.getPosY(), c.getPosZ(), couleur);
+        clearWinningCells();
+        gagnant = null;
+        if (!finie) joueurCourant = (joueurCourant == JOUEUR_BLANC) ? JOUEUR_NOIR : JOUEUR_BLANC;
     }
 
-    /**
-     * Vérifie les colonnes verticales (même x,y, différents z)
-     */
-    private boolean verifierColonnesVerticales() {
-        for (int x = 0; x < 3; x++) {
-            for (int y = 0; y < 3; y++) {
-                if (verifierAlignement(
-                    Plateau.getCase(x, y, 0),
-                    Plateau.getCase(x, y, 1),
-                    Plateau.getCase(x, y, 2)
-                )) return true;
-            }
-        }
-        return false;
+    @Override
+    public EtatJeu creerEtat() {
+        return new EtatTicTacToe3D(cube);
     }
 
     /**
-     * Vérifie les diagonales inter-grilles sur les 4 faces du cube
+     * @param coup indice {@code (x * N + y) * N + z} de la case
+     * @return la pose d'un pion sur cette case
      */
-    private boolean verifierDiagonalesInterGrillesFaces() {
-        // Face XZ (y constant) - 6 diagonales (3 valeurs de y × 2 diagonales)
-        for (int y = 0; y < 3; y++) {
-            // Diagonale descendante
-            if (verifierAlignement(
-                Plateau.getCase(0, y, 0),
-                Plateau.getCase(1, y, 1),
-                Plateau.getCase(2, y, 2)
-            )) return true;
-            
-            // Diagonale montante
-            if (verifierAlignement(
-                Plateau.getCase(0, y, 2),
-                Plateau.getCase(1, y, 1),
-                Plateau.getCase(2, y, 0)
-            )) return true;
-        }
-
-        // Face YZ (x constant) - 6 diagonales (3 valeurs de x × 2 diagonales)
-        for (int x = 0; x < 3; x++) {
-            // Diagonale descendante
-            if (verifierAlignement(
-                Plateau.getCase(x, 0, 0),
-                Plateau.getCase(x, 1, 1),
-                Plateau.getCase(x, 2, 2)
-            )) return true;
-            
-            // Diagonale montante
-            if (verifierAlignement(
-                Plateau.getCase(x, 0, 2),
-                Plateau.getCase(x, 1, 1),
-                Plateau.getCase(x, 2, 0)
-            )) return true;
-        }
-
-        return false;
+    @Override
+    public Coup versCoup(int coup) {
+        int n = cube.getTaille();
+        return new Coup(null, plateau.getCase(coup / (n * n), (coup / n) % n, coup % n));
     }
 
-    /**
-     * Vérifie les 4 diagonales principales du cube (d'un coin à l'opposé)
-     */
-    private boolean verifierDiagonalesPrincipalesCube() {
-        // Diagonale 1 : (0,0,0) -> (1,1,1) -> (2,2,2)
-        if (verifierAlignement(
-            Plateau.getCase(0, 0, 0),
-            Plateau.getCase(1, 1, 1),
-            Plateau.getCase(2, 2, 2)
-        )) return true;
-
-        // Diagonale 2 : (0,0,2) -> (1,1,1) -> (2,2,0)
-        if (verifierAlignement(
-            Plateau.getCase(0, 0, 2),
-            Plateau.getCase(1, 1, 1),
-            Plateau.getCase(2, 2, 0)
-        )) return true;
-
-        // Diagonale 3 : (0,2,0) -> (1,1,1) -> (2,0,2)
-        if (verifierAlignement(
-            Plateau.getCase(0, 2, 0),
-            Plateau.getCase(1, 1, 1),
-            Plateau.getCase(2, 0, 2)
-        )) return true;
-
-        // Diagonale 4 : (0,2,2) -> (1,1,1) -> (2,0,0)
-        if (verifierAlignement(
-            Plateau.getCase(0, 2, 2),
-            Plateau.getCase(1, 1, 1),
-            Plateau.getCase(2, 0, 0)
-        )) return true;
-
-        return false;
+    /** @return côté du cube (3 pour le jeu standard, 4 pour le Qubic) */
+    public int getTaille() {
+        return cube.getTaille();
     }
 
     /**
-     * Vérifie si 3 cases contiennent des pièces de même couleur
+     * Cube synchronisé avec le plateau (pour les solveurs et joueurs automatiques).
+     * @return le cube courant ; ne pas le modifier
      */
-    private boolean verifierAlignement(Case c1, Case c2, Case c3) {
-        Piece p1 = c1.getPiece();
-        Piece p2 = c2.getPiece();
-        Piece p3 = c3.getPiece();
-
-        if (p1 != null && p2 != null && p3 != null &&
-            p1.getCouleur().equals(p2.getCouleur()) && 
-            p2.getCouleur().equals(p3.getCouleur())) {
-            gagnant = p1.getCouleur().equalsIgnoreCase("BLANC") ? JOUEUR_BLANC : JOUEUR_NOIR;
-            // Marquer les cases gagnantes
-            if (winningCells3D != null) {
-                winningCells3D[c1.getPosX()][c1.getPosY()][c1.getPosZ()] = true;
-                winningCells3D[c2.getPosX()][c2.getPosY()][c2.getPosZ()] = true;
-                winningCells3D[c3.getPosX()][c3.getPosY()][c3.getPosZ()] = true;
-            }
-            return true;
-        }
-        return false;
+    public BitboardCube getCube() {
+        return cube;
     }
 
     @Override
@@ -263,13 +157,16 @@ public class JeuTicTacToe3D extends Jeu {
 
     @Override
     public void reinitialiserPartie() {
-        for (int x = 0; x < 3; x++) {
-            for (int y = 0; y < 3; y++) {
-                for (int z = 0; z < 3; z++) {
-                    Plateau.getCase(x, y, z).setPiece(null);
+        int n = cube.getTaille();
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < n; y++) {
+                for (int z = 0; z < n; z++) {
+                    plateau.getCase(x, y, z).setPiece(null);
                 }
             }
         }
+        cube.vider();
+        viderHistorique();
         clearWinningCells();
         gagnant = null;
         joueurCourant = JOUEUR_BLANC;
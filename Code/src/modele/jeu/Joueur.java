@@ -37,6 +37,20 @@ public class Joueur {
         return this.couleur == autre.couleur;
     }
     
+    /**
+     * Propose un coup lorsque c'est au tour de ce joueur de jouer.
+     * <p>
+     * Un joueur humain renvoie null : le jeu attend alors le coup transmis par la vue via
+     * {@link Jeu#setCoup(Coup)}. Les joueurs automatiques redéfinissent cette méthode,
+     * appelée sur le thread du jeu.
+     * </p>
+     * @param jeu partie en cours
+     * @return le coup choisi, ou null pour attendre un coup de la vue
+     */
+    public Coup choisirCoup(Jeu jeu) {
+        return null;
+    }
+
     /**
      * Retourne le score actuel du joueur.
      * @return nombre de points
@@ -0,0 +1,121 @@
+package modele.jeu;
+
+import modele.plateau.BitboardPosition;
+import modele.plateau.Case;
+import modele.plateau.Plateau;
+
+/**
+ * Encodage compact d'un coup d'échecs dans un {@code int}, utilisé par le moteur à la place de {@link Coup}.
+ * <p>
+ * Disposition des bits : case de départ (bits 0-5), case d'arrivée (bits 6-11), type de la pièce
+ * de promotion (bits 12-14, {@link #SANS_PROMOTION} sinon) et drapeaux des coups spéciaux
+ * (bits 15-18). Les cases sont les indices bitboard de {@link BitboardPosition}.
+ * Manipuler des entiers évite toute allocation lors de la génération et du parcours des coups ;
+ * les méthodes {@link #depuisCoup(Coup, BitboardPosition)} et {@link #versCoup(int, Plateau)} assurent
+ * la conversion avec les {@link Coup} échangés avec les vues.
+ * </p>
+ */
+public final class Move {
+    /** Le coup capture une pièce (hors prise en passant). */
+    public static final int PRISE = 1;
+    /** Poussée d'un pion de deux cases. */
+    public static final int DOUBLE_PAS = 2;
+    /** Prise en passant. */
+    public static final int EN_PASSANT = 4;
+    /** Roque (le coup décrit le déplacement du roi). */
+    public static final int ROQUE = 8;
+
+    /** Valeur du champ promotion lorsqu'il n'y a pas de promotion. */
+    public static final int SANS_PROMOTION = 0;
+    /** Valeur représentant l'absence de coup (a8-a8 n'est jamais un coup valide). */
+    public static final int AUCUN = 0;
+
+    private Move() {
+    }
+
+    /**
+     * Encode un coup.
+     * @param depart indice de la case de départ
+     * @param arrivee indice de la case d'arrivée
+     * @param promotion type de la pièce de promotion ({@link BitboardPosition#REINE}...) ou {@link #SANS_PROMOTION}
+     * @param drapeaux combinaison de {@link #PRISE}, {@link #DOUBLE_PAS}, {@link #EN_PASSANT}, {@link #ROQUE}
+     * @return le coup encodé
+     */
+    public static int encoder(int depart, int arrivee, int promotion, int drapeaux) {
+        return depart | arrivee << 6 | promotion << 12 | drapeaux << 15;
+    }
+
+    public static int depart(int m) {
+        return m & 63;
+    }
+
+    public static int arrivee(int m) {
+        return (m >>> 6) & 63;
+    }
+
+    public static int promotion(int m) {
+        return (m >>> 12) & 7;
+    }
+
+    public static int drapeaux(int m) {
+        return (m >>> 15) & 15;
+    }
+
+    public static boolean estPrise(int m) {
+        return (m & ((PRISE | EN_PASSANT) << 15)) != 0;
+    }
+
+    public static boolean estRoque(int m) {
+        return (m & (ROQUE << 15)) != 0;
+    }
+
+    public static boolean estEnPassant(int m) {
+        return (m & (EN_PASSANT << 15)) != 0;
+    }
+
+    /**
+     * Convertit un {@link Coup} de la vue en coup encodé pour la position donnée.
+     * Les drapeaux sont déduits de la position ; un pion atteignant la dernière rangée est promu en reine.
+     * @param coup coup contenant une case de départ et une case d'arrivée
+     * @param position position dans laquelle le coup est joué
+     * @return le coup encodé (sa légalité n'est pas vérifiée)
+     */
+    public static int depuisCoup(Coup coup, BitboardPosition position) {
+        return position.creerMove(BitboardPosition.indice(coup.getDepart()), BitboardPosition.indice(coup.getArrivee()));
+    }
+
+    /**
+     * Convertit un coup encodé en {@link Coup} portant les cases du plateau.
+     * @param m coup encodé
+     * @param plateau plateau 8x8 de la partie dont on veut les cases
+     * @return le coup équivalent pour les vues et {@link Jeu#setCoup(Coup)}
+     */
+    public static Coup versCoup(int m, Plateau plateau) {
+        Case depart = plateau.getCase(depart(m) >>> 3, depart(m) & 7);
+        Case arrivee = plateau.getCase(arrivee(m) >>> 3, arrivee(m) & 7);
+        return new Coup(depart, arrivee);
+    }
+
+    /**
+     * Notation coordonnée du coup (ex. « e2e4 », « e7e8q »).
+     * @param m coup encodé
+     * @return la notation du coup
+     */
+    public static String versTexte(int m) {
+        String texte = nomCase(depart(m)) + nomCase(arrivee(m));
+        int promotion = promotion(m);
+        if (promotion != SANS_PROMOTION) {
+            texte += "pnbrqk".charAt(promotion);
+        }
+        return texte;
+    }
+
+    /**
+     * Nom algébrique d'une case (ex. indice 52 → « e2 »).
+     * @param sq indice bitboard
+     * @return nom de la case
+     */
+    public static String nomCase(int sq) {
+        return "" + (char) ('a' + (sq & 7)) + (8 - (sq >>> 3));
+    }
+}
@@ -0,0 +1,92 @@
+package modele.jeu;
+
+/**
+ * Liste réutilisable de coups encodés ({@link Move}) stockés dans un tableau d'entiers.
+ * <p>
+ * Une même instance est vidée puis remplie à chaque génération de coups, si bien qu'en
+ * régime établi la génération n'alloue plus rien (le tableau ne grandit qu'au besoin).
+ * </p>
+ */
+public class MoveList {
+    private int[] coups;
+    private int taille;
+
+    /**
+     * Crée une liste pouvant contenir le nombre maximal de coups d'une position d'échecs.
+     */
+    public MoveList() {
+        this(256);
+    }
+
+    /**
+     * Crée une liste avec une capacité initiale donnée.
+     * @param capacite nombre de coups avant agrandissement
+     */
+    public MoveList(int capacite) {
+        coups = new int[Math.max(1, capacite)];
+    }
+
+    /**
+     * Ajoute un coup en fin de liste.
+     * @param m coup encodé
+     */
+    public void ajouter(int m) {
+        if (taille == coups.length) {
+            coups = java.util.Arrays.copyOf(coups, taille * 2);
+        }
+        coups[taille++] = m;
+    }
+
+    /**
+     * Retourne le coup à l'indice donné.
+     * @param i indice entre 0 et {@link #taille()} - 1
+     * @return le coup encodé
+     */
+    public int get(int i) {
+        return coups[i];
+    }
+
+    /**
+     * Remplace le coup à l'indice donné (utile pour trier la liste en place).
+     * @param i indice
+     * @param m nouveau coup
+     */
+    public void set(int i, int m) {
+        coups[i] = m;
+    }
+
+    public int taille() {
+        return taille;
+    }
+
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    /**
+     * Vide la liste sans libérer son tableau.
+     */
+    public void vider() {
+        taille = 0;
+    }
+
+    /**
+     * Ne conserve que les premiers coups de la liste.
+     * @param nouvelleTaille nombre de coups conservés (au plus {@link #taille()})
+     */
+    public void tronquer(int nouvelleTaille) {
+        taille = Math.min(taille, nouvelleTaille);
+    }
+
+    /**
+     * Indique si la liste contient un coup.
+     * @param m coup encodé
+     * @return true si présent
+     */
+    public boolean contient(int m) {
+        for (int i = 0; i < taille; i++) {
+            if (coups[i] == m) return true;
+        }
+        return false;
+    }
+}
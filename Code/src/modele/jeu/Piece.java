@@ -11,9 +11,43 @@ import modele.plateau.Plateau;
  * Chaque pièce connaît sa couleur, sa case, le plateau auquel elle appartient
  * et sa stratégie de déplacements ({@link modele.deplacements.DecCasesAccessibles}).
  * </p>
+ * <p>
+ * La couleur et la nature de la pièce sont aussi résumées, à la construction, dans un code
+ * d'un octet ({@code type << 1 | couleur}, voir {@link #coder(int, Type)}) : c'est ce code que
+ * lisent les moteurs et les vues, case par case dans {@link Plateau#getCodes()}, sans comparer
+ * de chaînes ni tester la classe de la pièce.
+ * </p>
  */
 public abstract class Piece {
+
+    /** Nature d'une pièce ; l'ordinal des pièces d'échecs est celui de {@link modele.plateau.BitboardPosition}. */
+    public enum Type {
+        PION('P'), CAVALIER('C'), FOU('F'), TOUR('T'), REINE('D'), ROI('R'),
+        /** Pion posé des jeux d'alignement (TicTacToe, Puissance 4). */
+        PIERRE('P');
+
+        private final char lettre;
+
+        Type(char lettre) {
+            this.lettre = lettre;
+        }
+
+        /** @return initiale française de la pièce, en majuscule (D pour la dame) */
+        public char getLettre() {
+            return lettre;
+        }
+    }
+
+    /** Code d'une case vide. */
+    public static final byte VIDE = -1;
+
+    private static final Type[] TYPES = Type.values();
+
     protected String couleur;
+    /** Couleur lue une fois dans {@link #couleur} (« Blanc », « BLANC »...), null si absente. */
+    private final Joueur.Couleur couleurJoueur;
+    /** Code compact de la pièce, ou {@link #VIDE} sans couleur. */
+    private final byte code;
     protected Case c;
     protected Plateau p;
     protected DecCasesAccessibles dCA;
@@ -28,6 +62,9 @@ public abstract class Piece {
      */
     public Piece(String couleur, Plateau p, Case c, DecCasesAccessibles dCA) {
         this.couleur = couleur;
+        this.couleurJoueur = couleur == null ? null
+                : couleur.equalsIgnoreCase("Blanc") ? Joueur.Couleur.BLANC : Joueur.Couleur.NOIR;
+        this.code = couleurJoueur == null ? VIDE : coder(couleurJoueur.ordinal(), getType());
         this.p = p;
         this.c = c;
         this.dCA = dCA;
@@ -42,6 +79,58 @@ public abstract class Piece {
         return couleur;
     }
 
+    /**
+     * Couleur de la pièce sous forme d'énumération, comparable directement à celle d'un {@link Joueur}.
+     * @return la couleur, ou null si la pièce n'en a pas
+     */
+    public Joueur.Couleur getCouleurJoueur() {
+        return couleurJoueur;
+    }
+
+    /**
+     * Nature de la pièce.
+     * @return le type, constant pour une classe de pièce
+     */
+    public abstract Type getType();
+
+    /**
+     * Code compact de la pièce : {@code type.ordinal() << 1 | couleur.ordinal()}.
+     * @return le code, ou {@link #VIDE} si la pièce n'a pas de couleur
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Code compact d'une couleur et d'une nature de pièce.
+     * @param couleur ordinal de {@link Joueur.Couleur}
+     * @param type nature de la pièce
+     * @return code entre 0 et 13
+     */
+    public static byte coder(int couleur, Type type) {
+        return (byte) (type.ordinal() << 1 | couleur);
+    }
+
+    /** @return ordinal de {@link Joueur.Couleur} d'un code non vide */
+    public static int couleurDe(byte code) {
+        return code & 1;
+    }
+
+    /** @return nature de la pièce d'un code non vide */
+    public static Type typeDe(byte code) {
+        return TYPES[code >> 1];
+    }
+
+    /**
+     * Lettre d'affichage console d'un code : initiale française, majuscule pour les Blancs.
+     * @param code code non vide
+     * @return lettre de la pièce
+     */
+    public static char lettre(byte code) {
+        char lettre = typeDe(code).getLettre();
+        return couleurDe(code) == Joueur.Couleur.BLANC.ordinal() ? lettre : Character.toLowerCase(lettre);
+    }
+
     /**
      * Retourne la case actuelle occupée par la pièce.
      * @return la case courante
@@ -72,10 +161,10 @@ public abstract class Piece {
      * @return true si les deux pièces ont la même couleur non nulle, false sinon
      */
     public boolean estAlliee(Piece piece) {
-        if (piece == null || this.couleur == null || piece.couleur == null) {
+        if (piece == null || this.couleurJoueur == null) {
             return false;
         }
-        return this.couleur.equals(piece.couleur);
+        return this.couleurJoueur == piece.couleurJoueur;
     }
 
     /**
@@ -10,5 +10,9 @@ public class Cavalier extends Piece {
     public Cavalier(String couleur, Plateau plateau, Case c) {
         super(couleur, plateau, c, new DecCava(null));
     }
-}
 
+    @Override
+    public Type getType() {
+        return Type.CAVALIER;
+    }
+}
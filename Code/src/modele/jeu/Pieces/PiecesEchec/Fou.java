@@ -10,4 +10,9 @@ public class Fou extends Piece {
     public Fou(String couleur, Plateau plateau, Case c) {
         super(couleur, plateau, c, new DecDiag(null));
     }
-}
\ No newline at end of file
+
+    @Override
+    public Type getType() {
+        return Type.FOU;
+    }
+}
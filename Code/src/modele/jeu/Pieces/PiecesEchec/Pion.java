@@ -10,5 +10,9 @@ public class Pion extends Piece {
     public Pion(String couleur, Plateau plateau, Case c) {
         super(couleur, plateau, c, new DecPion(null));
     }
-}
 
+    @Override
+    public Type getType() {
+        return Type.PION;
+    }
+}
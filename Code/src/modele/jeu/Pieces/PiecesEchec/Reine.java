@@ -11,5 +11,9 @@ public class Reine extends Piece {
     public Reine(String couleur, Plateau plateau, Case c) {
         super(couleur, plateau, c, new DecDiag(new DecLigne(null)));
     }
-}
 
+    @Override
+    public Type getType() {
+        return Type.REINE;
+    }
+}
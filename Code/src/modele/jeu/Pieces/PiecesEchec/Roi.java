@@ -19,5 +19,9 @@ public class Roi extends Piece {
     public Roi(String couleur, Plateau plateau, Case c) {
         super(couleur, plateau, c, new DecRoi(null));
     }
-}
 
+    @Override
+    public Type getType() {
+        return Type.ROI;
+    }
+}
@@ -19,5 +19,9 @@ public class Tour extends Piece {
     public Tour(String couleur, Plateau plateau, Case c) {
         super(couleur, plateau, c, new DecLigne(null));
     }
-}
 
+    @Override
+    public Type getType() {
+        return Type.TOUR;
+    }
+}
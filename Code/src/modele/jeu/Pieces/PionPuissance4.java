@@ -12,4 +12,9 @@ public class PionPuissance4 extends Piece {
     public PionPuissance4(String couleur, Plateau p, Case c) {
         super(couleur, p, c, new DecPuissance4());
     }
+
+    @Override
+    public Type getType() {
+        return Type.PIERRE;
+    }
 }
@@ -14,4 +14,9 @@ public class PionTicTacToe extends Piece {
     public PionTicTacToe(String couleur, Plateau p, Case c) {
         super(couleur, p, c, new DecTicTacToe());
     }
+
+    @Override
+    public Type getType() {
+        return Type.PIERRE;
+    }
 }
@@ -0,0 +1,123 @@
+package modele.pgn;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+import modele.jeu.JeuEchec;
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+
+/**
+ * Écriture en flux de parties au format PGN d'export : les sept balises obligatoires dans l'ordre
+ * (« ? » si elles sont inconnues), les autres balises, puis les coups numérotés en SAN
+ * ({@link San#ecrire}) sur des lignes d'au plus 80 caractères, le résultat et une ligne vide.
+ * <p>
+ * Les coups sont rejoués sur une {@link BitboardPosition} propre à l'écrivain, réutilisée d'une
+ * partie à l'autre : seule la partie en cours est en mémoire.
+ * </p>
+ */
+public class EcrivainPgn implements Closeable, Flushable {
+
+    private static final int LARGEUR = 80;
+    private static final String[] BALISES_OBLIGATOIRES = {"Event", "Site", "Date", "Round", "White", "Black", "Result"};
+
+    private final Writer destination;
+    private final BitboardPosition position = new BitboardPosition();
+    private final MoveList travail = new MoveList();
+    private final StringBuilder ligne = new StringBuilder(LARGEUR + 16);
+
+    /**
+     * @param destination flux recevant le texte (à mettre en tampon par l'appelant pour un fichier)
+     */
+    public EcrivainPgn(Writer destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * Écrit une partie.
+     * @param partie partie dont les coups sont légaux depuis {@link PartiePgn#getFenDepart()}
+     * @throws IllegalArgumentException si la FEN de départ est invalide
+     */
+    public void ecrire(PartiePgn partie) throws IOException {
+        Map<String, String> balises = partie.getBalises();
+        for (String nom : BALISES_OBLIGATOIRES) {
+            String valeur = nom.equals("Result") ? partie.getResultat() : balises.get(nom);
+            ecrireBalise(nom, valeur != null ? valeur : nom.equals("Date") ? "????.??.??" : "?");
+        }
+        for (Map.Entry<String, String> e : balises.entrySet()) {
+            if (!estObligatoire(e.getKey())) ecrireBalise(e.getKey(), e.getValue());
+        }
+        if (balises.containsKey("FEN") && !balises.containsKey("SetUp")) ecrireBalise("SetUp", "1");
+        destination.write('\n');
+
+        position.chargerFen(partie.getFenDepart());
+        MoveList coups = partie.getCoups();
+        ligne.setLength(0);
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = coups.get(i);
+            if (position.getTrait() == BitboardPosition.BLANC) {
+                ajouterMot(position.getNumeroCoup() + ".");
+            } else if (i == 0) {
+                ajouterMot(position.getNumeroCoup() + "...");
+            }
+            ajouterMot(San.ecrire(m, position, travail));
+            position.makeMove(m);
+        }
+        ajouterMot(partie.getResultat());
+        destination.append(ligne).write("\n\n");
+    }
+
+    /**
+     * Écrit la partie en cours d'un jeu d'échecs, depuis sa position de départ.
+     * @param jeu partie à enregistrer
+     * @param balises balises supplémentaires (joueurs, événement...), éventuellement vide
+     */
+    public void ecrire(JeuEchec jeu, Map<String, String> balises) throws IOException {
+        PartiePgn partie = new PartiePgn();
+        balises.forEach(partie::setBalise);
+        if (!jeu.getFenDepart().equals(BitboardPosition.FEN_INITIALE)) partie.setBalise("FEN", jeu.getFenDepart());
+        jeu.getCoupsJoues(partie.getCoups());
+        if (jeu.estTermine()) {
+            if (jeu.getGagnant() == null) partie.setResultat("1/2-1/2");
+            else partie.setResultat(jeu.getGagnant() == jeu.getJoueurBlanc() ? "1-0" : "0-1");
+        }
+        ecrire(partie);
+    }
+
+    private void ajouterMot(String mot) throws IOException {
+        if (ligne.length() > 0 && ligne.length() + 1 + mot.length() > LARGEUR) {
+            destination.append(ligne).write('\n');
+            ligne.setLength(0);
+        }
+        if (ligne.length() > 0) ligne.append(' ');
+        ligne.append(mot);
+    }
+
+    private void ecrireBalise(String nom, String valeur) throws IOException {
+        destination.write('[');
+        destination.write(nom);
+        destination.write(" \"");
+        destination.write(valeur.replace("\\", "\\\\").replace("\"", "\\\""));
+        destination.write("\"]\n");
+    }
+
+    private static boolean estObligatoire(String nom) {
+        for (String b : BALISES_OBLIGATOIRES) {
+            if (b.equals(nom)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        destination.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        destination.close();
+    }
+}
@@ -0,0 +1,417 @@
+package modele.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+
+/**
+ * Lecture en flux de fichiers PGN, partie par partie.
+ * <p>
+ * Le texte est parcouru caractère par caractère dans un tampon fixe : seule la partie en cours
+ * est en mémoire, quelle que soit la taille du fichier. Les balises (avec les échappements
+ * {@code \"} et {@code \\}) sont conservées ; les commentaires ({@code {...}} et {@code ;}),
+ * variantes entre parenthèses (éventuellement imbriquées), annotations numériques ({@code $n}),
+ * numéros de coups et lignes d'échappement ({@code %}) sont ignorés. Chaque coup SAN est décodé
+ * par {@link San#lire} sur une {@link BitboardPosition} propre au lecteur, avec la légalité
+ * appliquée par {@link modele.jeu.JeuEchec}.
+ * </p>
+ * <p>
+ * Un coup illégal ou illisible n'interrompt pas la lecture : la partie est rendue avec son
+ * erreur ({@link PartiePgn#getErreur()}) et le lecteur passe à la suivante.
+ * </p>
+ * <p>
+ * {@link #lireFichier(Path, int, Consumer)} découpe un fichier aux frontières de parties
+ * ({@link #decouper(Path, int)}) et lit les morceaux en parallèle.
+ * </p>
+ */
+public class LecteurPgn implements Iterator<PartiePgn>, Closeable {
+
+    private static final int FIN = -1;
+
+    private final Reader source;
+    private final char[] tampon = new char[8192];
+    private int longueur;
+    private int curseur;
+    /** Caractère rendu par {@link #rendre(int)}, ou -2. */
+    private int rendu = -2;
+    /** Le prochain caractère lu commence une ligne. */
+    private boolean debutLigne = true;
+    /** Valeur de {@link #debutLigne} avant le dernier caractère lu, pour {@link #rendre(int)}. */
+    private boolean debutLigneAvant;
+
+    private final BitboardPosition position = new BitboardPosition();
+    private final MoveList travail = new MoveList();
+    private final StringBuilder jeton = new StringBuilder(64);
+
+    private PartiePgn suivante;
+    private boolean epuise;
+
+    /**
+     * @param source texte PGN (n'est pas mis en tampon en plus : le lecteur lit par blocs)
+     */
+    public LecteurPgn(Reader source) {
+        this.source = source;
+    }
+
+    /**
+     * @param source octets d'un fichier PGN, lus en UTF-8
+     */
+    public LecteurPgn(InputStream source) {
+        this(new InputStreamReader(source, StandardCharsets.UTF_8));
+    }
+
+    // --- ITÉRATION ---
+
+    @Override
+    public boolean hasNext() {
+        if (suivante == null && !epuise) {
+            try {
+                suivante = lirePartie();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            epuise = suivante == null;
+        }
+        return suivante != null;
+    }
+
+    /**
+     * @return la partie suivante du flux, valide ou non
+     * @throws NoSuchElementException s'il n'y a plus de partie
+     * @throws UncheckedIOException si la lecture échoue
+     */
+    @Override
+    public PartiePgn next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        PartiePgn p = suivante;
+        suivante = null;
+        return p;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    // --- ANALYSE ---
+
+    /** @return la partie suivante, ou null en fin de flux */
+    private PartiePgn lirePartie() throws IOException {
+        int c = sauterBlancs();
+        if (c == FIN) return null;
+        PartiePgn partie = new PartiePgn();
+
+        while (c == '[') {
+            lireBalise(partie);
+            c = sauterBlancs();
+        }
+        rendre(c);
+
+        try {
+            position.chargerFen(partie.getFenDepart());
+        } catch (IllegalArgumentException e) {
+            partie.setErreur(e.getMessage());
+        }
+        lireCoups(partie);
+        if (partie.getResultat().equals(PartiePgn.RESULTAT_INCONNU) && partie.getBalise("Result") != null) {
+            partie.setResultat(partie.getBalise("Result"));
+        }
+        return partie;
+    }
+
+    /** Lit {@code [Nom "valeur"]}, le crochet ouvrant étant déjà consommé. */
+    private void lireBalise(PartiePgn partie) throws IOException {
+        jeton.setLength(0);
+        int c = sauterBlancs();
+        while (c != FIN && c != '"' && c != ']' && !Character.isWhitespace(c)) {
+            jeton.append((char) c);
+            c = lire();
+        }
+        String nom = jeton.toString();
+        while (c != FIN && c != '"' && c != ']' && c != '\n') c = lire();
+        if (c != '"') return; // Balise mal formée : ignorée
+        jeton.setLength(0);
+        c = lire();
+        while (c != FIN && c != '"' && c != '\n') {
+            if (c == '\\') c = lire();
+            if (c == FIN) break;
+            jeton.append((char) c);
+            c = lire();
+        }
+        while (c != FIN && c != ']' && c != '\n') c = lire();
+        partie.setBalise(nom, jeton.toString());
+    }
+
+    /** Lit le texte des coups jusqu'au résultat, à la balise de la partie suivante ou à la fin du flux. */
+    private void lireCoups(PartiePgn partie) throws IOException {
+        int variantes = 0;
+        while (true) {
+            boolean ligne = debutLigne;
+            int c = lire();
+            if (c == FIN) return;
+            if (Character.isWhitespace(c)) continue;
+            if (c == '%' && ligne || c == ';') {
+                while (c != FIN && c != '\n') c = lire();
+            } else if (c == '{') {
+                while (c != FIN && c != '}') c = lire();
+            } else if (c == '(') {
+                variantes++;
+            } else if (c == ')') {
+                if (variantes > 0) variantes--;
+            } else if (c == '[' && variantes == 0) {
+                rendre(c); // Résultat manquant : la partie suivante commence
+                return;
+            } else if (c == '$') {
+                do c = lire(); while (c >= '0' && c <= '9');
+                rendre(c);
+            } else {
+                lireSymbole(c);
+                if (variantes > 0) continue;
+                if (estResultat()) {
+                    partie.setResultat(jeton.toString());
+                    return;
+                }
+                jouer(partie);
+            }
+        }
+    }
+
+    /** Remplit {@link #jeton} avec le symbole commençant par {@code c}. */
+    private void lireSymbole(int c) throws IOException {
+        jeton.setLength(0);
+        while (c != FIN && !Character.isWhitespace(c) && "{}();[$".indexOf(c) < 0) {
+            jeton.append((char) c);
+            c = lire();
+        }
+        rendre(c);
+    }
+
+    private boolean estResultat() {
+        int n = jeton.length();
+        if (n == 1) return jeton.charAt(0) == '*';
+        if (n == 3) return "1-0".contentEquals(jeton) || "0-1".contentEquals(jeton);
+        return n == 7 && "1/2-1/2".contentEquals(jeton);
+    }
+
+    /** Décode et joue le coup contenu dans {@link #jeton}, précédé éventuellement de son numéro. */
+    private void jouer(PartiePgn partie) {
+        int debut = 0;
+        int n = jeton.length();
+        if (n > 0 && Character.isDigit(jeton.charAt(0)) && jeton.indexOf(".") > 0) {
+            debut = jeton.lastIndexOf(".") + 1;
+        }
+        while (debut < n && jeton.charAt(debut) == '.') debut++;
+        if (debut == n || estAnnotation(debut)) return;
+        if (!partie.estValide()) return;
+        CharSequence san = debut == 0 ? jeton : jeton.subSequence(debut, n);
+        try {
+            int m = San.lire(san, position, travail);
+            position.makeMove(m);
+            partie.getCoups().ajouter(m);
+        } catch (IllegalArgumentException e) {
+            partie.setErreur("demi-coup " + (partie.getCoups().taille() + 1) + " : " + e.getMessage());
+        }
+    }
+
+    /** @return true si le jeton n'est qu'un chiffre (numéro sans point) ou une annotation « ! » / « ? » */
+    private boolean estAnnotation(int debut) {
+        for (int i = debut; i < jeton.length(); i++) {
+            if ("!?0123456789".indexOf(jeton.charAt(i)) < 0) return false;
+        }
+        return true;
+    }
+
+    // --- CARACTÈRES ---
+
+    private int lire() throws IOException {
+        int c;
+        if (rendu != -2) {
+            c = rendu;
+            rendu = -2;
+        } else {
+            if (curseur == longueur) {
+                longueur = source.read(tampon, 0, tampon.length);
+                curseur = 0;
+                if (longueur <= 0) {
+                    longueur = 0;
+                    return FIN;
+                }
+            }
+            c = tampon[curseur++];
+        }
+        debutLigneAvant = debutLigne;
+        debutLigne = c == '\n';
+        return c;
+    }
+
+    /** Remet un caractère dans le flux : il sera rendu par le prochain {@link #lire()}. */
+    private void rendre(int c) {
+        if (c == FIN) return;
+        rendu = c;
+        debutLigne = debutLigneAvant;
+    }
+
+    private int sauterBlancs() throws IOException {
+        int c = lire();
+        while (c != FIN && Character.isWhitespace(c)) c = lire();
+        return c;
+    }
+
+    // --- LECTURE PARALLÈLE ---
+
+    /**
+     * Découpe un fichier PGN en morceaux de tailles voisines commençant chacun au début d'une partie :
+     * une ligne commençant par {@code [} et précédée d'une ligne vide, comme dans le format
+     * d'export standard. Si le fichier n'en contient pas assez, il y a moins de morceaux que demandé.
+     * @param fichier fichier PGN
+     * @param morceaux nombre de morceaux souhaité
+     * @return positions, en octets, des débuts de morceaux suivies de la taille du fichier
+     */
+    public static long[] decouper(Path fichier, int morceaux) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long taille = canal.size();
+            List<Long> debuts = new ArrayList<>();
+            debuts.add(0L);
+            ByteBuffer octets = ByteBuffer.allocate(8192);
+            for (int i = 1; i < morceaux; i++) {
+                long cible = Math.max(taille * i / morceaux, debuts.get(debuts.size() - 1) + 1);
+                long frontiere = frontiereApres(canal, cible, octets);
+                if (frontiere < taille && frontiere > debuts.get(debuts.size() - 1)) debuts.add(frontiere);
+            }
+            long[] bornes = new long[debuts.size() + 1];
+            for (int i = 0; i < debuts.size(); i++) bornes[i] = debuts.get(i);
+            bornes[debuts.size()] = taille;
+            return bornes;
+        }
+    }
+
+    /** @return début de la première partie commençant après {@code depart}, ou la taille du fichier */
+    private static long frontiereApres(FileChannel canal, long depart, ByteBuffer octets) throws IOException {
+        long pos = depart;
+        boolean ligneEntamee = true;   // La ligne coupée par depart n'est pas examinée
+        boolean precedenteVide = false;
+        boolean courante = true;       // La ligne courante n'a que des blancs jusqu'ici
+        boolean enDebut = false;       // L'octet examiné commence une ligne
+        while (true) {
+            octets.clear();
+            int lus = canal.read(octets, pos);
+            if (lus <= 0) return canal.size();
+            for (int i = 0; i < lus; i++, pos++) {
+                byte b = octets.get(i);
+                if (enDebut && b == '[' && precedenteVide) return pos;
+                if (b == '\n') {
+                    precedenteVide = !ligneEntamee && courante;
+                    ligneEntamee = false;
+                    courante = true;
+                    enDebut = true;
+                } else {
+                    if (b != ' ' && b != '\t' && b != '\r') courante = false;
+                    enDebut = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lit toutes les parties d'un fichier, morceau par morceau sur plusieurs threads.
+     * @param fichier fichier PGN (UTF-8)
+     * @param nombreThreads nombre de lecteurs simultanés (au moins 1)
+     * @param traitement appelé pour chaque partie, depuis plusieurs threads à la fois si
+     *                   {@code nombreThreads > 1} ; l'ordre entre morceaux n'est pas garanti
+     * @return statistiques de la lecture
+     */
+    public static ResultatLecturePgn lireFichier(Path fichier, int nombreThreads, Consumer<PartiePgn> traitement)
+            throws IOException {
+        long debut = System.nanoTime();
+        long[] bornes = decouper(fichier, Math.max(1, nombreThreads));
+        AtomicLong parties = new AtomicLong();
+        AtomicLong erreurs = new AtomicLong();
+        AtomicLong coups = new AtomicLong();
+        ExecutorService executeur = Executors.newFixedThreadPool(bornes.length - 1, r -> {
+            Thread t = new Thread(r, "lecture-pgn");
+            t.setDaemon(true);
+            return t;
+        });
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            List<Future<?>> taches = new ArrayList<>();
+            for (int i = 0; i + 1 < bornes.length; i++) {
+                long de = bornes[i];
+                long a = bornes[i + 1];
+                taches.add(executeur.submit(() -> {
+                    LecteurPgn lecteur = new LecteurPgn(new Morceau(canal, de, a));
+                    while (lecteur.hasNext()) {
+                        PartiePgn p = lecteur.next();
+                        parties.incrementAndGet();
+                        if (!p.estValide()) erreurs.incrementAndGet();
+                        coups.addAndGet(p.getCoups().taille());
+                        traitement.accept(p);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : taches) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Lecture interrompue", e);
+                } catch (java.util.concurrent.ExecutionException e) {
+                    if (e.getCause() instanceof UncheckedIOException u) throw u.getCause();
+                    if (e.getCause() instanceof RuntimeException r) throw r;
+                    throw new IOException(e.getCause());
+                }
+            }
+        } finally {
+            executeur.shutdownNow();
+        }
+        return new ResultatLecturePgn(parties.get(), erreurs.get(), coups.get(), bornes.length - 1,
+                System.nanoTime() - debut);
+    }
+
+    /** Tranche {@code [debut, fin)} d'un fichier, lue par lectures positionnelles sur un canal partagé. */
+    private static final class Morceau extends InputStream {
+        private final FileChannel canal;
+        private long position;
+        private final long fin;
+
+        Morceau(FileChannel canal, long debut, long fin) {
+            this.canal = canal;
+            this.position = debut;
+            this.fin = fin;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] un = new byte[1];
+            return read(un, 0, 1) == 1 ? un[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= fin) return -1;
+            int n = canal.read(ByteBuffer.wrap(b, off, (int) Math.min(len, fin - position)), position);
+            if (n > 0) position += n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package modele.pgn;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+
+/**
+ * Partie d'échecs lue ou à écrire au format PGN : balises (« Event », « White »...), position de
+ * départ, coups encodés ({@link modele.jeu.Move}) et résultat.
+ * <p>
+ * Une partie dont un coup n'a pas pu être décodé est conservée avec son message d'erreur
+ * ({@link #getErreur()}) et les coups valides qui le précèdent.
+ * </p>
+ */
+public class PartiePgn {
+
+    /** Résultat d'une partie en cours ou inconnue. */
+    public static final String RESULTAT_INCONNU = "*";
+
+    private final Map<String, String> balises = new LinkedHashMap<>();
+    private final MoveList coups = new MoveList(128);
+    private String resultat = RESULTAT_INCONNU;
+    private String erreur;
+
+    /** @return valeur de la balise, ou null si elle est absente */
+    public String getBalise(String nom) {
+        return balises.get(nom);
+    }
+
+    public void setBalise(String nom, String valeur) {
+        balises.put(nom, valeur);
+    }
+
+    /** @return balises dans leur ordre de lecture ou d'ajout (non modifiables) */
+    public Map<String, String> getBalises() {
+        return Collections.unmodifiableMap(balises);
+    }
+
+    /** @return FEN de la position de départ : la balise « FEN » si elle existe, la position initiale sinon */
+    public String getFenDepart() {
+        String fen = balises.get("FEN");
+        return fen != null ? fen : BitboardPosition.FEN_INITIALE;
+    }
+
+    /** @return coups joués depuis la position de départ */
+    public MoveList getCoups() {
+        return coups;
+    }
+
+    /** @return « 1-0 », « 0-1 », « 1/2-1/2 » ou {@value #RESULTAT_INCONNU} */
+    public String getResultat() {
+        return resultat;
+    }
+
+    public void setResultat(String resultat) {
+        this.resultat = resultat;
+    }
+
+    /** @return true si tous les coups ont été décodés */
+    public boolean estValide() {
+        return erreur == null;
+    }
+
+    /** @return cause du rejet de la partie, ou null si elle est valide */
+    public String getErreur() {
+        return erreur;
+    }
+
+    void setErreur(String erreur) {
+        this.erreur = erreur;
+    }
+
+    @Override
+    public String toString() {
+        return balises.getOrDefault("White", "?") + " - " + balises.getOrDefault("Black", "?")
+                + " " + resultat + " (" + coups.taille() + " demi-coups"
+                + (erreur != null ? ", invalide : " + erreur : "") + ")";
+    }
+}
@@ -0,0 +1,60 @@
+package modele.pgn;
+
+/**
+ * Bilan d'une lecture de fichier par {@link LecteurPgn#lireFichier} : parties lues et rejetées,
+ * demi-coups décodés, nombre de morceaux lus en parallèle et durée.
+ */
+public class ResultatLecturePgn {
+
+    private final long parties;
+    private final long erreurs;
+    private final long coups;
+    private final int morceaux;
+    private final long dureeNanos;
+
+    ResultatLecturePgn(long parties, long erreurs, long coups, int morceaux, long dureeNanos) {
+        this.parties = parties;
+        this.erreurs = erreurs;
+        this.coups = coups;
+        this.morceaux = morceaux;
+        this.dureeNanos = dureeNanos;
+    }
+
+    /** @return nombre de parties lues, valides ou non */
+    public long getParties() {
+        return parties;
+    }
+
+    /** @return nombre de parties contenant un coup illisible ou illégal */
+    public long getErreurs() {
+        return erreurs;
+    }
+
+    /** @return nombre de demi-coups décodés */
+    public long getCoups() {
+        return coups;
+    }
+
+    /** @return nombre de morceaux du fichier lus indépendamment */
+    public int getMorceaux() {
+        return morceaux;
+    }
+
+    public long getDureeMs() {
+        return dureeNanos / 1_000_000;
+    }
+
+    public long getPartiesParSeconde() {
+        return dureeNanos > 0 ? parties * 1_000_000_000L / dureeNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "parties " + parties
+                + " erreurs " + erreurs
+                + " coups " + coups
+                + " morceaux " + morceaux
+                + " temps " + getDureeMs() + " ms"
+                + " parties/s " + getPartiesParSeconde();
+    }
+}
@@ -0,0 +1,193 @@
+package modele.pgn;
+
+import modele.jeu.Move;
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+
+/**
+ * Notation algébrique abrégée (SAN) des coups d'échecs : « e4 », « Nbd7 », « exd8=Q+ », « O-O ».
+ * <p>
+ * Le décodage cherche, parmi les coups pseudo-légaux générés sur les bitboards, l'unique coup
+ * légal ({@link BitboardPosition#estLegal(int)}) correspondant à la pièce, à la case d'arrivée, à
+ * la promotion et à l'éventuelle précision de colonne ou de rangée. L'encodage ajoute la précision
+ * minimale nécessaire et les suffixes d'échec « + » et de mat « # ».
+ * </p>
+ * <p>
+ * Les deux opérations prennent une {@link MoveList} de travail fournie par l'appelant afin de ne
+ * rien allouer d'autre que la chaîne produite.
+ * </p>
+ */
+public final class San {
+
+    /** Lettres anglaises des pièces, dans l'ordre des types de {@link BitboardPosition}. */
+    private static final String LETTRES = "PNBRQK";
+
+    private San() {
+    }
+
+    /**
+     * Décode un coup SAN dans la position donnée (qui n'est pas modifiée).
+     * Les annotations finales (« + », « # », « ! », « ? ») sont ignorées.
+     * @param san coup en notation algébrique abrégée
+     * @param position position où le coup est joué
+     * @param tampon liste de travail
+     * @return le coup encodé ({@link Move})
+     * @throws IllegalArgumentException si le coup est mal formé, illégal ou ambigu
+     */
+    public static int lire(CharSequence san, BitboardPosition position, MoveList tampon) {
+        int fin = san.length();
+        while (fin > 0 && "+#!?".indexOf(san.charAt(fin - 1)) >= 0) fin--;
+        if (fin < 2) throw new IllegalArgumentException("Coup SAN invalide : " + san);
+
+        position.genererCoups(tampon);
+        int nous = position.getTrait();
+
+        // Roques, écrits avec des O ou des zéros
+        if (estRoque(san, fin)) {
+            boolean grand = fin >= 5;
+            for (int i = 0; i < tampon.taille(); i++) {
+                int m = tampon.get(i);
+                if (Move.estRoque(m) && (Move.arrivee(m) < Move.depart(m)) == grand && position.estLegal(m)) return m;
+            }
+            throw new IllegalArgumentException("Roque illégal : " + san);
+        }
+
+        int debut = 0;
+        int type = LETTRES.indexOf(san.charAt(0));
+        if (type > 0) {
+            debut = 1;
+        } else {
+            type = BitboardPosition.PION;
+        }
+
+        // Promotion : « e8=Q » ou « e8Q »
+        int promotion = Move.SANS_PROMOTION;
+        char dernier = san.charAt(fin - 1);
+        if (type == BitboardPosition.PION && LETTRES.indexOf(dernier) > 0) {
+            promotion = LETTRES.indexOf(dernier);
+            fin--;
+            if (fin > 0 && san.charAt(fin - 1) == '=') fin--;
+        }
+
+        // Case d'arrivée : les deux derniers caractères restants
+        if (fin - debut < 2) throw new IllegalArgumentException("Coup SAN invalide : " + san);
+        int arrivee = lireCase(san.charAt(fin - 2), san.charAt(fin - 1));
+        if (arrivee < 0) throw new IllegalArgumentException("Case d'arrivée invalide : " + san);
+
+        // Précision facultative de colonne et/ou de rangée, avant un éventuel « x »
+        int colonne = -1;
+        int rangee = -1;
+        for (int i = debut; i < fin - 2; i++) {
+            char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') colonne = c - 'a';
+            else if (c >= '1' && c <= '8') rangee = '8' - c;
+            else if (c != 'x' && c != ':' && c != '-') throw new IllegalArgumentException("Coup SAN invalide : " + san);
+        }
+
+        int trouve = Move.AUCUN;
+        for (int i = 0; i < tampon.taille(); i++) {
+            int m = tampon.get(i);
+            int depart = Move.depart(m);
+            if (Move.arrivee(m) != arrivee || Move.estRoque(m)) continue;
+            if (BitboardPosition.typeDe(position.getPiece(depart)) != type) continue;
+            if (Move.promotion(m) != promotion) continue;
+            if (colonne >= 0 && (depart & 7) != colonne) continue;
+            if (rangee >= 0 && (depart >>> 3) != rangee) continue;
+            if (!position.estLegal(m)) continue;
+            if (trouve != Move.AUCUN) throw new IllegalArgumentException("Coup SAN ambigu : " + san);
+            trouve = m;
+        }
+        if (trouve == Move.AUCUN) {
+            throw new IllegalArgumentException("Coup SAN illégal pour les "
+                    + (nous == BitboardPosition.BLANC ? "Blancs" : "Noirs") + " : " + san);
+        }
+        return trouve;
+    }
+
+    /**
+     * Écrit un coup légal en SAN, suffixe d'échec ou de mat compris.
+     * @param m coup légal dans la position
+     * @param position position avant le coup (restaurée à l'identique)
+     * @param tampon liste de travail
+     * @return le coup en notation algébrique abrégée
+     */
+    public static String ecrire(int m, BitboardPosition position, MoveList tampon) {
+        StringBuilder sb = new StringBuilder(8);
+        int depart = Move.depart(m);
+        int arrivee = Move.arrivee(m);
+        int type = BitboardPosition.typeDe(position.getPiece(depart));
+
+        if (Move.estRoque(m)) {
+            sb.append(arrivee > depart ? "O-O" : "O-O-O");
+        } else {
+            boolean prise = Move.estPrise(m) || Move.estEnPassant(m);
+            if (type == BitboardPosition.PION) {
+                if (prise) sb.append((char) ('a' + (depart & 7)));
+            } else {
+                sb.append(LETTRES.charAt(type));
+                preciser(sb, m, type, position, tampon);
+            }
+            if (prise) sb.append('x');
+            sb.append(Move.nomCase(arrivee));
+            if (Move.promotion(m) != Move.SANS_PROMOTION) {
+                sb.append('=').append(LETTRES.charAt(Move.promotion(m)));
+            }
+        }
+
+        position.makeMove(m);
+        if (position.estEnEchec(position.getTrait())) {
+            sb.append(aUnCoupLegal(position, tampon) ? '+' : '#');
+        }
+        position.unmakeMove();
+        return sb.toString();
+    }
+
+    /** Ajoute la colonne, la rangée ou la case de départ si une autre pièce du même type peut aller au même endroit. */
+    private static void preciser(StringBuilder sb, int m, int type, BitboardPosition position, MoveList tampon) {
+        int depart = Move.depart(m);
+        boolean autre = false;
+        boolean memeColonne = false;
+        boolean memeRangee = false;
+        position.genererCoups(tampon);
+        for (int i = 0; i < tampon.taille(); i++) {
+            int c = tampon.get(i);
+            int d = Move.depart(c);
+            if (d == depart || Move.arrivee(c) != Move.arrivee(m)) continue;
+            if (BitboardPosition.typeDe(position.getPiece(d)) != type || !position.estLegal(c)) continue;
+            autre = true;
+            memeColonne |= (d & 7) == (depart & 7);
+            memeRangee |= (d >>> 3) == (depart >>> 3);
+        }
+        if (!autre) return;
+        if (!memeColonne) {
+            sb.append((char) ('a' + (depart & 7)));
+        } else if (!memeRangee) {
+            sb.append((char) ('8' - (depart >>> 3)));
+        } else {
+            sb.append(Move.nomCase(depart));
+        }
+    }
+
+    private static boolean aUnCoupLegal(BitboardPosition position, MoveList tampon) {
+        position.genererCoups(tampon);
+        for (int i = 0; i < tampon.taille(); i++) {
+            if (position.estLegal(tampon.get(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean estRoque(CharSequence san, int fin) {
+        if (fin != 3 && fin != 5) return false;
+        for (int i = 0; i < fin; i++) {
+            char c = san.charAt(i);
+            if (i % 2 == 1 ? c != '-' : c != 'O' && c != '0') return false;
+        }
+        return true;
+    }
+
+    /** @return indice de la case (ex. « e4 »), ou -1 si ce n'est pas une case */
+    static int lireCase(char colonne, char rangee) {
+        if (colonne < 'a' || colonne > 'h' || rangee < '1' || rangee > '8') return -1;
+        return BitboardPosition.indice('8' - rangee, colonne - 'a');
+    }
+}
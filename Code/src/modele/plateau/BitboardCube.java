@@ -0,0 +1,144 @@
+package modele.plateau;
+
+import java.util.Arrays;
+
+/**
+ * Cube de TicTacToe 3D de côté N (3x3x3, Qubic 4x4x4...) codé en ensembles de bits.
+ * <p>
+ * La case {@code (x, y, z)} porte le bit {@code (x * N + y) * N + z}. Jusqu'à N = 4 les pierres
+ * d'une couleur tiennent dans un {@code long} ; au-delà, dans un {@code long[]}.
+ * </p>
+ * <p>
+ * Les lignes gagnantes (N cases alignées dans l'une des 13 directions du cube : 49 pour N = 3, 76
+ * pour N = 4, et {@code ((N + 2)^3 - N^3) / 2} en général) sont suivies par un
+ * {@link DetecteurAlignement}, qui ne met à jour que les lignes passant par la case jouée.
+ * </p>
+ */
+public class BitboardCube {
+
+    public static final int BLANC = 0;
+    public static final int NOIR = 1;
+
+    private final int n;
+    private final int mots;
+
+    private final long[][] pierres;
+    private final DetecteurAlignement alignements;
+
+    /**
+     * @param n côté du cube (au moins 2)
+     */
+    public BitboardCube(int n) {
+        if (n < 2) throw new IllegalArgumentException("Cube de côté " + n + " impossible");
+        this.n = n;
+        this.mots = (n * n * n + 63) >>> 6;
+        this.alignements = new DetecteurAlignement(n, n, n, n);
+        this.pierres = new long[2][mots];
+    }
+
+    /**
+     * Masques des lignes gagnantes d'un cube d'au plus 64 cases, pour les solveurs.
+     * @param n côté du cube (2 à 4)
+     * @return un {@code long} par ligne
+     */
+    public static long[] masquesLignes(int n) {
+        if (n < 2 || n > 4) throw new IllegalArgumentException("Un cube de côté " + n + " ne tient pas dans un long");
+        int[][] lignes = DetecteurAlignement.enumererLignes(n, n, n, n);
+        long[] m = new long[lignes.length];
+        for (int l = 0; l < lignes.length; l++) {
+            for (int c : lignes[l]) m[l] |= 1L << c;
+        }
+        return m;
+    }
+
+    /** @return indice du bit de la case (x, y, z) */
+    public int indice(int x, int y, int z) {
+        return (x * n + y) * n + z;
+    }
+
+    // --- COUPS ---
+
+    /**
+     * Pose une pierre sur une case vide.
+     * @param couleur {@link #BLANC} ou {@link #NOIR}
+     * @return true si la pierre complète une ligne (la première trouvée devient la ligne gagnante)
+     */
+    public boolean jouer(int x, int y, int z, int couleur) {
+        int i = indice(x, y, z);
+        pierres[couleur][i >>> 6] |= 1L << i;
+        return alignements.jouer(x, y, z, couleur);
+    }
+
+    /**
+     * Retire une pierre (annulation d'un coup, simulations). Si elle appartenait à la ligne
+     * gagnante, la victoire est annulée.
+     * @param couleur couleur de la pierre retirée
+     */
+    public void retirer(int x, int y, int z, int couleur) {
+        int i = indice(x, y, z);
+        pierres[couleur][i >>> 6] &= ~(1L << i);
+        alignements.retirer(x, y, z, couleur);
+    }
+
+    /** Vide le cube. */
+    public void vider() {
+        Arrays.fill(pierres[BLANC], 0L);
+        Arrays.fill(pierres[NOIR], 0L);
+        alignements.vider();
+    }
+
+    // --- ÉTAT ---
+
+    /** @return {@link #BLANC}, {@link #NOIR} ou -1 si la case (x, y, z) est vide */
+    public int getCouleur(int x, int y, int z) {
+        int i = indice(x, y, z);
+        if ((pierres[BLANC][i >>> 6] & (1L << i)) != 0) return BLANC;
+        if ((pierres[NOIR][i >>> 6] & (1L << i)) != 0) return NOIR;
+        return -1;
+    }
+
+    /** @return true si une ligne complète a été formée */
+    public boolean estGagne() {
+        return alignements.estGagne();
+    }
+
+    /** @return {@link #BLANC} ou {@link #NOIR} si la partie est gagnée, -1 sinon */
+    public int getCouleurGagnante() {
+        return alignements.getCouleurGagnante();
+    }
+
+    /** @return true si toutes les cases sont occupées */
+    public boolean estPlein() {
+        return alignements.estPlein();
+    }
+
+    public int getNombrePierres() {
+        return alignements.getNombrePierres();
+    }
+
+    public int getTaille() {
+        return n;
+    }
+
+    public int getNombreLignes() {
+        return alignements.getNombreLignes();
+    }
+
+    /**
+     * Pierres d'une couleur, pour un cube d'au plus 64 cases.
+     * @param couleur {@link #BLANC} ou {@link #NOIR}
+     * @return ensemble de bits des cases occupées par cette couleur
+     */
+    public long getPierres(int couleur) {
+        if (mots != 1) throw new IllegalStateException("Le cube de côté " + n + " ne tient pas dans un long");
+        return pierres[couleur][0];
+    }
+
+    /**
+     * Marque les cases de la ligne gagnante. Ne fait rien sans ligne complète.
+     * @param cases tableau [N][N][N] des cellules gagnantes
+     */
+    public void marquer(boolean[][][] cases) {
+        alignements.marquer(cases);
+    }
+}
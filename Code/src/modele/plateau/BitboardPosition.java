@@ -0,0 +1,1021 @@
+package modele.plateau;
+
+import modele.deplacements.AttaquesGlissantes;
+import modele.jeu.Move;
+import modele.jeu.MoveList;
+import modele.jeu.Piece;
+import modele.jeu.Pieces.PiecesEchec.Roi;
+import modele.jeu.Pieces.PiecesEchec.Tour;
+
+import java.util.Arrays;
+
+/**
+ * Représentation compacte d'une position d'échecs sous forme de bitboards.
+ * <p>
+ * Chaque type de pièce de chaque couleur est stocké dans un entier 64 bits (douze au total),
+ * complété par l'occupation par couleur, le trait, les droits de roque et la case de prise
+ * en passant. Les cases sont numérotées comme dans {@link Plateau} : indice = ligne * 8 + colonne,
+ * la ligne 0 correspondant à la 8e rangée (côté des Noirs).
+ * </p>
+ * <p>
+ * Cette position sert de référence au modèle d'échecs pour les tests de légalité ; la grille
+ * de {@link Case} lue par les vues est maintenue en parallèle par {@link modele.jeu.JeuEchec}.
+ * </p>
+ */
+public class BitboardPosition {
+
+    /** Couleur des Blancs (même ordinal que {@link modele.jeu.Joueur.Couleur#BLANC}). */
+    public static final int BLANC = 0;
+    /** Couleur des Noirs (même ordinal que {@link modele.jeu.Joueur.Couleur#NOIR}). */
+    public static final int NOIR = 1;
+
+    public static final int PION = 0;
+    public static final int CAVALIER = 1;
+    public static final int FOU = 2;
+    public static final int TOUR = 3;
+    public static final int REINE = 4;
+    public static final int ROI = 5;
+
+    /** Code d'une case vide dans la table des pièces. */
+    public static final int VIDE = -1;
+    /** Valeur de la case de prise en passant lorsqu'aucune prise n'est possible. */
+    public static final int AUCUNE_CASE = -1;
+
+    public static final int ROQUE_BLANC_PETIT = 1;
+    public static final int ROQUE_BLANC_GRAND = 2;
+    public static final int ROQUE_NOIR_PETIT = 4;
+    public static final int ROQUE_NOIR_GRAND = 8;
+
+    /** Cases attaquées par un cavalier posé sur chaque case. */
+    static final long[] ATTAQUES_CAVALIER = new long[64];
+    /** Cases attaquées par un roi posé sur chaque case. */
+    static final long[] ATTAQUES_ROI = new long[64];
+    /** Cases attaquées par un pion de chaque couleur posé sur chaque case. */
+    static final long[][] ATTAQUES_PION = new long[2][64];
+    /** Droits de roque conservés lorsqu'une pièce quitte ou atteint chaque case. */
+    private static final int[] MASQUE_ROQUE = new int[64];
+    /** ENTRE[a][b] : cases strictement comprises entre deux cases alignées (vide sinon). */
+    private static final long[][] ENTRE = new long[64][64];
+    /** LIGNE[a][b] : ligne, colonne ou diagonale entière passant par deux cases alignées (vide sinon). */
+    private static final long[][] LIGNE = new long[64][64];
+
+    static {
+        int[][] sautsCavalier = {{-2, -1}, {-1, -2}, {-2, 1}, {-1, 2}, {2, -1}, {1, -2}, {2, 1}, {1, 2}};
+        int[][] pasRoi = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {-1, 1}, {-1, -1}, {1, 1}, {1, -1}};
+        for (int sq = 0; sq < 64; sq++) {
+            int x = sq >>> 3;
+            int y = sq & 7;
+            ATTAQUES_CAVALIER[sq] = masqueSauts(x, y, sautsCavalier);
+            ATTAQUES_ROI[sq] = masqueSauts(x, y, pasRoi);
+            ATTAQUES_PION[BLANC][sq] = masqueSauts(x, y, new int[][]{{-1, -1}, {-1, 1}});
+            ATTAQUES_PION[NOIR][sq] = masqueSauts(x, y, new int[][]{{1, -1}, {1, 1}});
+            MASQUE_ROQUE[sq] = 0xF;
+        }
+        MASQUE_ROQUE[indice(7, 4)] &= ~(ROQUE_BLANC_PETIT | ROQUE_BLANC_GRAND);
+        MASQUE_ROQUE[indice(7, 7)] &= ~ROQUE_BLANC_PETIT;
+        MASQUE_ROQUE[indice(7, 0)] &= ~ROQUE_BLANC_GRAND;
+        MASQUE_ROQUE[indice(0, 4)] &= ~(ROQUE_NOIR_PETIT | ROQUE_NOIR_GRAND);
+        MASQUE_ROQUE[indice(0, 7)] &= ~ROQUE_NOIR_PETIT;
+        MASQUE_ROQUE[indice(0, 0)] &= ~ROQUE_NOIR_GRAND;
+
+        // Rayons parcourus case par case depuis chaque case, dans les huit directions
+        int[][] directions = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}, {-1, 1}, {-1, -1}, {1, 1}, {1, -1}};
+        for (int a = 0; a < 64; a++) {
+            for (int[] d : directions) {
+                long ligne = (1L << a) | rayon(a, d[0], d[1]) | rayon(a, -d[0], -d[1]);
+                long entre = 0L;
+                for (int x = (a >>> 3) + d[0], y = (a & 7) + d[1]; x >= 0 && x < 8 && y >= 0 && y < 8; x += d[0], y += d[1]) {
+                    int b = indice(x, y);
+                    ENTRE[a][b] = entre;
+                    LIGNE[a][b] = ligne;
+                    entre |= 1L << b;
+                }
+            }
+        }
+    }
+
+    /** Cases parcourues depuis sq (exclue) dans une direction jusqu'au bord. */
+    private static long rayon(int sq, int dx, int dy) {
+        long r = 0L;
+        for (int x = (sq >>> 3) + dx, y = (sq & 7) + dy; x >= 0 && x < 8 && y >= 0 && y < 8; x += dx, y += dy) {
+            r |= 1L << indice(x, y);
+        }
+        return r;
+    }
+
+    private final long[] pieces = new long[12];
+    private final long[] occupationCouleur = new long[2];
+    private long occupation;
+    /** Code de la pièce présente sur chaque case ({@link #VIDE} si aucune). */
+    private final int[] contenu = new int[64];
+
+    private int trait = BLANC;
+    private int roques;
+    private int enPassant = AUCUNE_CASE;
+    private int demiCoups;
+    private int numeroCoup = 1;
+    /** Clé de Zobrist de la position, mise à jour à chaque modification et restaurée par la pile d'annulation. */
+    private long hash;
+
+    /**
+     * Pile d'annulation : un enregistrement compact par coup joué (coup, pièce prise,
+     * anciens droits de roque, ancienne case de prise en passant, ancien compteur de demi-coups).
+     */
+    private long[] annulations = new long[256];
+    /** Clé de hachage avant chaque coup de la pile d'annulation. */
+    private long[] hashs = new long[256];
+    /** Nombre de coups dans la pile d'annulation. */
+    private int profondeur;
+
+    /** Compteur incrémenté à chaque pose, retrait ou déplacement de pièce. */
+    private int version;
+    /** Version et couleur pour lesquelles les masques d'échec et de clouage ci-dessous sont à jour. */
+    private int versionClouages = -1;
+    private int couleurClouages = -1;
+    /** Case du roi de {@link #couleurClouages}. */
+    private int roiClouages;
+    /** Pièces adverses qui donnent échec à ce roi. */
+    private long echeceurs;
+    /** Cases d'arrivée qui parent l'échec (toutes sans échec, aucune en cas d'échec double). */
+    private long masqueEchec;
+    /** Pièces alliées clouées sur leur roi. */
+    private long cloues;
+
+    /**
+     * Crée une position vide (aucune pièce, trait aux Blancs, aucun droit de roque).
+     */
+    public BitboardPosition() {
+        vider();
+    }
+
+    /**
+     * Crée une copie indépendante d'une position existante, pile d'annulation comprise
+     * (les coups déjà joués restent annulables et comptent pour la détection des répétitions).
+     * @param autre position à copier
+     */
+    public BitboardPosition(BitboardPosition autre) {
+        System.arraycopy(autre.pieces, 0, pieces, 0, 12);
+        System.arraycopy(autre.occupationCouleur, 0, occupationCouleur, 0, 2);
+        System.arraycopy(autre.contenu, 0, contenu, 0, 64);
+        occupation = autre.occupation;
+        trait = autre.trait;
+        roques = autre.roques;
+        enPassant = autre.enPassant;
+        demiCoups = autre.demiCoups;
+        numeroCoup = autre.numeroCoup;
+        hash = autre.hash;
+        profondeur = autre.profondeur;
+        annulations = Arrays.copyOf(autre.annulations, autre.annulations.length);
+        hashs = Arrays.copyOf(autre.hashs, autre.hashs.length);
+    }
+
+    // --- CODES ET INDICES ---
+
+    /**
+     * Indice bitboard d'une case du plateau.
+     * @param ligne ligne (x)
+     * @param colonne colonne (y)
+     * @return indice entre 0 et 63
+     */
+    public static int indice(int ligne, int colonne) {
+        return (ligne << 3) | colonne;
+    }
+
+    /**
+     * Cases attaquées par un cavalier, plateau vide (partagées avec {@code modele.deplacements.DecCava}).
+     * @param sq case du cavalier
+     * @return bitboard des cases attaquées
+     */
+    public static long attaquesCavalier(int sq) {
+        return ATTAQUES_CAVALIER[sq];
+    }
+
+    /**
+     * Cases attaquées par un roi, hors roque (partagées avec {@code modele.deplacements.DecRoi}).
+     * @param sq case du roi
+     * @return bitboard des cases attaquées
+     */
+    public static long attaquesRoi(int sq) {
+        return ATTAQUES_ROI[sq];
+    }
+
+    /**
+     * Indice bitboard d'une {@link Case}.
+     * @param c case du plateau 8x8
+     * @return indice entre 0 et 63
+     */
+    public static int indice(Case c) {
+        return indice(c.getPosX(), c.getPosY());
+    }
+
+    /**
+     * Code compact d'une pièce (couleur * 6 + type), utilisé comme indice de bitboard.
+     * @param couleur {@link #BLANC} ou {@link #NOIR}
+     * @param type {@link #PION} ... {@link #ROI}
+     * @return code entre 0 et 11
+     */
+    public static int code(int couleur, int type) {
+        return couleur * 6 + type;
+    }
+
+    public static int couleurDe(int code) {
+        return code < 6 ? BLANC : NOIR;
+    }
+
+    public static int typeDe(int code) {
+        return code < 6 ? code : code - 6;
+    }
+
+    /**
+     * Retourne le code compact correspondant à une pièce d'échecs du modèle objet.
+     * @param p pièce à convertir (non null)
+     * @return code de la pièce, ou {@link #VIDE} si ce n'est pas une pièce d'échecs
+     */
+    public static int codeDe(Piece p) {
+        return codeDe(p.getCode());
+    }
+
+    /**
+     * Convertit un code de pièce du plateau ({@link Piece#getCode()}) en code bitboard.
+     * @param code code compact de la vue {@link Plateau#getCodes()}
+     * @return code de la pièce, ou {@link #VIDE} si la case est vide ou ne porte pas une pièce d'échecs
+     */
+    public static int codeDe(byte code) {
+        if (code == Piece.VIDE) return VIDE;
+        int type = code >> 1;
+        return type > ROI ? VIDE : code(Piece.couleurDe(code), type);
+    }
+
+    // --- MODIFICATIONS ÉLÉMENTAIRES ---
+
+    /**
+     * Vide entièrement la position et remet les compteurs à leur valeur initiale.
+     */
+    public void vider() {
+        for (int i = 0; i < 12; i++) pieces[i] = 0L;
+        occupationCouleur[BLANC] = 0L;
+        occupationCouleur[NOIR] = 0L;
+        occupation = 0L;
+        for (int sq = 0; sq < 64; sq++) contenu[sq] = VIDE;
+        trait = BLANC;
+        roques = 0;
+        enPassant = AUCUNE_CASE;
+        demiCoups = 0;
+        numeroCoup = 1;
+        hash = 0L;
+        profondeur = 0;
+        version++;
+    }
+
+    /**
+     * Pose une pièce sur une case vide.
+     * @param sq indice de la case
+     * @param code code de la pièce
+     */
+    public void poser(int sq, int code) {
+        long bit = 1L << sq;
+        pieces[code] |= bit;
+        occupationCouleur[couleurDe(code)] |= bit;
+        occupation |= bit;
+        contenu[sq] = code;
+        hash ^= Zobrist.PIECES[code][sq];
+        version++;
+    }
+
+    /**
+     * Retire la pièce présente sur une case (sans effet si la case est vide).
+     * @param sq indice de la case
+     * @return le code de la pièce retirée, ou {@link #VIDE}
+     */
+    public int retirer(int sq) {
+        int code = contenu[sq];
+        if (code != VIDE) {
+            long bit = ~(1L << sq);
+            pieces[code] &= bit;
+            occupationCouleur[couleurDe(code)] &= bit;
+            occupation &= bit;
+            contenu[sq] = VIDE;
+            hash ^= Zobrist.PIECES[code][sq];
+            version++;
+        }
+        return code;
+    }
+
+    /**
+     * Déplace la pièce d'une case vers une case supposée vide.
+     * @param depart case de départ (occupée)
+     * @param arrivee case d'arrivée (vide)
+     */
+    public void deplacer(int depart, int arrivee) {
+        int code = contenu[depart];
+        long bits = (1L << depart) | (1L << arrivee);
+        pieces[code] ^= bits;
+        occupationCouleur[couleurDe(code)] ^= bits;
+        occupation ^= bits;
+        contenu[depart] = VIDE;
+        contenu[arrivee] = code;
+        hash ^= Zobrist.PIECES[code][depart] ^ Zobrist.PIECES[code][arrivee];
+        version++;
+    }
+
+    // --- JOUER / DÉJOUER ---
+
+    /**
+     * Construit le coup allant de {@code depart} à {@code arrivee} dans la position courante
+     * en déduisant ses drapeaux (prise, double pas, prise en passant, roque).
+     * Un pion atteignant la dernière rangée est promu en reine.
+     * @param depart case de départ (occupée)
+     * @param arrivee case d'arrivée
+     * @return le coup encodé ({@link Move}), sa légalité n'est pas vérifiée
+     */
+    public int creerMove(int depart, int arrivee) {
+        int type = typeDe(contenu[depart]);
+        int drapeaux = contenu[arrivee] != VIDE ? Move.PRISE : 0;
+        int promotion = Move.SANS_PROMOTION;
+        if (type == PION) {
+            int ecart = arrivee - depart;
+            if (ecart == 16 || ecart == -16) {
+                drapeaux |= Move.DOUBLE_PAS;
+            } else if (arrivee == enPassant && (ecart & 7) != 0 && contenu[arrivee] == VIDE) {
+                drapeaux |= Move.EN_PASSANT;
+            }
+            int ligne = arrivee >>> 3;
+            if (ligne == 0 || ligne == 7) promotion = REINE;
+        } else if (type == ROI && (arrivee - depart == 2 || arrivee - depart == -2)) {
+            drapeaux |= Move.ROQUE;
+        }
+        return Move.encoder(depart, arrivee, promotion, drapeaux);
+    }
+
+    /**
+     * Joue un coup sur la position et empile de quoi l'annuler.
+     * <p>
+     * Gère la prise en passant, le déplacement de la tour lors du roque, la promotion,
+     * les droits de roque, la case de prise en passant, les compteurs et le trait.
+     * Aucune vérification de légalité n'est faite.
+     * </p>
+     * @param m coup encodé à jouer
+     */
+    public void makeMove(int m) {
+        int depart = Move.depart(m);
+        int arrivee = Move.arrivee(m);
+        int promotion = Move.promotion(m);
+        int drapeaux = Move.drapeaux(m);
+        int code = contenu[depart];
+        int couleur = couleurDe(code);
+
+        if (profondeur == annulations.length) {
+            annulations = Arrays.copyOf(annulations, profondeur * 2);
+            hashs = Arrays.copyOf(hashs, profondeur * 2);
+        }
+
+        hashs[profondeur] = hash;
+        int casePrise = (drapeaux & Move.EN_PASSANT) != 0 ? arrivee + (couleur == BLANC ? 8 : -8) : arrivee;
+        int prise = retirer(casePrise);
+
+        annulations[profondeur++] = (m & 0x7FFFFL)
+                | (long) (prise + 1) << 19
+                | (long) roques << 23
+                | (long) (enPassant + 1) << 27
+                | (long) demiCoups << 34;
+
+        deplacer(depart, arrivee);
+        if (promotion != Move.SANS_PROMOTION) {
+            retirer(arrivee);
+            poser(arrivee, code(couleur, promotion));
+        }
+        if ((drapeaux & Move.ROQUE) != 0) {
+            deplacer(caseTourAvantRoque(arrivee), caseTourApresRoque(arrivee));
+        }
+
+        hash ^= Zobrist.ROQUES[roques] ^ Zobrist.enPassant(enPassant);
+        roques &= MASQUE_ROQUE[depart] & MASQUE_ROQUE[arrivee];
+        enPassant = (drapeaux & Move.DOUBLE_PAS) != 0 ? (depart + arrivee) >>> 1 : AUCUNE_CASE;
+        hash ^= Zobrist.ROQUES[roques] ^ Zobrist.enPassant(enPassant) ^ Zobrist.TRAIT_NOIR;
+        demiCoups = (typeDe(code) == PION || prise != VIDE) ? 0 : demiCoups + 1;
+        if (trait == NOIR) numeroCoup++;
+        trait ^= 1;
+    }
+
+    /**
+     * Annule le dernier coup joué par {@link #makeMove(int)} et restaure exactement
+     * la position précédente.
+     */
+    public void unmakeMove() {
+        long enregistrement = annulations[--profondeur];
+        if ((enregistrement & 0xFFF) == Move.AUCUN) {
+            annulerCoupNul(enregistrement);
+            return;
+        }
+        int depart = (int) (enregistrement & 63);
+        int arrivee = (int) (enregistrement >>> 6 & 63);
+        int promotion = (int) (enregistrement >>> 12 & 7);
+        int drapeaux = (int) (enregistrement >>> 15 & 15);
+        int prise = (int) (enregistrement >>> 19 & 15) - 1;
+
+        trait ^= 1;
+        if (trait == NOIR) numeroCoup--;
+
+        if ((drapeaux & Move.ROQUE) != 0) {
+            deplacer(caseTourApresRoque(arrivee), caseTourAvantRoque(arrivee));
+        }
+        if (promotion != Move.SANS_PROMOTION) {
+            retirer(arrivee);
+            poser(arrivee, code(trait, PION));
+        }
+        deplacer(arrivee, depart);
+        if (prise != VIDE) {
+            int casePrise = (drapeaux & Move.EN_PASSANT) != 0 ? arrivee + (trait == BLANC ? 8 : -8) : arrivee;
+            poser(casePrise, prise);
+        }
+
+        roques = (int) (enregistrement >>> 23 & 15);
+        enPassant = (int) (enregistrement >>> 27 & 127) - 1;
+        demiCoups = (int) (enregistrement >>> 34 & 0xFFFF);
+        hash = hashs[profondeur];
+    }
+
+    /**
+     * Passe le trait à l'adversaire sans déplacer de pièce (« coup nul » de la recherche).
+     * S'annule avec {@link #unmakeMove()} comme un coup ordinaire.
+     */
+    public void jouerCoupNul() {
+        if (profondeur == annulations.length) {
+            annulations = Arrays.copyOf(annulations, profondeur * 2);
+            hashs = Arrays.copyOf(hashs, profondeur * 2);
+        }
+        hashs[profondeur] = hash;
+        annulations[profondeur++] = (long) roques << 23
+                | (long) (enPassant + 1) << 27
+                | (long) demiCoups << 34;
+        hash ^= Zobrist.enPassant(enPassant) ^ Zobrist.TRAIT_NOIR;
+        enPassant = AUCUNE_CASE;
+        demiCoups++;
+        trait ^= 1;
+    }
+
+    private void annulerCoupNul(long enregistrement) {
+        trait ^= 1;
+        enPassant = (int) (enregistrement >>> 27 & 127) - 1;
+        demiCoups = (int) (enregistrement >>> 34 & 0xFFFF);
+        hash = hashs[profondeur];
+    }
+
+    /**
+     * Indique si un coup pseudo-légal est légal : le roi ne doit pas rester en échec et,
+     * pour un roque, ne doit ni partir d'une case attaquée ni traverser une case attaquée.
+     * <p>
+     * Le coup n'est pas joué : un coup de roi est légal si sa case d'arrivée n'est pas attaquée
+     * une fois le roi retiré de l'occupation ; une autre pièce doit parer l'éventuel échec
+     * (prise de l'unique attaquant ou interposition) et, si elle est clouée, rester sur la ligne
+     * qui la relie à son roi. Ces masques sont calculés une fois par position et couleur, puis
+     * réutilisés pour tous les coups testés. Seule la prise en passant, qui retire deux pièces
+     * d'une même rangée, est encore vérifiée en jouant le coup.
+     * </p>
+     * @param m coup encodé à tester
+     * @return true si le coup est légal
+     */
+    public boolean estLegal(int m) {
+        int depart = Move.depart(m);
+        int arrivee = Move.arrivee(m);
+        int couleur = couleurDe(contenu[depart]);
+        if ((Move.drapeaux(m) & Move.EN_PASSANT) != 0) {
+            makeMove(m);
+            boolean legal = !estEnEchec(couleur);
+            unmakeMove();
+            return legal;
+        }
+        calculerClouages(couleur);
+        int adversaire = couleur ^ 1;
+        if (typeDe(contenu[depart]) == ROI) {
+            if (Move.estRoque(m) && (echeceurs != 0 || estAttaquee((depart + arrivee) >>> 1, adversaire))) {
+                return false;
+            }
+            return attaquants(arrivee, adversaire, occupation ^ (1L << depart)) == 0L;
+        }
+        long bit = 1L << arrivee;
+        if ((masqueEchec & bit) == 0) return false;
+        return (cloues & (1L << depart)) == 0 || (LIGNE[roiClouages][depart] & bit) != 0;
+    }
+
+    /**
+     * Calcule, si la position a changé depuis le dernier appel, les pièces qui mettent en échec
+     * le roi d'une couleur, les cases qui parent cet échec et les pièces alliées clouées.
+     * @param couleur couleur du roi
+     */
+    private void calculerClouages(int couleur) {
+        if (versionClouages == version && couleurClouages == couleur) return;
+        versionClouages = version;
+        couleurClouages = couleur;
+        roiClouages = getCaseRoi(couleur);
+        cloues = 0L;
+        if (roiClouages == AUCUNE_CASE) {
+            echeceurs = 0L;
+            masqueEchec = -1L;
+            return;
+        }
+        int adversaire = couleur ^ 1;
+        int base = adversaire * 6;
+        echeceurs = attaquants(roiClouages, adversaire, occupation);
+        if (echeceurs == 0L) {
+            masqueEchec = -1L;
+        } else if ((echeceurs & (echeceurs - 1)) == 0L) {
+            masqueEchec = echeceurs | ENTRE[roiClouages][Long.numberOfTrailingZeros(echeceurs)];
+        } else {
+            masqueEchec = 0L; // Échec double : seul le roi peut bouger
+        }
+
+        // Pièces glissantes adverses qui viseraient le roi à travers nos pièces
+        long adverses = occupationCouleur[adversaire];
+        long dames = pieces[base + REINE];
+        long tireurs = (AttaquesGlissantes.tour(roiClouages, adverses) & (pieces[base + TOUR] | dames))
+                | (AttaquesGlissantes.fou(roiClouages, adverses) & (pieces[base + FOU] | dames));
+        for (; tireurs != 0; tireurs &= tireurs - 1) {
+            long entre = ENTRE[roiClouages][Long.numberOfTrailingZeros(tireurs)] & occupation;
+            if (entre != 0L && (entre & (entre - 1)) == 0L && (entre & occupationCouleur[couleur]) != 0) {
+                cloues |= entre;
+            }
+        }
+    }
+
+    /**
+     * Compte les occurrences antérieures de la position courante (même clé de hachage, même trait).
+     * <p>
+     * Seuls les coups annulables depuis la dernière prise ou poussée de pion sont examinés,
+     * une position antérieure à un coup irréversible ne pouvant pas se répéter.
+     * </p>
+     * @return nombre de fois où la position est déjà apparue (2 = triple répétition)
+     */
+    public int nombreRepetitions() {
+        int limite = Math.max(0, profondeur - demiCoups);
+        int repetitions = 0;
+        for (int i = profondeur - 2; i >= limite; i -= 2) {
+            // Un coup nul de la recherche interrompt la suite de coups réels
+            if ((annulations[i] & 0xFFF) == Move.AUCUN || (annulations[i + 1] & 0xFFF) == Move.AUCUN) break;
+            if (hashs[i] == hash) repetitions++;
+        }
+        return repetitions;
+    }
+
+    /**
+     * Recalcule entièrement la clé de Zobrist de la position
+     * (la clé courante, {@link #getHash()}, est maintenue de façon incrémentale).
+     * @return la clé de la position
+     */
+    public long calculerHash() {
+        long h = Zobrist.ROQUES[roques] ^ Zobrist.enPassant(enPassant);
+        if (trait == NOIR) h ^= Zobrist.TRAIT_NOIR;
+        for (int sq = 0; sq < 64; sq++) {
+            if (contenu[sq] != VIDE) h ^= Zobrist.PIECES[contenu[sq]][sq];
+        }
+        return h;
+    }
+
+    // --- GÉNÉRATION DES COUPS ---
+
+    /** Rangée d'arrivée du double pas de chaque couleur (4e rangée pour les Blancs, 5e pour les Noirs). */
+    private static final long[] RANGEE_DOUBLE_PAS = {0xFFL << 32, 0xFFL << 24};
+    /** Rangée de promotion de chaque couleur. */
+    private static final long[] RANGEE_PROMOTION = {0xFFL, 0xFFL << 56};
+
+    /**
+     * Génère tous les coups pseudo-légaux du camp au trait (le roi peut rester en échec,
+     * les conditions de case attaquée du roque ne sont pas vérifiées).
+     * <p>
+     * La génération travaille uniquement sur les bitboards et écrit des coups encodés dans
+     * la liste fournie, qui est vidée au préalable : aucune allocation n'a lieu.
+     * </p>
+     * @param coups liste réutilisable recevant les coups
+     */
+    public void genererCoups(MoveList coups) {
+        generer(coups, false);
+    }
+
+    /**
+     * Génère les seules prises pseudo-légales (prises en passant et promotions comprises)
+     * du camp au trait, pour la recherche de quiescence.
+     * @param coups liste réutilisable recevant les coups
+     */
+    public void genererPrises(MoveList coups) {
+        generer(coups, true);
+    }
+
+    private void generer(MoveList coups, boolean prisesSeulement) {
+        coups.vider();
+        int nous = trait;
+        long adverses = occupationCouleur[nous ^ 1];
+        long cibles = prisesSeulement ? adverses : ~occupationCouleur[nous];
+        int base = nous * 6;
+
+        genererCoupsPions(coups, nous, adverses, prisesSeulement);
+
+        for (long bb = pieces[base + CAVALIER]; bb != 0; bb &= bb - 1) {
+            int depart = Long.numberOfTrailingZeros(bb);
+            ajouterCoups(coups, depart, ATTAQUES_CAVALIER[depart] & cibles, adverses);
+        }
+        for (long bb = pieces[base + FOU] | pieces[base + REINE]; bb != 0; bb &= bb - 1) {
+            int depart = Long.numberOfTrailingZeros(bb);
+            ajouterCoups(coups, depart, AttaquesGlissantes.fou(depart, occupation) & cibles, adverses);
+        }
+        for (long bb = pieces[base + TOUR] | pieces[base + REINE]; bb != 0; bb &= bb - 1) {
+            int depart = Long.numberOfTrailingZeros(bb);
+            ajouterCoups(coups, depart, AttaquesGlissantes.tour(depart, occupation) & cibles, adverses);
+        }
+        long roi = pieces[base + ROI];
+        if (roi != 0) {
+            int depart = Long.numberOfTrailingZeros(roi);
+            ajouterCoups(coups, depart, ATTAQUES_ROI[depart] & cibles, adverses);
+            if (!prisesSeulement) genererRoques(coups, nous, depart);
+        }
+    }
+
+    /**
+     * Génère uniquement les coups légaux du camp au trait, filtrés par {@link #estLegal(int)}
+     * sans jouer les coups.
+     * @param coups liste réutilisable recevant les coups
+     */
+    public void genererCoupsLegaux(MoveList coups) {
+        genererCoups(coups);
+        int n = 0;
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = coups.get(i);
+            if (estLegal(m)) coups.set(n++, m);
+        }
+        coups.tronquer(n);
+    }
+
+    private void genererCoupsPions(MoveList coups, int nous, long adverses, boolean prisesSeulement) {
+        long pions = pieces[nous * 6 + PION];
+        long vides = ~occupation;
+        int avance = nous == BLANC ? -8 : 8;
+        long simples = nous == BLANC ? (pions >>> 8) & vides : (pions << 8) & vides;
+        long doubles = (nous == BLANC ? simples >>> 8 : simples << 8) & vides & RANGEE_DOUBLE_PAS[nous];
+        if (prisesSeulement) {
+            // Seules les poussées promouvantes sont conservées
+            simples &= RANGEE_PROMOTION[nous];
+            doubles = 0L;
+        }
+
+        for (long bb = simples; bb != 0; bb &= bb - 1) {
+            int arrivee = Long.numberOfTrailingZeros(bb);
+            ajouterCoupPion(coups, arrivee - avance, arrivee, 0, nous);
+        }
+        for (long bb = doubles; bb != 0; bb &= bb - 1) {
+            int arrivee = Long.numberOfTrailingZeros(bb);
+            coups.ajouter(Move.encoder(arrivee - 2 * avance, arrivee, Move.SANS_PROMOTION, Move.DOUBLE_PAS));
+        }
+        for (long bb = pions; bb != 0; bb &= bb - 1) {
+            int depart = Long.numberOfTrailingZeros(bb);
+            long attaques = ATTAQUES_PION[nous][depart];
+            for (long prises = attaques & adverses; prises != 0; prises &= prises - 1) {
+                ajouterCoupPion(coups, depart, Long.numberOfTrailingZeros(prises), Move.PRISE, nous);
+            }
+            if (enPassant != AUCUNE_CASE && (attaques & (1L << enPassant)) != 0) {
+                coups.ajouter(Move.encoder(depart, enPassant, Move.SANS_PROMOTION, Move.EN_PASSANT));
+            }
+        }
+    }
+
+    private static void ajouterCoupPion(MoveList coups, int depart, int arrivee, int drapeaux, int nous) {
+        if ((RANGEE_PROMOTION[nous] & (1L << arrivee)) != 0) {
+            coups.ajouter(Move.encoder(depart, arrivee, REINE, drapeaux));
+            coups.ajouter(Move.encoder(depart, arrivee, TOUR, drapeaux));
+            coups.ajouter(Move.encoder(depart, arrivee, FOU, drapeaux));
+            coups.ajouter(Move.encoder(depart, arrivee, CAVALIER, drapeaux));
+        } else {
+            coups.ajouter(Move.encoder(depart, arrivee, Move.SANS_PROMOTION, drapeaux));
+        }
+    }
+
+    private static void ajouterCoups(MoveList coups, int depart, long arrivees, long adverses) {
+        for (long bb = arrivees; bb != 0; bb &= bb - 1) {
+            int arrivee = Long.numberOfTrailingZeros(bb);
+            coups.ajouter(Move.encoder(depart, arrivee, Move.SANS_PROMOTION,
+                    (adverses & (1L << arrivee)) != 0 ? Move.PRISE : 0));
+        }
+    }
+
+    private void genererRoques(MoveList coups, int nous, int roi) {
+        int petit = nous == BLANC ? ROQUE_BLANC_PETIT : ROQUE_NOIR_PETIT;
+        int grand = nous == BLANC ? ROQUE_BLANC_GRAND : ROQUE_NOIR_GRAND;
+        // Les droits de roque garantissent que le roi et la tour sont sur leurs cases d'origine
+        if ((roques & petit) != 0 && (occupation & (3L << (roi + 1))) == 0) {
+            coups.ajouter(Move.encoder(roi, roi + 2, Move.SANS_PROMOTION, Move.ROQUE));
+        }
+        if ((roques & grand) != 0 && (occupation & (7L << (roi - 3))) == 0) {
+            coups.ajouter(Move.encoder(roi, roi - 2, Move.SANS_PROMOTION, Move.ROQUE));
+        }
+    }
+
+    private static int caseTourAvantRoque(int arriveeRoi) {
+        return (arriveeRoi & 7) == 6 ? arriveeRoi + 1 : arriveeRoi - 2;
+    }
+
+    private static int caseTourApresRoque(int arriveeRoi) {
+        return (arriveeRoi & 7) == 6 ? arriveeRoi - 1 : arriveeRoi + 1;
+    }
+
+    /**
+     * Reconstruit la position à partir des pièces posées sur la grille de {@link Case}.
+     * <p>
+     * Les droits de roque sont déduits des indicateurs {@code aDejaBouge} du roi et des tours.
+     * Le trait, la prise en passant et les compteurs sont remis à zéro et doivent être fixés
+     * par l'appelant si nécessaire.
+     * </p>
+     * @param plateau plateau 8x8 à importer
+     */
+    public void chargerDepuis(Plateau plateau) {
+        vider();
+        byte[] codes = plateau.getCodes();
+        for (int sq = 0; sq < 64; sq++) {
+            int code = codeDe(codes[sq]);
+            if (code != VIDE) poser(sq, code);
+        }
+        if (peutRoquer(plateau, 7, 7)) roques |= ROQUE_BLANC_PETIT;
+        if (peutRoquer(plateau, 7, 0)) roques |= ROQUE_BLANC_GRAND;
+        if (peutRoquer(plateau, 0, 7)) roques |= ROQUE_NOIR_PETIT;
+        if (peutRoquer(plateau, 0, 0)) roques |= ROQUE_NOIR_GRAND;
+        hash = calculerHash();
+    }
+
+    /** Position de départ en notation FEN. */
+    public static final String FEN_INITIALE = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * Charge une position décrite en notation FEN
+     * (ex. {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}).
+     * Les deux compteurs finaux sont facultatifs. Un droit de roque dont le roi ou la tour
+     * n'est pas sur sa case d'origine est ignoré.
+     * @param fen description FEN de la position
+     * @throws IllegalArgumentException si la chaîne n'est pas une FEN valide (la position est
+     * alors incomplète et doit être rechargée)
+     */
+    public void chargerFen(String fen) {
+        String[] champs = fen.trim().split("\\s+");
+        if (champs.length < 4) {
+            throw new IllegalArgumentException("FEN incomplète : " + fen);
+        }
+        vider();
+        int x = 0;
+        int y = 0;
+        for (char c : champs[0].toCharArray()) {
+            if (c == '/') {
+                if (y != 8) throw new IllegalArgumentException("Rangée FEN incomplète : " + champs[0]);
+                x++;
+                y = 0;
+            } else if (c >= '1' && c <= '8') {
+                y += c - '0';
+                if (y > 8) throw new IllegalArgumentException("Rangée FEN trop longue : " + champs[0]);
+            } else {
+                int type = "pnbrqk".indexOf(Character.toLowerCase(c));
+                if (type < 0 || x > 7 || y > 7) {
+                    throw new IllegalArgumentException("Placement FEN invalide : " + champs[0]);
+                }
+                poser(indice(x, y++), code(Character.isUpperCase(c) ? BLANC : NOIR, type));
+            }
+        }
+        if (x != 7 || y != 8) {
+            throw new IllegalArgumentException("Placement FEN invalide : " + champs[0]);
+        }
+        switch (champs[1]) {
+            case "w" -> trait = BLANC;
+            case "b" -> trait = NOIR;
+            default -> throw new IllegalArgumentException("Trait FEN invalide : " + champs[1]);
+        }
+        if (!champs[2].equals("-")) {
+            for (char c : champs[2].toCharArray()) {
+                switch (c) {
+                    case 'K' -> roques |= ROQUE_BLANC_PETIT;
+                    case 'Q' -> roques |= ROQUE_BLANC_GRAND;
+                    case 'k' -> roques |= ROQUE_NOIR_PETIT;
+                    case 'q' -> roques |= ROQUE_NOIR_GRAND;
+                    default -> throw new IllegalArgumentException("Roques FEN invalides : " + champs[2]);
+                }
+            }
+        }
+        // La génération des roques suppose le roi et la tour sur leurs cases d'origine
+        if (contenu[indice(7, 4)] != code(BLANC, ROI)) roques &= ~(ROQUE_BLANC_PETIT | ROQUE_BLANC_GRAND);
+        if (contenu[indice(7, 7)] != code(BLANC, TOUR)) roques &= ~ROQUE_BLANC_PETIT;
+        if (contenu[indice(7, 0)] != code(BLANC, TOUR)) roques &= ~ROQUE_BLANC_GRAND;
+        if (contenu[indice(0, 4)] != code(NOIR, ROI)) roques &= ~(ROQUE_NOIR_PETIT | ROQUE_NOIR_GRAND);
+        if (contenu[indice(0, 7)] != code(NOIR, TOUR)) roques &= ~ROQUE_NOIR_PETIT;
+        if (contenu[indice(0, 0)] != code(NOIR, TOUR)) roques &= ~ROQUE_NOIR_GRAND;
+        if (!champs[3].equals("-")) {
+            String ep = champs[3];
+            // Seules les cases de la 3e et de la 6e rangée peuvent être sautées par un double pas
+            if (ep.length() != 2 || ep.charAt(0) < 'a' || ep.charAt(0) > 'h' || (ep.charAt(1) != '3' && ep.charAt(1) != '6')) {
+                throw new IllegalArgumentException("Case de prise en passant invalide : " + ep);
+            }
+            enPassant = indice('8' - ep.charAt(1), ep.charAt(0) - 'a');
+        }
+        try {
+            if (champs.length > 4) demiCoups = Integer.parseInt(champs[4]);
+            if (champs.length > 5) numeroCoup = Integer.parseInt(champs[5]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Compteurs FEN invalides : " + fen, e);
+        }
+        hash = calculerHash();
+    }
+
+    /**
+     * Décrit la position en notation FEN : placement, trait, droits de roque, case de prise
+     * en passant et compteurs.
+     * @return la FEN de la position, relisible par {@link #chargerFen(String)}
+     */
+    public String versFen() {
+        StringBuilder sb = new StringBuilder(90);
+        for (int x = 0; x < 8; x++) {
+            if (x > 0) sb.append('/');
+            int vides = 0;
+            for (int y = 0; y < 8; y++) {
+                int code = contenu[indice(x, y)];
+                if (code == VIDE) {
+                    vides++;
+                    continue;
+                }
+                if (vides > 0) {
+                    sb.append(vides);
+                    vides = 0;
+                }
+                char lettre = "pnbrqk".charAt(typeDe(code));
+                sb.append(couleurDe(code) == BLANC ? Character.toUpperCase(lettre) : lettre);
+            }
+            if (vides > 0) sb.append(vides);
+        }
+        sb.append(trait == BLANC ? " w " : " b ");
+        if (roques == 0) sb.append('-');
+        if ((roques & ROQUE_BLANC_PETIT) != 0) sb.append('K');
+        if ((roques & ROQUE_BLANC_GRAND) != 0) sb.append('Q');
+        if ((roques & ROQUE_NOIR_PETIT) != 0) sb.append('k');
+        if ((roques & ROQUE_NOIR_GRAND) != 0) sb.append('q');
+        sb.append(' ');
+        if (enPassant == AUCUNE_CASE) {
+            sb.append('-');
+        } else {
+            sb.append((char) ('a' + (enPassant & 7))).append((char) ('8' - (enPassant >>> 3)));
+        }
+        return sb.append(' ').append(demiCoups).append(' ').append(numeroCoup).toString();
+    }
+
+    private static boolean peutRoquer(Plateau plateau, int ligne, int colonneTour) {
+        Piece roi = plateau.getCase(ligne, 4).getPiece();
+        Piece tour = plateau.getCase(ligne, colonneTour).getPiece();
+        return roi instanceof Roi r && !r.getADejaBouge()
+                && tour instanceof Tour t && !t.getADejaBouge()
+                && roi.estAlliee(tour);
+    }
+
+    // --- REQUÊTES ---
+
+    /**
+     * Code de la pièce présente sur une case.
+     * @param sq indice de la case
+     * @return code de la pièce ou {@link #VIDE}
+     */
+    public int getPiece(int sq) {
+        return contenu[sq];
+    }
+
+    public long getPieces(int couleur, int type) {
+        return pieces[code(couleur, type)];
+    }
+
+    public long getOccupation() {
+        return occupation;
+    }
+
+    public long getOccupation(int couleur) {
+        return occupationCouleur[couleur];
+    }
+
+    public int getTrait() {
+        return trait;
+    }
+
+    public void setTrait(int trait) {
+        if (trait != this.trait) hash ^= Zobrist.TRAIT_NOIR;
+        this.trait = trait;
+    }
+
+    public int getRoques() {
+        return roques;
+    }
+
+    public void setRoques(int roques) {
+        hash ^= Zobrist.ROQUES[this.roques] ^ Zobrist.ROQUES[roques];
+        this.roques = roques;
+    }
+
+    public int getEnPassant() {
+        return enPassant;
+    }
+
+    public void setEnPassant(int enPassant) {
+        hash ^= Zobrist.enPassant(this.enPassant) ^ Zobrist.enPassant(enPassant);
+        this.enPassant = enPassant;
+    }
+
+    public int getDemiCoups() {
+        return demiCoups;
+    }
+
+    public int getNumeroCoup() {
+        return numeroCoup;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Indice de la case du roi d'une couleur.
+     * @param couleur couleur du roi
+     * @return indice de la case, ou {@link #AUCUNE_CASE} si le roi est absent
+     */
+    public int getCaseRoi(int couleur) {
+        long roi = pieces[code(couleur, ROI)];
+        return roi == 0L ? AUCUNE_CASE : Long.numberOfTrailingZeros(roi);
+    }
+
+    /**
+     * Indique si une case est attaquée par une couleur donnée.
+     * <p>
+     * Le calcul part de la case cible : on regarde si un cavalier, un pion ou un roi adverse
+     * se trouve sur une case d'où il pourrait l'atteindre, puis on lit dans les tables magiques
+     * les rayons des pièces glissantes issus de la case cible.
+     * </p>
+     * @param sq case cible
+     * @param parCouleur couleur de l'attaquant
+     * @return true si au moins une pièce de {@code parCouleur} attaque la case
+     */
+    public boolean estAttaquee(int sq, int parCouleur) {
+        int base = parCouleur * 6;
+        if ((ATTAQUES_CAVALIER[sq] & pieces[base + CAVALIER]) != 0) return true;
+        if ((ATTAQUES_PION[parCouleur ^ 1][sq] & pieces[base + PION]) != 0) return true;
+        if ((ATTAQUES_ROI[sq] & pieces[base + ROI]) != 0) return true;
+        long dames = pieces[base + REINE];
+        if ((AttaquesGlissantes.tour(sq, occupation) & (pieces[base + TOUR] | dames)) != 0) return true;
+        return (AttaquesGlissantes.fou(sq, occupation) & (pieces[base + FOU] | dames)) != 0;
+    }
+
+    /**
+     * Pièces d'une couleur qui attaquent une case, pour une occupation donnée.
+     * <p>
+     * Comme pour {@link #estAttaquee(int, int)}, le calcul part de la case cible ; l'occupation
+     * est passée en paramètre pour pouvoir ignorer une pièce (le roi qui fuit le long d'un rayon).
+     * </p>
+     * @param sq case cible
+     * @param parCouleur couleur de l'attaquant
+     * @param occupees occupation à utiliser pour les rayons des pièces glissantes
+     * @return bitboard des pièces attaquantes
+     */
+    public long attaquants(int sq, int parCouleur, long occupees) {
+        int base = parCouleur * 6;
+        long dames = pieces[base + REINE];
+        return (ATTAQUES_CAVALIER[sq] & pieces[base + CAVALIER])
+                | (ATTAQUES_PION[parCouleur ^ 1][sq] & pieces[base + PION])
+                | (ATTAQUES_ROI[sq] & pieces[base + ROI])
+                | (AttaquesGlissantes.tour(sq, occupees) & (pieces[base + TOUR] | dames))
+                | (AttaquesGlissantes.fou(sq, occupees) & (pieces[base + FOU] | dames));
+    }
+
+    /**
+     * Pièces adverses qui mettent en échec le roi du camp au trait.
+     * @return bitboard des pièces donnant échec (deux bits en cas d'échec double)
+     */
+    public long getEcheceurs() {
+        calculerClouages(trait);
+        return echeceurs;
+    }
+
+    /**
+     * Pièces du camp au trait clouées sur leur roi par une pièce glissante adverse.
+     * @return bitboard des pièces clouées
+     */
+    public long getCloues() {
+        calculerClouages(trait);
+        return cloues;
+    }
+
+    /**
+     * Indique si le roi d'une couleur est en échec.
+     * @param couleur couleur du roi
+     * @return true si le roi est attaqué (false si le roi est absent)
+     */
+    public boolean estEnEchec(int couleur) {
+        int roi = getCaseRoi(couleur);
+        return roi != AUCUNE_CASE && estAttaquee(roi, couleur ^ 1);
+    }
+
+    private static long masqueSauts(int x, int y, int[][] sauts) {
+        long masque = 0L;
+        for (int[] s : sauts) {
+            int nx = x + s[0];
+            int ny = y + s[1];
+            if (nx >= 0 && nx < 8 && ny >= 0 && ny < 8) {
+                masque |= 1L << indice(nx, ny);
+            }
+        }
+        return masque;
+    }
+}
@@ -0,0 +1,332 @@
+package modele.plateau;
+
+import modele.jeu.Joueur;
+import modele.jeu.Piece;
+
+/**
+ * Position de Puissance 4 (6 lignes x 7 colonnes) codée sur deux entiers 64 bits.
+ * <p>
+ * Chaque colonne occupe {@code HAUTEUR + 1} bits consécutifs, du bas vers le haut ; le bit
+ * supplémentaire reste toujours vide et sépare les colonnes, ce qui permet de tester un
+ * alignement dans les quatre directions par de simples décalages et ET logiques.
+ * {@code masque} contient toutes les pierres posées et {@code position} celles du joueur au trait.
+ * </p>
+ * <p>
+ * Les coordonnées « ligne/colonne » sont celles du {@link Plateau} : la ligne 0 est en haut.
+ * </p>
+ */
+public class BitboardPuissance4 {
+
+    public static final int LARGEUR = 7;
+    public static final int HAUTEUR = 6;
+    public static final int NOMBRE_CASES = LARGEUR * HAUTEUR;
+
+    /** Bit du bas de chaque colonne. */
+    static final long BAS = masqueBas();
+    /** Toutes les cases jouables. */
+    static final long PLATEAU = BAS * ((1L << HAUTEUR) - 1);
+    /** Décalages des quatre directions : verticale, deux diagonales et horizontale. */
+    private static final int[] DIRECTIONS = {1, HAUTEUR, HAUTEUR + 1, HAUTEUR + 2};
+
+    private long position;
+    private long masque;
+    private int nombreCoups;
+
+    /**
+     * Crée une position vide.
+     */
+    public BitboardPuissance4() {
+    }
+
+    /**
+     * Copie une position.
+     * @param autre position à copier
+     */
+    public BitboardPuissance4(BitboardPuissance4 autre) {
+        this.position = autre.position;
+        this.masque = autre.masque;
+        this.nombreCoups = autre.nombreCoups;
+    }
+
+    private static long masqueBas() {
+        long bas = 0L;
+        for (int col = 0; col < LARGEUR; col++) bas |= 1L << (col * (HAUTEUR + 1));
+        return bas;
+    }
+
+    // --- MASQUES ---
+
+    public static long masqueColonne(int colonne) {
+        return ((1L << HAUTEUR) - 1) << (colonne * (HAUTEUR + 1));
+    }
+
+    static long basColonne(int colonne) {
+        return 1L << (colonne * (HAUTEUR + 1));
+    }
+
+    static long hautColonne(int colonne) {
+        return 1L << (HAUTEUR - 1 + colonne * (HAUTEUR + 1));
+    }
+
+    /**
+     * Indice du bit d'une case du plateau.
+     * @param ligne ligne du {@link Plateau} (0 en haut)
+     * @param colonne colonne (0 à gauche)
+     * @return indice du bit
+     */
+    public static int indice(int ligne, int colonne) {
+        return colonne * (HAUTEUR + 1) + (HAUTEUR - 1 - ligne);
+    }
+
+    /** @return ligne du {@link Plateau} correspondant à un indice de bit */
+    public static int ligneDe(int indice) {
+        return HAUTEUR - 1 - indice % (HAUTEUR + 1);
+    }
+
+    /** @return colonne correspondant à un indice de bit */
+    public static int colonneDe(int indice) {
+        return indice / (HAUTEUR + 1);
+    }
+
+    // --- COUPS ---
+
+    /**
+     * @param colonne colonne visée
+     * @return true si la colonne n'est pas pleine
+     */
+    public boolean peutJouer(int colonne) {
+        return (masque & hautColonne(colonne)) == 0;
+    }
+
+    /**
+     * Fait tomber une pierre du joueur au trait dans la colonne, qui ne doit pas être pleine.
+     * @param colonne colonne jouée
+     */
+    public void jouer(int colonne) {
+        jouerCoup((masque + basColonne(colonne)) & masqueColonne(colonne));
+    }
+
+    /**
+     * Pose la pierre du joueur au trait sur une case libre, puis passe le trait.
+     * @param coup bitboard ne contenant que la case jouée
+     */
+    public void jouerCoup(long coup) {
+        position ^= masque;
+        masque |= coup;
+        nombreCoups++;
+    }
+
+    /**
+     * Annule un coup joué par {@link #jouerCoup(long)} : le trait revient au joueur qui l'avait joué.
+     * @param coup bitboard ne contenant que la case jouée (la dernière pierre posée)
+     */
+    public void annulerCoup(long coup) {
+        masque &= ~coup;
+        position ^= masque;
+        nombreCoups--;
+    }
+
+    /**
+     * Joue une suite de colonnes numérotées à partir de 1 (ex. « 4453 »), tant que les coups
+     * sont possibles et ne terminent pas la partie.
+     * @param suite colonnes jouées
+     * @return nombre de coups joués
+     */
+    public int jouer(String suite) {
+        for (int i = 0; i < suite.length(); i++) {
+            int col = suite.charAt(i) - '1';
+            if (col < 0 || col >= LARGEUR || !peutJouer(col) || estCoupGagnant(col)) return i;
+            jouer(col);
+        }
+        return suite.length();
+    }
+
+    /**
+     * @param colonne colonne jouable
+     * @return true si y jouer aligne quatre pierres du joueur au trait
+     */
+    public boolean estCoupGagnant(int colonne) {
+        return (casesGagnantes() & coupsPossibles() & masqueColonne(colonne)) != 0;
+    }
+
+    /** @return true si le joueur au trait peut gagner immédiatement */
+    public boolean peutGagnerAuProchainCoup() {
+        return (casesGagnantes() & coupsPossibles()) != 0;
+    }
+
+    /** @return une case par colonne non pleine : celle où tomberait la prochaine pierre */
+    public long coupsPossibles() {
+        return coupsPossibles(masque);
+    }
+
+    /**
+     * @param masque toutes les pierres posées
+     * @return une case par colonne non pleine : celle où tomberait la prochaine pierre
+     */
+    public static long coupsPossibles(long masque) {
+        return (masque + BAS) & PLATEAU;
+    }
+
+    /**
+     * Coups possibles qui n'offrent pas une victoire immédiate à l'adversaire. Si l'adversaire
+     * menace de gagner, seul le coup qui pare la menace est conservé ; s'il a deux menaces, il
+     * n'y a aucun coup non perdant.
+     * @return bitboard des coups (vide si la partie est perdue au prochain coup)
+     */
+    public long coupsNonPerdants() {
+        return coupsNonPerdants(position, masque);
+    }
+
+    /**
+     * Version sans objet de {@link #coupsNonPerdants()}, pour les solveurs.
+     * @param pierres pierres du joueur au trait
+     * @param masque toutes les pierres posées
+     * @return bitboard des coups non perdants
+     */
+    public static long coupsNonPerdants(long pierres, long masque) {
+        long possibles = coupsPossibles(masque);
+        long menaces = casesGagnantes(pierres ^ masque, masque);
+        long forces = possibles & menaces;
+        if (forces != 0) {
+            if ((forces & (forces - 1)) != 0) return 0L; // Deux menaces : impossible de parer
+            possibles = forces;
+        }
+        // Ne pas jouer juste sous une case gagnante de l'adversaire
+        return possibles & ~(menaces >>> 1);
+    }
+
+    /**
+     * Heuristique d'ordonnancement : nombre de cases gagnantes créées par un coup.
+     * @param coup bitboard ne contenant que la case jouée
+     * @return nombre de menaces du joueur au trait après le coup
+     */
+    public int scoreCoup(long coup) {
+        return Long.bitCount(casesGagnantes(position | coup, masque));
+    }
+
+    /** @return cases vides qui compléteraient un alignement du joueur au trait */
+    public long casesGagnantes() {
+        return casesGagnantes(position, masque);
+    }
+
+    /** @return cases vides qui compléteraient un alignement de l'adversaire */
+    public long casesGagnantesAdversaire() {
+        return casesGagnantes(position ^ masque, masque);
+    }
+
+    /**
+     * Cases vides qui compléteraient un alignement de quatre.
+     * @param pierres pierres d'un joueur
+     * @param masque toutes les pierres posées
+     * @return bitboard des cases gagnantes de ce joueur
+     */
+    public static long casesGagnantes(long pierres, long masque) {
+        final int h = HAUTEUR;
+        // Verticale
+        long r = (pierres << 1) & (pierres << 2) & (pierres << 3);
+
+        // Horizontale
+        long p = (pierres << (h + 1)) & (pierres << 2 * (h + 1));
+        r |= p & (pierres << 3 * (h + 1));
+        r |= p & (pierres >>> (h + 1));
+        p = (pierres >>> (h + 1)) & (pierres >>> 2 * (h + 1));
+        r |= p & (pierres << (h + 1));
+        r |= p & (pierres >>> 3 * (h + 1));
+
+        // Diagonale montante vers la gauche
+        p = (pierres << h) & (pierres << 2 * h);
+        r |= p & (pierres << 3 * h);
+        r |= p & (pierres >>> h);
+        p = (pierres >>> h) & (pierres >>> 2 * h);
+        r |= p & (pierres << h);
+        r |= p & (pierres >>> 3 * h);
+
+        // Diagonale montante vers la droite
+        p = (pierres << (h + 2)) & (pierres << 2 * (h + 2));
+        r |= p & (pierres << 3 * (h + 2));
+        r |= p & (pierres >>> (h + 2));
+        p = (pierres >>> (h + 2)) & (pierres >>> 2 * (h + 2));
+        r |= p & (pierres << (h + 2));
+        r |= p & (pierres >>> 3 * (h + 2));
+
+        return r & (PLATEAU ^ masque);
+    }
+
+    // --- ALIGNEMENTS ---
+
+    /**
+     * Indique en temps constant si des pierres contiennent un alignement de quatre.
+     * @param pierres pierres d'un joueur
+     * @return true si quatre pierres sont alignées
+     */
+    public static boolean aligne(long pierres) {
+        return alignement(pierres) != 0;
+    }
+
+    /**
+     * Cases appartenant à un alignement d'au moins quatre pierres.
+     * @param pierres pierres d'un joueur
+     * @return bitboard des cases alignées (vide s'il n'y a pas d'alignement)
+     */
+    public static long alignement(long pierres) {
+        long cases = 0L;
+        for (int d : DIRECTIONS) {
+            long m = pierres & (pierres >>> d);
+            m &= m >>> 2 * d;
+            if (m != 0) cases |= m | (m << d) | (m << 2 * d) | (m << 3 * d);
+        }
+        return cases;
+    }
+
+    // --- ÉTAT ---
+
+    /**
+     * Reconstruit la position à partir des pions posés sur un plateau 6x7. Les Blancs ayant
+     * commencé, le trait est aux Blancs si les deux camps ont autant de pions.
+     * @param plateau plateau de Puissance 4
+     */
+    public void chargerDepuis(Plateau plateau) {
+        long blancs = 0L;
+        masque = 0L;
+        nombreCoups = 0;
+        for (int x = 0; x < HAUTEUR; x++) {
+            for (int y = 0; y < LARGEUR; y++) {
+                byte code = plateau.getCode(x, y);
+                if (code == Piece.VIDE) continue;
+                long bit = 1L << indice(x, y);
+                masque |= bit;
+                nombreCoups++;
+                if (Piece.couleurDe(code) == Joueur.Couleur.BLANC.ordinal()) blancs |= bit;
+            }
+        }
+        position = (nombreCoups & 1) == 0 ? blancs : masque ^ blancs;
+    }
+
+    /** Vide la position. */
+    public void vider() {
+        position = 0L;
+        masque = 0L;
+        nombreCoups = 0;
+    }
+
+    /** @return clé unique de la position (pierres du joueur au trait + toutes les pierres) */
+    public long cle() {
+        return position + masque;
+    }
+
+    public long getPierresJoueurCourant() {
+        return position;
+    }
+
+    public long getPierresAdversaire() {
+        return position ^ masque;
+    }
+
+    public long getMasque() {
+        return masque;
+    }
+
+    public int getNombreCoups() {
+        return nombreCoups;
+    }
+}
@@ -18,6 +18,10 @@ public class Case {
     private int posZ;
     /** La pièce contenue dans cette case (peut être null). */
     private Piece piece; // La pièce contenue dans cette case (peut être null)
+    /** Vue compacte du plateau propriétaire (null pour une case isolée), tenue à jour par {@link #setPiece}. */
+    private byte[] codes;
+    /** Indice de la case dans {@link #codes}. */
+    private int indice;
 
     /**
      * Crée une case vide aux coordonnées spécifiées (2D).
@@ -82,6 +86,20 @@ public class Case {
      */
     public void setPiece(Piece piece) {
         this.piece = piece;
+        if (codes != null) {
+            codes[indice] = piece == null ? Piece.VIDE : piece.getCode();
+        }
+    }
+
+    /**
+     * Rattache la case à la vue compacte de son plateau.
+     * @param codes codes des pièces du plateau
+     * @param indice indice de la case dans ce tableau
+     */
+    void attacher(byte[] codes, int indice) {
+        this.codes = codes;
+        this.indice = indice;
+        codes[indice] = piece == null ? Piece.VIDE : piece.getCode();
     }
 
 }
\ No newline at end of file
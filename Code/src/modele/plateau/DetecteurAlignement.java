@@ -0,0 +1,258 @@
+package modele.plateau;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Détection incrémentale des alignements de {@code k} pierres sur un plateau 2D ou 3D.
+ * <p>
+ * Toutes les lignes gagnantes (segments de {@code k} cases consécutives dans l'une des 4
+ * directions du plan, ou des 13 directions de l'espace) sont énumérées une fois pour toutes, avec
+ * pour chaque case la liste des lignes qui la traversent. Chaque ligne tient un compteur de pierres
+ * par couleur : poser une pierre n'incrémente que les compteurs des lignes passant par sa case,
+ * et la victoire est constatée dès qu'un compteur atteint {@code k}. Le coût d'un coup dépend de
+ * {@code k} et du nombre de directions, pas de la taille du plateau.
+ * </p>
+ * <p>
+ * Les cases sont indexées par {@code (x * sizeY + y) * sizeZ + z}, avec {@code sizeZ = 1} en 2D.
+ * </p>
+ */
+public class DetecteurAlignement {
+
+    public static final int BLANC = 0;
+    public static final int NOIR = 1;
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final int longueur;
+
+    /** Cases de chaque ligne, à la suite : ligne {@code l} = {@code cases[l*k .. l*k + k - 1]}. */
+    private final int[] casesLignes;
+    /** Lignes traversant chaque case. */
+    private final int[][] lignesParCase;
+    /** Nombre de pierres de chaque couleur sur chaque ligne : indice {@code 2 * ligne + couleur}. */
+    private final int[] compteurs;
+
+    private int nombrePierres;
+    private int ligneGagnante = -1;
+    private int couleurGagnante = -1;
+
+    /**
+     * Détecteur pour un plateau 2D.
+     * @param sizeX nombre de lignes
+     * @param sizeY nombre de colonnes
+     * @param longueur nombre de pierres à aligner
+     */
+    public DetecteurAlignement(int sizeX, int sizeY, int longueur) {
+        this(sizeX, sizeY, 1, longueur);
+    }
+
+    /**
+     * Détecteur pour un plateau 3D (ou 2D si {@code sizeZ == 1}).
+     * @param sizeX taille selon x
+     * @param sizeY taille selon y
+     * @param sizeZ nombre de couches
+     * @param longueur nombre de pierres à aligner
+     */
+    public DetecteurAlignement(int sizeX, int sizeY, int sizeZ, int longueur) {
+        if (longueur < 1) throw new IllegalArgumentException("Longueur d'alignement invalide : " + longueur);
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.longueur = longueur;
+
+        int nombreCases = sizeX * sizeY * sizeZ;
+        int[][] lignes = enumererLignes(sizeX, sizeY, sizeZ, longueur);
+        int[] lignesPar = new int[nombreCases];
+        for (int[] ligne : lignes) {
+            for (int c : ligne) lignesPar[c]++;
+        }
+        this.casesLignes = new int[lignes.length * longueur];
+        this.lignesParCase = new int[nombreCases][];
+        for (int c = 0; c < nombreCases; c++) lignesParCase[c] = new int[lignesPar[c]];
+        this.compteurs = new int[2 * lignes.length];
+
+        int[] rempli = new int[nombreCases];
+        for (int l = 0; l < lignes.length; l++) {
+            for (int i = 0; i < longueur; i++) {
+                int c = lignes[l][i];
+                casesLignes[l * longueur + i] = c;
+                lignesParCase[c][rempli[c]++] = l;
+            }
+        }
+    }
+
+    /**
+     * Énumère toutes les lignes gagnantes : segments de {@code longueur} cases consécutives dans
+     * l'une des 4 directions du plan ({@code sizeZ == 1}) ou des 13 directions de l'espace.
+     * @return pour chaque ligne, les indices {@code (x * sizeY + y) * sizeZ + z} de ses cases, dans l'ordre
+     */
+    public static int[][] enumererLignes(int sizeX, int sizeY, int sizeZ, int longueur) {
+        int[][] directions = directions(sizeZ > 1);
+        List<int[]> lignes = new ArrayList<>();
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    for (int[] d : directions) {
+                        int fx = x + (longueur - 1) * d[0];
+                        int fy = y + (longueur - 1) * d[1];
+                        int fz = z + (longueur - 1) * d[2];
+                        if (fx < 0 || fx >= sizeX || fy < 0 || fy >= sizeY || fz < 0 || fz >= sizeZ) continue;
+                        int[] ligne = new int[longueur];
+                        for (int i = 0; i < longueur; i++) {
+                            ligne[i] = ((x + i * d[0]) * sizeY + (y + i * d[1])) * sizeZ + (z + i * d[2]);
+                        }
+                        lignes.add(ligne);
+                    }
+                }
+            }
+        }
+        return lignes.toArray(new int[0][]);
+    }
+
+    /**
+     * Détecteur dimensionné d'après un plateau.
+     * @param plateau plateau 2D ou 3D
+     * @param longueur nombre de pierres à aligner
+     * @return le détecteur, vide
+     */
+    public static DetecteurAlignement pour(Plateau plateau, int longueur) {
+        return new DetecteurAlignement(plateau.getSizeX(), plateau.getSizeY(),
+                plateau.is3D() ? plateau.getSizeZ() : 1, longueur);
+    }
+
+    /** Une direction par paire de sens opposés : 4 dans le plan, 13 dans l'espace. */
+    private static int[][] directions(boolean espace) {
+        int[][] d = new int[espace ? 13 : 4][];
+        int n = 0;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = espace ? -1 : 0; dz <= (espace ? 1 : 0); dz++) {
+                    // Garder le premier des deux sens dans l'ordre lexicographique
+                    if (dx > 0 || (dx == 0 && dy > 0) || (dx == 0 && dy == 0 && dz > 0)) {
+                        d[n++] = new int[]{dx, dy, dz};
+                    }
+                }
+            }
+        }
+        return d;
+    }
+
+    private int indice(int x, int y, int z) {
+        return (x * sizeY + y) * sizeZ + z;
+    }
+
+    // --- COUPS ---
+
+    /**
+     * Enregistre une pierre posée sur une case vide d'un plateau 2D.
+     * @return true si la pierre complète un alignement
+     */
+    public boolean jouer(int x, int y, int couleur) {
+        return jouer(x, y, 0, couleur);
+    }
+
+    /**
+     * Enregistre une pierre posée sur une case vide.
+     * @param couleur {@link #BLANC} ou {@link #NOIR}
+     * @return true si la pierre complète un alignement (le premier trouvé devient la ligne gagnante)
+     */
+    public boolean jouer(int x, int y, int z, int couleur) {
+        nombrePierres++;
+        boolean aligne = false;
+        for (int ligne : lignesParCase[indice(x, y, z)]) {
+            if (++compteurs[2 * ligne + couleur] == longueur && !aligne) {
+                aligne = true;
+                if (ligneGagnante < 0) {
+                    ligneGagnante = ligne;
+                    couleurGagnante = couleur;
+                }
+            }
+        }
+        return aligne;
+    }
+
+    /**
+     * Retire une pierre (annulation d'un coup, simulations). Si elle appartenait à la ligne
+     * gagnante, la victoire est annulée.
+     * @param couleur couleur de la pierre retirée
+     */
+    public void retirer(int x, int y, int z, int couleur) {
+        nombrePierres--;
+        for (int ligne : lignesParCase[indice(x, y, z)]) {
+            compteurs[2 * ligne + couleur]--;
+            if (ligne == ligneGagnante) {
+                ligneGagnante = -1;
+                couleurGagnante = -1;
+            }
+        }
+    }
+
+    /** Oublie toutes les pierres. */
+    public void vider() {
+        Arrays.fill(compteurs, 0);
+        nombrePierres = 0;
+        ligneGagnante = -1;
+        couleurGagnante = -1;
+    }
+
+    // --- ÉTAT ---
+
+    /** @return true si un alignement complet a été détecté */
+    public boolean estGagne() {
+        return ligneGagnante >= 0;
+    }
+
+    /** @return {@link #BLANC} ou {@link #NOIR} si la partie est gagnée, -1 sinon */
+    public int getCouleurGagnante() {
+        return couleurGagnante;
+    }
+
+    /** @return true si toutes les cases sont occupées */
+    public boolean estPlein() {
+        return nombrePierres == lignesParCase.length;
+    }
+
+    public int getNombrePierres() {
+        return nombrePierres;
+    }
+
+    public int getNombreLignes() {
+        return compteurs.length / 2;
+    }
+
+    /**
+     * @return indices {@code (x * sizeY + y) * sizeZ + z} des cases de la ligne gagnante, dans l'ordre,
+     *         ou null sans alignement
+     */
+    public int[] getLigneGagnante() {
+        if (ligneGagnante < 0) return null;
+        return Arrays.copyOfRange(casesLignes, ligneGagnante * longueur, (ligneGagnante + 1) * longueur);
+    }
+
+    /**
+     * Marque les cases de la ligne gagnante (plateau 2D). Ne fait rien sans alignement.
+     * @param cases tableau [sizeX][sizeY] des cellules gagnantes
+     */
+    public void marquer(boolean[][] cases) {
+        if (ligneGagnante < 0) return;
+        for (int i = 0; i < longueur; i++) {
+            int c = casesLignes[ligneGagnante * longueur + i] / sizeZ;
+            cases[c / sizeY][c % sizeY] = true;
+        }
+    }
+
+    /**
+     * Marque les cases de la ligne gagnante (plateau 3D). Ne fait rien sans alignement.
+     * @param cases tableau [sizeX][sizeY][sizeZ] des cellules gagnantes
+     */
+    public void marquer(boolean[][][] cases) {
+        if (ligneGagnante < 0) return;
+        for (int i = 0; i < longueur; i++) {
+            int c = casesLignes[ligneGagnante * longueur + i];
+            cases[c / (sizeY * sizeZ)][(c / sizeZ) % sizeY][c % sizeZ] = true;
+        }
+    }
+}
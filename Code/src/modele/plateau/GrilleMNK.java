@@ -0,0 +1,263 @@
+package modele.plateau;
+
+import java.util.Arrays;
+
+/**
+ * Grille d'un jeu m,n,k (morpion généralisé : TicTacToe 3x3 k=3, Gomoku 15x15 ou 19x19 k=5...).
+ * <p>
+ * Les pierres de chaque couleur sont rangées dans un ensemble de bits ({@code long[]}, un bit par
+ * case, indice {@code x * colonnes + y}) : 19x19 tient en 6 entiers par couleur. La victoire est
+ * confiée à un {@link DetecteurAlignement}, qui ne met à jour que les lignes passant par la case
+ * jouée.
+ * </p>
+ * <p>
+ * La grille tient aussi à jour les <b>menaces</b> de chaque couleur : les cases vides qui
+ * compléteraient immédiatement un alignement de {@code k}. Un coup ne peut créer ou détruire une
+ * menace qu'à moins de {@code k} cases de lui sur l'une de ses quatre directions : seules ces
+ * cases sont réévaluées.
+ * </p>
+ */
+public class GrilleMNK {
+
+    public static final int BLANC = 0;
+    public static final int NOIR = 1;
+
+    /** Directions (dx, dy) : horizontale, verticale, diagonale et anti-diagonale. */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int lignes;
+    private final int colonnes;
+    private final int longueur;
+
+    private final long[][] pierres;
+    private final long[][] menaces;
+    private final int[] nombreMenaces = new int[2];
+    private final DetecteurAlignement alignements;
+
+    /**
+     * Vérifie des paramètres m,n,k sans rien allouer (utilisable avant la création d'une partie).
+     * @throws IllegalArgumentException si les dimensions sont nulles ou si k dépasse le plateau
+     */
+    public static void verifier(int lignes, int colonnes, int longueur) {
+        if (lignes < 1 || colonnes < 1) {
+            throw new IllegalArgumentException("Dimensions invalides : " + lignes + "x" + colonnes);
+        }
+        if (longueur < 1 || longueur > Math.max(lignes, colonnes)) {
+            throw new IllegalArgumentException("Impossible d'aligner " + longueur + " pierres sur " + lignes + "x" + colonnes);
+        }
+    }
+
+    /**
+     * @param lignes nombre de lignes (m)
+     * @param colonnes nombre de colonnes (n)
+     * @param longueur nombre de pierres à aligner (k)
+     */
+    public GrilleMNK(int lignes, int colonnes, int longueur) {
+        verifier(lignes, colonnes, longueur);
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.longueur = longueur;
+        int mots = (lignes * colonnes + 63) >>> 6;
+        this.pierres = new long[2][mots];
+        this.menaces = new long[2][mots];
+        this.alignements = new DetecteurAlignement(lignes, colonnes, longueur);
+        vider();
+    }
+
+    private static boolean contient(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private boolean dansLimites(int x, int y) {
+        return x >= 0 && x < lignes && y >= 0 && y < colonnes;
+    }
+
+    /** Nombre de pierres de la couleur contiguës à (x, y), (x, y) exclue, dans le sens (dx, dy). */
+    private int suite(int x, int y, int dx, int dy, int couleur) {
+        long[] bits = pierres[couleur];
+        int n = 0;
+        x += dx;
+        y += dy;
+        while (n < longueur && dansLimites(x, y) && contient(bits, x * colonnes + y)) {
+            n++;
+            x += dx;
+            y += dy;
+        }
+        return n;
+    }
+
+    // --- COUPS ---
+
+    /**
+     * Pose une pierre sur une case vide.
+     * @param couleur {@link #BLANC} ou {@link #NOIR}
+     * @return true si la pierre aligne au moins {@code k} pierres (le premier alignement est retenu)
+     */
+    public boolean jouer(int x, int y, int couleur) {
+        int i = x * colonnes + y;
+        pierres[couleur][i >>> 6] |= 1L << i;
+        retirerMenace(i, BLANC);
+        retirerMenace(i, NOIR);
+        boolean aligne = alignements.jouer(x, y, couleur);
+        reevaluerVoisinage(x, y);
+        return aligne;
+    }
+
+    /**
+     * Retire une pierre (annulation d'un coup, simulations). Si elle appartenait à l'alignement
+     * gagnant, la victoire est annulée.
+     * @param couleur couleur de la pierre retirée
+     */
+    public void retirer(int x, int y, int couleur) {
+        int i = x * colonnes + y;
+        pierres[couleur][i >>> 6] &= ~(1L << i);
+        alignements.retirer(x, y, 0, couleur);
+        reevaluer(x, y);
+        reevaluerVoisinage(x, y);
+    }
+
+    /** Réévalue les cases vides à moins de k cases de (x, y) sur ses quatre directions. */
+    private void reevaluerVoisinage(int x, int y) {
+        for (int[] d : DIRECTIONS) {
+            for (int s = 1 - longueur; s < longueur; s++) {
+                if (s == 0) continue;
+                int xx = x + s * d[0], yy = y + s * d[1];
+                if (dansLimites(xx, yy)) reevaluer(xx, yy);
+            }
+        }
+    }
+
+    private void reevaluer(int x, int y) {
+        int i = x * colonnes + y;
+        if (contient(pierres[BLANC], i) || contient(pierres[NOIR], i)) return;
+        for (int c = 0; c < 2; c++) {
+            if (completeAlignement(x, y, c)) ajouterMenace(i, c);
+            else retirerMenace(i, c);
+        }
+    }
+
+    private boolean completeAlignement(int x, int y, int couleur) {
+        for (int[] d : DIRECTIONS) {
+            if (1 + suite(x, y, -d[0], -d[1], couleur) + suite(x, y, d[0], d[1], couleur) >= longueur) return true;
+        }
+        return false;
+    }
+
+    private void ajouterMenace(int i, int couleur) {
+        long[] bits = menaces[couleur];
+        if ((bits[i >>> 6] & (1L << i)) == 0) {
+            bits[i >>> 6] |= 1L << i;
+            nombreMenaces[couleur]++;
+        }
+    }
+
+    private void retirerMenace(int i, int couleur) {
+        long[] bits = menaces[couleur];
+        if ((bits[i >>> 6] & (1L << i)) != 0) {
+            bits[i >>> 6] &= ~(1L << i);
+            nombreMenaces[couleur]--;
+        }
+    }
+
+    /** Vide la grille. */
+    public void vider() {
+        for (int c = 0; c < 2; c++) {
+            Arrays.fill(pierres[c], 0L);
+            Arrays.fill(menaces[c], 0L);
+            nombreMenaces[c] = 0;
+        }
+        alignements.vider();
+        if (longueur == 1) {
+            // Toute case vide est gagnante
+            for (int c = 0; c < 2; c++) {
+                for (int i = 0; i < lignes * colonnes; i++) menaces[c][i >>> 6] |= 1L << i;
+                nombreMenaces[c] = lignes * colonnes;
+            }
+        }
+    }
+
+    // --- ÉTAT ---
+
+    /** @return {@link #BLANC}, {@link #NOIR}, ou -1 si la case est vide */
+    public int getCouleur(int x, int y) {
+        int i = x * colonnes + y;
+        if (contient(pierres[BLANC], i)) return BLANC;
+        if (contient(pierres[NOIR], i)) return NOIR;
+        return -1;
+    }
+
+    /** @return true si poser une pierre de la couleur en (x, y) gagnerait immédiatement */
+    public boolean estMenace(int x, int y, int couleur) {
+        return contient(menaces[couleur], x * colonnes + y);
+    }
+
+    /** @return nombre de cases où la couleur gagnerait en un coup */
+    public int getNombreMenaces(int couleur) {
+        return nombreMenaces[couleur];
+    }
+
+    /**
+     * @param couleur couleur dont on cherche un coup gagnant
+     * @return indice ({@code x * colonnes + y}) d'une case gagnante, ou -1 s'il n'y en a pas
+     */
+    public int premiereMenace(int couleur) {
+        long[] bits = menaces[couleur];
+        for (int m = 0; m < bits.length; m++) {
+            if (bits[m] != 0) return (m << 6) + Long.numberOfTrailingZeros(bits[m]);
+        }
+        return -1;
+    }
+
+    /** @return true si un alignement de k pierres a été formé */
+    public boolean estGagne() {
+        return alignements.estGagne();
+    }
+
+    /** @return {@link #BLANC} ou {@link #NOIR} si la partie est gagnée, -1 sinon */
+    public int getCouleurGagnante() {
+        return alignements.getCouleurGagnante();
+    }
+
+    /** @return true si toutes les cases sont occupées */
+    public boolean estPlein() {
+        return alignements.estPlein();
+    }
+
+    public int getNombrePierres() {
+        return alignements.getNombrePierres();
+    }
+
+    public int getLignes() {
+        return lignes;
+    }
+
+    public int getColonnes() {
+        return colonnes;
+    }
+
+    public int getLongueur() {
+        return longueur;
+    }
+
+    /**
+     * Marque les cases de l'alignement gagnant, prolongé des pierres contiguës de la même couleur
+     * (un alignement de plus de k pierres est marqué en entier). Ne fait rien sans alignement.
+     * @param cases tableau [lignes][colonnes] des cellules gagnantes
+     */
+    public void marquer(boolean[][] cases) {
+        int[] ligne = alignements.getLigneGagnante();
+        if (ligne == null) return;
+        int x = ligne[0] / colonnes, y = ligne[0] % colonnes;
+        if (longueur == 1) {
+            cases[x][y] = true;
+            return;
+        }
+        int couleur = alignements.getCouleurGagnante();
+        int dx = ligne[1] / colonnes - x, dy = ligne[1] % colonnes - y;
+        int avant = suite(x, y, -dx, -dy, couleur);
+        int apres = suite(x + (longueur - 1) * dx, y + (longueur - 1) * dy, dx, dy, couleur);
+        for (int s = -avant; s < longueur + apres; s++) {
+            cases[x + s * dx][y + s * dy] = true;
+        }
+    }
+}
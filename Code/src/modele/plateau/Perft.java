@@ -0,0 +1,138 @@
+package modele.plateau;
+
+import modele.jeu.Move;
+import modele.jeu.MoveList;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compteur perft : nombre de positions feuilles atteignables en exactement N demi-coups.
+ * <p>
+ * Sert à la fois d'oracle de correction pour le générateur de coups (les valeurs des positions
+ * de référence sont connues) et de mesure de débit (nœuds par seconde). Une liste de coups est
+ * préallouée par profondeur : le parcours n'alloue rien.
+ * </p>
+ */
+public class Perft {
+
+    /**
+     * Position de référence avec le nombre de feuilles attendu aux profondeurs 1, 2, 3...
+     */
+    public static final class Reference {
+        private final String nom;
+        private final String fen;
+        private final long[] noeuds;
+
+        Reference(String nom, String fen, long... noeuds) {
+            this.nom = nom;
+            this.fen = fen;
+            this.noeuds = noeuds;
+        }
+
+        public String getNom() {
+            return nom;
+        }
+
+        public String getFen() {
+            return fen;
+        }
+
+        /**
+         * @return profondeur maximale renseignée
+         */
+        public int getProfondeurMax() {
+            return noeuds.length;
+        }
+
+        /**
+         * @param profondeur profondeur entre 1 et {@link #getProfondeurMax()}
+         * @return nombre de feuilles attendu
+         */
+        public long getNoeuds(int profondeur) {
+            return noeuds[profondeur - 1];
+        }
+    }
+
+    /** Positions de référence classiques (initiale, Kiwipete et positions 3 à 6 du wiki de programmation d'échecs). */
+    public static final Reference[] REFERENCES = {
+            new Reference("Initiale", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                    20, 400, 8902, 197281, 4865609),
+            new Reference("Kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2039, 97862, 4085603),
+            new Reference("Position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2812, 43238, 674624),
+            new Reference("Position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9467, 422333),
+            new Reference("Position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1486, 62379, 2103487),
+            new Reference("Position 6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2079, 89890, 3894594),
+    };
+
+    private final BitboardPosition position;
+    private MoveList[] listes = new MoveList[0];
+
+    /**
+     * @param position position explorée (modifiée pendant le calcul puis restaurée)
+     */
+    public Perft(BitboardPosition position) {
+        this.position = position;
+    }
+
+    /**
+     * Compte les feuilles de l'arbre des coups légaux à la profondeur donnée.
+     * @param profondeur nombre de demi-coups (0 compte la position elle-même)
+     * @return nombre de feuilles
+     */
+    public long compter(int profondeur) {
+        preparer(profondeur);
+        return perft(profondeur);
+    }
+
+    /**
+     * Mode « divide » : nombre de feuilles sous chaque coup légal de la position.
+     * La somme des valeurs est égale à {@link #compter(int)}.
+     * @param profondeur profondeur totale (au moins 1)
+     * @return nombre de feuilles par coup, en notation coordonnée (ex. « e2e4 »)
+     */
+    public Map<String, Long> diviser(int profondeur) {
+        preparer(profondeur);
+        Map<String, Long> resultat = new LinkedHashMap<>();
+        MoveList coups = new MoveList();
+        position.genererCoupsLegaux(coups);
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = coups.get(i);
+            position.makeMove(m);
+            resultat.put(Move.versTexte(m), perft(profondeur - 1));
+            position.unmakeMove();
+        }
+        return resultat;
+    }
+
+    private void preparer(int profondeur) {
+        if (listes.length < profondeur) {
+            listes = new MoveList[profondeur];
+            for (int i = 0; i < profondeur; i++) listes[i] = new MoveList();
+        }
+    }
+
+    private long perft(int profondeur) {
+        if (profondeur == 0) return 1;
+        MoveList coups = listes[profondeur - 1];
+        position.genererCoups(coups);
+        long total = 0;
+        for (int i = 0; i < coups.taille(); i++) {
+            int m = coups.get(i);
+            if (!position.estLegal(m)) continue;
+            if (profondeur == 1) {
+                total++;
+            } else {
+                position.makeMove(m);
+                total += perft(profondeur - 1);
+                position.unmakeMove();
+            }
+        }
+        return total;
+    }
+}
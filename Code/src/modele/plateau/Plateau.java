@@ -1,26 +1,40 @@
 package modele.plateau;
 
+import modele.jeu.Piece;
+
 import java.util.Observable;
 
 
 /**
  * Représente le plateau de jeu et fournit des utilitaires d’accès aux cases.
  * <p>
- * Le plateau est stocké sous forme de matrice statique de {@link Case}. Cette classe
- * expose des méthodes pour vérifier les limites et récupérer des cases relatives.
+ * Le plateau est stocké sous forme de matrice de {@link Case} propre à chaque instance, ce qui
+ * permet de faire tourner plusieurs parties dans la même JVM. Cette classe expose des méthodes
+ * pour vérifier les limites et récupérer des cases relatives.
+ * </p>
+ * <p>
+ * En parallèle des cases, le plateau tient une vue compacte : un tableau d'octets donnant le
+ * code de la pièce de chaque case ({@link Piece#getCode()}, {@link Piece#VIDE} si la case est
+ * vide), mis à jour à chaque {@link Case#setPiece}. La case {@code (x, y, z)} y a l'indice
+ * {@code (x * sizeY + y) * sizeZ + z}, soit {@code x * sizeY + y} en 2D.
  * </p>
  */
 public class Plateau extends Observable {
 
-    private static Case[][][] cases3D; // Pour jeux 3D
-    private static Case[][] cases;     // Pour jeux 2D (compatibilité)
-    private static int lignes;
-    private static int colonnes;
-    private static int couches; // Nombre de couches (dimension Z)
-    private static int sizeX;
-    private static int sizeY;
-    private static int sizeZ;
-    private static boolean is3D = false;
+    private Case[][][] cases3D; // Pour jeux 3D
+    private Case[][] cases;     // Pour jeux 2D (compatibilité)
+    private final int lignes;
+    private final int colonnes;
+    private final int couches; // Nombre de couches (dimension Z)
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final boolean is3D;
+    /** Code de la pièce de chaque case, à l'indice {@link #indice(int, int, int)}. */
+    private final byte[] codes;
+
+    /** Position bitboard attachée par le jeu d'échecs (null pour les autres jeux). */
+    private BitboardPosition position;
 
     /**
      * Construit un plateau rectangulaire 2D et initialise toutes les cases.
@@ -28,19 +42,25 @@ public class Plateau extends Observable {
      * @param colonnes nombre de colonnes (axe Y)
      */
     public Plateau(int lignes, int colonnes) {
-        Plateau.lignes = lignes;
-        Plateau.colonnes = colonnes;
-        Plateau.couches = 1;
-        Plateau.sizeX = lignes;
-        Plateau.sizeY = colonnes;
-        Plateau.sizeZ = 1;
-        Plateau.is3D = false;
-        Plateau.cases = new Case[lignes][colonnes];
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.couches = 1;
+        this.sizeX = lignes;
+        this.sizeY = colonnes;
+        this.sizeZ = 1;
+        this.is3D = false;
+        this.cases = new Case[lignes][colonnes];
 
         // Initialisation effective de chaque case
         for (int x = 0; x < lignes; x++) {
             for (int y = 0; y < colonnes; y++) {
-                Plateau.cases[x][y] = new Case(x, y);
+                this.cases[x][y] = new Case(x, y);
+            }
+        }
+        this.codes = new byte[lignes * colonnes];
+        for (int x = 0; x < lignes; x++) {
+            for (int y = 0; y < colonnes; y++) {
+                this.cases[x][y].attacher(codes, indice(x, y, 0));
             }
         }
     }
@@ -52,23 +72,60 @@ public class Plateau extends Observable {
      * @param couches nombre de couches (axe Z)
      */
     public Plateau(int lignes, int colonnes, int couches) {
-        Plateau.lignes = lignes;
-        Plateau.colonnes = colonnes;
-        Plateau.couches = couches;
-        Plateau.sizeX = lignes;
-        Plateau.sizeY = colonnes;
-        Plateau.sizeZ = couches;
-        Plateau.is3D = true;
-        Plateau.cases3D = new Case[lignes][colonnes][couches];
+        this.lignes = lignes;
+        this.colonnes = colonnes;
+        this.couches = couches;
+        this.sizeX = lignes;
+        this.sizeY = colonnes;
+        this.sizeZ = couches;
+        this.is3D = true;
+        this.cases3D = new Case[lignes][colonnes][couches];
 
         // Initialisation effective de chaque case 3D
         for (int x = 0; x < lignes; x++) {
             for (int y = 0; y < colonnes; y++) {
                 for (int z = 0; z < couches; z++) {
-                    Plateau.cases3D[x][y][z] = new Case(x, y, z);
+                    this.cases3D[x][y][z] = new Case(x, y, z);
                 }
             }
         }
+        this.codes = new byte[lignes * colonnes * couches];
+        for (int x = 0; x < lignes; x++) {
+            for (int y = 0; y < colonnes; y++) {
+                for (int z = 0; z < couches; z++) {
+                    this.cases3D[x][y][z].attacher(codes, indice(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Indice d'une case dans la vue compacte {@link #getCodes()}.
+     * @param x ligne
+     * @param y colonne
+     * @param z couche (0 en 2D)
+     * @return {@code (x * sizeY + y) * sizeZ + z}
+     */
+    public int indice(int x, int y, int z) {
+        return (x * sizeY + y) * sizeZ + z;
+    }
+
+    /**
+     * Vue compacte du plateau : code de la pièce de chaque case, à lire sans la modifier.
+     * @return tableau partagé, mis à jour à chaque pose ou retrait de pièce
+     */
+    public byte[] getCodes() {
+        return codes;
+    }
+
+    /**
+     * Code de la pièce d'une case 2D.
+     * @param x ligne
+     * @param y colonne
+     * @return code de la pièce ({@link Piece#getCode()}) ou {@link Piece#VIDE}
+     */
+    public byte getCode(int x, int y) {
+        return codes[x * sizeY + y];
     }
 
     /**
@@ -77,7 +134,7 @@ public class Plateau extends Observable {
      * @param y colonne visée
      * @return true si (x,y) est une case valide, false sinon
      */
-    public static boolean estDansLimites(int x, int y) {
+    public boolean estDansLimites(int x, int y) {
         return x >= 0 && x < sizeX && y >= 0 && y < sizeY;
     }
 
@@ -88,7 +145,7 @@ public class Plateau extends Observable {
      * @param colonne index de colonne (y)
      * @return la case existante ou null si invalide
      */
-    public static Case getCase(int ligne, int colonne) {
+    public Case getCase(int ligne, int colonne) {
         if (ligne < 0 || ligne >= lignes || colonne < 0 || colonne >= colonnes) {
             return null;
         }
@@ -102,7 +159,7 @@ public class Plateau extends Observable {
      * @param couche index de couche (z)
      * @return la case existante ou null si invalide
      */
-    public static Case getCase(int ligne, int colonne, int couche) {
+    public Case getCase(int ligne, int colonne, int couche) {
         if (!is3D) {
             return null; // Pas de plateau 3D initialisé
         }
@@ -120,9 +177,20 @@ public class Plateau extends Observable {
      * @param motifDep déplacement relatif {dx, dy}
      * @return la case atteinte si valide, sinon null
      */
-    public static Case getCasePR(Case c, int[] motifDep) {
-        int newX = c.getPosX() + motifDep[0];
-        int newY = c.getPosY() + motifDep[1];
+    public Case getCasePR(Case c, int[] motifDep) {
+        return getCasePR(c, motifDep[0], motifDep[1]);
+    }
+
+    /**
+     * Retourne la case atteinte depuis c par le déplacement (dx, dy), sans allouer de motif.
+     * @param c case de départ
+     * @param dx déplacement en ligne
+     * @param dy déplacement en colonne
+     * @return la case atteinte si valide, sinon null
+     */
+    public Case getCasePR(Case c, int dx, int dy) {
+        int newX = c.getPosX() + dx;
+        int newY = c.getPosY() + dy;
 
         if (estDansLimites(newX, newY)) {
             return getCase(newX, newY);
@@ -155,6 +223,22 @@ public class Plateau extends Observable {
         return sizeZ;
     }
 
+    /**
+     * Retourne la position bitboard synchronisée avec ce plateau, si un jeu d'échecs en a attaché une.
+     * @return la position ou null
+     */
+    public BitboardPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * Attache la position bitboard tenue à jour par le jeu d'échecs.
+     * @param position position synchronisée avec les cases de ce plateau
+     */
+    public void setPosition(BitboardPosition position) {
+        this.position = position;
+    }
+
     /**
      * Indique si le plateau est en 3D.
      * @return true si 3D, false si 2D
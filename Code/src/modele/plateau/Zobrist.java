@@ -0,0 +1,54 @@
+package modele.plateau;
+
+/**
+ * Clés aléatoires de hachage de Zobrist pour les positions d'échecs.
+ * <p>
+ * La clé d'une position est le OU exclusif des clés de chaque pièce sur sa case, des droits
+ * de roque, de la colonne de prise en passant et du trait. Elle se met donc à jour en quelques
+ * OU exclusifs à chaque coup. Les clés sont tirées d'une graine fixe : une même position a la
+ * même clé d'une exécution à l'autre.
+ * </p>
+ */
+public final class Zobrist {
+
+    /** Clé de chaque pièce (code 0 à 11) sur chaque case. */
+    static final long[][] PIECES = new long[12][64];
+    /** Clé de chaque combinaison des quatre droits de roque. */
+    static final long[] ROQUES = new long[16];
+    /** Clé de chaque colonne de prise en passant. */
+    static final long[] EN_PASSANT = new long[8];
+    /** Clé ajoutée lorsque les Noirs ont le trait. */
+    static final long TRAIT_NOIR;
+
+    /** État du générateur pseudo-aléatoire (graine fixe). */
+    private static long etat = 0x9E3779B97F4A7C15L;
+
+    static {
+        for (long[] cles : PIECES) {
+            for (int sq = 0; sq < 64; sq++) cles[sq] = suivant();
+        }
+        for (int i = 1; i < 16; i++) ROQUES[i] = suivant();
+        for (int i = 0; i < 8; i++) EN_PASSANT[i] = suivant();
+        TRAIT_NOIR = suivant();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Clé associée à une case de prise en passant.
+     * @param sq case de prise en passant ou {@link BitboardPosition#AUCUNE_CASE}
+     * @return la clé de sa colonne, ou 0 s'il n'y a pas de prise en passant
+     */
+    static long enPassant(int sq) {
+        return sq == BitboardPosition.AUCUNE_CASE ? 0L : EN_PASSANT[sq & 7];
+    }
+
+    /** Générateur xorshift64* : rapide, déterministe et bien réparti. */
+    private static long suivant() {
+        etat ^= etat >>> 12;
+        etat ^= etat << 25;
+        etat ^= etat >>> 27;
+        return etat * 0x2545F4914F6CDD1DL;
+    }
+}
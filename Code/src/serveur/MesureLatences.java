@@ -0,0 +1,62 @@
+package serveur;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Échantillon circulaire des dernières latences mesurées, sans verrou, dont on tire des centiles.
+ * <p>
+ * Seules les {@code capacite} dernières mesures sont conservées : les centiles décrivent donc
+ * le régime récent du serveur, pour une mémoire constante.
+ * </p>
+ */
+public class MesureLatences {
+
+    private final AtomicLongArray echantillons;
+    private final int masque;
+    private final AtomicLong nombre = new AtomicLong();
+
+    /**
+     * @param capacite nombre de mesures conservées, arrondi à la puissance de deux supérieure
+     */
+    public MesureLatences(int capacite) {
+        int taille = Integer.highestOneBit(Math.max(2, capacite - 1)) << 1;
+        this.echantillons = new AtomicLongArray(taille);
+        this.masque = taille - 1;
+    }
+
+    /**
+     * Enregistre une mesure.
+     * @param nanos latence en nanosecondes
+     */
+    public void enregistrer(long nanos) {
+        echantillons.set((int) (nombre.getAndIncrement() & masque), nanos);
+    }
+
+    /**
+     * @return nombre total de mesures enregistrées depuis la création
+     */
+    public long getNombre() {
+        return nombre.get();
+    }
+
+    /**
+     * Calcule des centiles sur les mesures conservées.
+     * @param centiles centiles voulus, entre 0 et 100 (ex. 50, 99, 99.9)
+     * @return les latences correspondantes en nanosecondes (0 si aucune mesure)
+     */
+    public long[] centiles(double... centiles) {
+        int n = (int) Math.min(nombre.get(), masque + 1L);
+        long[] valeurs = new long[n];
+        for (int i = 0; i < n; i++) valeurs[i] = echantillons.get(i);
+        Arrays.sort(valeurs);
+        long[] resultat = new long[centiles.length];
+        if (n == 0) return resultat;
+        for (int i = 0; i < centiles.length; i++) {
+            int rang = (int) Math.ceil(centiles[i] / 100.0 * n) - 1;
+            resultat[i] = valeurs[Math.max(0, Math.min(n - 1, rang))];
+        }
+        return resultat;
+    }
+}
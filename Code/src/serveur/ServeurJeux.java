@@ -0,0 +1,292 @@
+package serveur;
+
+import modele.archive.EcrivainArchive;
+import modele.jeu.Jeu;
+import modele.jeu.Joueur;
+import modele.jeu.Piece;
+import modele.plateau.Plateau;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Serveur sans interface hébergeant un grand nombre de parties simultanées.
+ * <p>
+ * Chaque partie est une {@link Session} identifiée par un id et créée sans thread dédié. Les
+ * opérations (coup, état, fermeture) sont déposées dans la boîte aux lettres de la session puis
+ * exécutées par un petit groupe de threads partagé, à la manière d'une boucle d'événements :
+ * une session inactive ne coûte aucun thread, et au plus {@link #TAILLE_LOT} opérations d'une
+ * même session s'enchaînent avant de laisser la place aux autres. Les sessions inactives depuis
+ * plus du délai configuré sont fermées automatiquement.
+ * </p>
+ * <p>
+ * L'API Java est asynchrone ({@link CompletableFuture}) ; {@link ServeurSocket} l'expose par un
+ * protocole texte local.
+ * </p>
+ */
+public class ServeurJeux implements AutoCloseable {
+
+    /** Nombre maximal d'opérations en attente par session (au-delà, l'opération est refusée). */
+    public static final int CAPACITE_BOITE = 64;
+    /** Nombre maximal d'opérations d'une session traitées d'affilée par un thread. */
+    public static final int TAILLE_LOT = 16;
+    /** Délai d'inactivité par défaut avant fermeture d'une session, en millisecondes. */
+    public static final long DELAI_INACTIVITE_DEFAUT_MS = 10 * 60 * 1000L;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong prochainId = new AtomicLong(1);
+    private final ExecutorService executeur;
+    private final ScheduledExecutorService nettoyeur;
+    private final long delaiInactiviteNs;
+    private final MesureLatences latences = new MesureLatences(1 << 16);
+    private final LongAdder coupsJoues = new LongAdder();
+    private final LongAdder sessionsExpirees = new LongAdder();
+    private final LongAdder echecsArchive = new LongAdder();
+    private volatile boolean ferme;
+    /** Archive recevant chaque partie terminée, ou null. */
+    private volatile EcrivainArchive archive;
+
+    /**
+     * Serveur avec un thread par cœur et le délai d'inactivité par défaut.
+     */
+    public ServeurJeux() {
+        this(Runtime.getRuntime().availableProcessors(), DELAI_INACTIVITE_DEFAUT_MS);
+    }
+
+    /**
+     * @param nombreThreads nombre de threads exécutant les opérations des sessions (au moins 1)
+     * @param delaiInactiviteMs durée sans opération au bout de laquelle une session est fermée
+     */
+    public ServeurJeux(int nombreThreads, long delaiInactiviteMs) {
+        this.executeur = Executors.newFixedThreadPool(Math.max(1, nombreThreads), fabrique("serveur-jeux"));
+        this.nettoyeur = Executors.newSingleThreadScheduledExecutor(fabrique("serveur-nettoyage"));
+        this.delaiInactiviteNs = TimeUnit.MILLISECONDS.toNanos(delaiInactiviteMs);
+        long periode = Math.max(10, Math.min(delaiInactiviteMs / 2, 60_000));
+        nettoyeur.scheduleWithFixedDelay(this::fermerSessionsInactives, periode, periode, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory fabrique(String nom) {
+        AtomicInteger numero = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, nom + "-" + numero.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // --- API ---
+
+    /**
+     * Ouvre une nouvelle partie.
+     * @param type jeu à héberger
+     * @return l'id de la session
+     */
+    public String creer(TypeJeu type) {
+        if (ferme) throw new IllegalStateException("Serveur fermé");
+        String id = Long.toString(prochainId.getAndIncrement());
+        sessions.put(id, new Session(id, type, CAPACITE_BOITE));
+        return id;
+    }
+
+    /**
+     * Joue un coup pour le joueur dont c'est le tour.
+     * @param id id de la session
+     * @param coup coup dans la notation du jeu (voir {@link TypeJeu})
+     * @return true si le coup a été joué, false s'il a été refusé par les règles ; échoue si la
+     *         session est inconnue, la notation invalide, la partie terminée ou la boîte pleine
+     */
+    public CompletableFuture<Boolean> jouer(String id, String coup) {
+        long debut = System.nanoTime();
+        Session session = session(id);
+        return soumettre(session, () -> {
+            Jeu jeu = session.getJeu();
+            if (jeu.estTermine()) {
+                throw new IllegalStateException("Partie terminée : " + id);
+            }
+            boolean joue = jeu.jouerPartie(session.getType().lireCoup(jeu.getPlateau(), coup));
+            if (joue) {
+                coupsJoues.increment();
+                EcrivainArchive a = archive;
+                if (a != null && jeu.estTermine()) archiver(a, jeu, id);
+            }
+            latences.enregistrer(System.nanoTime() - debut);
+            return joue;
+        });
+    }
+
+    /**
+     * Enregistre désormais chaque partie terminée dans une archive (journal des parties du serveur).
+     * L'archive reste à fermer par l'appelant, après {@link #close()}.
+     * @param archive archive partagée par toutes les sessions, ou null pour ne plus enregistrer
+     */
+    public void setArchive(EcrivainArchive archive) {
+        this.archive = archive;
+    }
+
+    /** Un échec d'écriture ne remet pas en cause le coup, déjà joué : il est compté et signalé. */
+    private void archiver(EcrivainArchive archive, Jeu jeu, String id) {
+        try {
+            archive.ajouter(jeu);
+        } catch (IOException e) {
+            echecsArchive.increment();
+            System.err.println("Archivage de la session " + id + " impossible : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Décrit l'état de la partie sur une ligne : {@code type=… trait=… termine=… gagnant=… plateau=…}.
+     * Le plateau liste les lignes séparées par « / » (et les couches par « | ») avec « . » pour une
+     * case vide, « X »/« O » pour les pions blancs/noirs et les lettres FEN pour les échecs.
+     * @param id id de la session
+     * @return l'état de la partie
+     */
+    public CompletableFuture<String> etat(String id) {
+        Session session = session(id);
+        return soumettre(session, () -> decrire(session));
+    }
+
+    /**
+     * Ferme une session ; les opérations encore en attente échouent.
+     * @param id id de la session
+     * @return true si la session existait
+     */
+    public boolean fermer(String id) {
+        Session session = sessions.remove(id);
+        if (session == null) return false;
+        session.fermer();
+        return true;
+    }
+
+    /**
+     * @return nombre de sessions ouvertes
+     */
+    public int getNombreSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * @return sessions ouvertes, coups joués et centiles de latence des coups
+     */
+    public StatistiquesServeur getStatistiques() {
+        return new StatistiquesServeur(sessions.size(), Runtime.getRuntime().availableProcessors(),
+                coupsJoues.sum(), sessionsExpirees.sum(), echecsArchive.sum(), latences.centiles(50, 90, 99, 100));
+    }
+
+    /**
+     * Ferme toutes les sessions puis arrête les threads du serveur : les opérations en attente
+     * échouent, si bien qu'aucun appelant ne reste bloqué sur leur résultat.
+     */
+    @Override
+    public void close() {
+        ferme = true;
+        nettoyeur.shutdownNow();
+        sessions.values().removeIf(session -> {
+            session.fermer();
+            return true;
+        });
+        executeur.shutdown();
+    }
+
+    // --- BOÎTES AUX LETTRES ---
+
+    private Session session(String id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            throw new IllegalArgumentException("Session inconnue : " + id);
+        }
+        session.toucher();
+        return session;
+    }
+
+    private <T> CompletableFuture<T> soumettre(Session session, Supplier<T> action) {
+        Session.Operation<T> operation = new Session.Operation<>(session, action);
+        if (!session.boite.offer(operation)) {
+            operation.resultat.completeExceptionally(
+                    new IllegalStateException("Trop d'opérations en attente pour la session " + session.getId()));
+            return operation.resultat;
+        }
+        planifier(session);
+        return operation.resultat;
+    }
+
+    private void planifier(Session session) {
+        if (session.planifiee.compareAndSet(false, true)) {
+            try {
+                executeur.execute(() -> vider(session));
+            } catch (RejectedExecutionException e) {
+                // Serveur arrêté : plus aucun thread ne videra la boîte
+                session.planifiee.set(false);
+                session.fermer();
+            }
+        }
+    }
+
+    private void vider(Session session) {
+        Runnable operation;
+        for (int n = 0; n < TAILLE_LOT && (operation = session.boite.poll()) != null; n++) {
+            operation.run();
+        }
+        session.planifiee.set(false);
+        // Une opération déposée pendant la remise à false n'a pas pu planifier de vidage
+        if (!session.boite.isEmpty()) planifier(session);
+    }
+
+    private void fermerSessionsInactives() {
+        long maintenant = System.nanoTime();
+        sessions.values().removeIf(session -> {
+            if (maintenant - session.getDerniereActivite() < delaiInactiviteNs) return false;
+            session.fermer();
+            sessionsExpirees.increment();
+            return true;
+        });
+    }
+
+    // --- ÉTAT ---
+
+    private static String decrire(Session session) {
+        Jeu jeu = session.getJeu();
+        boolean termine = jeu.estTermine();
+        Joueur gagnant = jeu.getGagnant();
+        StringBuilder sb = new StringBuilder();
+        sb.append("type=").append(session.getType())
+                .append(" trait=").append(jeu.getJoueurCourant().getCouleur())
+                .append(" termine=").append(termine)
+                .append(" gagnant=").append(!termine ? "-" : gagnant == null ? "NUL" : gagnant.getCouleur())
+                .append(" plateau=");
+
+        Plateau p = jeu.getPlateau();
+        byte[] codes = p.getCodes();
+        for (int z = 0; z < p.getSizeZ(); z++) {
+            if (z > 0) sb.append('|');
+            for (int x = 0; x < p.getSizeX(); x++) {
+                if (x > 0) sb.append('/');
+                for (int y = 0; y < p.getSizeY(); y++) {
+                    sb.append(symbole(codes[p.indice(x, y, z)]));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static char symbole(byte code) {
+        if (code == Piece.VIDE) return '.';
+        int blanc = Joueur.Couleur.BLANC.ordinal();
+        if (Piece.typeDe(code) == Piece.Type.PIERRE) {
+            return Piece.couleurDe(code) == blanc ? 'X' : 'O';
+        }
+        char lettre = "PNBRQK".charAt(Piece.typeDe(code).ordinal());
+        return Piece.couleurDe(code) == blanc ? lettre : Character.toLowerCase(lettre);
+    }
+}
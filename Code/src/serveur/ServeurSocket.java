@@ -0,0 +1,141 @@
+package serveur;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Protocole texte local (une commande par ligne, une réponse par ligne) au-dessus d'un {@link ServeurJeux}.
+ * <pre>
+ * CREATE &lt;tictactoe|puissance4|tictactoe3d|echecs&gt;  →  OK &lt;id&gt;
+ * MOVE &lt;id&gt; &lt;coup&gt;                               →  OK | REFUSE
+ * STATE &lt;id&gt;                                      →  OK type=… trait=… termine=… gagnant=… plateau=…
+ * CLOSE &lt;id&gt;                                      →  OK
+ * STATS                                           →  OK sessions=… p50=… p99=…
+ * QUIT                                            →  BYE (ferme la connexion)
+ * </pre>
+ * Toute erreur est renvoyée sous la forme {@code ERR <message>}. Le serveur n'écoute que sur
+ * l'adresse de bouclage ; chaque connexion est servie par son propre thread, les parties restant
+ * exécutées par le {@link ServeurJeux}.
+ */
+public class ServeurSocket implements AutoCloseable {
+
+    private final ServeurJeux serveur;
+    private final ServerSocket socket;
+
+    /**
+     * Ouvre le port d'écoute et commence à accepter les connexions.
+     * @param serveur serveur de parties à exposer
+     * @param port port local (0 pour un port libre quelconque)
+     * @throws IOException si le port ne peut pas être ouvert
+     */
+    public ServeurSocket(ServeurJeux serveur, int port) throws IOException {
+        this.serveur = serveur;
+        this.socket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread accepteur = new Thread(this::accepter, "serveur-socket");
+        accepteur.setDaemon(true);
+        accepteur.start();
+    }
+
+    /**
+     * @return port effectivement ouvert
+     */
+    public int getPort() {
+        return socket.getLocalPort();
+    }
+
+    private void accepter() {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                Thread t = new Thread(() -> servir(client), "serveur-client");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (!socket.isClosed()) e.printStackTrace();
+            }
+        }
+    }
+
+    private void servir(Socket client) {
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+            String ligne;
+            while ((ligne = in.readLine()) != null) {
+                if (ligne.trim().equalsIgnoreCase("QUIT")) {
+                    out.write("BYE\n");
+                    out.flush();
+                    return;
+                }
+                out.write(traiter(ligne));
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Connexion interrompue par le client
+        }
+    }
+
+    /**
+     * Exécute une commande du protocole.
+     * @param ligne commande reçue
+     * @return la réponse, sans fin de ligne
+     */
+    public String traiter(String ligne) {
+        String[] champs = ligne.trim().split("\\s+", 3);
+        try {
+            switch (champs[0].toUpperCase()) {
+                case "CREATE":
+                    return "OK " + serveur.creer(TypeJeu.depuisNom(argument(champs, 1)));
+                case "MOVE":
+                    return attendre(serveur.jouer(argument(champs, 1), argument(champs, 2))) ? "OK" : "REFUSE";
+                case "STATE":
+                    return "OK " + attendre(serveur.etat(argument(champs, 1)));
+                case "CLOSE":
+                    return serveur.fermer(argument(champs, 1)) ? "OK" : "ERR Session inconnue";
+                case "STATS":
+                    return "OK " + serveur.getStatistiques();
+                default:
+                    return "ERR Commande inconnue : " + champs[0];
+            }
+        } catch (RuntimeException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    private static String argument(String[] champs, int i) {
+        if (champs.length <= i) throw new IllegalArgumentException("Argument manquant");
+        return champs[i];
+    }
+
+    private static <T> T attendre(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompu", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException r) throw r;
+            throw new CompletionException(cause);
+        }
+    }
+
+    /**
+     * Cesse d'accepter de nouvelles connexions.
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,104 @@
+package serveur;
+
+import modele.jeu.Jeu;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Partie hébergée par le {@link ServeurJeux}.
+ * <p>
+ * Les opérations sur la partie sont déposées dans une boîte aux lettres bornée et exécutées une à
+ * une par les threads du serveur : une session n'occupe un thread que lorsqu'elle a du travail, et
+ * jamais deux threads à la fois, ce qui dispense {@link Jeu} de toute synchronisation.
+ * </p>
+ */
+public class Session {
+
+    private final String id;
+    private final TypeJeu type;
+    private final Jeu jeu;
+    final BlockingQueue<Runnable> boite;
+    /** Vrai tant qu'une tâche de vidage de la boîte est planifiée ou en cours. */
+    final AtomicBoolean planifiee = new AtomicBoolean();
+    private volatile long derniereActivite = System.nanoTime();
+    private volatile boolean fermee;
+
+    Session(String id, TypeJeu type, int capaciteBoite) {
+        this.id = id;
+        this.type = type;
+        this.jeu = type.creerPartie();
+        this.boite = new LinkedBlockingQueue<>(capaciteBoite);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public TypeJeu getType() {
+        return type;
+    }
+
+    /**
+     * Partie hébergée ; à ne manipuler que depuis une opération soumise au serveur.
+     * @return la partie
+     */
+    public Jeu getJeu() {
+        return jeu;
+    }
+
+    /**
+     * @return instant ({@link System#nanoTime()}) de la dernière opération reçue
+     */
+    public long getDerniereActivite() {
+        return derniereActivite;
+    }
+
+    public boolean estFermee() {
+        return fermee;
+    }
+
+    void toucher() {
+        derniereActivite = System.nanoTime();
+    }
+
+    /**
+     * Ferme la session et fait échouer sans attendre les opérations encore dans la boîte ; une
+     * opération prise au même moment par un thread du serveur échoue de même à son exécution.
+     */
+    void fermer() {
+        fermee = true;
+        Runnable operation;
+        while ((operation = boite.poll()) != null) operation.run();
+    }
+
+    /**
+     * Opération en attente dans la boîte aux lettres ; elle échoue si la session a été fermée entre-temps.
+     */
+    static final class Operation<T> implements Runnable {
+        private final Session session;
+        private final Supplier<T> action;
+        final CompletableFuture<T> resultat = new CompletableFuture<>();
+
+        Operation(Session session, Supplier<T> action) {
+            this.session = session;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            if (session.fermee) {
+                resultat.completeExceptionally(new IllegalStateException("Session fermée : " + session.id));
+                return;
+            }
+            try {
+                resultat.complete(action.get());
+            } catch (RuntimeException e) {
+                resultat.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package serveur;
+
+import java.util.Locale;
+
+/**
+ * Instantané de l'activité d'un {@link ServeurJeux}.
+ */
+public class StatistiquesServeur {
+
+    private final int sessions;
+    private final int coeurs;
+    private final long coupsJoues;
+    private final long sessionsExpirees;
+    private final long echecsArchive;
+    private final long[] latencesNs;
+
+    StatistiquesServeur(int sessions, int coeurs, long coupsJoues, long sessionsExpirees, long echecsArchive,
+                        long[] latencesNs) {
+        this.sessions = sessions;
+        this.coeurs = coeurs;
+        this.coupsJoues = coupsJoues;
+        this.sessionsExpirees = sessionsExpirees;
+        this.echecsArchive = echecsArchive;
+        this.latencesNs = latencesNs;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public int getCoeurs() {
+        return coeurs;
+    }
+
+    /**
+     * @return nombre de sessions ouvertes par cœur disponible
+     */
+    public double getSessionsParCoeur() {
+        return (double) sessions / coeurs;
+    }
+
+    public long getCoupsJoues() {
+        return coupsJoues;
+    }
+
+    /**
+     * @return nombre de sessions fermées pour inactivité depuis le démarrage
+     */
+    public long getSessionsExpirees() {
+        return sessionsExpirees;
+    }
+
+    /**
+     * @return nombre de parties terminées que l'archive n'a pas pu enregistrer
+     */
+    public long getEchecsArchive() {
+        return echecsArchive;
+    }
+
+    /** @return latence médiane d'un coup (dépôt dans la boîte aux lettres compris), en microsecondes */
+    public double getLatenceP50Us() {
+        return latencesNs[0] / 1e3;
+    }
+
+    /** @return 90e centile de la latence d'un coup, en microsecondes */
+    public double getLatenceP90Us() {
+        return latencesNs[1] / 1e3;
+    }
+
+    /** @return 99e centile de la latence d'un coup, en microsecondes */
+    public double getLatenceP99Us() {
+        return latencesNs[2] / 1e3;
+    }
+
+    /** @return latence maximale observée sur l'échantillon, en microsecondes */
+    public double getLatenceMaxUs() {
+        return latencesNs[3] / 1e3;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "sessions=%d coeurs=%d sessionsParCoeur=%.1f coups=%d expirees=%d echecsArchive=%d p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+                sessions, coeurs, getSessionsParCoeur(), coupsJoues, sessionsExpirees, echecsArchive,
+                getLatenceP50Us(), getLatenceP90Us(), getLatenceP99Us(), getLatenceMaxUs());
+    }
+}
@@ -0,0 +1,156 @@
+package serveur;
+
+import modele.jeu.Coup;
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.JeuTicTacToe3D;
+import modele.plateau.Case;
+import modele.plateau.Plateau;
+
+/**
+ * Jeux proposés par le {@link ServeurJeux}, avec la notation texte de leurs coups :
+ * <ul>
+ * <li>TICTACTOE : « ligne colonne » (indices à partir de 0) ;</li>
+ * <li>PUISSANCE4 : « colonne » (indice à partir de 0, le pion tombe) ;</li>
+ * <li>TICTACTOE3D : « ligne colonne couche » ;</li>
+ * <li>GOMOKU : « ligne colonne » sur 15x15, 5 pierres à aligner ;</li>
+ * <li>QUBIC : « ligne colonne couche » sur le cube 4x4x4 ;</li>
+ * <li>ECHECS : notation coordonnée « e2e4 » (une promotion se fait toujours en dame).</li>
+ * </ul>
+ */
+public enum TypeJeu {
+
+    TICTACTOE {
+        @Override
+        public Jeu creerPartie() {
+            return new JeuTicTacToe(new Plateau(3, 3), false);
+        }
+
+        @Override
+        public Coup lireCoup(Plateau plateau, String texte) {
+            int[] v = entiers(texte, 2);
+            return new Coup(null, caseExistante(plateau.getCase(v[0], v[1]), texte));
+        }
+    },
+
+    PUISSANCE4 {
+        @Override
+        public Jeu creerPartie() {
+            return new JeuPuissance4(new Plateau(6, 7), false);
+        }
+
+        @Override
+        public Coup lireCoup(Plateau plateau, String texte) {
+            int[] v = entiers(texte, 1);
+            return new Coup(null, caseExistante(plateau.getCase(0, v[0]), texte));
+        }
+    },
+
+    TICTACTOE3D {
+        @Override
+        public Jeu creerPartie() {
+            return new JeuTicTacToe3D(new Plateau(3, 3, 3), false);
+        }
+
+        @Override
+        public Coup lireCoup(Plateau plateau, String texte) {
+            int[] v = entiers(texte, 3);
+            return new Coup(null, caseExistante(plateau.getCase(v[0], v[1], v[2]), texte));
+        }
+    },
+
+    GOMOKU {
+        @Override
+        public Jeu creerPartie() {
+            return new JeuTicTacToe(new Plateau(15, 15), JeuTicTacToe.LONGUEUR_GOMOKU, false);
+        }
+
+        @Override
+        public Coup lireCoup(Plateau plateau, String texte) {
+            return TICTACTOE.lireCoup(plateau, texte);
+        }
+    },
+
+    QUBIC {
+        @Override
+        public Jeu creerPartie() {
+            return new JeuTicTacToe3D(new Plateau(4, 4, 4), false);
+        }
+
+        @Override
+        public Coup lireCoup(Plateau plateau, String texte) {
+            return TICTACTOE3D.lireCoup(plateau, texte);
+        }
+    },
+
+    ECHECS {
+        @Override
+        public Jeu creerPartie() {
+            return new JeuEchec(new Plateau(8, 8), false);
+        }
+
+        @Override
+        public Coup lireCoup(Plateau plateau, String texte) {
+            String t = texte.trim().toLowerCase();
+            if (t.length() != 4 && t.length() != 5) {
+                throw new IllegalArgumentException("Coup d'échecs attendu (ex. e2e4) : " + texte);
+            }
+            return new Coup(caseEchiquier(plateau, t, 0, texte), caseEchiquier(plateau, t, 2, texte));
+        }
+    };
+
+    /**
+     * Crée une partie hébergée, sans thread dédié.
+     * @return la nouvelle partie, position initiale
+     */
+    public abstract Jeu creerPartie();
+
+    /**
+     * Traduit un coup en notation texte vers les cases du plateau de la partie.
+     * @param plateau plateau de la partie
+     * @param texte coup en notation du jeu
+     * @return le coup à transmettre à {@link Jeu#jouerPartie(Coup)}
+     * @throws IllegalArgumentException si la notation est invalide ou hors du plateau
+     */
+    public abstract Coup lireCoup(Plateau plateau, String texte);
+
+    /**
+     * Retrouve un type de jeu à partir de son nom, sans tenir compte de la casse.
+     * @param nom nom du jeu (ex. « echecs »)
+     * @return le type correspondant
+     * @throws IllegalArgumentException si le nom est inconnu
+     */
+    public static TypeJeu depuisNom(String nom) {
+        for (TypeJeu type : values()) {
+            if (type.name().equalsIgnoreCase(nom.trim())) return type;
+        }
+        throw new IllegalArgumentException("Jeu inconnu : " + nom);
+    }
+
+    private static int[] entiers(String texte, int nombre) {
+        String[] champs = texte.trim().split("[\\s,]+");
+        if (champs.length != nombre) {
+            throw new IllegalArgumentException("Coup invalide (" + nombre + " entier(s) attendu(s)) : " + texte);
+        }
+        int[] valeurs = new int[nombre];
+        try {
+            for (int i = 0; i < nombre; i++) valeurs[i] = Integer.parseInt(champs[i]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Coup invalide : " + texte, e);
+        }
+        return valeurs;
+    }
+
+    private static Case caseExistante(Case c, String texte) {
+        if (c == null) throw new IllegalArgumentException("Case hors du plateau : " + texte);
+        return c;
+    }
+
+    private static Case caseEchiquier(Plateau plateau, String t, int debut, String texte) {
+        int colonne = t.charAt(debut) - 'a';
+        int ligne = 8 - (t.charAt(debut + 1) - '0');
+        return caseExistante(plateau.getCase(ligne, colonne), texte);
+    }
+}
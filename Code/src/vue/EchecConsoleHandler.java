@@ -67,33 +67,12 @@ public class EchecConsoleHandler implements JeuEventListener {
         for (int x = 0; x < 8; x++) {
             System.out.print((8 - x) + " |"); // Numéro de ligne à gauche
             for (int y = 0; y < 8; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
-                if (piece == null) {
+                byte code = p.getCode(x, y);
+                if (code == Piece.VIDE) {
                     System.out.print(" .");
                 } else {
-                    String nomClasse = piece.getClass().getSimpleName();
-                    char lettre = '?';
-
-                    // Mapping des lettres (Français)
-                    switch (nomClasse) {
-                        case "Roi":      lettre = 'R'; break;
-                        case "Reine":    lettre = 'D'; break; // D pour Dame ! (Crucial)
-                        case "Tour":     lettre = 'T'; break;
-                        case "Fou":      lettre = 'F'; break;
-                        case "Cavalier": lettre = 'C'; break;
-                        case "Pion":     lettre = 'P'; break;
-                        default:
-                            if (nomClasse.length() > 0) lettre = nomClasse.charAt(0);
-                    }
-
-                    // Gestion de la couleur (Majuscule = Blanc, Minuscule = Noir)
-                    if (piece.getCouleur() != null && piece.getCouleur().equalsIgnoreCase("Blanc")) {
-                        lettre = Character.toUpperCase(lettre);
-                    } else {
-                        lettre = Character.toLowerCase(lettre);
-                    }
-
-                    System.out.print(" " + lettre);
+                    // Initiale française (D pour Dame), majuscule pour les Blancs
+                    System.out.print(" " + Piece.lettre(code));
                 }
             }
             System.out.println(" | " + (8 - x)); // Numéro de ligne à droite
@@ -18,8 +18,8 @@ import java.awt.*;
 /**
  * Fenêtre de sélection du jeu.
  * <p>
- * Permet de démarrer une partie de TicTacToe, Puissance 4, TicTacToe 3D (placeholder)
- * ou Échecs via des boutons illustrés.
+ * Permet de démarrer une partie de TicTacToe, Puissance 4, TicTacToe 3D, Échecs
+ * Gomoku (15x15, 5 alignés) ou Qubic (TicTacToe 3D 4x4x4) via des boutons illustrés.
  * </p>
  */
 public class FenetreMenuJeu extends JFrame {
@@ -27,6 +27,8 @@ public class FenetreMenuJeu extends JFrame {
     private JButton btnPuissance4;
     private JButton btnTicTacToe3D;
     private JButton btnEchec;
+    private JButton btnGomoku;
+    private JButton btnQubic;
     
 
     /**
@@ -68,6 +70,15 @@ public class FenetreMenuJeu extends JFrame {
         btnEchec.setContentAreaFilled(false);
         btnEchec.setFocusPainted(false);
 
+        // Pas d'illustration pour le Gomoku : bouton textuel
+        btnGomoku = new JButton("Gomoku 15x15");
+        btnGomoku.setFont(new Font("Arial", Font.BOLD, 28));
+        btnGomoku.setFocusPainted(false);
+
+        btnQubic = new JButton("Qubic 4x4x4");
+        btnQubic.setFont(new Font("Arial", Font.BOLD, 28));
+        btnQubic.setFocusPainted(false);
+
 
         // Configuration de la taille des boutons
         Dimension buttonSize = new Dimension(256, 128);
@@ -75,20 +86,26 @@ public class FenetreMenuJeu extends JFrame {
         btnPuissance4.setPreferredSize(buttonSize);
         btnTicTacToe3D.setPreferredSize(buttonSize);
         btnEchec.setPreferredSize(buttonSize);
+        btnGomoku.setPreferredSize(buttonSize);
+        btnQubic.setPreferredSize(buttonSize);
 
         // Ajout des actions aux boutons
         btnTicTacToe.addActionListener(e -> demarrerTicTacToe());
         btnPuissance4.addActionListener(e -> demarrerPuissance4());
         btnTicTacToe3D.addActionListener(e -> demarrerTicTacToe3D());
         btnEchec.addActionListener(e -> demarrerEchec());
+        btnGomoku.addActionListener(e -> demarrerGomoku());
+        btnQubic.addActionListener(e -> demarrerQubic());
 
-        // Positionnement des boutons en 2x2 centrée
-        JPanel gridPanel = new JPanel(new GridLayout(2, 2, 30, 30));
+        // Positionnement des boutons en grille 3x2 centrée
+        JPanel gridPanel = new JPanel(new GridLayout(3, 2, 30, 30));
         gridPanel.setOpaque(false);
         gridPanel.add(btnTicTacToe);
         gridPanel.add(btnPuissance4);
         gridPanel.add(btnTicTacToe3D);
         gridPanel.add(btnEchec);
+        gridPanel.add(btnGomoku);
+        gridPanel.add(btnQubic);
 
         mainPanel.add(gridPanel, BorderLayout.CENTER);
 
@@ -136,4 +153,24 @@ public class FenetreMenuJeu extends JFrame {
         Jeu jeu = new JeuEchec(plateau);
         new VueEchec(jeu);
     }
+
+    /**
+     * Lance une partie de Gomoku (15x15, 5 pierres à aligner) dans la vue du TicTacToe.
+     */
+    private void demarrerGomoku() {
+        this.dispose(); // Ferme le menu
+        Plateau plateau = new Plateau(15, 15);
+        Jeu jeu = new JeuTicTacToe(plateau, JeuTicTacToe.LONGUEUR_GOMOKU, true);
+        new VueTicTacToe(jeu);
+    }
+
+    /**
+     * Lance une partie de Qubic (cube 4x4x4, 4 pions à aligner) dans la vue du TicTacToe 3D.
+     */
+    private void demarrerQubic() {
+        this.dispose(); // Ferme le menu
+        Plateau plateau = new Plateau(4, 4, 4);
+        JeuTicTacToe3D jeu = new JeuTicTacToe3D(plateau);
+        new VueTicTacToe3D(jeu);
+    }
 }
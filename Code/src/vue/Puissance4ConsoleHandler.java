@@ -72,7 +72,7 @@ public class Puissance4ConsoleHandler implements JeuEventListener {
         for (int x = 0; x < rows; x++) {
             sb.append("| ");
             for (int y = 0; y < cols; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
+                Piece piece = p.getCase(x, y).getPiece();
                 String cell;
                 if (piece == null) {
                     cell = " ";
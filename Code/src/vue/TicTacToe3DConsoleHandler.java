@@ -10,7 +10,7 @@ import modele.plateau.Plateau;
 
 /**
  * Gestionnaire console pour TicTacToe 3D.
- * Affiche 3 grilles 3x3 représentant les 3 couches du cube.
+ * Affiche une grille N x N par couche du cube (3 grilles 3x3, ou 4 grilles 4x4 pour le Qubic).
  */
 public class TicTacToe3DConsoleHandler implements JeuEventListener {
 
@@ -50,19 +50,19 @@ public class TicTacToe3DConsoleHandler implements JeuEventListener {
     }
 
     /**
-     * Convertit une case en notation (a1-a9, b1-b9, c1-c9)
+     * Convertit une case en notation (a1-a9, b1-b9, c1-c9 pour le cube 3x3x3)
      */
     private String getCaseNotation(Case c) {
         int z = c.getPosZ();
         int x = c.getPosX();
         int y = c.getPosY();
         char layer = (char) ('a' + z);
-        int number = x * 3 + y + 1;
+        int number = x * jeu.getPlateau().getSizeY() + y + 1;
         return "" + layer + number;
     }
 
     /**
-     * Affiche les 3 grilles du cube 3D
+     * Affiche les grilles du cube 3D, couche par couche
      */
     private void afficherPlateauAvecTrait() {
         boolean[][][] winning = jeu.getWinningCells3D();
@@ -70,21 +70,21 @@ public class TicTacToe3DConsoleHandler implements JeuEventListener {
         
         sb.append("\n========== TIC-TAC-TOE 3D ==========\n");
         
-        // Afficher les 3 grilles (couches)
-        char[] layers = {'a', 'b', 'c'};
+        // Afficher les n grilles (couches)
+        int n = jeu.getPlateau().getSizeZ();
         
-        for (int z = 0; z < 3; z++) {
-            sb.append("\nGrille ").append(Character.toUpperCase(layers[z])).append(":\n");
-            sb.append("-------------\n");
+        for (int z = 0; z < n; z++) {
+            sb.append("\nGrille ").append((char) ('A' + z)).append(":\n");
+            sb.append("-".repeat(4 * n + 1)).append("\n");
             
-            for (int x = 0; x < 3; x++) {
+            for (int x = 0; x < n; x++) {
                 sb.append("| ");
-                for (int y = 0; y < 3; y++) {
-                    Case currentCase = Plateau.getCase(x, y, z);
+                for (int y = 0; y < n; y++) {
+                    Case currentCase = jeu.getPlateau().getCase(x, y, z);
                     Piece piece = currentCase.getPiece();
                     
                     if (piece == null) {
-                        // Afficher la notation (a1-a9, b1-b9, c1-c9)
+                        // Afficher la notation (a1, b5, d16...)
                         String notation = getCaseNotation(currentCase);
                         sb.append(notation);
                         // Padding pour alignement
@@ -103,14 +103,14 @@ public class TicTacToe3DConsoleHandler implements JeuEventListener {
                         }
                     }
                     
-                    if (y < 2) sb.append("| ");
+                    if (y < n - 1) sb.append("| ");
                 }
                 sb.append("|\n");
                 
-                if (x < 2) {
-                    sb.append("|----|----|----|").append("\n");
+                if (x < n - 1) {
+                    sb.append("|").append("----|".repeat(n)).append("\n");
                 } else {
-                    sb.append("----------------\n");
+                    sb.append("-".repeat(5 * n + 1)).append("\n");
                 }
             }
         }
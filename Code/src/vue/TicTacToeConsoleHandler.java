@@ -19,7 +19,7 @@ public class TicTacToeConsoleHandler implements JeuEventListener {
 
     public TicTacToeConsoleHandler(Jeu jeu) {
         this.jeu = jeu;
-        // AJOUT : On affiche le plateau vide dès le début pour que le joueur voie la grille 1-9
+        // AJOUT : On affiche le plateau vide dès le début pour que le joueur voie les numéros des cases
         afficherPlateauAvecTrait();
     }
 
@@ -56,21 +56,23 @@ public class TicTacToeConsoleHandler implements JeuEventListener {
         int rows = p.getSizeX();
         int cols = p.getSizeY();
         boolean[][] winning = jeu.getWinningCells();
+        // Largeur d'une case : celle du plus grand numéro (1 pour le 3x3 standard)
+        String format = "%" + String.valueOf(rows * cols).length() + "s";
         StringBuilder sb = new StringBuilder();
         int n = 1;
         for (int x = 0; x < rows; x++) {
             sb.append("| ");
             for (int y = 0; y < cols; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
+                Piece piece = p.getCase(x, y).getPiece();
                 if (piece == null) {
-                    sb.append(n);
+                    sb.append(String.format(format, n));
                 } else {
                     boolean isBlanc = piece.getCouleur() != null && piece.getCouleur().toUpperCase().startsWith("BL");
                     String symbol = isBlanc ? "X" : "O";
                     if (winning != null && winning.length == rows && winning[x][y]) {
                         sb.append("(").append(symbol).append(")");
                     } else {
-                        sb.append(symbol);
+                        sb.append(String.format(format, symbol));
                     }
                 }
                 if (y < cols - 1) sb.append(" ");
@@ -7,6 +7,8 @@ import modele.plateau.Plateau;
 import modele.plateau.Case;
 
 // Imports des jeux et modèles spécifiques
+import modele.ia.tictactoe.BaseTicTacToe;
+import modele.ia.tictactoe.JoueurTicTacToeParfait;
 import modele.jeu.JeuTicTacToe;
 import modele.jeu.JeuTicTacToe3D;
 import modele.jeu.JeuPuissance4;
@@ -142,9 +144,13 @@ public class VueConsole implements Runnable {
 
         // Définir l'instruction de saisie adaptée au jeu
         if (jeu instanceof JeuTicTacToe) {
-            instruction = "Entrez le numéro de la case où jouer (1-9) ou 'q' pour quitter :\n";
+            int nombreCases = plateau.getSizeX() * plateau.getSizeY();
+            instruction = "Entrez le numéro de la case où jouer (1-" + nombreCases + ")"
+                    + (JoueurTicTacToeParfait.estCouvert(jeu) ? ", '?' pour un conseil" : "")
+                    + " ou 'q' pour quitter :\n";
         } else if (jeu instanceof JeuTicTacToe3D) {
-            instruction = "Entrez la case où jouer (a1-c9) ou 'q' pour quitter :\n";
+            int n = plateau.getSizeZ();
+            instruction = "Entrez la case où jouer (a1-" + (char) ('a' + n - 1) + (n * n) + ") ou 'q' pour quitter :\n";
         } else if (jeu instanceof JeuPuissance4) {
             instruction = "Entrez le numéro de la colonne où jouer ou 'q' pour quitter :\n";
         } else if (jeu instanceof JeuEchec) {
@@ -162,6 +168,11 @@ public class VueConsole implements Runnable {
                 return null;
             }
 
+            if (input.equals("?") && JoueurTicTacToeParfait.estCouvert(jeu)) {
+                afficherConseilTicTacToe(plateau);
+                continue;
+            }
+
             try {
                 // Délégation du parsing spécifique à chaque jeu
                 if (jeu instanceof JeuTicTacToe) {
@@ -193,25 +204,40 @@ public class VueConsole implements Runnable {
         }
     }
 
+    /**
+     * Affiche le meilleur coup et l'issue théorique de la partie, lus dans la {@link BaseTicTacToe}.
+     *
+     * @param plateau Le plateau 3x3 de la partie.
+     */
+    private void afficherConseilTicTacToe(Plateau plateau) {
+        int indice = BaseTicTacToe.indice(plateau);
+        int conseil = BaseTicTacToe.conseil(plateau);
+        if (conseil < 0) return;
+        String[] issues = {"perdue", "nulle", "gagnée"};
+        System.out.println("Conseil : case " + (conseil + 1) + " (partie " + issues[BaseTicTacToe.valeur(indice) + 1]
+                + " en jeu parfait).");
+    }
+
     /**
      * Interprète une entrée utilisateur pour le Tic-Tac-Toe.
      *
      * @param input La chaîne entrée (ex: "5").
      * @param plateau Le plateau de jeu actuel.
      * @return Un {@link Coup} avec la case d'arrivée correspondante.
-     * @throws IllegalArgumentException Si le numéro est hors limites (1-9) ou la case occupée.
+     * @throws IllegalArgumentException Si le numéro est hors limites (1 à lignes x colonnes) ou la case occupée.
      */
     private Coup parseCoupTicTacToe(String input, Plateau plateau) {
         int caseNum = Integer.parseInt(input);
-        if (caseNum < 1 || caseNum > 9) {
-            throw new IllegalArgumentException("Le numéro de case doit être entre 1 et 9.");
+        int nombreCases = plateau.getSizeX() * plateau.getSizeY();
+        if (caseNum < 1 || caseNum > nombreCases) {
+            throw new IllegalArgumentException("Le numéro de case doit être entre 1 et " + nombreCases + ".");
         }
 
         int indice = caseNum - 1;
         int ligne = indice / plateau.getSizeY();
         int colonne = indice % plateau.getSizeY();
 
-        Case arrivee = Plateau.getCase(ligne, colonne);
+        Case arrivee = plateau.getCase(ligne, colonne);
 
         if (arrivee.getPiece() != null) {
             throw new IllegalArgumentException("Cette case est déjà occupée !");
@@ -224,38 +250,45 @@ public class VueConsole implements Runnable {
     /**
      * Interprète une entrée utilisateur pour le Tic-Tac-Toe 3D.
      *
-     * @param input La chaîne entrée (ex: "a5", "b1", "c9").
+     * @param input La chaîne entrée (ex: "a5", "b1", "c9", "d16" en 4x4x4).
      * @param plateau Le plateau de jeu actuel.
      * @return Un {@link Coup} avec la case d'arrivée correspondante.
      * @throws IllegalArgumentException Si le format est invalide ou la case occupée.
      */
     private Coup parseCoupTicTacToe3D(String input, Plateau plateau) {
+        int n = plateau.getSizeZ();
+        char derniereCouche = (char) ('a' + n - 1);
+
         // Valider le format
-        if (input.length() < 2 || input.length() > 2) {
-            throw new IllegalArgumentException("Format invalide. Utilisez: a1-a9, b1-b9, ou c1-c9");
+        if (input.length() < 2) {
+            throw new IllegalArgumentException("Format invalide. Utilisez: a1 à " + derniereCouche + (n * n));
         }
         
         char layer = input.charAt(0);
-        char numChar = input.charAt(1);
         
-        // Vérifier la couche (a, b, c)
-        if (layer < 'a' || layer > 'c') {
-            throw new IllegalArgumentException("La couche doit être 'a', 'b' ou 'c'");
+        // Vérifier la couche (a, b, c...)
+        if (layer < 'a' || layer > derniereCouche) {
+            throw new IllegalArgumentException("La couche doit être entre 'a' et '" + derniereCouche + "'");
         }
         
-        // Vérifier le numéro (1-9)
-        if (numChar < '1' || numChar > '9') {
-            throw new IllegalArgumentException("Le numéro doit être entre 1 et 9");
+        // Vérifier le numéro (1 à n²)
+        int number;
+        try {
+            number = Integer.parseInt(input.substring(1)) - 1;
+        } catch (NumberFormatException e) {
+            number = -1;
+        }
+        if (number < 0 || number >= n * n) {
+            throw new IllegalArgumentException("Le numéro doit être entre 1 et " + (n * n));
         }
         
-        int z = layer - 'a'; // a=0, b=1, c=2
-        int number = numChar - '1'; // 1=0, 2=1, ..., 9=8
+        int z = layer - 'a'; // a=0, b=1, c=2...
         
         // Convertir le numéro en coordonnées x,y
-        int x = number / 3;
-        int y = number % 3;
+        int x = number / n;
+        int y = number % n;
         
-        Case arrivee = Plateau.getCase(x, y, z);
+        Case arrivee = plateau.getCase(x, y, z);
         
         if (arrivee.getPiece() != null) {
             throw new IllegalArgumentException("Cette case est déjà occupée !");
@@ -290,7 +323,7 @@ public class VueConsole implements Runnable {
         Case caseArrivee = null;
         // Parcourir de bas en haut (ligne max - 1)
         for (int ligne = plateau.getSizeX() - 1; ligne >= 0; ligne--) {
-            Case c = Plateau.getCase(ligne, colIndex);
+            Case c = plateau.getCase(ligne, colIndex);
             if (c.getPiece() == null) {
                 caseArrivee = c;
                 break;
@@ -333,11 +366,7 @@ public class VueConsole implements Runnable {
                 throw new IllegalArgumentException("La case de départ (" + notationDepart + ") est vide.");
             }
 
-            // On compare la String de la pièce avec le .name() de l'Enum du joueur
-            String couleurPiece = caseDepart.getPiece().getCouleur();
-            String couleurJoueur = jeu.getJoueurCourant().getCouleur().name(); // Récupère "BLANC" ou "NOIR"
-
-            if (!couleurPiece.equalsIgnoreCase(couleurJoueur)) {
+            if (caseDepart.getPiece().getCouleurJoueur() != jeu.getJoueurCourant().getCouleur()) {
                 throw new IllegalArgumentException("Ce n'est pas votre pièce !");
             }
             // ---------------------
@@ -374,7 +403,7 @@ public class VueConsole implements Runnable {
             throw new IllegalArgumentException("Coordonnées de case hors limites: " + notation);
         }
 
-        return Plateau.getCase(ligne, colonne);
+        return plateau.getCase(ligne, colonne);
     }
 
     /**
@@ -434,29 +463,31 @@ public class VueConsole implements Runnable {
         boolean[][] winning = jeu.getWinningCells();
         
         // Déterminer le symbole du joueur courant
-        boolean isBlanc = jeu.getJoueurCourant().getCouleur().name().equalsIgnoreCase("BLANC");
+        boolean isBlanc = jeu.getJoueurCourant().getCouleur() == Joueur.Couleur.BLANC;
         String symbol = isBlanc ? "X" : "O";
         
+        // Largeur d'une case : celle du plus grand numéro (1 pour le 3x3 standard)
+        String format = "%" + String.valueOf(rows * cols).length() + "s";
         StringBuilder sb = new StringBuilder();
         int n = 1;
         for (int x = 0; x < rows; x++) {
             sb.append("| ");
             for (int y = 0; y < cols; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
-                Case currentCase = Plateau.getCase(x, y);
+                Piece piece = p.getCase(x, y).getPiece();
+                Case currentCase = p.getCase(x, y);
                 
                 // Si c'est la case du coup à jouer, afficher avec chevrons
                 if (coup.getArrivee().equals(currentCase)) {
                     sb.append(">").append(symbol).append("<");
                 } else if (piece == null) {
-                    sb.append(n);
+                    sb.append(String.format(format, n));
                 } else {
                     boolean isPieceBlanc = piece.getCouleur() != null && piece.getCouleur().toUpperCase().startsWith("BL");
                     String pieceSymbol = isPieceBlanc ? "X" : "O";
                     if (winning != null && winning.length == rows && winning[x][y]) {
                         sb.append("(").append(pieceSymbol).append(")");
                     } else {
-                        sb.append(pieceSymbol);
+                        sb.append(String.format(format, pieceSymbol));
                     }
                 }
                 if (y < cols - 1) sb.append(" ");
@@ -475,30 +506,30 @@ public class VueConsole implements Runnable {
         boolean[][][] winning = jeu.getWinningCells3D();
         
         // Déterminer le symbole du joueur courant
-        boolean isBlanc = jeu.getJoueurCourant().getCouleur().name().equalsIgnoreCase("BLANC");
+        boolean isBlanc = jeu.getJoueurCourant().getCouleur() == Joueur.Couleur.BLANC;
         String symbol = isBlanc ? "X" : "O";
         
         StringBuilder sb = new StringBuilder();
         sb.append("\n========== TIC-TAC-TOE 3D ==========\n");
         
-        // Afficher les 3 grilles (couches)
-        char[] layers = {'a', 'b', 'c'};
+        // Afficher les n grilles (couches)
+        int n = jeu.getPlateau().getSizeZ();
         
-        for (int z = 0; z < 3; z++) {
-            sb.append("\nGrille ").append(Character.toUpperCase(layers[z])).append(":\n");
-            sb.append("-------------\n");
+        for (int z = 0; z < n; z++) {
+            sb.append("\nGrille ").append((char) ('A' + z)).append(":\n");
+            sb.append("-".repeat(4 * n + 1)).append("\n");
             
-            for (int x = 0; x < 3; x++) {
+            for (int x = 0; x < n; x++) {
                 sb.append("| ");
-                for (int y = 0; y < 3; y++) {
-                    Case currentCase = Plateau.getCase(x, y, z);
+                for (int y = 0; y < n; y++) {
+                    Case currentCase = jeu.getPlateau().getCase(x, y, z);
                     Piece piece = currentCase.getPiece();
                     
                     // Si c'est la case du coup à jouer, afficher avec chevrons
                     if (coup.getArrivee().equals(currentCase)) {
                         sb.append(">").append(symbol).append("<");
                     } else if (piece == null) {
-                        // Afficher la notation (a1-a9, b1-b9, c1-c9)
+                        // Afficher la notation (a1, b5, d16...)
                         String notation = getCaseNotation3D(currentCase);
                         sb.append(notation);
                         // Padding pour alignement
@@ -517,14 +548,14 @@ public class VueConsole implements Runnable {
                         }
                     }
                     
-                    if (y < 2) sb.append("| ");
+                    if (y < n - 1) sb.append("| ");
                 }
                 sb.append("|\n");
                 
-                if (x < 2) {
-                    sb.append("|----|----|----|").append("\n");
+                if (x < n - 1) {
+                    sb.append("|").append("----|".repeat(n)).append("\n");
                 } else {
-                    sb.append("----------------\n");
+                    sb.append("-".repeat(5 * n + 1)).append("\n");
                 }
             }
         }
@@ -536,14 +567,14 @@ public class VueConsole implements Runnable {
     }
 
     /**
-     * Convertit une case en notation 3D (a1-a9, b1-b9, c1-c9).
+     * Convertit une case en notation 3D (a1-a9, b1-b9, c1-c9 pour le cube 3x3x3).
      */
     private String getCaseNotation3D(Case c) {
         int z = c.getPosZ();
         int x = c.getPosX();
         int y = c.getPosY();
         char layer = (char) ('a' + z);
-        int number = x * 3 + y + 1;
+        int number = x * jeu.getPlateau().getSizeY() + y + 1;
         return "" + layer + number;
     }
 
@@ -557,7 +588,7 @@ public class VueConsole implements Runnable {
         boolean[][] winning = jeu.getWinningCells();
         
         // Déterminer le symbole du joueur courant
-        boolean isBlanc = jeu.getJoueurCourant().getCouleur().name().equalsIgnoreCase("BLANC");
+        boolean isBlanc = jeu.getJoueurCourant().getCouleur() == Joueur.Couleur.BLANC;
         String symbol = isBlanc ? "X" : "O";
         
         StringBuilder sb = new StringBuilder();
@@ -574,8 +605,8 @@ public class VueConsole implements Runnable {
         for (int x = 0; x < rows; x++) {
             sb.append("| ");
             for (int y = 0; y < cols; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
-                Case currentCase = Plateau.getCase(x, y);
+                Piece piece = p.getCase(x, y).getPiece();
+                Case currentCase = p.getCase(x, y);
                 String cell;
                 
                 // Si c'est la case du coup à jouer, afficher avec chevrons
@@ -616,8 +647,8 @@ public class VueConsole implements Runnable {
         for (int x = 0; x < 8; x++) {
             System.out.print((8 - x) + " |"); // Numéro de ligne à gauche
             for (int y = 0; y < 8; y++) {
-                Piece piece = Plateau.getCase(x, y).getPiece();
-                Case currentCase = Plateau.getCase(x, y);
+                Piece piece = p.getCase(x, y).getPiece();
+                Case currentCase = p.getCase(x, y);
                 
                 // Vérifier si c'est la case de départ ou d'arrivée
                 boolean isCaseDepart = coup.getDepart() != null && coup.getDepart().equals(currentCase);
@@ -632,25 +663,8 @@ public class VueConsole implements Runnable {
                         // Afficher la pièce qui va bouger avec chevrons
                         if (coup.getDepart() != null && coup.getDepart().getPiece() != null) {
                             Piece movingPiece = coup.getDepart().getPiece();
-                            String nomClasse = movingPiece.getClass().getSimpleName();
-                            
-                            switch (nomClasse) {
-                                case "Roi":      lettre = 'R'; break;
-                                case "Reine":    lettre = 'D'; break;
-                                case "Tour":     lettre = 'T'; break;
-                                case "Fou":      lettre = 'F'; break;
-                                case "Cavalier": lettre = 'C'; break;
-                                case "Pion":     lettre = 'P'; break;
-                                default:
-                                    if (nomClasse.length() > 0) lettre = nomClasse.charAt(0);
-                            }
-                            
-                            if (movingPiece.getCouleur() != null && movingPiece.getCouleur().equalsIgnoreCase("Blanc")) {
-                                lettre = Character.toUpperCase(lettre);
-                            } else {
-                                lettre = Character.toLowerCase(lettre);
-                            }
-                            
+                            lettre = Piece.lettre(movingPiece.getCode());
+
                             System.out.print(">" + lettre + "<");
                         } else {
                             System.out.print(" ?");
@@ -660,25 +674,8 @@ public class VueConsole implements Runnable {
                         System.out.print("[ ]");
                     } else {
                         // Pièce normale
-                        String nomClasse = piece.getClass().getSimpleName();
-                        
-                        switch (nomClasse) {
-                            case "Roi":      lettre = 'R'; break;
-                            case "Reine":    lettre = 'D'; break;
-                            case "Tour":     lettre = 'T'; break;
-                            case "Fou":      lettre = 'F'; break;
-                            case "Cavalier": lettre = 'C'; break;
-                            case "Pion":     lettre = 'P'; break;
-                            default:
-                                if (nomClasse.length() > 0) lettre = nomClasse.charAt(0);
-                        }
-                        
-                        if (piece.getCouleur() != null && piece.getCouleur().equalsIgnoreCase("Blanc")) {
-                            lettre = Character.toUpperCase(lettre);
-                        } else {
-                            lettre = Character.toLowerCase(lettre);
-                        }
-                        
+                        lettre = Piece.lettre(piece.getCode());
+
                         System.out.print(" " + lettre);
                     }
                 }
@@ -9,12 +9,6 @@ import java.util.Observer;
 import javax.swing.*;
 
 import modele.jeu.*;
-import modele.jeu.Pieces.PiecesEchec.Cavalier;
-import modele.jeu.Pieces.PiecesEchec.Fou;
-import modele.jeu.Pieces.PiecesEchec.Pion;
-import modele.jeu.Pieces.PiecesEchec.Reine;
-import modele.jeu.Pieces.PiecesEchec.Roi;
-import modele.jeu.Pieces.PiecesEchec.Tour;
 import modele.plateau.Case;
 import modele.plateau.Plateau;
 import vue.Fenetres.FenetreMenuPrincipal;
@@ -54,7 +48,8 @@ public class VueEchec extends JFrame implements Observer {
     private static final int pxCase = 100;
 
     // Icônes des pièces (Blanc / Noir)
-    private ImageIcon icoRoiB, icoRoiN, icoReineB, icoReineN, icoTourB, icoTourN, icoFouB, icoFouN, icoCavalierB, icoCavalierN, icoPionB, icoPionN;
+    /** Icône de chaque code de pièce ({@link Piece#getCode()}). */
+    private final ImageIcon[] icones = new ImageIcon[Piece.Type.values().length * 2];
 
     /** Mémorisation de la première case cliquée (départ du coup). */
     private Case caseClic1;
@@ -105,18 +100,13 @@ public class VueEchec extends JFrame implements Observer {
      * </p>
      */
     private void chargerLesIcones() {
-        icoRoiB = chargerIcone("Images/wK.png");
-        icoRoiN = chargerIcone("Images/bK.png");
-        icoReineB = chargerIcone("Images/wQ.png");
-        icoReineN = chargerIcone("Images/bQ.png");
-        icoTourB = chargerIcone("Images/wR.png");
-        icoTourN = chargerIcone("Images/bR.png");
-        icoFouB = chargerIcone("Images/wB.png");
-        icoFouN = chargerIcone("Images/bB.png");
-        icoCavalierB = chargerIcone("Images/wN.png");
-        icoCavalierN = chargerIcone("Images/bN.png");
-        icoPionB = chargerIcone("Images/wP.png");
-        icoPionN = chargerIcone("Images/bP.png");
+        // Lettres anglaises des fichiers d'images, dans l'ordre de Piece.Type
+        String lettres = "PNBRQK";
+        for (int type = 0; type < lettres.length(); type++) {
+            Piece.Type t = Piece.Type.values()[type];
+            icones[Piece.coder(Joueur.Couleur.BLANC.ordinal(), t)] = chargerIcone("Images/w" + lettres.charAt(type) + ".png");
+            icones[Piece.coder(Joueur.Couleur.NOIR.ordinal(), t)] = chargerIcone("Images/b" + lettres.charAt(type) + ".png");
+        }
     }
 
     /**
@@ -164,7 +154,7 @@ public class VueEchec extends JFrame implements Observer {
                     public void mouseClicked(MouseEvent e) {
                         if (jeu.estTermine()) return;
 
-                        Case caseClic = Plateau.getCase(xx, yy);
+                        Case caseClic = plateau.getCase(xx, yy);
                         if (caseClic1 == null) {
                             if (caseClic.getPiece() != null) {
                                 caseClic1 = caseClic;
@@ -253,7 +243,7 @@ public class VueEchec extends JFrame implements Observer {
     private void mettreAJourAffichageEchecs() {
         for (int x = 0; x < sizeX; x++) {
             for (int y = 0; y < sizeY; y++) {
-                Case caseModele = Plateau.getCase(x, y);
+                Case caseModele = plateau.getCase(x, y);
                 JLabel caseGraphique = tabJLabel[x][y];
 
                 caseGraphique.setOpaque(true);
@@ -264,70 +254,14 @@ public class VueEchec extends JFrame implements Observer {
                 }
 
 
-                if (caseModele.getPiece() != null) {
-                    // Sélection de l'icône appropriée selon le type de pièce et sa couleur
-                    if (caseModele.getPiece() instanceof Roi) {
-                        Roi roi = (Roi) caseModele.getPiece();
-                        if ("Blanc".equals(roi.getCouleur())) {
-                            caseGraphique.setIcon(icoRoiB);
-                        } else if ("Noir".equals(roi.getCouleur())) {
-                            caseGraphique.setIcon(icoRoiN);
-                        }
-                    }
-
-                    if (caseModele.getPiece() instanceof Reine) {
-                        Reine reine = (Reine) caseModele.getPiece();
-                        if ("Blanc".equals(reine.getCouleur())) {
-                            caseGraphique.setIcon(icoReineB);
-                        } else if ("Noir".equals(reine.getCouleur())) {
-                            caseGraphique.setIcon(icoReineN);
-                        }
-                    }
-
-                    if (caseModele.getPiece() instanceof Tour) {
-                        Tour tour = (Tour) caseModele.getPiece();
-                        if ("Blanc".equals(tour.getCouleur())) {
-                            caseGraphique.setIcon(icoTourB);
-                        } else if ("Noir".equals(tour.getCouleur())) {
-                            caseGraphique.setIcon(icoTourN);
-                        }
-                    }
-
-                    if (caseModele.getPiece() instanceof Fou) {
-                        Fou fou = (Fou) caseModele.getPiece();
-                        if ("Blanc".equals(fou.getCouleur())) {
-                            caseGraphique.setIcon(icoFouB);
-                        } else if ("Noir".equals(fou.getCouleur())) {
-                            caseGraphique.setIcon(icoFouN);
-                        }
-                    }
-
-                    if (caseModele.getPiece() instanceof Cavalier) {
-                        Cavalier cavalier = (Cavalier) caseModele.getPiece();
-                        if ("Blanc".equals(cavalier.getCouleur())) {
-                            caseGraphique.setIcon(icoCavalierB);
-                        } else if ("Noir".equals(cavalier.getCouleur())) {
-                            caseGraphique.setIcon(icoCavalierN);
-                        }
-                    }
-
-                    if (caseModele.getPiece() instanceof Pion) {
-                        Pion pion = (Pion) caseModele.getPiece();
-                        if ("Blanc".equals(pion.getCouleur())) {
-                            caseGraphique.setIcon(icoPionB);
-                        } else if ("Noir".equals(pion.getCouleur())) {
-                            caseGraphique.setIcon(icoPionN);
-                        }
-                    }
-
-                } else {
-                    caseGraphique.setIcon(null); // Pas de pièce = icône vide
-                }
+                // Icône de la pièce lue dans la vue compacte du plateau (null pour une case vide)
+                byte code = plateau.getCode(x, y);
+                caseGraphique.setIcon(code == Piece.VIDE ? null : icones[code]);
 
                 if (casesAccessibles.contains(caseModele)) {
                     if (caseModele.getPiece() == null) {
                         caseGraphique.setIcon(dessinerRondGris());
-                    } else if (!caseModele.getPiece().getCouleur().equals(caseClic1.getPiece().getCouleur())) {
+                    } else if (!caseModele.getPiece().estAlliee(caseClic1.getPiece())) {
                         // Superposer rond rouge sur la pièce ennemie
                         ImageIcon iconeActuelle = (ImageIcon) caseGraphique.getIcon();
                         caseGraphique.setIcon(dessinerRondRouge(iconeActuelle));
@@ -342,9 +276,9 @@ public class VueEchec extends JFrame implements Observer {
             // Trouver le roi et le marquer en rouge
             for (int x = 0; x < sizeX; x++) {
                 for (int y = 0; y < sizeY; y++) {
-                    Case c = Plateau.getCase(x, y);
+                    Case c = plateau.getCase(x, y);
                     Piece p = c.getPiece();
-                    if (p instanceof Roi && p.getCouleur().equalsIgnoreCase(joueur.getCouleur().name())) {
+                    if (p != null && p.getType() == Piece.Type.ROI && p.getCouleurJoueur() == joueur.getCouleur()) {
                         tabJLabel[x][y].setBackground(new Color(180, 0, 0));
                     }
                 }
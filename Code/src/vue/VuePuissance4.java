@@ -100,7 +100,7 @@ public class VuePuissance4 extends JFrame implements Observer {
                         // Pour Puissance4, on clique sur une colonne
                         int colonne = yy;
                         // On envoie le coup sur la colonne (la logique du placement est dans Jeu)
-                        Case caseClic = Plateau.getCase(0, colonne); // n'importe quelle case de la colonne
+                        Case caseClic = plateau.getCase(0, colonne); // n'importe quelle case de la colonne
                         Coup coup = new Coup(caseClic, caseClic);
                         jeu.setCoup(coup);
                         mettreAJourAffichagePuissance4();
@@ -124,7 +124,7 @@ public class VuePuissance4 extends JFrame implements Observer {
     private void mettreAJourAffichagePuissance4() {
         for (int x = 0; x < sizeX; x++) {
             for (int y = 0; y < sizeY; y++) {
-                Case caseModele = Plateau.getCase(x, y);
+                Case caseModele = plateau.getCase(x, y);
                 JLabel caseGraphique = tabJLabel[x][y];
 
                 caseGraphique.setOpaque(true);
@@ -134,11 +134,10 @@ public class VuePuissance4 extends JFrame implements Observer {
                 caseGraphique.setIcon(null);
 
                 if (caseModele.getPiece() != null) {
-                    String couleur = caseModele.getPiece().getCouleur();
                     BufferedImage image = new BufferedImage(pxCase, pxCase, BufferedImage.TYPE_INT_ARGB);
                     Graphics2D g2d = image.createGraphics();
                     g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                    if ("BLANC".equals(couleur)) {
+                    if (caseModele.getPiece().getCouleurJoueur() == Joueur.Couleur.BLANC) {
                         g2d.setColor(new Color(211,211,211)); // Gris clair pour Blanc (plus visible sur fond blanc)
                     } else {
                         g2d.setColor(new Color(0,0,0)); // Noir
@@ -225,15 +224,12 @@ public class VuePuissance4 extends JFrame implements Observer {
         // Vérifier les lignes (horizontales)
         for (int x = 0; x < sizeX; x++) {
             for (int y = 0; y < sizeY - 3; y++) {
-                Piece p1 = Plateau.getCase(x, y).getPiece();
-                Piece p2 = Plateau.getCase(x, y + 1).getPiece();
-                Piece p3 = Plateau.getCase(x, y + 2).getPiece();
-                Piece p4 = Plateau.getCase(x, y + 3).getPiece();
-
-                if (p1 != null && p2 != null && p3 != null && p4 != null &&
-                        p1.getCouleur().equals(p2.getCouleur()) &&
-                        p2.getCouleur().equals(p3.getCouleur()) &&
-                        p3.getCouleur().equals(p4.getCouleur())) {
+                byte c1 = plateau.getCode(x, y);
+                byte c2 = plateau.getCode(x, y + 1);
+                byte c3 = plateau.getCode(x, y + 2);
+                byte c4 = plateau.getCode(x, y + 3);
+
+                if (c1 != Piece.VIDE && c1 == c2 && c2 == c3 && c3 == c4) {
                     return true;
                 }
             }
@@ -242,15 +238,12 @@ public class VuePuissance4 extends JFrame implements Observer {
         // Vérifier les colonnes (verticales)
         for (int x = 0; x < sizeX - 3; x++) {
             for (int y = 0; y < sizeY; y++) {
-                Piece p1 = Plateau.getCase(x, y).getPiece();
-                Piece p2 = Plateau.getCase(x + 1, y).getPiece();
-                Piece p3 = Plateau.getCase(x + 2, y).getPiece();
-                Piece p4 = Plateau.getCase(x + 3, y).getPiece();
-
-                if (p1 != null && p2 != null && p3 != null && p4 != null &&
-                        p1.getCouleur().equals(p2.getCouleur()) &&
-                        p2.getCouleur().equals(p3.getCouleur()) &&
-                        p3.getCouleur().equals(p4.getCouleur())) {
+                byte c1 = plateau.getCode(x, y);
+                byte c2 = plateau.getCode(x + 1, y);
+                byte c3 = plateau.getCode(x + 2, y);
+                byte c4 = plateau.getCode(x + 3, y);
+
+                if (c1 != Piece.VIDE && c1 == c2 && c2 == c3 && c3 == c4) {
                     return true;
                 }
             }
@@ -259,15 +252,12 @@ public class VuePuissance4 extends JFrame implements Observer {
         // Vérifier les diagonales (montante)
         for (int x = 0; x < sizeX - 3; x++) {
             for (int y = 0; y < sizeY - 3; y++) {
-                Piece p1 = Plateau.getCase(x, y).getPiece();
-                Piece p2 = Plateau.getCase(x + 1, y + 1).getPiece();
-                Piece p3 = Plateau.getCase(x + 2, y + 2).getPiece();
-                Piece p4 = Plateau.getCase(x + 3, y + 3).getPiece();
-
-                if (p1 != null && p2 != null && p3 != null && p4 != null &&
-                        p1.getCouleur().equals(p2.getCouleur()) &&
-                        p2.getCouleur().equals(p3.getCouleur()) &&
-                        p3.getCouleur().equals(p4.getCouleur())) {
+                byte c1 = plateau.getCode(x, y);
+                byte c2 = plateau.getCode(x + 1, y + 1);
+                byte c3 = plateau.getCode(x + 2, y + 2);
+                byte c4 = plateau.getCode(x + 3, y + 3);
+
+                if (c1 != Piece.VIDE && c1 == c2 && c2 == c3 && c3 == c4) {
                     return true;
                 }
             }
@@ -276,15 +266,12 @@ public class VuePuissance4 extends JFrame implements Observer {
         // Vérifier les diagonales (descendante)
         for (int x = 0; x < sizeX - 3; x++) {
             for (int y = 3; y < sizeY; y++) {
-                Piece p1 = Plateau.getCase(x, y).getPiece();
-                Piece p2 = Plateau.getCase(x + 1, y - 1).getPiece();
-                Piece p3 = Plateau.getCase(x + 2, y - 2).getPiece();
-                Piece p4 = Plateau.getCase(x + 3, y - 3).getPiece();
-
-                if (p1 != null && p2 != null && p3 != null && p4 != null &&
-                        p1.getCouleur().equals(p2.getCouleur()) &&
-                        p2.getCouleur().equals(p3.getCouleur()) &&
-                        p3.getCouleur().equals(p4.getCouleur())) {
+                byte c1 = plateau.getCode(x, y);
+                byte c2 = plateau.getCode(x + 1, y - 1);
+                byte c3 = plateau.getCode(x + 2, y - 2);
+                byte c4 = plateau.getCode(x + 3, y - 3);
+
+                if (c1 != Piece.VIDE && c1 == c2 && c2 == c3 && c3 == c4) {
                     return true;
                 }
             }
@@ -13,9 +13,9 @@ import modele.plateau.Plateau;
 import vue.Fenetres.FenetreMenuPrincipal;
 
 /**
- * Interface graphique pour le jeu de Tic-Tac-Toe (Morpion).
+ * Interface graphique pour le jeu de Tic-Tac-Toe (Morpion) et ses variantes m,n,k (Gomoku).
  * <p>
- * Cette classe gère l'affichage d'une grille 3x3 et permet aux joueurs de placer
+ * Cette classe gère l'affichage d'une grille m x n et permet aux joueurs de placer
  * leurs symboles (X ou O) en cliquant sur les cases.
  * Elle implémente {@link Observer} pour synchroniser l'affichage avec l'état du modèle {@link Jeu}.
  * </p>
@@ -32,8 +32,11 @@ public class VueTicTacToe extends JFrame implements Observer {
     /** Nombre de colonnes de la grille (3 pour le Tic-Tac-Toe standard). */
     private final int sizeY;
 
-    /** Taille en pixels d'une case (carrée) pour l'affichage. */
-    private final int pxCase = 200;
+    /** Côté en pixels de la grille affichée, quelle que soit sa taille. */
+    private static final int PX_GRILLE = 600;
+
+    /** Taille en pixels d'une case (carrée) pour l'affichage : 200 pour le 3x3 standard. */
+    private final int pxCase;
 
     /** Tableau de composants graphiques représentant les cases de la grille. */
     private JLabel[][] tabJLabel;
@@ -51,6 +54,7 @@ public class VueTicTacToe extends JFrame implements Observer {
         this.plateau = jeu.getPlateau(); // Récupérer une instance de Plateau
         this.sizeX = plateau.getSizeX();
         this.sizeY = plateau.getSizeY();
+        this.pxCase = PX_GRILLE / Math.max(sizeX, sizeY);
 
         tabJLabel = new JLabel[sizeX][sizeY];
 
@@ -59,7 +63,7 @@ public class VueTicTacToe extends JFrame implements Observer {
 
         // Configurer la fenêtre
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setSize(sizeY * pxCase, sizeY * pxCase);
+        setSize(sizeY * pxCase, sizeX * pxCase);
         this.setLocationRelativeTo(null);
         setVisible(true);
 
@@ -98,7 +102,7 @@ public class VueTicTacToe extends JFrame implements Observer {
                         if (jeu.estTermine()) return;
 
                         // Pour TicTacToe, on clique directement sur une case
-                        Case caseClic = Plateau.getCase(xx, yy);
+                        Case caseClic = plateau.getCase(xx, yy);
                         if (caseClic.getPiece() == null) {
                             Coup coup = new Coup(caseClic, caseClic);
                             jeu.setCoup(coup);
@@ -130,22 +134,22 @@ public class VueTicTacToe extends JFrame implements Observer {
     private void mettreAJourAffichageTicTacToe() {
         for (int x = 0; x < sizeX; x++) {
             for (int y = 0; y < sizeY; y++) {
-                Case caseModele = Plateau.getCase(x, y);
+                Case caseModele = plateau.getCase(x, y);
                 JLabel caseGraphique = tabJLabel[x][y];
 
                 caseGraphique.setOpaque(true);
                 caseGraphique.setBackground(Color.WHITE);
                 caseGraphique.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-                caseGraphique.setFont(new Font("Arial", Font.BOLD, 50));
+                caseGraphique.setFont(new Font("Arial", Font.BOLD, pxCase / 4));
                 caseGraphique.setHorizontalAlignment(SwingConstants.CENTER);
                 caseGraphique.setVerticalAlignment(SwingConstants.CENTER);
 
                 if (caseModele.getPiece() != null) {
-                    String couleur = caseModele.getPiece().getCouleur();
-                    if ("BLANC".equals(couleur)) {
+                    Joueur.Couleur couleur = caseModele.getPiece().getCouleurJoueur();
+                    if (couleur == Joueur.Couleur.BLANC) {
                         caseGraphique.setText("X");
                         caseGraphique.setForeground(new Color(211,211,211));
-                    } else if ("NOIR".equals(couleur)) {
+                    } else if (couleur == Joueur.Couleur.NOIR) {
                         caseGraphique.setText("O");
                         caseGraphique.setForeground(new Color(0, 0, 0));
                     }
@@ -158,7 +162,7 @@ public class VueTicTacToe extends JFrame implements Observer {
         }
 
         Joueur joueur = jeu.getJoueurCourant();
-        setTitle("TicTacToe - Trait au " + joueur.getCouleur().name().toLowerCase());
+        setTitle(nomDuJeu() + " - Trait au " + joueur.getCouleur().name().toLowerCase());
     }
 
     /**
@@ -172,9 +176,8 @@ public class VueTicTacToe extends JFrame implements Observer {
         String message;
         Joueur gagnant = null;
 
-        boolean gagnantTrouve = verifierTicTacToeGagnant();
         gagnant = jeu.getGagnant();
-        if (gagnantTrouve && gagnant != null) {
+        if (gagnant != null) {
             message = "Le joueur " + gagnant.getCouleur() + " a gagné !";
             gagnant.ajouterPoint();
             System.out.println("Score: " + jeu.getJoueurBlanc().getPoints() + " - " + jeu.getJoueurNoir().getPoints());
@@ -216,68 +219,12 @@ public class VueTicTacToe extends JFrame implements Observer {
     }
 
     /**
-     * Vérifie les conditions de victoire pour le Tic-Tac-Toe.
-     * <p>
-     * Vérifie l'alignement de 3 symboles identiques sur :
-     * <ul>
-     * <li>Les lignes</li>
-     * <li>Les colonnes</li>
-     * <li>Les diagonales</li>
-     * </ul>
-     * </p>
-     *
-     * @return {@code true} si un gagnant est trouvé, {@code false} sinon.
+     * @return « TicTacToe » pour le jeu standard, sinon les paramètres m,n,k de la partie
      */
-    private boolean verifierTicTacToeGagnant() {
-        // Vérifier les lignes
-        for (int x = 0; x < sizeX; x++) {
-            Piece p1 = Plateau.getCase(x, 0).getPiece();
-            Piece p2 = Plateau.getCase(x, 1).getPiece();
-            Piece p3 = Plateau.getCase(x, 2).getPiece();
-
-            if (p1 != null && p2 != null && p3 != null &&
-                    p1.getCouleur().equals(p2.getCouleur()) &&
-                    p2.getCouleur().equals(p3.getCouleur())) {
-                return true;
-            }
-        }
-
-        // Vérifier les colonnes
-        for (int y = 0; y < sizeY; y++) {
-            Piece p1 = Plateau.getCase(0, y).getPiece();
-            Piece p2 = Plateau.getCase(1, y).getPiece();
-            Piece p3 = Plateau.getCase(2, y).getPiece();
-
-            if (p1 != null && p2 != null && p3 != null &&
-                    p1.getCouleur().equals(p2.getCouleur()) &&
-                    p2.getCouleur().equals(p3.getCouleur())) {
-                return true;
-            }
-        }
-
-        // Vérifier la diagonale principale
-        Piece p1 = Plateau.getCase(0, 0).getPiece();
-        Piece p2 = Plateau.getCase(1, 1).getPiece();
-        Piece p3 = Plateau.getCase(2, 2).getPiece();
-
-        if (p1 != null && p2 != null && p3 != null &&
-                p1.getCouleur().equals(p2.getCouleur()) &&
-                p2.getCouleur().equals(p3.getCouleur())) {
-            return true;
-        }
-
-        // Vérifier la diagonale secondaire
-        p1 = Plateau.getCase(0, 2).getPiece();
-        p2 = Plateau.getCase(1, 1).getPiece();
-        p3 = Plateau.getCase(2, 0).getPiece();
-
-        if (p1 != null && p2 != null && p3 != null &&
-                p1.getCouleur().equals(p2.getCouleur()) &&
-                p2.getCouleur().equals(p3.getCouleur())) {
-            return true;
-        }
-
-        return false;
+    private String nomDuJeu() {
+        int k = jeu instanceof JeuTicTacToe ? ((JeuTicTacToe) jeu).getLongueurAlignement() : 3;
+        if (sizeX == 3 && sizeY == 3 && k == 3) return "TicTacToe";
+        return (k == JeuTicTacToe.LONGUEUR_GOMOKU ? "Gomoku " : "Morpion ") + sizeX + "x" + sizeY + " (" + k + " alignés)";
     }
 
     /**
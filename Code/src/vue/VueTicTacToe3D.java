@@ -15,12 +15,13 @@ import vue.Fenetres.FenetreMenuPrincipal;
 /**
  * Vue graphique pour le jeu TicTacToe 3D.
  * <p>
- * Cette classe affiche le plateau de jeu en 3 dimensions sous la forme de trois grilles 2D (3x3)
- * disposées côte à côte. Chaque grille représente une "couche" (ou un étage) du cube 3x3x3 :
+ * Cette classe affiche le plateau de jeu en 3 dimensions sous la forme de N grilles 2D (NxN)
+ * disposées côte à côte. Chaque grille représente une "couche" (ou un étage) du cube NxNxN
+ * (3x3x3 pour le jeu standard, 4x4x4 pour le Qubic) :
  * <ul>
  * <li>Grille A : Couche du bas (z=0)</li>
- * <li>Grille B : Couche du milieu (z=1)</li>
- * <li>Grille C : Couche du haut (z=2)</li>
+ * <li>Grille B : Couche suivante (z=1)</li>
+ * <li>... jusqu'à la couche du haut (z=N-1)</li>
  * </ul>
  * Elle permet aux joueurs de visualiser l'état du cube et de cliquer sur n'importe quelle case
  * pour y placer leur symbole.
@@ -31,8 +32,19 @@ public class VueTicTacToe3D extends JFrame implements Observer {
     /** Référence vers le modèle spécifique du TicTacToe 3D. */
     private JeuTicTacToe3D jeu;
 
-    /** Taille en pixels d'une case de la grille. */
-    private final int pxCase = 120;
+    /** Couleurs de fond des couches, dans l'ordre (bleu, vert, rouge, jaune clairs). */
+    private static final Color[] COULEURS_GRILLES = {
+            new Color(200, 220, 255),
+            new Color(220, 255, 220),
+            new Color(255, 220, 220),
+            new Color(255, 250, 200)
+    };
+
+    /** Côté du cube. */
+    private final int n;
+
+    /** Taille en pixels d'une case de la grille (120 pour le cube 3x3x3). */
+    private final int pxCase;
 
     /** * Tableau tridimensionnel stockant les références vers les composants graphiques (JLabel).
      * Dimensions : [z][x][y] où z est la couche, x la ligne et y la colonne.
@@ -50,16 +62,18 @@ public class VueTicTacToe3D extends JFrame implements Observer {
      */
     public VueTicTacToe3D(JeuTicTacToe3D jeu) {
         this.jeu = jeu;
-        tabJLabel = new JLabel[3][3][3]; // 3 grilles de 3x3
+        this.n = jeu.getTaille();
+        this.pxCase = 360 / n;
+        tabJLabel = new JLabel[n][n][n]; // n grilles de n x n
 
         placerLesComposantsGraphiques();
         mettreAJourAffichage();
 
         // Configuration de la fenêtre
-        setTitle("TicTacToe 3D - Trait au BLANC");
+        setTitle(nomDuJeu() + " - Trait au BLANC");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        // Taille ajustée pour contenir les 3 grilles côte à côte
-        setSize(3 * 3 * pxCase + 100, 3 * pxCase + 150);
+        // Taille ajustée pour contenir les n grilles côte à côte
+        setSize(n * n * pxCase + 100, n * pxCase + 150);
         setLocationRelativeTo(null);
         setVisible(true);
 
@@ -72,7 +86,7 @@ public class VueTicTacToe3D extends JFrame implements Observer {
      * Crée un panneau principal contenant :
      * <ul>
      * <li>Le titre du jeu en haut.</li>
-     * <li>Un panneau central divisé en 3 colonnes pour les 3 grilles (A, B, C).</li>
+     * <li>Un panneau central divisé en n colonnes pour les n grilles (A, B, C...).</li>
      * <li>Une légende informative en bas.</li>
      * </ul>
      * Utilise la méthode {@link #creerGrille(int, String, Color)} pour générer chaque couche.
@@ -85,25 +99,18 @@ public class VueTicTacToe3D extends JFrame implements Observer {
         mainPanel.setBackground(new Color(240, 240, 250));
 
         // Titre
-        JLabel titre = new JLabel("TIC-TAC-TOE 3D", SwingConstants.CENTER);
+        JLabel titre = new JLabel(nomDuJeu().toUpperCase(), SwingConstants.CENTER);
         titre.setFont(new Font("Arial", Font.BOLD, 24));
         titre.setForeground(new Color(50, 50, 150));
         mainPanel.add(titre, BorderLayout.NORTH);
 
-        // Panel pour les 3 grilles
-        JPanel grillesPanel = new JPanel(new GridLayout(1, 3, 20, 0));
+        // Panel pour les n grilles
+        JPanel grillesPanel = new JPanel(new GridLayout(1, n, 20, 0));
         grillesPanel.setOpaque(false);
 
-        // Créer les 3 grilles (A, B, C) avec des couleurs de fond distinctes pour mieux les différencier
-        String[] nomsCouches = {"Grille A", "Grille B", "Grille C"};
-        Color[] couleursGrilles = {
-                new Color(200, 220, 255), // Bleu clair
-                new Color(220, 255, 220), // Vert clair
-                new Color(255, 220, 220)  // Rouge clair
-        };
-
-        for (int z = 0; z < 3; z++) {
-            JPanel grillePanel = creerGrille(z, nomsCouches[z], couleursGrilles[z]);
+        // Créer les grilles (A, B, C...) avec des couleurs de fond distinctes pour mieux les différencier
+        for (int z = 0; z < n; z++) {
+            JPanel grillePanel = creerGrille(z, "Grille " + (char) ('A' + z), COULEURS_GRILLES[z % COULEURS_GRILLES.length]);
             grillesPanel.add(grillePanel);
         }
 
@@ -121,9 +128,9 @@ public class VueTicTacToe3D extends JFrame implements Observer {
     }
 
     /**
-     * Crée un panneau représentant une seule couche (grille 3x3) du cube.
+     * Crée un panneau représentant une seule couche (grille n x n) du cube.
      *
-     * @param z           L'indice de la couche (0, 1 ou 2).
+     * @param z           L'indice de la couche (0 à n-1).
      * @param nomGrille   Le nom affiché au-dessus de la grille (ex: "Grille A").
      * @param couleurFond La couleur de fond des cases pour cette couche.
      * @return Un JPanel contenant le titre et la grille de JLabels interactifs.
@@ -138,13 +145,13 @@ public class VueTicTacToe3D extends JFrame implements Observer {
         labelGrille.setForeground(new Color(50, 50, 100));
         grilleContainer.add(labelGrille, BorderLayout.NORTH);
 
-        // Grille 3x3
-        JPanel grille = new JPanel(new GridLayout(3, 3, 2, 2));
+        // Grille n x n
+        JPanel grille = new JPanel(new GridLayout(n, n, 2, 2));
         grille.setBackground(Color.DARK_GRAY);
         grille.setBorder(BorderFactory.createLineBorder(Color.DARK_GRAY, 3));
 
-        for (int x = 0; x < 3; x++) {
-            for (int y = 0; y < 3; y++) {
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < n; y++) {
                 final int xx = x;
                 final int yy = y;
                 final int zz = z;
@@ -155,7 +162,7 @@ public class VueTicTacToe3D extends JFrame implements Observer {
                 label.setBackground(couleurFond);
                 label.setHorizontalAlignment(SwingConstants.CENTER);
                 label.setVerticalAlignment(SwingConstants.CENTER);
-                label.setFont(new Font("Arial", Font.BOLD, 48));
+                label.setFont(new Font("Arial", Font.BOLD, pxCase * 2 / 5));
                 label.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
 
                 // Ajout de l'écouteur de clic pour jouer un coup
@@ -165,7 +172,7 @@ public class VueTicTacToe3D extends JFrame implements Observer {
                         if (jeu.estTermine()) return;
 
                         // Récupération de la case du modèle correspondant aux coordonnées (x, y, z)
-                        Case caseClic = Plateau.getCase(xx, yy, zz);
+                        Case caseClic = jeu.getPlateau().getCase(xx, yy, zz);
                         if (caseClic.getPiece() == null) {
                             Coup coup = new Coup(caseClic, caseClic);
                             jeu.setCoup(coup);
@@ -186,7 +193,7 @@ public class VueTicTacToe3D extends JFrame implements Observer {
     }
 
     /**
-     * Rafraîchit l'affichage des trois grilles.
+     * Rafraîchit l'affichage des grilles.
      * <p>
      * Parcourt toutes les cases du modèle (x, y, z) et met à jour les JLabels correspondants :
      * <ul>
@@ -198,31 +205,25 @@ public class VueTicTacToe3D extends JFrame implements Observer {
      * </p>
      */
     private void mettreAJourAffichage() {
-        Color[] couleursGrilles = {
-                new Color(200, 220, 255),
-                new Color(220, 255, 220),
-                new Color(255, 220, 220)
-        };
-
-        for (int z = 0; z < 3; z++) {
-            for (int x = 0; x < 3; x++) {
-                for (int y = 0; y < 3; y++) {
-                    Case caseModele = Plateau.getCase(x, y, z);
+        for (int z = 0; z < n; z++) {
+            for (int x = 0; x < n; x++) {
+                for (int y = 0; y < n; y++) {
+                    Case caseModele = jeu.getPlateau().getCase(x, y, z);
                     JLabel caseGraphique = tabJLabel[z][x][y];
 
                     caseGraphique.setOpaque(true);
-                    caseGraphique.setBackground(couleursGrilles[z]);
+                    caseGraphique.setBackground(COULEURS_GRILLES[z % COULEURS_GRILLES.length]);
                     caseGraphique.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-                    caseGraphique.setFont(new Font("Arial", Font.BOLD, 48));
+                    caseGraphique.setFont(new Font("Arial", Font.BOLD, pxCase * 2 / 5));
                     caseGraphique.setHorizontalAlignment(SwingConstants.CENTER);
                     caseGraphique.setVerticalAlignment(SwingConstants.CENTER);
 
                     if (caseModele.getPiece() != null) {
-                        String couleur = caseModele.getPiece().getCouleur();
-                        if ("BLANC".equals(couleur)) {
+                        Joueur.Couleur couleur = caseModele.getPiece().getCouleurJoueur();
+                        if (couleur == Joueur.Couleur.BLANC) {
                             caseGraphique.setText("X");
                             caseGraphique.setForeground(new Color(211, 211, 211));
-                        } else if ("NOIR".equals(couleur)) {
+                        } else if (couleur == Joueur.Couleur.NOIR) {
                             caseGraphique.setText("O");
                             caseGraphique.setForeground(new Color(0, 0, 0));
                         }
@@ -234,7 +235,14 @@ public class VueTicTacToe3D extends JFrame implements Observer {
         }
 
         Joueur joueur = jeu.getJoueurCourant();
-        setTitle("TicTacToe 3D - Trait au " + joueur.getCouleur().name());
+        setTitle(nomDuJeu() + " - Trait au " + joueur.getCouleur().name());
+    }
+
+    /** @return « TicTacToe 3D » pour le cube 3x3x3, « Qubic » pour le 4x4x4, sinon le côté du cube */
+    private String nomDuJeu() {
+        if (n == 3) return "TicTacToe 3D";
+        if (n == 4) return "Qubic";
+        return "TicTacToe " + n + "x" + n + "x" + n;
     }
 
     /**
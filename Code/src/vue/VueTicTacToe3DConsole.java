@@ -2,6 +2,7 @@ package vue;
 
 import modele.jeu.Coup;
 import modele.jeu.JeuTicTacToe3D;
+import modele.jeu.Joueur;
 import modele.jeu.Piece;
 import modele.plateau.Case;
 import modele.plateau.Plateau;
@@ -9,7 +10,8 @@ import java.util.Scanner;
 
 /**
  * Vue Console pour le TicTacToe 3D.
- * Gère l'affichage des 3 grilles et la saisie des coups au format a1-c9.
+ * Gère l'affichage des grilles (une par couche) et la saisie des coups au format a1-c9
+ * (a1-d16 pour le Qubic 4x4x4).
  */
 public class VueTicTacToe3DConsole implements Runnable {
     private JeuTicTacToe3D jeu;
@@ -26,7 +28,7 @@ public class VueTicTacToe3DConsole implements Runnable {
         
         new Thread(this).start();
         
-        System.out.println("Vue Console TicTacToe 3D démarrée !");
+        System.out.println("Vue Console TicTacToe 3D " + jeu.getTaille() + "x" + jeu.getTaille() + "x" + jeu.getTaille() + " démarrée !");
     }
 
     @Override
@@ -69,7 +71,7 @@ public class VueTicTacToe3DConsole implements Runnable {
     }
 
     /**
-     * Demande un coup à l'utilisateur au format a1-c9
+     * Demande un coup à l'utilisateur au format a1-c9 (a1-d16 en 4x4x4)
      */
     private Coup demanderCoup() {
         Plateau plateau = jeu.getPlateau();
@@ -94,39 +96,47 @@ public class VueTicTacToe3DConsole implements Runnable {
     }
 
     /**
-     * Parse un coup au format a1-c9 (lettre pour la couche, chiffre pour la position)
-     * a1-a9 : couche 0 (z=0)
+     * Parse un coup au format lettre + numéro (lettre pour la couche, numéro pour la position)
+     * a1-a9 : couche 0 (z=0) du cube 3x3x3
      * b1-b9 : couche 1 (z=1)
      * c1-c9 : couche 2 (z=2)
+     * et de a1 à d16 pour le Qubic 4x4x4.
      */
     private Coup parseCoupTicTacToe3D(String input, Plateau plateau) {
+        int n = plateau.getSizeZ();
+        char derniereCouche = (char) ('a' + n - 1);
+
         // Valider le format
-        if (input.length() < 2 || input.length() > 2) {
-            throw new IllegalArgumentException("Format invalide. Utilisez: a1-a9, b1-b9, ou c1-c9");
+        if (input.length() < 2) {
+            throw new IllegalArgumentException("Format invalide. Utilisez: a1 à " + derniereCouche + (n * n));
         }
         
         char layer = input.charAt(0);
-        char numChar = input.charAt(1);
         
-        // Valider la couche (a, b, ou c)
-        if (layer < 'a' || layer > 'c') {
-            throw new IllegalArgumentException("La couche doit être 'a', 'b', ou 'c'");
+        // Valider la couche (a, b, c...)
+        if (layer < 'a' || layer > derniereCouche) {
+            throw new IllegalArgumentException("La couche doit être entre 'a' et '" + derniereCouche + "'");
         }
         
-        // Valider le numéro (1-9)
-        if (numChar < '1' || numChar > '9') {
-            throw new IllegalArgumentException("Le numéro doit être entre 1 et 9");
+        // Valider le numéro (1 à n²)
+        int num;
+        try {
+            num = Integer.parseInt(input.substring(1));
+        } catch (NumberFormatException e) {
+            num = 0;
+        }
+        if (num < 1 || num > n * n) {
+            throw new IllegalArgumentException("Le numéro doit être entre 1 et " + (n * n));
         }
         
-        int z = layer - 'a'; // Convertir a->0, b->1, c->2
-        int num = numChar - '0'; // Convertir caractère en chiffre
+        int z = layer - 'a'; // Convertir a->0, b->1, c->2...
         
-        // Convertir le numéro (1-9) en coordonnées x,y dans une grille 3x3
-        int indice = num - 1; // Convertir 1-9 en 0-8
-        int x = indice / 3; // Ligne (0-2)
-        int y = indice % 3; // Colonne (0-2)
+        // Convertir le numéro (1 à n²) en coordonnées x,y dans une grille n x n
+        int indice = num - 1;
+        int x = indice / n; // Ligne
+        int y = indice % n; // Colonne
         
-        Case arrivee = Plateau.getCase(x, y, z);
+        Case arrivee = plateau.getCase(x, y, z);
         
         if (arrivee.getPiece() != null) {
             throw new IllegalArgumentException("Cette case est déjà occupée !");
@@ -169,30 +179,30 @@ public class VueTicTacToe3DConsole implements Runnable {
         boolean[][][] winning = jeu.getWinningCells3D();
         
         // Déterminer le symbole du joueur courant
-        boolean isBlanc = jeu.getJoueurCourant().getCouleur().name().equalsIgnoreCase("BLANC");
+        boolean isBlanc = jeu.getJoueurCourant().getCouleur() == Joueur.Couleur.BLANC;
         String symbol = isBlanc ? "X" : "O";
         
         StringBuilder sb = new StringBuilder();
         sb.append("\n========== TIC-TAC-TOE 3D ==========\n");
         
-        // Afficher les 3 grilles (couches)
-        char[] layers = {'a', 'b', 'c'};
+        // Afficher les n grilles (couches)
+        int n = jeu.getPlateau().getSizeZ();
         
-        for (int z = 0; z < 3; z++) {
-            sb.append("\nGrille ").append(Character.toUpperCase(layers[z])).append(":\n");
-            sb.append("-------------\n");
+        for (int z = 0; z < n; z++) {
+            sb.append("\nGrille ").append((char) ('A' + z)).append(":\n");
+            sb.append("-".repeat(4 * n + 1)).append("\n");
             
-            for (int x = 0; x < 3; x++) {
+            for (int x = 0; x < n; x++) {
                 sb.append("| ");
-                for (int y = 0; y < 3; y++) {
-                    Case currentCase = Plateau.getCase(x, y, z);
+                for (int y = 0; y < n; y++) {
+                    Case currentCase = jeu.getPlateau().getCase(x, y, z);
                     Piece piece = currentCase.getPiece();
                     
                     // Si c'est la case du coup à jouer, afficher avec chevrons
                     if (coup.getArrivee().equals(currentCase)) {
                         sb.append(">").append(symbol).append("<");
                     } else if (piece == null) {
-                        // Afficher la notation (a1-a9, b1-b9, c1-c9)
+                        // Afficher la notation (a1, b5, d16...)
                         String notation = getCaseNotation3D(currentCase);
                         sb.append(notation);
                         // Padding pour alignement
@@ -211,14 +221,14 @@ public class VueTicTacToe3DConsole implements Runnable {
                         }
                     }
                     
-                    if (y < 2) sb.append("| ");
+                    if (y < n - 1) sb.append("| ");
                 }
                 sb.append("|\n");
                 
-                if (x < 2) {
-                    sb.append("|----|----|----|").append("\n");
+                if (x < n - 1) {
+                    sb.append("|").append("----|".repeat(n)).append("\n");
                 } else {
-                    sb.append("----------------\n");
+                    sb.append("-".repeat(5 * n + 1)).append("\n");
                 }
             }
         }
@@ -230,14 +240,14 @@ public class VueTicTacToe3DConsole implements Runnable {
     }
 
     /**
-     * Convertit une case en notation 3D (a1-a9, b1-b9, c1-c9).
+     * Convertit une case en notation 3D (a1-a9, b1-b9, c1-c9 pour le cube 3x3x3).
      */
     private String getCaseNotation3D(Case c) {
         int z = c.getPosZ();
         int x = c.getPosX();
         int y = c.getPosY();
         char layer = (char) ('a' + z);
-        int number = x * 3 + y + 1;
+        int number = x * jeu.getPlateau().getSizeY() + y + 1;
         return "" + layer + number;
     }
 }
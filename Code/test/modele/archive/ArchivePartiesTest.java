@@ -0,0 +1,94 @@
+package modele.archive;
+
+import modele.jeu.Coup;
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.JeuTicTacToe3D;
+import modele.jeu.MoveList;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'archive binaire : aller-retour des quatre jeux, accès direct et rejeu.
+ */
+public class ArchivePartiesTest {
+
+    /** Joue une suite de coups (codage de {@link Jeu#versCoup(int)}) et vérifie qu'ils sont acceptés. */
+    private static Jeu jouer(Jeu jeu, int... coups) {
+        for (int c : coups) {
+            Coup coup = jeu.versCoup(c);
+            assertTrue("Coup " + c + " accepté", jeu.jouerPartie(coup));
+        }
+        return jeu;
+    }
+
+    @Test
+    public void testAllerRetourQuatreJeux() throws IOException {
+        JeuEchec echecs = new JeuEchec(new Plateau(8, 8), false);
+        echecs.chargerFen("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        jouer(echecs, modele.jeu.Move.encoder(8, 0, 0, 0)); // a7-a8, promotion en dame
+        Jeu[] jeux = {
+                echecs,
+                jouer(new JeuPuissance4(new Plateau(6, 7), false), 3, 3, 4, 4, 5, 5, 6),
+                jouer(new JeuTicTacToe(new Plateau(15, 15), JeuTicTacToe.LONGUEUR_GOMOKU, false), 112, 113, 127),
+                jouer(new JeuTicTacToe3D(new Plateau(3, 3, 3), false), 13, 0, 26)
+        };
+        assertTrue("Le Puissance 4 est gagné", jeux[1].estTermine());
+
+        Path fichier = Files.createTempFile("test", ".parties");
+        try {
+            try (EcrivainArchive ecrivain = new EcrivainArchive(fichier)) {
+                for (int tour = 0; tour < 50; tour++) {
+                    for (Jeu jeu : jeux) ecrivain.ajouter(jeu);
+                }
+            }
+            try (ArchiveParties archive = new ArchiveParties(fichier)) {
+                assertEquals(200, archive.getNombreParties());
+                MoveList attendus = new MoveList();
+                MoveList lus = new MoveList();
+                for (int i = 199; i >= 196; i--) {
+                    Jeu jeu = jeux[i % 4];
+                    PartieArchivee partie = archive.lire(i);
+                    assertEquals("Famille de la partie " + i, FamilleJeu.de(jeu), partie.getFamille());
+                    assertEquals(jeu.getPlateau().getSizeX(), partie.getLignes());
+                    jeu.getCoupsJoues(attendus);
+                    archive.lireCoups(i, lus);
+                    assertEquals("Nombre de coups de la partie " + i, attendus.taille(), lus.taille());
+                    Jeu rejoue = partie.rejouer();
+                    assertEquals("Même état final", jeu.estTermine(), rejoue.estTermine());
+                    assertEquals(jeu.getNombreCoupsJoues(), rejoue.getNombreCoupsJoues());
+                }
+                assertEquals(PartieArchivee.Resultat.VICTOIRE_BLANCS, archive.getResultat(1));
+                assertEquals(PartieArchivee.Resultat.EN_COURS, archive.getResultat(2));
+                PartieArchivee finale = archive.lire(0);
+                assertEquals("FEN de départ conservée", echecs.getFenDepart(), finale.getFenDepart());
+                assertEquals("Position finale rejouée", echecs.getFen(), ((JeuEchec) finale.rejouer()).getFen());
+            }
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+    }
+
+    @Test
+    public void testArchiveNonFermeeRefusee() throws IOException {
+        Path fichier = Files.createTempFile("test", ".parties");
+        try {
+            Files.write(fichier, new byte[]{0x50, 0x41, 0x52, 0x54, 0, 0, 0, 1, 0, 8, 8, 1, 0, 0, 0, 0, 0, 0});
+            try (ArchiveParties archive = new ArchiveParties(fichier)) {
+                fail("Une archive sans pied ne doit pas s'ouvrir : " + archive.getNombreParties());
+            } catch (IOException attendu) {
+                // attendu
+            }
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+    }
+}
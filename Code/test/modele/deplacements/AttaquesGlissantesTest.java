@@ -0,0 +1,53 @@
+package modele.deplacements;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests des tables magiques des pièces glissantes.
+ * Les attaques lues dans les tables sont comparées à un parcours rayon par rayon
+ * sur des occupations aléatoires.
+ */
+public class AttaquesGlissantesTest {
+
+    private static long rayons(int sq, long occupees, int[][] directions) {
+        long resultat = 0L;
+        for (int[] d : directions) {
+            int x = (sq >>> 3) + d[0];
+            int y = (sq & 7) + d[1];
+            while (x >= 0 && x < 8 && y >= 0 && y < 8) {
+                long bit = 1L << (x * 8 + y);
+                resultat |= bit;
+                if ((occupees & bit) != 0) break;
+                x += d[0];
+                y += d[1];
+            }
+        }
+        return resultat;
+    }
+
+    @Test
+    public void testTablesConformesAuParcoursDesRayons() {
+        int[][] ligne = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+        int[][] diag = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+        Random random = new Random(42);
+        for (int essai = 0; essai < 2000; essai++) {
+            long occupees = random.nextLong() & random.nextLong();
+            for (int sq = 0; sq < 64; sq++) {
+                assertEquals(rayons(sq, occupees, ligne), AttaquesGlissantes.tour(sq, occupees));
+                assertEquals(rayons(sq, occupees, diag), AttaquesGlissantes.fou(sq, occupees));
+            }
+        }
+    }
+
+    @Test
+    public void testTourSurPlateauVide() {
+        // Une tour en a8 (indice 0) voit toute la 8e rangée et toute la colonne a
+        assertEquals(14, Long.bitCount(AttaquesGlissantes.tour(0, 0L)));
+        // Une reine au centre (d4) sur plateau vide contrôle 27 cases
+        assertEquals(27, Long.bitCount(AttaquesGlissantes.reine(4 * 8 + 3, 0L)));
+    }
+}
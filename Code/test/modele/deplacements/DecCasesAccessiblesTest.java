@@ -1,6 +1,9 @@
 package modele.deplacements;
 
+import modele.jeu.JeuEchec;
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
+import modele.plateau.Plateau;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -72,4 +75,44 @@ public class DecCasesAccessiblesTest {
         assertEquals(1, result.get(0).getPosX());
         assertEquals(0, result.get(0).getPosY());
     }
+
+    @Test
+    public void testGetCATamponAjouteApresLeDebut() {
+        Case c = new Case(0, 0);
+        DecCasesAccessibles base = new StubDec(null, Arrays.asList(new Case(3, 3)));
+        DecCasesAccessibles dec = new StubDec(base, Arrays.asList(new Case(1, 1), new Case(2, 2)));
+
+        int[] tampon = new int[DecCasesAccessibles.CASES_MAX + 5];
+        tampon[0] = -7;
+        int fin = dec.getCA(c, tampon, 1);
+        assertEquals(4, fin);
+        assertEquals("Le début du tampon est conservé", -7, tampon[0]);
+        assertEquals(BitboardPosition.indice(1, 1), tampon[1]);
+        assertEquals(BitboardPosition.indice(2, 2), tampon[2]);
+        assertEquals(BitboardPosition.indice(3, 3), tampon[3]);
+    }
+
+    @Test
+    public void testTamponEtListeConcordentAuxEchecs() {
+        Plateau plateau = new Plateau(8, 8);
+        new JeuEchec(plateau);
+        int[] tampon = new int[DecCasesAccessibles.CASES_MAX];
+        int pieces = 0;
+        for (int x = 0; x < 8; x++) {
+            for (int y = 0; y < 8; y++) {
+                Case c = plateau.getCase(x, y);
+                if (c.getPiece() == null) continue;
+                pieces++;
+                List<Case> liste = c.getPiece().getdCA().getCA(c);
+                int fin = c.getPiece().getdCA().getCA(c, tampon, 0);
+                assertEquals("Nombre de cases depuis " + x + "," + y, liste.size(), fin);
+                for (Case cible : liste) {
+                    boolean trouvee = false;
+                    for (int i = 0; i < fin; i++) trouvee |= tampon[i] == BitboardPosition.indice(cible);
+                    assertTrue("Case " + cible.getPosX() + "," + cible.getPosY() + " dans le tampon", trouvee);
+                }
+            }
+        }
+        assertEquals(32, pieces);
+    }
 }
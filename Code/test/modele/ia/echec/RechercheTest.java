@@ -0,0 +1,81 @@
+package modele.ia.echec;
+
+import modele.jeu.Coup;
+import modele.jeu.JeuEchec;
+import modele.jeu.Joueur;
+import modele.jeu.Move;
+import modele.plateau.BitboardPosition;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du moteur de recherche alpha-bêta.
+ */
+public class RechercheTest {
+
+    @Test
+    public void testTrouveLeMatDuCouloir() {
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        long occupation = position.getOccupation();
+
+        ResultatRecherche resultat = new Recherche(position).chercher(6, 5_000);
+        assertEquals("a1a8", Move.versTexte(resultat.getCoup()));
+        assertTrue("Le score annonce un mat", resultat.estMat());
+        assertEquals("La position est restaurée", occupation, position.getOccupation());
+    }
+
+    @Test
+    public void testGagneLaDameEnPrise() {
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen("4k3/8/8/3q4/8/8/3R4/3K4 w - - 0 1");
+        ResultatRecherche resultat = new Recherche(position).chercher(4, 5_000);
+        assertEquals("d2d5", Move.versTexte(resultat.getCoup()));
+        assertTrue(resultat.getVariante().length >= 1);
+    }
+
+    @Test
+    public void testJoueurIAProposeUnCoupLegal() {
+        JeuEchec jeu = new JeuEchec(new Plateau(8, 8));
+        JoueurEchecIA ia = new JoueurEchecIA(Joueur.Couleur.BLANC, 200, 3);
+        Coup coup = ia.choisirCoup(jeu);
+        assertNotNull(coup);
+        assertTrue("Le coup de l'IA est accepté par le jeu", jeu.jouerPartie(coup));
+        assertEquals(3, ia.getDernierResultat().getProfondeur());
+    }
+
+    @Test
+    public void testRechercheParalleleSurTableCommune() {
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        long hash = position.getHash();
+
+        RechercheParallele recherche = new RechercheParallele(new TableTransposition(1), 3);
+        ResultatRecherche resultat = recherche.chercher(position, 6, 5_000);
+        recherche.fermer();
+        assertEquals("a1a8", Move.versTexte(resultat.getCoup()));
+        assertTrue(resultat.getNoeuds() > 0);
+        assertEquals("La position de la partie n'est pas touchée", hash, position.getHash());
+    }
+
+    @Test
+    public void testRechercheParalleleRenduSansAttendreLeBudget() {
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        RechercheParallele recherche = new RechercheParallele(new TableTransposition(1), 4);
+        try {
+            for (int profondeur : new int[]{1, 64}) {
+                long debut = System.nanoTime();
+                ResultatRecherche resultat = recherche.chercher(position, profondeur, 20_000);
+                long dureeMs = (System.nanoTime() - debut) / 1_000_000;
+                assertEquals("a1a8", Move.versTexte(resultat.getCoup()));
+                assertTrue("Les threads auxiliaires sont arrêtés avec la recherche principale (" + dureeMs + " ms)",
+                        dureeMs < 5_000);
+            }
+        } finally {
+            recherche.fermer();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package modele.ia.echec;
+
+import modele.jeu.Move;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la table de transposition : encodage compact des entrées et politique de remplacement.
+ */
+public class TableTranspositionTest {
+
+    @Test
+    public void testEnregistrementEtLecture() {
+        TableTransposition table = new TableTransposition(1);
+        assertEquals("1 Mo = 65536 entrées de 16 octets", 65536, table.getNombreEntrees());
+        long cle = 0x1234_5678_9ABC_DEF0L;
+        int coup = Move.encoder(52, 36, Move.SANS_PROMOTION, Move.DOUBLE_PAS);
+        assertEquals("Position absente", 0L, table.sonder(cle));
+
+        table.enregistrer(cle, coup, -Recherche.MAT + 3, 7, TableTransposition.BORNE_SUP);
+        long donnee = table.sonder(cle);
+        assertEquals(coup, TableTransposition.coup(donnee));
+        assertEquals(-Recherche.MAT + 3, TableTransposition.score(donnee));
+        assertEquals(7, TableTransposition.profondeur(donnee));
+        assertEquals(TableTransposition.BORNE_SUP, TableTransposition.borne(donnee));
+
+        // Une autre clé tombant dans la même entrée n'est pas confondue avec la première
+        assertEquals(0L, table.sonder(cle + table.getNombreEntrees()));
+    }
+
+    @Test
+    public void testRemplacementParProfondeur() {
+        TableTransposition table = new TableTransposition(1);
+        long cle1 = 42;
+        long cle2 = 42 + table.getNombreEntrees(); // même entrée
+        table.enregistrer(cle1, Move.AUCUN, 10, 8, TableTransposition.EXACTE);
+        table.enregistrer(cle2, Move.AUCUN, 20, 2, TableTransposition.EXACTE);
+        assertNotEquals("Une recherche moins profonde n'écrase pas l'entrée", 0L, table.sonder(cle1));
+
+        table.nouvelleRecherche();
+        table.enregistrer(cle2, Move.AUCUN, 20, 2, TableTransposition.EXACTE);
+        assertEquals("Une entrée d'une recherche précédente est remplacée", 20, TableTransposition.score(table.sonder(cle2)));
+    }
+}
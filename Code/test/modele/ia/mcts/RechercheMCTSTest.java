@@ -0,0 +1,109 @@
+package modele.ia.mcts;
+
+import modele.jeu.Coup;
+import modele.jeu.EtatEchec;
+import modele.jeu.EtatJeu;
+import modele.jeu.Jeu;
+import modele.jeu.JeuEchec;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.JeuTicTacToe3D;
+import modele.jeu.Move;
+import modele.plateau.BitboardPosition;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la recherche Monte-Carlo et des états de jeu qu'elle parcourt.
+ */
+public class RechercheMCTSTest {
+
+    @Test
+    public void testJouerAnnulerSurLesQuatreJeux() {
+        Random r = new Random(18);
+        Jeu[] jeux = {
+                new JeuTicTacToe(new Plateau(3, 3), false),
+                new JeuPuissance4(new Plateau(6, 7), false),
+                new JeuTicTacToe3D(new Plateau(4, 4, 4), false),
+                new JeuEchec(new Plateau(8, 8), false)
+        };
+        for (Jeu jeu : jeux) {
+            // Quelques coups joués sur la partie elle-même, traduits par versCoup
+            for (int i = 0; i < 4; i++) {
+                EtatJeu etat = jeu.creerEtat();
+                int[] coups = new int[etat.getNombreMaxCoups()];
+                int nb = etat.coupsLegaux(coups);
+                assertTrue(jeu.getClass().getSimpleName(), nb > 0);
+                assertTrue("Coup traduit accepté", jeu.jouerPartie(jeu.versCoup(coups[r.nextInt(nb)])));
+                assertEquals("Trait suivi", jeu.getJoueurCourant().getCouleur().ordinal(), jeu.creerEtat().getTrait());
+            }
+            // Une partie au hasard puis annulée doit restaurer la position
+            EtatJeu etat = jeu.creerEtat();
+            int[] coups = new int[etat.getNombreMaxCoups()];
+            long cle = etat.cle();
+            int joues = 0;
+            while (joues < 200) {
+                int nb = etat.coupsLegaux(coups);
+                if (nb == 0) break;
+                etat.jouer(coups[r.nextInt(nb)]);
+                joues++;
+            }
+            assertTrue("Partie finie ou assez longue", etat.estTermine() || joues == 200);
+            for (int i = 0; i < joues; i++) etat.annuler();
+            assertEquals(jeu.getClass().getSimpleName() + " restauré", cle, etat.cle());
+            assertFalse(etat.estTermine());
+        }
+    }
+
+    @Test
+    public void testCoupsGagnantsEtParades() {
+        RechercheMCTS recherche = new RechercheMCTS(1, RechercheMCTS.CONSTANTE_UCT_DEFAUT, 18);
+
+        // TicTacToe : X a 0 et 1, O a 3 et 4 ; X gagne en 2
+        JeuTicTacToe morpion = new JeuTicTacToe(new Plateau(3, 3), false);
+        for (int c : new int[]{0, 3, 1, 4}) morpion.jouerPartie(morpion.versCoup(c));
+        assertEquals(2, recherche.chercher(morpion.creerEtat(), 5_000, 10_000).getCoup());
+
+        // Puissance 4 : les Noirs doivent boucher la colonne 0 où les Blancs ont trois pions
+        JeuPuissance4 p4 = new JeuPuissance4(new Plateau(6, 7), false);
+        for (int c : new int[]{0, 6, 0, 6, 0}) p4.jouerPartie(p4.versCoup(c));
+        recherche.vider();
+        assertEquals("Parade", 0, recherche.chercher(p4.creerEtat(), 20_000, 10_000).getCoup());
+
+        // Échecs : mat du couloir en un coup
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+        recherche.vider();
+        ResultatMCTS mat = recherche.chercher(new EtatEchec(position), 20_000, 10_000);
+        assertEquals("a1a8", Move.versTexte(mat.getCoup()));
+        assertTrue(mat.getPlayoutsParSeconde() > 0);
+    }
+
+    @Test
+    public void testReutilisationEtParallelisme() {
+        RechercheMCTS recherche = new RechercheMCTS(2, RechercheMCTS.CONSTANTE_UCT_DEFAUT, 18);
+        try {
+            JeuTicTacToe3D jeu = new JeuTicTacToe3D(new Plateau(3, 3, 3), false);
+            ResultatMCTS premier = recherche.chercher(jeu.creerEtat(), 4_000, 10_000);
+            assertEquals("Budget de playouts réparti entre les threads", 4_000, premier.getPlayouts());
+            assertEquals(0, premier.getReutilises());
+
+            // Coup choisi puis réponse adverse : le sous-arbre est retrouvé deux coups plus bas
+            Coup coup = jeu.versCoup(premier.getCoup());
+            assertTrue(jeu.jouerPartie(coup));
+            EtatJeu etat = jeu.creerEtat();
+            int[] coups = new int[etat.getNombreMaxCoups()];
+            etat.coupsLegaux(coups);
+            assertTrue(jeu.jouerPartie(jeu.versCoup(coups[0])));
+            ResultatMCTS second = recherche.chercher(jeu.creerEtat(), 4_000, 10_000);
+            assertTrue("Statistiques héritées", second.getReutilises() > 0);
+            assertTrue(second.getCoup() >= 0);
+        } finally {
+            recherche.arreter();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package modele.ia.puissance4;
+
+import modele.jeu.Coup;
+import modele.jeu.JeuPuissance4;
+import modele.jeu.Joueur;
+import modele.plateau.BitboardPuissance4;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du solveur exact de Puissance 4.
+ */
+public class SolveurPuissance4Test {
+
+    /** Minimax sans élagage, pour vérifier le solveur sur des fins de partie. */
+    private static int minimax(BitboardPuissance4 p) {
+        int n = p.getNombreCoups();
+        if (n == BitboardPuissance4.NOMBRE_CASES) return 0;
+        for (int col = 0; col < BitboardPuissance4.LARGEUR; col++) {
+            if (p.peutJouer(col) && p.estCoupGagnant(col)) return (BitboardPuissance4.NOMBRE_CASES + 1 - n) / 2;
+        }
+        int meilleur = -BitboardPuissance4.NOMBRE_CASES;
+        for (int col = 0; col < BitboardPuissance4.LARGEUR; col++) {
+            if (!p.peutJouer(col)) continue;
+            BitboardPuissance4 suivante = new BitboardPuissance4(p);
+            suivante.jouer(col);
+            meilleur = Math.max(meilleur, -minimax(suivante));
+        }
+        return meilleur;
+    }
+
+    private static BitboardPuissance4 finDePartieAleatoire(Random aleatoire, int pierres) {
+        while (true) {
+            BitboardPuissance4 p = new BitboardPuissance4();
+            StringBuilder suite = new StringBuilder();
+            for (int i = 0; i < pierres; i++) suite.append((char) ('1' + aleatoire.nextInt(7)));
+            if (p.jouer(suite.toString()) == pierres) return p;
+        }
+    }
+
+    @Test
+    public void testScoresExactsEnFinDePartie() {
+        Random aleatoire = new Random(4);
+        SolveurPuissance4 solveur = new SolveurPuissance4(SolveurPuissance4.LOG2_ENTREES_MIN);
+        for (int i = 0; i < 20; i++) {
+            BitboardPuissance4 p = finDePartieAleatoire(aleatoire, 32);
+            int attendu = minimax(p);
+            assertEquals("Score exact de la position " + i, attendu, solveur.resoudre(p));
+            assertEquals("Issue de la position " + i, Integer.signum(attendu), solveur.resoudre(p, true));
+        }
+    }
+
+    @Test
+    public void testAnalyseDesColonnes() {
+        BitboardPuissance4 p = finDePartieAleatoire(new Random(7), 33);
+        int[] scores = new SolveurPuissance4(SolveurPuissance4.LOG2_ENTREES_MIN).analyser(p);
+        for (int col = 0; col < BitboardPuissance4.LARGEUR; col++) {
+            if (!p.peutJouer(col)) {
+                assertEquals(SolveurPuissance4.COLONNE_PLEINE, scores[col]);
+            } else if (!p.estCoupGagnant(col)) {
+                BitboardPuissance4 suivante = new BitboardPuissance4(p);
+                suivante.jouer(col);
+                assertEquals("Score de la colonne " + col, -minimax(suivante), scores[col]);
+            }
+        }
+    }
+
+    @Test
+    public void testAdversaireParfaitPareLaMenace() {
+        Plateau plateau = new Plateau(6, 7);
+        JeuPuissance4 jeu = new JeuPuissance4(plateau, false);
+        for (int col : new int[]{0, 6, 0, 6, 0}) {
+            assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(0, col))));
+        }
+        JoueurPuissance4Parfait ordinateur = new JoueurPuissance4Parfait(Joueur.Couleur.NOIR);
+        Coup coup = ordinateur.choisirCoup(jeu);
+        assertEquals("L'ordinateur bloque la colonne 0", 0, coup.getArrivee().getPosY());
+    }
+
+    @Test
+    public void testOuvertureSansResolutionComplete() {
+        SolveurPuissance4 solveur = new SolveurPuissance4(SolveurPuissance4.LOG2_ENTREES_MIN);
+        for (int premier = 0; premier < BitboardPuissance4.LARGEUR; premier++) {
+            BitboardPuissance4 p = new BitboardPuissance4();
+            p.jouer(premier);
+            int reponse = solveur.meilleurCoup(p, 1_000);
+            assertTrue(p.peutJouer(reponse));
+        }
+        assertEquals("Le livre ne coûte aucune recherche", 0, solveur.getNoeuds());
+
+        // Hors du livre, le budget est respecté et un coup jouable est rendu
+        BitboardPuissance4 p = new BitboardPuissance4();
+        assertEquals(3, p.jouer("444"));
+        int coup = solveur.meilleurCoup(p, 100_000);
+        assertTrue(p.peutJouer(coup));
+        assertTrue("Budget respecté : " + solveur.getNoeuds(), solveur.getNoeuds() <= 100_001);
+
+        // Le budget abandonné ne laisse pas de borne fausse : les fins de partie restent exactes
+        Random aleatoire = new Random(4);
+        for (int i = 0; i < 5; i++) {
+            BitboardPuissance4 fin = finDePartieAleatoire(aleatoire, 32);
+            assertEquals(minimax(fin), solveur.resoudre(fin));
+        }
+    }
+
+    @Test
+    public void testTailleDeTableBornee() {
+        assertThrows(IllegalArgumentException.class, () -> new SolveurPuissance4(SolveurPuissance4.LOG2_ENTREES_MIN - 1));
+        assertThrows(IllegalArgumentException.class, () -> new SolveurPuissance4(31));
+    }
+}
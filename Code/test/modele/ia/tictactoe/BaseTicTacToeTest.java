@@ -0,0 +1,113 @@
+package modele.ia.tictactoe;
+
+import modele.jeu.Coup;
+import modele.jeu.JeuTicTacToe;
+import modele.jeu.Joueur;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la base de positions résolues du TicTacToe.
+ */
+public class BaseTicTacToeTest {
+
+    private static final int[][] LIGNES = {
+            {0, 1, 2}, {3, 4, 5}, {6, 7, 8}, {0, 3, 6}, {1, 4, 7}, {2, 5, 8}, {0, 4, 8}, {2, 4, 6}
+    };
+
+    /** Négamax naïf, sans symétrie, sur un tableau de 9 cases (0 vide, 1 Blanc, 2 Noir). */
+    private static int negamax(int[] cases, int trait, Map<Integer, Integer> memo) {
+        int indice = 0;
+        for (int c = 8; c >= 0; c--) indice = indice * 3 + cases[c];
+        Integer connu = memo.get(indice);
+        if (connu != null) return connu;
+        int adversaire = 3 - trait;
+        int vides = 0;
+        for (int v : cases) if (v == 0) vides++;
+        int score;
+        boolean aligne = false;
+        for (int[] l : LIGNES) {
+            if (cases[l[0]] == adversaire && cases[l[1]] == adversaire && cases[l[2]] == adversaire) aligne = true;
+        }
+        if (aligne) {
+            score = -(vides + 1);
+        } else if (vides == 0) {
+            score = 0;
+        } else {
+            score = Integer.MIN_VALUE;
+            for (int c = 0; c < 9; c++) {
+                if (cases[c] != 0) continue;
+                cases[c] = trait;
+                score = Math.max(score, -negamax(cases, adversaire, memo));
+                cases[c] = 0;
+            }
+        }
+        memo.put(indice, score);
+        return score;
+    }
+
+    @Test
+    public void testAccordAvecUnNegamaxSansSymetrie() {
+        Map<Integer, Integer> memo = new HashMap<>();
+        negamax(new int[9], 1, memo);
+        assertEquals("Positions accessibles", 5478, memo.size());
+        assertEquals("Positions canoniques", 765, BaseTicTacToe.getNombrePositions());
+
+        int accessibles = 0;
+        for (int indice = 0; indice < BaseTicTacToe.NOMBRE_INDICES; indice++) {
+            if (BaseTicTacToe.estAccessible(indice)) accessibles++;
+        }
+        assertEquals(5478, accessibles);
+
+        for (Map.Entry<Integer, Integer> e : memo.entrySet()) {
+            int indice = e.getKey();
+            assertEquals("Score de " + indice, (int) e.getValue(), BaseTicTacToe.score(indice));
+            // Chaque meilleur coup conduit à une position de score opposé
+            int coups = BaseTicTacToe.meilleursCoups(indice);
+            int[] cases = new int[9];
+            int blancs = 0, noirs = 0;
+            for (int c = 0, v = indice; c < 9; c++, v /= 3) {
+                cases[c] = v % 3;
+                if (cases[c] == 1) blancs++;
+                if (cases[c] == 2) noirs++;
+            }
+            int trait = blancs == noirs ? 1 : 2;
+            for (int c = 0; c < 9; c++) {
+                if ((coups & (1 << c)) == 0) continue;
+                assertEquals("Case libre", 0, cases[c]);
+                int suivant = indice + trait * (int) Math.pow(3, c);
+                assertEquals(e.getValue().intValue(), -BaseTicTacToe.score(suivant));
+            }
+        }
+        assertEquals("Nulle en jeu parfait", 0, BaseTicTacToe.valeur(0));
+    }
+
+    @Test
+    public void testLeJoueurParfaitNePerdJamais() {
+        Random r = new Random(15);
+        for (int partie = 0; partie < 200; partie++) {
+            Plateau plateau = new Plateau(3, 3);
+            JeuTicTacToe jeu = new JeuTicTacToe(plateau, false);
+            Joueur.Couleur couleurIA = partie % 2 == 0 ? Joueur.Couleur.BLANC : Joueur.Couleur.NOIR;
+            JoueurTicTacToeParfait ia = new JoueurTicTacToeParfait(couleurIA, r);
+            while (!jeu.estTermine()) {
+                Coup coup;
+                if (jeu.getJoueurCourant().getCouleur() == couleurIA) {
+                    coup = ia.choisirCoup(jeu);
+                } else {
+                    int c;
+                    do c = r.nextInt(9); while (plateau.getCase(c / 3, c % 3).getPiece() != null);
+                    coup = new Coup(null, plateau.getCase(c / 3, c % 3));
+                }
+                assertTrue(jeu.jouerPartie(coup));
+            }
+            assertTrue("L'ordinateur ne perd pas", jeu.getGagnant() == null || jeu.getGagnant().getCouleur() == couleurIA);
+        }
+    }
+}
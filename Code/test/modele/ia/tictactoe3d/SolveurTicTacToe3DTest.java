@@ -0,0 +1,113 @@
+package modele.ia.tictactoe3d;
+
+import modele.plateau.BitboardCube;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du solveur par nombres de preuve du TicTacToe 3D.
+ */
+public class SolveurTicTacToe3DTest {
+
+    private static final long[] LIGNES_3 = BitboardCube.masquesLignes(3);
+    private static final long PLEIN_3 = (1L << 27) - 1;
+
+    private static boolean complete(long pierres) {
+        for (long l : LIGNES_3) if ((pierres & l) == l) return true;
+        return false;
+    }
+
+    /** Recherche exhaustive, sans symétrie ni élagage : le joueur au trait peut-il forcer le gain ? */
+    private static boolean gainForce(long moi, long lui, Map<Long, Boolean> memo) {
+        long cle = moi * 31 + lui * 0x9E3779B97F4A7C15L;
+        Boolean connu = memo.get(cle);
+        if (connu != null) return connu;
+        boolean gain = false;
+        long vides = PLEIN_3 & ~(moi | lui);
+        for (long m = vides; m != 0 && !gain; m &= m - 1) {
+            long coup = m & -m;
+            if (complete(moi | coup)) {
+                gain = true;
+            } else if ((vides & ~coup) != 0) {
+                // Toutes les réponses doivent laisser un gain forcé
+                boolean toutes = true;
+                for (long r = vides & ~coup; r != 0 && toutes; r &= r - 1) {
+                    long reponse = r & -r;
+                    toutes = !complete(lui | reponse) && gainForce(moi | coup, lui | reponse, memo);
+                }
+                gain = toutes;
+            }
+        }
+        memo.put(cle, gain);
+        return gain;
+    }
+
+    @Test
+    public void testCubeTroisGagnantPourLePremier() {
+        SolveurTicTacToe3D solveur = new SolveurTicTacToe3D(3, 1);
+        ResultatPreuve r = solveur.resoudre(0L, 0L, Long.MAX_VALUE);
+        assertTrue("Le premier joueur gagne le 3x3x3", r.estGainForce());
+        assertEquals("Le centre, premier coup examiné, gagne", 13, r.getCoupGagnant());
+        assertTrue(r.getNoeuds() > 0);
+        assertEquals(1 << 20, r.getMemoireOctets(), 1 << 20);
+
+        // Après la prise du centre par les Blancs, les Noirs ne peuvent rien forcer
+        assertEquals(ResultatPreuve.Verdict.PAS_DE_GAIN_FORCE, solveur.resoudre(0L, 1L << 13, Long.MAX_VALUE).getVerdict());
+    }
+
+    @Test
+    public void testAccordAvecUneRechercheExhaustive() {
+        Random r = new Random(17);
+        SolveurTicTacToe3D solveur = new SolveurTicTacToe3D(3, 4);
+        int gains = 0;
+        for (int essai = 0; essai < 40; essai++) {
+            long blancs = 0, noirs = 0;
+            for (int coup = 0; coup < 10; coup++) {
+                long bit;
+                do bit = 1L << r.nextInt(27); while (((blancs | noirs) & bit) != 0);
+                if ((coup & 1) == 0) blancs |= bit;
+                else noirs |= bit;
+            }
+            if (complete(blancs) || complete(noirs)) continue;
+            ResultatPreuve preuve = solveur.resoudre(blancs, noirs, Long.MAX_VALUE);
+            boolean attendu = gainForce(blancs, noirs, new HashMap<>());
+            assertEquals("Position " + blancs + "/" + noirs, attendu, preuve.estGainForce());
+            if (attendu) {
+                gains++;
+                long coup = 1L << preuve.getCoupGagnant();
+                assertEquals("Case libre", 0, (blancs | noirs) & coup);
+                assertTrue("Le coup annoncé conserve le gain",
+                        complete(blancs | coup) || !gainForce(noirs, blancs | coup, new HashMap<>()));
+            }
+        }
+        assertTrue(gains > 0);
+    }
+
+    @Test
+    public void testQubicDoubleMenace() {
+        // Les Blancs ont deux lignes à deux pierres qui se croisent en (0,0,0) : gain en trois demi-coups
+        BitboardCube cube = new BitboardCube(4);
+        cube.jouer(0, 0, 1, BitboardCube.BLANC);
+        cube.jouer(3, 3, 3, BitboardCube.NOIR);
+        cube.jouer(0, 0, 2, BitboardCube.BLANC);
+        cube.jouer(3, 3, 2, BitboardCube.NOIR);
+        cube.jouer(1, 0, 0, BitboardCube.BLANC);
+        cube.jouer(3, 2, 3, BitboardCube.NOIR);
+        cube.jouer(2, 0, 0, BitboardCube.BLANC);
+        cube.jouer(2, 3, 3, BitboardCube.NOIR);
+        SolveurTicTacToe3D solveur = new SolveurTicTacToe3D(4, 8);
+        ResultatPreuve r = solveur.resoudre(cube);
+        assertTrue(r.toString(), r.estGainForce());
+        assertTrue("Preuve par les menaces, sans explorer le cube", r.getNoeuds() < 10_000);
+
+        // Budget épuisé : verdict inconnu plutôt qu'une recherche sans fin
+        ResultatPreuve vide = solveur.resoudre(0L, 0L, 1000);
+        assertEquals(ResultatPreuve.Verdict.INCONNU, vide.getVerdict());
+        assertEquals(-1, vide.getCoupGagnant());
+    }
+}
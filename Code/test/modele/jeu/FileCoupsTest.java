@@ -0,0 +1,69 @@
+package modele.jeu;
+
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la file de coups transmis au thread d'une partie.
+ */
+public class FileCoupsTest {
+
+    @Test
+    public void testContrePressionEtDelais() throws InterruptedException {
+        FileCoups file = new FileCoups(2);
+        Coup a = new Coup(null, null);
+        Coup b = new Coup(null, null);
+        assertNull("File vide : le délai expire", file.prendre(10, TimeUnit.MILLISECONDS));
+
+        file.deposer(a);
+        assertTrue(file.deposer(b, 10, TimeUnit.MILLISECONDS));
+        assertFalse("File pleine : le dépôt est refusé après le délai",
+                file.deposer(new Coup(null, null), 10, TimeUnit.MILLISECONDS));
+        assertEquals(1, file.getDepotsRefuses());
+        assertEquals(2, file.getProfondeurMax());
+
+        List<Coup> lot = new ArrayList<>();
+        assertEquals(2, file.prendreLot(lot, 16));
+        assertSame("Les coups sont pris dans l'ordre de dépôt", a, lot.get(0));
+        assertSame(b, lot.get(1));
+        assertEquals(0, file.getProfondeur());
+        assertTrue(file.getAttenteMaxNs() >= file.getAttenteMoyenneNs());
+    }
+
+    @Test
+    public void testCoupsEnchainesSansPerte() throws InterruptedException {
+        Plateau plateau = new Plateau(6, 7);
+        // Partie sans thread dédié : la boucle du jeu tourne dans un thread démon arrêté en fin de test
+        JeuPuissance4 jeu = new JeuPuissance4(plateau, false);
+        int[] colonnes = {0, 1, 2, 3, 4, 5, 6, 0, 1, 2};
+        CountDownLatch tousJoues = new CountDownLatch(1);
+        jeu.addObserver((o, arg) -> {
+            if (jeu.getNombreCoupsJoues() == colonnes.length) tousJoues.countDown();
+        });
+        Thread boucle = new Thread(jeu);
+        boucle.setDaemon(true);
+        boucle.start();
+        try {
+            // Dix coups envoyés d'affilée, sans attendre le thread du jeu
+            for (int col : colonnes) jeu.setCoup(new Coup(null, plateau.getCase(0, col)));
+            assertTrue("Les coups sont tous appliqués", tousJoues.await(10, TimeUnit.SECONDS));
+        } finally {
+            boucle.interrupt();
+        }
+        int pions = 0;
+        for (int x = 0; x < 6; x++) {
+            for (int y = 0; y < 7; y++) {
+                if (plateau.getCase(x, y).getPiece() != null) pions++;
+            }
+        }
+        assertEquals("Aucun coup n'est perdu", colonnes.length, pions);
+        assertEquals(colonnes.length, jeu.getFileCoups().getCoupsDeposes());
+    }
+}
@@ -1,5 +1,8 @@
 package modele.jeu;
 
+import modele.jeu.Pieces.PiecesEchec.Roi;
+import modele.jeu.Pieces.PiecesEchec.Tour;
+import modele.plateau.BitboardPosition;
 import modele.plateau.Case;
 import modele.plateau.Plateau;
 import org.junit.Test;
@@ -26,30 +29,30 @@ public class JeuEchecTest {
         assertFalse("La partie ne doit pas être terminée au début", jeu.estTermine());
         assertEquals("C'est aux Blancs de commencer", jeu.getJoueurBlanc(), jeu.getJoueurCourant());
 
-        Case f2 = Plateau.getCase(6, 5);
-        Case f3 = Plateau.getCase(5, 5);
+        Case f2 = plateau.getCase(6, 5);
+        Case f3 = plateau.getCase(5, 5);
 
         boolean coup1Valide = jeu.jouerPartie(new Coup(f2, f3));
         assertTrue("Le coup f2-f3 devrait être valide", coup1Valide);
         assertFalse("La partie continue", jeu.estTermine());
         assertEquals("C'est aux Noirs de jouer", jeu.getJoueurNoir(), jeu.getJoueurCourant());
 
-        Case e7 = Plateau.getCase(1, 4);
-        Case e5 = Plateau.getCase(3, 4);
+        Case e7 = plateau.getCase(1, 4);
+        Case e5 = plateau.getCase(3, 4);
 
         boolean coup2Valide = jeu.jouerPartie(new Coup(e7, e5));
         assertTrue("Le coup e7-e5 devrait être valide", coup2Valide);
         assertFalse("La partie continue", jeu.estTermine());
 
-        Case g2 = Plateau.getCase(6, 6);
-        Case g4 = Plateau.getCase(4, 6);
+        Case g2 = plateau.getCase(6, 6);
+        Case g4 = plateau.getCase(4, 6);
 
         boolean coup3Valide = jeu.jouerPartie(new Coup(g2, g4));
         assertTrue("Le coup g2-g4 devrait être valide", coup3Valide);
         assertFalse("La partie continue", jeu.estTermine());
 
-        Case d8 = Plateau.getCase(0, 3); // Reine noire
-        Case h4 = Plateau.getCase(4, 7); // Case d'attaque
+        Case d8 = plateau.getCase(0, 3); // Reine noire
+        Case h4 = plateau.getCase(4, 7); // Case d'attaque
         boolean coup4Valide = jeu.jouerPartie(new Coup(d8, h4));
         assertTrue("Le coup Reine d8-h4 devrait être valide", coup4Valide);
 
@@ -57,4 +60,118 @@ public class JeuEchecTest {
         assertNotNull("Il doit y avoir un gagnant", jeu.getGagnant());
         assertEquals("Le gagnant doit être le joueur NOIR", jeu.getJoueurNoir(), jeu.getGagnant());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTripleRepetition() {
+        Plateau plateau = new Plateau(8, 8);
+        JeuEchec jeu = new JeuEchec(plateau);
+
+        // Les cavaliers font deux allers-retours : la position initiale revient une troisième fois
+        int[][] aller = {{7, 6, 5, 5}, {0, 6, 2, 5}, {5, 5, 7, 6}, {2, 5, 0, 6}};
+        for (int tour = 0; tour < 2; tour++) {
+            for (int[] c : aller) {
+                assertFalse("La partie continue", jeu.estTermine());
+                assertTrue(jeu.jouerPartie(new Coup(plateau.getCase(c[0], c[1]), plateau.getCase(c[2], c[3]))));
+            }
+        }
+        assertTrue("Triple répétition : partie nulle", jeu.estTermine());
+        assertNull("Pas de gagnant en cas de nulle", jeu.getGagnant());
+    }
+
+    @Test
+    public void testDeuxPartiesIndependantes() {
+        Plateau plateauA = new Plateau(8, 8);
+        JeuEchec jeuA = new JeuEchec(plateauA);
+        Plateau plateauB = new Plateau(8, 8);
+        JeuEchec jeuB = new JeuEchec(plateauB);
+        // Un plateau d'une autre taille ne doit plus écraser ceux des échecs
+        new JeuTicTacToe(new Plateau(3, 3));
+
+        assertTrue(jeuA.jouerPartie(new Coup(plateauA.getCase(6, 4), plateauA.getCase(4, 4))));
+
+        assertNotNull("Le pion e4 est sur le plateau A", plateauA.getCase(4, 4).getPiece());
+        assertNull("Le plateau B n'a pas bougé", plateauB.getCase(4, 4).getPiece());
+        assertNotNull("Le pion e2 du plateau B est toujours là", plateauB.getCase(6, 4).getPiece());
+        assertNotSame(plateauA.getCase(0, 0), plateauB.getCase(0, 0));
+        assertTrue("Le jeu B attend toujours les blancs",
+                jeuB.jouerPartie(new Coup(plateauB.getCase(6, 3), plateauB.getCase(4, 3))));
+    }
+
+    @Test
+    public void testChargementEtExportFen() {
+        Plateau plateau = new Plateau(8, 8);
+        JeuEchec jeu = new JeuEchec(plateau, false);
+        assertEquals(BitboardPosition.FEN_INITIALE, jeu.getFen());
+        Piece pionA2 = plateau.getCase(6, 0).getPiece();
+
+        // Seul le grand roque noir reste permis ; prise en passant possible en d6
+        String fen = "r3k2r/8/8/3pP3/8/8/8/R3K2R w q d6 0 12";
+        jeu.chargerFen(fen);
+        assertEquals(fen, jeu.getFen());
+        assertEquals(jeu.getJoueurBlanc(), jeu.getJoueurCourant());
+        assertTrue("Le roi blanc a perdu ses roques", ((Roi) plateau.getCase(7, 4).getPiece()).getADejaBouge());
+        assertFalse(((Roi) plateau.getCase(0, 4).getPiece()).getADejaBouge());
+        assertFalse(((Tour) plateau.getCase(0, 0).getPiece()).getADejaBouge());
+        assertTrue(((Tour) plateau.getCase(0, 7).getPiece()).getADejaBouge());
+
+        assertTrue("e5xd6 en passant", jeu.jouerPartie(new Coup(plateau.getCase(3, 4), plateau.getCase(2, 3))));
+        assertNull("Le pion d5 est pris", plateau.getCase(3, 3).getPiece());
+        assertEquals("r3k2r/8/3P4/8/8/8/8/R3K2R b q - 0 12", jeu.getFen());
+
+        // Une FEN invalide laisse la partie intacte
+        assertThrows(IllegalArgumentException.class, () -> jeu.chargerFen("r3k2r/8/8 w - - 0 1"));
+        assertEquals("r3k2r/8/3P4/8/8/8/8/R3K2R b q - 0 12", jeu.getFen());
+
+        // Le retour à la position initiale réutilise les pièces déjà créées
+        jeu.reinitialiserPartie();
+        assertEquals(BitboardPosition.FEN_INITIALE, jeu.getFen());
+        boolean reutilise = false;
+        for (int y = 0; y < 8; y++) reutilise |= plateau.getCase(6, y).getPiece() == pionA2;
+        assertTrue("Un pion blanc d'origine est reposé", reutilise);
+        assertTrue(jeu.jouerPartie(new Coup(plateau.getCase(6, 4), plateau.getCase(4, 4))));
+    }
+
+    @Test
+    public void testAnnulerEtRefaireCoups() {
+        Plateau plateau = new Plateau(8, 8);
+        JeuEchec jeu = new JeuEchec(plateau, false);
+        jeu.chargerFen("r3k2r/1P6/8/3pP3/8/8/8/R3K2R w KQkq d6 0 1");
+        assertFalse("Rien à annuler", jeu.annulerCoup());
+        assertNull(jeu.getDernierCoup());
+
+        // Prise en passant, coup de tour, petit roque, coup de roi, prise avec promotion
+        int[][] coups = {{3, 4, 2, 3}, {0, 7, 1, 7}, {7, 4, 7, 6}, {0, 4, 0, 3}, {1, 1, 0, 0}};
+        String[] fens = new String[coups.length + 1];
+        byte[][] grilles = new byte[coups.length + 1][];
+        fens[0] = jeu.getFen();
+        grilles[0] = plateau.getCodes().clone();
+        for (int i = 0; i < coups.length; i++) {
+            int[] c = coups[i];
+            assertTrue("Coup " + i, jeu.jouerPartie(new Coup(plateau.getCase(c[0], c[1]), plateau.getCase(c[2], c[3]))));
+            fens[i + 1] = jeu.getFen();
+            grilles[i + 1] = plateau.getCodes().clone();
+        }
+        assertSame("Dernier coup : arrivée en a8", plateau.getCase(0, 0), jeu.getDernierCoup().getArrivee());
+        assertEquals(Piece.Type.REINE, plateau.getCase(0, 0).getPiece().getType());
+
+        for (int i = coups.length; i > 0; i--) {
+            assertTrue(jeu.annulerCoup());
+            assertEquals("FEN après annulation du coup " + i, fens[i - 1], jeu.getFen());
+            assertArrayEquals("Grille après annulation du coup " + i, grilles[i - 1], plateau.getCodes());
+        }
+        assertFalse("Le roi blanc n'a plus bougé", ((Roi) plateau.getCase(7, 4).getPiece()).getADejaBouge());
+        assertFalse("La tour h1 n'a plus bougé", ((Tour) plateau.getCase(7, 7).getPiece()).getADejaBouge());
+        assertEquals("Le pion b7 est revenu", Piece.Type.PION, plateau.getCase(1, 1).getPiece().getType());
+        assertEquals(jeu.getJoueurBlanc(), jeu.getJoueurCourant());
+
+        while (jeu.refaireCoup()) { }
+        assertEquals("Tous les coups refaits", fens[coups.length], jeu.getFen());
+        assertArrayEquals(grilles[coups.length], plateau.getCodes());
+
+        // Un nouveau coup après une annulation efface les coups à refaire
+        jeu.annulerCoup();
+        assertTrue(jeu.peutRefaire());
+        assertTrue(jeu.jouerPartie(new Coup(plateau.getCase(7, 6), plateau.getCase(6, 6))));
+        assertFalse("Plus rien à refaire", jeu.peutRefaire());
+    }
+}
@@ -4,6 +4,10 @@ import modele.plateau.Case;
 import modele.plateau.Plateau;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.Assert.*;
 
 /**
@@ -26,24 +30,24 @@ public class JeuPuissance4Test {
         // On cible la colonne 0.
         // Peu importe la ligne indiquée dans le Coup (ici 0),
         // le jeu doit faire tomber le pion à la ligne 5 (le fond).
-        Case colonne0 = Plateau.getCase(0, 0);
+        Case colonne0 = plateau.getCase(0, 0);
 
         // When: BLANC joue dans la colonne 0
         jeu.jouerPartie(new Coup(null, colonne0));
 
         // Then: Le pion doit être à la ligne 5 (tout en bas)
-        Case caseFond = Plateau.getCase(5, 0);
+        Case caseFond = plateau.getCase(5, 0);
         assertNotNull("La case du fond (5,0) doit être occupée", caseFond.getPiece());
         assertEquals("C'est un pion BLANC", "BLANC", caseFond.getPiece().getCouleur());
 
         // La case juste au-dessus (4,0) doit être encore vide
-        assertNull("La case (4,0) doit être vide", Plateau.getCase(4, 0).getPiece());
+        assertNull("La case (4,0) doit être vide", plateau.getCase(4, 0).getPiece());
 
         // When: NOIR joue aussi dans la colonne 0 (Empilement)
         jeu.jouerPartie(new Coup(null, colonne0));
 
         // Then: Le pion doit être à la ligne 4 (juste au-dessus du précédent)
-        Case caseEmpilee = Plateau.getCase(4, 0);
+        Case caseEmpilee = plateau.getCase(4, 0);
         assertNotNull("La case (4,0) doit être occupée maintenant", caseEmpilee.getPiece());
         assertEquals("C'est un pion NOIR", "NOIR", caseEmpilee.getPiece().getCouleur());
     }
@@ -57,8 +61,8 @@ public class JeuPuissance4Test {
         Plateau plateau = new Plateau(6, 7);
         JeuPuissance4 jeu = new JeuPuissance4(plateau);
 
-        Case col0 = Plateau.getCase(0, 0); // Pour BLANC
-        Case col1 = Plateau.getCase(0, 1); // Pour NOIR (il joue à côté pour ne pas gêner)
+        Case col0 = plateau.getCase(0, 0); // Pour BLANC
+        Case col1 = plateau.getCase(0, 1); // Pour NOIR (il joue à côté pour ne pas gêner)
 
         // On simule les tours :
         // Tour 1
@@ -84,4 +88,63 @@ public class JeuPuissance4Test {
         assertNotNull("Il doit y avoir un gagnant", jeu.getGagnant());
         assertEquals("Le gagnant est BLANC", jeu.getJoueurBlanc(), jeu.getGagnant());
     }
-}
\ No newline at end of file
+
+    /**
+     * Annule le coup gagnant : la victoire et les cases gagnantes disparaissent et le même joueur rejoue.
+     */
+    @Test
+    public void testAnnulerCoupGagnant() {
+        Plateau plateau = new Plateau(6, 7);
+        JeuPuissance4 jeu = new JeuPuissance4(plateau, false);
+        for (int col : new int[]{0, 1, 0, 1, 0, 1, 0}) {
+            jeu.jouerPartie(new Coup(null, plateau.getCase(0, col)));
+        }
+        assertTrue("Blanc a gagné", jeu.estTermine());
+        assertFalse("Aucun coup après la victoire", jeu.jouerPartie(new Coup(null, plateau.getCase(0, 2))));
+        assertNull(plateau.getCase(5, 2).getPiece());
+        assertEquals(7, jeu.getNombreCoupsJoues());
+        assertSame("Le dernier coup est la case où le pion est tombé", plateau.getCase(2, 0), jeu.getDernierCoup().getArrivee());
+
+        assertTrue(jeu.annulerCoup());
+        assertFalse("La victoire est annulée", jeu.estTermine());
+        assertNull(jeu.getGagnant());
+        assertFalse("Cases gagnantes effacées", jeu.getWinningCells()[3][0]);
+        assertNull("Le pion gagnant est retiré", plateau.getCase(2, 0).getPiece());
+        assertEquals("Blanc a de nouveau la main", jeu.getJoueurBlanc(), jeu.getJoueurCourant());
+
+        assertTrue(jeu.annulerCoup());
+        assertEquals("Noir rejoue son dernier coup", jeu.getJoueurNoir(), jeu.getJoueurCourant());
+        assertTrue(jeu.refaireCoup());
+        assertTrue(jeu.refaireCoup());
+        assertTrue("Victoire retrouvée", jeu.estTermine());
+        assertEquals(jeu.getJoueurBlanc(), jeu.getGagnant());
+    }
+
+    /**
+     * Un joueur installé pendant la partie l'est par le thread du jeu, qui lui donne aussitôt la main.
+     */
+    @Test
+    public void testRemplacementDeJoueurParLeThreadDuJeu() throws InterruptedException {
+        Plateau plateau = new Plateau(6, 7);
+        JeuPuissance4 jeu = new JeuPuissance4(plateau);
+        AtomicReference<Thread> threadDuJeu = new AtomicReference<>();
+        CountDownLatch coupJoue = new CountDownLatch(1);
+        Joueur automate = new Joueur(Joueur.Couleur.BLANC) {
+            @Override
+            public Coup choisirCoup(Jeu j) {
+                threadDuJeu.set(Thread.currentThread());
+                return j.getNombreCoupsJoues() == 0 ? new Coup(null, plateau.getCase(0, 3)) : null;
+            }
+        };
+        jeu.addObserver((o, arg) -> coupJoue.countDown());
+        jeu.setJoueur(automate);
+        try {
+            assertTrue("L'automate joue dès son installation", coupJoue.await(10, TimeUnit.SECONDS));
+            assertNotNull(plateau.getCase(5, 3).getPiece());
+            assertSame(automate, jeu.getJoueurBlanc());
+            assertNotSame("Installé hors du thread appelant", Thread.currentThread(), threadDuJeu.get());
+        } finally {
+            if (threadDuJeu.get() != null) threadDuJeu.get().interrupt();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package modele.jeu;
 
+import modele.plateau.GrilleMNK;
 import modele.plateau.Plateau;
 import modele.plateau.Case;
 import org.junit.Test;
 
+import java.util.Set;
+
 import static org.junit.Assert.*;
 
 /**
@@ -26,27 +29,56 @@ public class JeuTicTacToeTest {
         assertFalse(jeu.estTermine());
 
         // When: BLANC joue (0,0)
-        assertTrue(jeu.jouerPartie(new Coup(null, Plateau.getCase(0, 0))));
+        assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(0, 0))));
         assertFalse(jeu.estTermine());
 
         // NOIR joue ailleurs
-        assertTrue(jeu.jouerPartie(new Coup(null, Plateau.getCase(1, 0))));
+        assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(1, 0))));
         assertFalse(jeu.estTermine());
 
         // BLANC joue (0,1)
-        assertTrue(jeu.jouerPartie(new Coup(null, Plateau.getCase(0, 1))));
+        assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(0, 1))));
         assertFalse(jeu.estTermine());
 
         // NOIR joue ailleurs
-        assertTrue(jeu.jouerPartie(new Coup(null, Plateau.getCase(1, 1))));
+        assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(1, 1))));
         assertFalse(jeu.estTermine());
 
         // BLANC joue (0,2) -> devrait gagner
-        assertTrue(jeu.jouerPartie(new Coup(null, Plateau.getCase(0, 2))));
+        assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(0, 2))));
 
         // la partie est terminée et le gagnant est BLANC
         assertTrue("La partie devrait être terminée après 3 X en ligne", jeu.estTermine());
         assertNotNull("Un gagnant devrait être défini", jeu.getGagnant());
         assertSame("Le gagnant attendu est le joueur BLANC", jeu.getJoueurBlanc(), jeu.getGagnant());
     }
+
+    @Test
+    public void testGomokuDiagonaleDeCinq() {
+        Plateau plateau = new Plateau(15, 15);
+        JeuTicTacToe jeu = new JeuTicTacToe(plateau, JeuTicTacToe.LONGUEUR_GOMOKU, false);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(3 + i, 3 + i))));
+            assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(0, i))));
+            assertFalse("Quatre alignés ne suffisent pas", jeu.estTermine());
+        }
+        assertTrue(jeu.getGrille().estMenace(7, 7, GrilleMNK.BLANC));
+        assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(7, 7))));
+
+        assertTrue(jeu.estTermine());
+        assertSame(jeu.getJoueurBlanc(), jeu.getGagnant());
+        assertTrue(jeu.getWinningCells()[5][5]);
+        assertFalse(jeu.getWinningCells()[0][0]);
+    }
+
+    @Test
+    public void testParametresInvalidesSansThreadLance() {
+        Set<Thread> avant = Thread.getAllStackTraces().keySet();
+        assertThrows(IllegalArgumentException.class, () -> new JeuTicTacToe(new Plateau(3, 3), 5, true));
+        assertThrows(IllegalArgumentException.class, () -> new JeuPuissance4(new Plateau(3, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new JeuTicTacToe3D(new Plateau(3, 3)));
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            assertTrue("Aucun thread de partie ne reste actif : " + t.getName(), avant.contains(t) || !t.isAlive());
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package modele.jeu;
+
+import modele.jeu.Pieces.PionTicTacToe;
+import modele.jeu.Pieces.PiecesEchec.Reine;
+import modele.plateau.BitboardPosition;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du code compact des pièces et de la vue en octets du plateau.
+ */
+public class PieceTest {
+
+    @Test
+    public void testCodeCompact() {
+        Plateau plateau = new Plateau(3, 3);
+        Piece x = new PionTicTacToe("BLANC", plateau, plateau.getCase(0, 0));
+        Piece o = new PionTicTacToe("NOIR", plateau, plateau.getCase(1, 1));
+        Plateau echiquier = new Plateau(8, 8);
+        Piece dame = new Reine("Blanc", echiquier, echiquier.getCase(0, 0));
+
+        assertEquals(Joueur.Couleur.BLANC, x.getCouleurJoueur());
+        assertEquals(Piece.Type.PIERRE, Piece.typeDe(o.getCode()));
+        assertEquals(Joueur.Couleur.NOIR.ordinal(), Piece.couleurDe(o.getCode()));
+        assertEquals(Piece.Type.REINE, Piece.typeDe(dame.getCode()));
+        assertTrue("« Blanc » et « BLANC » désignent la même couleur", x.estAlliee(dame));
+        assertEquals('D', Piece.lettre(dame.getCode()));
+        assertEquals(BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.REINE),
+                BitboardPosition.codeDe(dame.getCode()));
+        assertEquals("Une pierre n'est pas une pièce d'échecs", BitboardPosition.VIDE, BitboardPosition.codeDe(x.getCode()));
+    }
+
+    @Test
+    public void testVueCompacteSuitLesCoups() {
+        Plateau plateau = new Plateau(8, 8);
+        JeuEchec jeu = new JeuEchec(plateau);
+        byte[] codes = plateau.getCodes();
+        byte pionBlanc = Piece.coder(Joueur.Couleur.BLANC.ordinal(), Piece.Type.PION);
+
+        assertEquals(pionBlanc, codes[plateau.indice(6, 4, 0)]);
+        assertTrue(jeu.jouerPartie(new Coup(plateau.getCase(6, 4), plateau.getCase(4, 4))));
+        assertEquals("e2 est vidée", Piece.VIDE, codes[plateau.indice(6, 4, 0)]);
+        assertEquals("Le pion est en e4", pionBlanc, plateau.getCode(4, 4));
+
+        // La vue compacte suffit à reconstruire la position bitboard
+        BitboardPosition position = new BitboardPosition();
+        position.chargerDepuis(plateau);
+        assertEquals(32, Long.bitCount(position.getOccupation()));
+        assertEquals(BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.PION),
+                position.getPiece(BitboardPosition.indice(4, 4)));
+
+        Plateau cube = new Plateau(3, 3, 3);
+        new PionTicTacToe("NOIR", cube, cube.getCase(2, 1, 0));
+        assertEquals(Piece.Type.PIERRE, Piece.typeDe(cube.getCodes()[(2 * 3 + 1) * 3]));
+    }
+}
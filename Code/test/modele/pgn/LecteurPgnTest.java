@@ -0,0 +1,144 @@
+package modele.pgn;
+
+import modele.jeu.Coup;
+import modele.jeu.JeuEchec;
+import modele.jeu.Move;
+import modele.jeu.MoveList;
+import modele.plateau.BitboardPosition;
+import modele.plateau.Plateau;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la lecture et de l'écriture PGN : décodage SAN, texte annoté, aller-retour et
+ * lecture parallèle d'un fichier.
+ */
+public class LecteurPgnTest {
+
+    private static final String PGN =
+            "[Event \"Test \\\"échappé\\\"\"]\n"
+            + "[White \"Blancs\"]\n"
+            + "[Black \"Noirs\"]\n"
+            + "[Result \"1-0\"]\n"
+            + "\n"
+            + "1. e4 {Ouverture du roi} e5 2. Nf3 (2. f4 exf4 (2... d5) 3. Nf3) Nc6 $1\n"
+            + "% ligne ignorée\n"
+            + "3. Bc4 Nf6?! 4. Ng5 d5 5. exd5 Nxd5?? ; erreur\n"
+            + "6. Nxf7 Kxf7 7. Qf3+ Ke6 8. Nc3 Ncb4 9. O-O c6 1-0\n"
+            + "\n"
+            + "[Event \"Illégale\"]\n"
+            + "\n"
+            + "1. e4 e5 2. Ke3 *\n"
+            + "\n"
+            + "[Event \"Sans résultat\"]\n"
+            + "[SetUp \"1\"]\n"
+            + "[FEN \"4k3/P7/8/8/8/8/8/4K3 w - - 0 1\"]\n"
+            + "\n"
+            + "1. a8=Q+ Kd7\n";
+
+    @Test
+    public void testLectureTexteAnnote() {
+        LecteurPgn lecteur = new LecteurPgn(new StringReader(PGN));
+        PartiePgn p = lecteur.next();
+        assertTrue("La première partie doit être valide : " + p.getErreur(), p.estValide());
+        assertEquals("Échappements des balises", "Test \"échappé\"", p.getBalise("Event"));
+        assertEquals("Variantes et commentaires ignorés : 18 demi-coups", 18, p.getCoups().taille());
+        assertEquals("1-0", p.getResultat());
+        int roque = p.getCoups().get(16);
+        assertTrue("Le dernier coup est un roque", Move.estRoque(roque));
+
+        PartiePgn illegale = lecteur.next();
+        assertFalse("Ke3 est illégal", illegale.estValide());
+        assertEquals("Les coups légaux précédents sont gardés", 2, illegale.getCoups().taille());
+        assertEquals("*", illegale.getResultat());
+
+        PartiePgn fen = lecteur.next();
+        assertTrue("Partie depuis une FEN : " + fen.getErreur(), fen.estValide());
+        assertEquals("Promotion lue", BitboardPosition.REINE, Move.promotion(fen.getCoups().get(0)));
+        assertFalse("Trois parties dans le texte", lecteur.hasNext());
+    }
+
+    @Test
+    public void testSanPrecisionEtMat() {
+        BitboardPosition position = new BitboardPosition();
+        MoveList tampon = new MoveList();
+        // Deux cavaliers blancs peuvent aller en d2
+        position.chargerFen("4k3/8/8/8/8/5N2/8/1N2K3 w - - 0 1");
+        int m = San.lire("Nbd2", position, tampon);
+        assertEquals("Nbd2", San.ecrire(m, position, tampon));
+        try {
+            San.lire("Nd2", position, tampon);
+            fail("Nd2 est ambigu");
+        } catch (IllegalArgumentException attendu) {
+            // attendu
+        }
+        // Mat du couloir
+        position.chargerFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        assertEquals("Ra8#", San.ecrire(San.lire("Ra8", position, tampon), position, tampon));
+    }
+
+    @Test
+    public void testAllerRetourDepuisJeuEchec() throws IOException {
+        JeuEchec jeu = new JeuEchec(new Plateau(8, 8), false);
+        Random hasard = new Random(7);
+        MoveList coups = new MoveList();
+        for (int i = 0; i < 60 && !jeu.estTermine(); i++) {
+            jeu.getPosition().genererCoupsLegaux(coups);
+            Coup coup = jeu.versCoup(coups.get(hasard.nextInt(coups.taille())));
+            assertTrue("Coup légal joué", jeu.jouerPartie(coup));
+        }
+        StringWriter texte = new StringWriter();
+        new EcrivainPgn(texte).ecrire(jeu, Collections.singletonMap("White", "Alice"));
+
+        PartiePgn relue = new LecteurPgn(new StringReader(texte.toString())).next();
+        assertTrue("Relecture : " + relue.getErreur() + "\n" + texte, relue.estValide());
+        assertEquals("Alice", relue.getBalise("White"));
+        MoveList joues = new MoveList();
+        jeu.getCoupsJoues(joues);
+        assertEquals("Même nombre de coups", joues.taille(), relue.getCoups().taille());
+        for (int i = 0; i < joues.taille(); i++) {
+            assertEquals("Coup " + i, joues.get(i), relue.getCoups().get(i));
+        }
+        for (String ligne : texte.toString().split("\n")) {
+            assertTrue("Ligne de plus de 80 caractères : " + ligne, ligne.length() <= 80);
+        }
+    }
+
+    @Test
+    public void testLectureParalleleIdentique() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; i++) sb.append(PGN).append('\n');
+        Path fichier = Files.createTempFile("test", ".pgn");
+        try {
+            Files.write(fichier, sb.toString().getBytes(StandardCharsets.UTF_8));
+            long[] bornes = LecteurPgn.decouper(fichier, 4);
+            assertTrue("Plusieurs morceaux", bornes.length > 2);
+
+            List<Integer> seul = Collections.synchronizedList(new ArrayList<>());
+            List<Integer> parallele = Collections.synchronizedList(new ArrayList<>());
+            ResultatLecturePgn r1 = LecteurPgn.lireFichier(fichier, 1, p -> seul.add(p.getCoups().taille()));
+            ResultatLecturePgn r4 = LecteurPgn.lireFichier(fichier, 4, p -> parallele.add(p.getCoups().taille()));
+            assertEquals(120, r1.getParties());
+            assertEquals("Même nombre de parties", r1.getParties(), r4.getParties());
+            assertEquals("Mêmes erreurs", 40, r4.getErreurs());
+            assertEquals("Mêmes coups", r1.getCoups(), r4.getCoups());
+            Collections.sort(seul);
+            Collections.sort(parallele);
+            assertEquals(seul, parallele);
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package modele.plateau;
+
+import modele.jeu.Coup;
+import modele.jeu.JeuTicTacToe3D;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du cube de TicTacToe 3D en ensembles de bits.
+ */
+public class BitboardCubeTest {
+
+    @Test
+    public void testNombreDeLignes() {
+        assertEquals(49, new BitboardCube(3).getNombreLignes());
+        assertEquals("Qubic", 76, new BitboardCube(4).getNombreLignes());
+        assertEquals(109, new BitboardCube(5).getNombreLignes());
+        long[] masques = BitboardCube.masquesLignes(4);
+        assertEquals(76, masques.length);
+        for (long m : masques) assertEquals("4 cases par ligne", 4, Long.bitCount(m));
+    }
+
+    /** Alignement recalculé naïvement sur toutes les lignes du cube. */
+    private static boolean alignementNaif(int[][] lignes, int[] couleurs, int couleur) {
+        for (int[] ligne : lignes) {
+            boolean complete = true;
+            for (int c : ligne) complete &= couleurs[c] == couleur;
+            if (complete) return true;
+        }
+        return false;
+    }
+
+    @Test
+    public void testAccordAvecLeRecalculNaif() {
+        Random r = new Random(16);
+        for (int n = 3; n <= 5; n++) {
+            BitboardCube cube = new BitboardCube(n);
+            int[][] lignes = DetecteurAlignement.enumererLignes(n, n, n, n);
+            int[] couleurs = new int[n * n * n];
+            for (int partie = 0; partie < 200; partie++) {
+                cube.vider();
+                Arrays.fill(couleurs, -1);
+                for (int coup = 0; !cube.estPlein(); coup++) {
+                    int x = r.nextInt(n), y = r.nextInt(n), z = r.nextInt(n);
+                    if (couleurs[cube.indice(x, y, z)] >= 0) continue;
+                    int couleur = coup & 1;
+                    couleurs[cube.indice(x, y, z)] = couleur;
+                    boolean attendu = alignementNaif(lignes, couleurs, couleur);
+                    assertEquals("Côté " + n + ", même verdict que le recalcul naïf", attendu, cube.jouer(x, y, z, couleur));
+                    if (attendu) {
+                        assertEquals(couleur, cube.getCouleurGagnante());
+                        cube.retirer(x, y, z, couleur);
+                        assertFalse("Retrait du pion gagnant", cube.estGagne());
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGrandeDiagonaleDuCube() {
+        Plateau plateau = new Plateau(3, 3, 3);
+        JeuTicTacToe3D jeu = new JeuTicTacToe3D(plateau, false);
+        int[][] coups = {{0, 0, 0}, {0, 1, 0}, {1, 1, 1}, {0, 2, 0}, {2, 2, 2}};
+        for (int[] c : coups) assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(c[0], c[1], c[2]))));
+
+        assertTrue(jeu.estTermine());
+        assertSame(jeu.getJoueurBlanc(), jeu.getGagnant());
+        boolean[][][] gagnantes = jeu.getWinningCells3D();
+        assertTrue(gagnantes[0][0][0] && gagnantes[1][1][1] && gagnantes[2][2][2]);
+        assertFalse(gagnantes[0][1][0]);
+
+        jeu.reinitialiserPartie();
+        assertSame("Le tableau des cases gagnantes est réutilisé", gagnantes, jeu.getWinningCells3D());
+        assertFalse(gagnantes[1][1][1]);
+        assertFalse(jeu.estTermine());
+    }
+
+    @Test
+    public void testPartieDeQubic() {
+        JeuTicTacToe3D jeu = new JeuTicTacToe3D(new Plateau(4, 4, 4), false);
+        assertEquals(4, jeu.getTaille());
+        // Blanc joue la grande diagonale (0,0,0)-(3,3,3), Noir joue sur la couche du haut
+        for (int i = 0; i < 4; i++) {
+            assertTrue(jeu.jouerPartie(new Coup(null, jeu.getPlateau().getCase(i, i, i))));
+            if (i < 3) assertTrue(jeu.jouerPartie(new Coup(null, jeu.getPlateau().getCase(0, i + 1, 3))));
+        }
+        assertTrue(jeu.estTermine());
+        assertEquals(jeu.getJoueurBlanc(), jeu.getGagnant());
+        boolean[][][] gagnantes = jeu.getWinningCells3D();
+        for (int i = 0; i < 4; i++) assertTrue(gagnantes[i][i][i]);
+        assertFalse(gagnantes[0][1][3]);
+        assertEquals(4, Long.bitCount(jeu.getCube().getPierres(BitboardCube.BLANC)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlateauNonCubique() {
+        new JeuTicTacToe3D(new Plateau(3, 3, 4), false);
+    }
+}
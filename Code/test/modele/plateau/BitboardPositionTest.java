@@ -0,0 +1,216 @@
+package modele.plateau;
+
+import modele.jeu.Move;
+import modele.jeu.MoveList;
+import modele.jeu.Pieces.PiecesEchec.Reine;
+import modele.jeu.Pieces.PiecesEchec.Roi;
+import modele.jeu.Pieces.PiecesEchec.Tour;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitaires de la représentation bitboard des échecs.
+ * Vérifie l'import depuis la grille de cases et la détection des cases attaquées.
+ */
+public class BitboardPositionTest {
+
+    @Test
+    public void testChargementDepuisPlateau() {
+        Plateau plateau = new Plateau(8, 8);
+        new Roi("Blanc", plateau, plateau.getCase(7, 4));
+        new Tour("Blanc", plateau, plateau.getCase(7, 7));
+        new Roi("Noir", plateau, plateau.getCase(0, 4));
+
+        BitboardPosition position = new BitboardPosition();
+        position.chargerDepuis(plateau);
+
+        assertEquals(3, Long.bitCount(position.getOccupation()));
+        assertEquals(BitboardPosition.indice(7, 4), position.getCaseRoi(BitboardPosition.BLANC));
+        assertEquals(BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.TOUR),
+                position.getPiece(BitboardPosition.indice(7, 7)));
+        assertEquals("Seul le petit roque blanc est possible",
+                BitboardPosition.ROQUE_BLANC_PETIT, position.getRoques());
+    }
+
+    @Test
+    public void testEchecParPieceGlissante() {
+        Plateau plateau = new Plateau(8, 8);
+        new Roi("Blanc", plateau, plateau.getCase(7, 4));
+        new Roi("Noir", plateau, plateau.getCase(0, 0));
+        new Reine("Noir", plateau, plateau.getCase(4, 7)); // Dame en h4 : diagonale vers e1
+
+        BitboardPosition position = new BitboardPosition();
+        position.chargerDepuis(plateau);
+        assertTrue("La dame h4 attaque le roi e1", position.estEnEchec(BitboardPosition.BLANC));
+        assertFalse(position.estEnEchec(BitboardPosition.NOIR));
+
+        // Une pièce interposée en f2 coupe la diagonale
+        position.poser(BitboardPosition.indice(6, 5), BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.TOUR));
+        assertFalse("La diagonale est bloquée", position.estEnEchec(BitboardPosition.BLANC));
+    }
+
+    @Test
+    public void testRoqueEtPriseEnPassantAnnulables() {
+        BitboardPosition position = new BitboardPosition();
+        int roiBlanc = BitboardPosition.indice(7, 4);
+        int tourH1 = BitboardPosition.indice(7, 7);
+        position.poser(roiBlanc, BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.ROI));
+        position.poser(tourH1, BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.TOUR));
+        position.poser(BitboardPosition.indice(0, 4), BitboardPosition.code(BitboardPosition.NOIR, BitboardPosition.ROI));
+        position.poser(BitboardPosition.indice(6, 3), BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.PION));
+        position.poser(BitboardPosition.indice(4, 4), BitboardPosition.code(BitboardPosition.NOIR, BitboardPosition.PION));
+        position.setRoques(BitboardPosition.ROQUE_BLANC_PETIT);
+        long occupationInitiale = position.getOccupation();
+
+        // Petit roque : la tour passe de h1 à f1 et le droit de roque disparaît
+        position.makeMove(position.creerMove(roiBlanc, BitboardPosition.indice(7, 6)));
+        assertEquals(BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.TOUR),
+                position.getPiece(BitboardPosition.indice(7, 5)));
+        assertEquals(0, position.getRoques());
+        position.unmakeMove();
+        assertEquals(occupationInitiale, position.getOccupation());
+        assertEquals(BitboardPosition.ROQUE_BLANC_PETIT, position.getRoques());
+        assertEquals(BitboardPosition.BLANC, position.getTrait());
+
+        // d2-d4 puis e4xd3 en passant
+        position.makeMove(position.creerMove(BitboardPosition.indice(6, 3), BitboardPosition.indice(4, 3)));
+        assertEquals(BitboardPosition.indice(5, 3), position.getEnPassant());
+        position.makeMove(position.creerMove(BitboardPosition.indice(4, 4), BitboardPosition.indice(5, 3)));
+        assertEquals("Le pion blanc d4 est pris en passant",
+                BitboardPosition.VIDE, position.getPiece(BitboardPosition.indice(4, 3)));
+        position.unmakeMove();
+        position.unmakeMove();
+        assertEquals(occupationInitiale, position.getOccupation());
+        assertEquals(BitboardPosition.AUCUNE_CASE, position.getEnPassant());
+    }
+
+    @Test
+    public void testGenerationDesCoups() {
+        BitboardPosition position = new BitboardPosition();
+        int[] rangee = {BitboardPosition.TOUR, BitboardPosition.CAVALIER, BitboardPosition.FOU, BitboardPosition.REINE,
+                BitboardPosition.ROI, BitboardPosition.FOU, BitboardPosition.CAVALIER, BitboardPosition.TOUR};
+        for (int y = 0; y < 8; y++) {
+            position.poser(BitboardPosition.indice(0, y), BitboardPosition.code(BitboardPosition.NOIR, rangee[y]));
+            position.poser(BitboardPosition.indice(1, y), BitboardPosition.code(BitboardPosition.NOIR, BitboardPosition.PION));
+            position.poser(BitboardPosition.indice(6, y), BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.PION));
+            position.poser(BitboardPosition.indice(7, y), BitboardPosition.code(BitboardPosition.BLANC, rangee[y]));
+        }
+        MoveList coups = new MoveList();
+        position.genererCoupsLegaux(coups);
+        assertEquals("20 coups dans la position initiale", 20, coups.taille());
+        int e2e4 = position.creerMove(BitboardPosition.indice(6, 4), BitboardPosition.indice(4, 4));
+        assertTrue("La conversion d'un coup de la vue retrouve le coup généré", coups.contient(e2e4));
+        assertEquals("e2e4", Move.versTexte(e2e4));
+
+        // Pion blanc en b7 face à une tour en a8 : 4 promotions en poussée et 4 en prise
+        BitboardPosition promotion = new BitboardPosition();
+        promotion.poser(BitboardPosition.indice(7, 4), BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.ROI));
+        promotion.poser(BitboardPosition.indice(2, 7), BitboardPosition.code(BitboardPosition.NOIR, BitboardPosition.ROI));
+        promotion.poser(BitboardPosition.indice(1, 1), BitboardPosition.code(BitboardPosition.BLANC, BitboardPosition.PION));
+        promotion.poser(BitboardPosition.indice(0, 0), BitboardPosition.code(BitboardPosition.NOIR, BitboardPosition.TOUR));
+        promotion.genererCoups(coups);
+        int promotions = 0;
+        for (int i = 0; i < coups.taille(); i++) {
+            if (Move.promotion(coups.get(i)) != Move.SANS_PROMOTION) promotions++;
+        }
+        assertEquals(8, promotions);
+    }
+
+    @Test
+    public void testHashIncrementalEtTranspositions() {
+        BitboardPosition a = new BitboardPosition();
+        a.chargerFen(Perft.REFERENCES[1].getFen());
+        long initial = a.getHash();
+        MoveList coups = new MoveList();
+        a.genererCoupsLegaux(coups);
+        for (int i = 0; i < coups.taille(); i++) {
+            a.makeMove(coups.get(i));
+            assertEquals("Clé incrémentale après " + Move.versTexte(coups.get(i)), a.calculerHash(), a.getHash());
+            a.unmakeMove();
+        }
+        assertEquals(initial, a.getHash());
+
+        // Deux ordres de coups menant à la même position donnent la même clé
+        BitboardPosition b = new BitboardPosition();
+        b.chargerFen(Perft.REFERENCES[0].getFen());
+        BitboardPosition c = new BitboardPosition(b);
+        int[][] ordre1 = {{7, 6, 5, 5}, {0, 6, 2, 5}, {7, 1, 5, 2}};
+        int[][] ordre2 = {{7, 1, 5, 2}, {0, 6, 2, 5}, {7, 6, 5, 5}};
+        for (int i = 0; i < 3; i++) {
+            b.makeMove(b.creerMove(BitboardPosition.indice(ordre1[i][0], ordre1[i][1]), BitboardPosition.indice(ordre1[i][2], ordre1[i][3])));
+            c.makeMove(c.creerMove(BitboardPosition.indice(ordre2[i][0], ordre2[i][1]), BitboardPosition.indice(ordre2[i][2], ordre2[i][3])));
+        }
+        assertEquals(b.getHash(), c.getHash());
+        assertNotEquals(initial, b.getHash());
+    }
+
+    @Test
+    public void testClouageEtEchecSansJouerLeCoup() {
+        BitboardPosition position = new BitboardPosition();
+        // Fou d2 cloué par le fou b4 sur le roi e1 ; la dame h4 donne échec le long de h4-e1
+        position.chargerFen("4k3/8/8/8/1b5q/8/3B4/4K3 w - - 0 1");
+        assertEquals("Le fou d2 est cloué", 1L << BitboardPosition.indice(6, 3), position.getCloues());
+        assertEquals("Seule la dame h4 donne échec",
+                1L << BitboardPosition.indice(4, 7), position.getEcheceurs());
+
+        // Le fou cloué peut prendre son cloueur mais pas s'interposer hors de la ligne
+        int d2 = BitboardPosition.indice(6, 3);
+        assertFalse("Le fou cloué ne pare pas en g5",
+                position.estLegal(position.creerMove(d2, BitboardPosition.indice(3, 6))));
+        assertFalse("Prendre b4 laisse l'échec de la dame",
+                position.estLegal(position.creerMove(d2, BitboardPosition.indice(4, 1))));
+        assertFalse("Le roi ne recule pas sur la diagonale de la dame",
+                position.estLegal(position.creerMove(BitboardPosition.indice(7, 4), BitboardPosition.indice(6, 5))));
+        assertTrue(position.estLegal(position.creerMove(BitboardPosition.indice(7, 4), BitboardPosition.indice(7, 3))));
+    }
+
+    @Test
+    public void testLegaliteIdentiqueAuCoupJoue() {
+        Random r = new Random(20);
+        MoveList coups = new MoveList();
+        BitboardPosition position = new BitboardPosition();
+        int verifies = 0;
+        for (int partie = 0; partie < 40; partie++) {
+            position.chargerFen("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+            for (int ply = 0; ply < 80; ply++) {
+                position.genererCoups(coups);
+                int nous = position.getTrait();
+                int legaux = 0;
+                for (int i = 0; i < coups.taille(); i++) {
+                    int m = coups.get(i);
+                    boolean attendu = !(Move.estRoque(m)
+                            && (position.estAttaquee(Move.depart(m), nous ^ 1)
+                            || position.estAttaquee((Move.depart(m) + Move.arrivee(m)) >>> 1, nous ^ 1)));
+                    position.makeMove(m);
+                    attendu &= !position.estEnEchec(nous);
+                    position.unmakeMove();
+                    assertEquals("Légalité de " + Move.versTexte(m), attendu, position.estLegal(m));
+                    if (attendu) coups.set(legaux++, m);
+                    verifies++;
+                }
+                if (legaux == 0) break;
+                position.makeMove(coups.get(r.nextInt(legaux)));
+            }
+        }
+        assertTrue(verifies > 10000);
+    }
+
+    @Test
+    public void testAllerRetourFen() {
+        BitboardPosition position = new BitboardPosition();
+        for (Perft.Reference ref : Perft.REFERENCES) {
+            position.chargerFen(ref.getFen());
+            BitboardPosition relue = new BitboardPosition();
+            relue.chargerFen(position.versFen());
+            assertEquals("Clé après relecture de " + ref.getFen(), position.getHash(), relue.getHash());
+            assertEquals(position.versFen(), relue.versFen());
+        }
+        position.chargerFen("4k3/8/8/8/8/8/8/4K3 w KQkq - 0 1");
+        assertEquals("Droits de roque sans tours ignorés", "4k3/8/8/8/8/8/8/4K3 w - - 0 1", position.versFen());
+        assertThrows(IllegalArgumentException.class, () -> position.chargerFen("8/8/8/8/8/8/8/8/8 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> position.chargerFen("4k3/8/8/8/8/8/8/4K3 x - - 0 1"));
+    }
+}
@@ -0,0 +1,72 @@
+package modele.plateau;
+
+import modele.jeu.Coup;
+import modele.jeu.JeuPuissance4;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la position bitboard du Puissance 4.
+ */
+public class BitboardPuissance4Test {
+
+    /** Recherche naïve d'un alignement de quatre, case par case. */
+    private static boolean aligneNaif(long pierres) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int x = 0; x < BitboardPuissance4.HAUTEUR; x++) {
+            for (int y = 0; y < BitboardPuissance4.LARGEUR; y++) {
+                for (int[] d : directions) {
+                    int k = 0;
+                    while (k < 4) {
+                        int xx = x + k * d[0], yy = y + k * d[1];
+                        if (xx < 0 || xx >= BitboardPuissance4.HAUTEUR || yy < 0 || yy >= BitboardPuissance4.LARGEUR) break;
+                        if ((pierres & (1L << BitboardPuissance4.indice(xx, yy))) == 0) break;
+                        k++;
+                    }
+                    if (k == 4) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testAlignementEnTempsConstant() {
+        Random aleatoire = new Random(42);
+        for (int partie = 0; partie < 500; partie++) {
+            BitboardPuissance4 p = new BitboardPuissance4();
+            while (p.getNombreCoups() < BitboardPuissance4.NOMBRE_CASES) {
+                int col = aleatoire.nextInt(BitboardPuissance4.LARGEUR);
+                if (!p.peutJouer(col)) continue;
+                boolean gagnant = p.estCoupGagnant(col);
+                p.jouer(col);
+                long dernier = p.getPierresAdversaire();
+                assertEquals(aligneNaif(dernier), BitboardPuissance4.aligne(dernier));
+                assertEquals("estCoupGagnant annonce l'alignement", gagnant, BitboardPuissance4.aligne(dernier));
+                if (gagnant) break;
+            }
+        }
+    }
+
+    @Test
+    public void testSynchronisationAvecLeJeu() {
+        Plateau plateau = new Plateau(6, 7);
+        JeuPuissance4 jeu = new JeuPuissance4(plateau, false);
+        // Diagonale montante des Blancs de (5,0) à (2,3)
+        for (int col : new int[]{0, 1, 1, 2, 2, 3, 2, 3, 3, 6, 3}) {
+            assertFalse(jeu.estTermine());
+            assertTrue(jeu.jouerPartie(new Coup(null, plateau.getCase(0, col))));
+        }
+        assertTrue(jeu.estTermine());
+        assertEquals(jeu.getJoueurBlanc(), jeu.getGagnant());
+        assertTrue(jeu.getWinningCells()[5][0] && jeu.getWinningCells()[4][1]
+                && jeu.getWinningCells()[3][2] && jeu.getWinningCells()[2][3]);
+
+        BitboardPuissance4 rechargee = new BitboardPuissance4();
+        rechargee.chargerDepuis(plateau);
+        assertEquals(jeu.getBitboard().cle(), rechargee.cle());
+    }
+}
@@ -0,0 +1,58 @@
+package modele.plateau;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du détecteur incrémental d'alignements.
+ */
+public class DetecteurAlignementTest {
+
+    @Test
+    public void testNombreDeLignes() {
+        assertEquals("Morpion 3x3", 8, new DetecteurAlignement(3, 3, 3).getNombreLignes());
+        assertEquals("Puissance 4", 69, new DetecteurAlignement(6, 7, 4).getNombreLignes());
+        assertEquals("Cube 3x3x3", 49, new DetecteurAlignement(3, 3, 3, 3).getNombreLignes());
+        assertEquals("Qubic 4x4x4", 76, new DetecteurAlignement(4, 4, 4, 4).getNombreLignes());
+    }
+
+    @Test
+    public void testAccordAvecLeBitboardPuissance4() {
+        Random r = new Random(13);
+        DetecteurAlignement detecteur = new DetecteurAlignement(BitboardPuissance4.HAUTEUR, BitboardPuissance4.LARGEUR, 4);
+        for (int partie = 0; partie < 500; partie++) {
+            BitboardPuissance4 bitboard = new BitboardPuissance4();
+            detecteur.vider();
+            int[] hauteurs = new int[BitboardPuissance4.LARGEUR];
+            while (bitboard.getNombreCoups() < BitboardPuissance4.NOMBRE_CASES) {
+                int col = r.nextInt(BitboardPuissance4.LARGEUR);
+                if (!bitboard.peutJouer(col)) continue;
+                int couleur = bitboard.getNombreCoups() & 1;
+                bitboard.jouer(col);
+                boolean gagne = detecteur.jouer(BitboardPuissance4.HAUTEUR - 1 - hauteurs[col]++, col, couleur);
+                assertEquals("Même verdict que le bitboard", BitboardPuissance4.aligne(bitboard.getPierresAdversaire()), gagne);
+                if (gagne) {
+                    assertEquals(couleur, detecteur.getCouleurGagnante());
+                    break;
+                }
+            }
+            assertEquals(bitboard.getNombreCoups() == BitboardPuissance4.NOMBRE_CASES, detecteur.estPlein());
+        }
+    }
+
+    @Test
+    public void testRetirerAnnuleLaVictoire() {
+        DetecteurAlignement detecteur = new DetecteurAlignement(3, 3, 3);
+        detecteur.jouer(0, 0, DetecteurAlignement.BLANC);
+        detecteur.jouer(1, 1, DetecteurAlignement.BLANC);
+        assertTrue(detecteur.jouer(2, 2, DetecteurAlignement.BLANC));
+        assertArrayEquals("Grande diagonale", new int[]{0, 4, 8}, detecteur.getLigneGagnante());
+        detecteur.retirer(2, 2, 0, DetecteurAlignement.BLANC);
+        assertFalse(detecteur.estGagne());
+        assertNull(detecteur.getLigneGagnante());
+        assertFalse("Une pierre noire ne complète pas la ligne blanche", detecteur.jouer(2, 2, DetecteurAlignement.NOIR));
+    }
+}
@@ -0,0 +1,108 @@
+package modele.plateau;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la grille des jeux m,n,k.
+ */
+public class GrilleMNKTest {
+
+    /** Menace recalculée naïvement : poser la pierre puis tester l'alignement. */
+    private static boolean menaceNaive(GrilleMNK grille, int x, int y, int couleur) {
+        if (grille.getCouleur(x, y) >= 0 || grille.estGagne()) return false;
+        boolean gagne = grille.jouer(x, y, couleur);
+        grille.retirer(x, y, couleur);
+        return gagne;
+    }
+
+    /** Alignement recalculé naïvement autour de la dernière pierre posée. */
+    private static boolean alignementNaif(int[][] couleurs, int x, int y, int k) {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int[] d : directions) {
+            int compte = 1;
+            for (int sens = -1; sens <= 1; sens += 2) {
+                int xx = x + sens * d[0], yy = y + sens * d[1];
+                while (xx >= 0 && xx < couleurs.length && yy >= 0 && yy < couleurs[0].length
+                        && couleurs[xx][yy] == couleurs[x][y]) {
+                    compte++;
+                    xx += sens * d[0];
+                    yy += sens * d[1];
+                }
+            }
+            if (compte >= k) return true;
+        }
+        return false;
+    }
+
+    @Test
+    public void testAccordAvecLeRecalculNaifEtMenaces() {
+        Random r = new Random(14);
+        int m = 15, n = 15, k = 5;
+        GrilleMNK grille = new GrilleMNK(m, n, k);
+        int[][] couleurs = new int[m][n];
+        for (int partie = 0; partie < 60; partie++) {
+            grille.vider();
+            for (int[] ligne : couleurs) Arrays.fill(ligne, -1);
+            for (int coup = 0; !grille.estPlein(); coup++) {
+                int x = r.nextInt(m), y = r.nextInt(n);
+                if (grille.getCouleur(x, y) >= 0) continue;
+                int couleur = coup & 1;
+                couleurs[x][y] = couleur;
+                boolean attendu = alignementNaif(couleurs, x, y, k);
+                assertEquals("Même verdict que le recalcul naïf", attendu, grille.jouer(x, y, couleur));
+                if (attendu) break;
+            }
+        }
+
+        // Menaces tenues à jour, comparées au recalcul naïf au fil d'une partie sans vainqueur
+        grille.vider();
+        for (int coup = 0; coup < 80; coup++) {
+            int x = r.nextInt(m), y = r.nextInt(n);
+            int couleur = coup & 1;
+            if (grille.getCouleur(x, y) >= 0 || grille.estMenace(x, y, couleur)) continue;
+            grille.jouer(x, y, couleur);
+            for (int c = 0; c < 2; c++) {
+                int compte = 0;
+                for (int xx = 0; xx < m; xx++) {
+                    for (int yy = 0; yy < n; yy++) {
+                        boolean naif = menaceNaive(grille, xx, yy, c);
+                        assertEquals("Menace en " + xx + "," + yy, naif, grille.estMenace(xx, yy, c));
+                        if (naif) compte++;
+                    }
+                }
+                assertEquals(compte, grille.getNombreMenaces(c));
+            }
+        }
+    }
+
+    @Test
+    public void testAlignementLongEtRetrait() {
+        GrilleMNK grille = new GrilleMNK(19, 19, 5);
+        for (int y = 3; y < 7; y++) grille.jouer(10, y, GrilleMNK.NOIR);
+        assertTrue(grille.estMenace(10, 2, GrilleMNK.NOIR));
+        assertTrue(grille.estMenace(10, 7, GrilleMNK.NOIR));
+        assertEquals(2, grille.getNombreMenaces(GrilleMNK.NOIR));
+        assertEquals(10 * 19 + 2, grille.premiereMenace(GrilleMNK.NOIR));
+
+        grille.jouer(10, 8, GrilleMNK.NOIR);
+        assertTrue("Six pierres : la case du milieu gagne", grille.jouer(10, 7, GrilleMNK.NOIR));
+        boolean[][] cases = new boolean[19][19];
+        grille.marquer(cases);
+        for (int y = 3; y <= 8; y++) assertTrue(cases[10][y]);
+        assertFalse(cases[10][2]);
+
+        grille.retirer(10, 7, GrilleMNK.NOIR);
+        assertFalse(grille.estGagne());
+        assertTrue(grille.estMenace(10, 7, GrilleMNK.NOIR));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLongueurTropGrande() {
+        new GrilleMNK(3, 3, 4);
+    }
+}
@@ -0,0 +1,42 @@
+package modele.plateau;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Suite de non-régression du générateur de coups d'échecs.
+ * Chaque position de référence est comptée jusqu'à une profondeur raisonnable pour un test
+ * unitaire (au plus quelques centaines de milliers de feuilles) ; le banc complet se lance
+ * avec {@code lanceur.BancPerft}.
+ */
+public class PerftTest {
+
+    private static final long NOEUDS_MAX = 300_000;
+
+    @Test
+    public void testPositionsDeReference() {
+        for (Perft.Reference ref : Perft.REFERENCES) {
+            BitboardPosition position = new BitboardPosition();
+            position.chargerFen(ref.getFen());
+            long occupation = position.getOccupation();
+            Perft perft = new Perft(position);
+            for (int p = 1; p <= ref.getProfondeurMax() && ref.getNoeuds(p) <= NOEUDS_MAX; p++) {
+                assertEquals(ref.getNom() + " perft(" + p + ")", ref.getNoeuds(p), perft.compter(p));
+            }
+            assertEquals("La position est restaurée après le calcul", occupation, position.getOccupation());
+        }
+    }
+
+    @Test
+    public void testDivideSommeAuPerft() {
+        BitboardPosition position = new BitboardPosition();
+        position.chargerFen(Perft.REFERENCES[1].getFen());
+        Map<String, Long> detail = new Perft(position).diviser(2);
+        assertEquals(48, detail.size());
+        assertEquals(Long.valueOf(43), detail.get("e1g1")); // petit roque blanc
+        assertEquals(2039L, detail.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
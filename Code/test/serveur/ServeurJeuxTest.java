@@ -0,0 +1,120 @@
+package serveur;
+
+import modele.archive.EcrivainArchive;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du serveur de parties sans interface.
+ */
+public class ServeurJeuxTest {
+
+    @Test
+    public void testPartieDePuissance4JusquALaVictoire() {
+        try (ServeurJeux serveur = new ServeurJeux(2, 60_000)) {
+            String id = serveur.creer(TypeJeu.PUISSANCE4);
+            // Blanc en colonne 0, Noir en colonne 1 : quatre pions blancs empilés
+            for (int i = 0; i < 3; i++) {
+                assertTrue(serveur.jouer(id, "0").join());
+                assertTrue(serveur.jouer(id, "1").join());
+            }
+            assertTrue(serveur.jouer(id, "0").join());
+
+            String etat = serveur.etat(id).join();
+            assertTrue("La partie est finie : " + etat, etat.contains("termine=true gagnant=BLANC"));
+            assertTrue("Le plateau est décrit ligne par ligne", etat.endsWith("/XO...../XO...../XO....."));
+            CompletionException e = assertThrows(CompletionException.class, () -> serveur.jouer(id, "2").join());
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals(7, serveur.getStatistiques().getCoupsJoues());
+        }
+    }
+
+    @Test
+    public void testNombreuxSessionsIndependantes() {
+        try (ServeurJeux serveur = new ServeurJeux(2, 60_000)) {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 500; i++) ids.add(serveur.creer(i % 2 == 0 ? TypeJeu.ECHECS : TypeJeu.TICTACTOE));
+            List<CompletableFuture<Boolean>> coups = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) coups.add(serveur.jouer(ids.get(i), i % 2 == 0 ? "e2e4" : "1 1"));
+            for (CompletableFuture<Boolean> coup : coups) assertTrue(coup.join());
+
+            assertTrue(serveur.etat(ids.get(0)).join().contains("trait=NOIR"));
+            assertTrue(serveur.etat(ids.get(0)).join().contains("/....P.../"));
+            assertTrue(serveur.etat(ids.get(1)).join().endsWith("plateau=.../.X./..."));
+            StatistiquesServeur stats = serveur.getStatistiques();
+            assertEquals(500, stats.getSessions());
+            assertTrue(stats.getLatenceP99Us() >= stats.getLatenceP50Us());
+        }
+    }
+
+    @Test
+    public void testExpirationEtProtocole() throws Exception {
+        try (ServeurJeux serveur = new ServeurJeux(1, 500)) {
+            ServeurSocket protocole = new ServeurSocket(serveur, 0);
+            String reponse = protocole.traiter("CREATE tictactoe3d");
+            assertTrue(reponse, reponse.startsWith("OK "));
+            String id = reponse.substring(3);
+            assertEquals("OK", protocole.traiter("MOVE " + id + " 1 1 1"));
+            assertEquals("REFUSE", protocole.traiter("MOVE " + id + " 1 1 1"));
+            assertTrue(protocole.traiter("MOVE " + id + " 9 9 9").startsWith("ERR "));
+            assertTrue(protocole.traiter("STATE " + id).contains("trait=NOIR"));
+            assertTrue(protocole.traiter("STATS").startsWith("OK sessions=1"));
+            protocole.close();
+
+            // Sans activité, la session est fermée par le nettoyage périodique
+            long limite = System.currentTimeMillis() + 5_000;
+            while (serveur.getNombreSessions() > 0 && System.currentTimeMillis() < limite) Thread.sleep(20);
+            assertEquals("La session inactive est expirée", 0, serveur.getNombreSessions());
+            assertEquals(1, serveur.getStatistiques().getSessionsExpirees());
+        }
+    }
+
+    @Test
+    public void testFermetureTermineToutesLesOperations() throws Exception {
+        ServeurJeux serveur = new ServeurJeux(1, 60_000);
+        List<CompletableFuture<?>> operations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String id = serveur.creer(TypeJeu.ECHECS);
+            operations.add(serveur.jouer(id, "e2e4"));
+            operations.add(serveur.etat(id));
+        }
+        // Plus d'opérations qu'un lot : leur vidage se replanifie après l'arrêt des threads
+        String longue = serveur.creer(TypeJeu.TICTACTOE);
+        for (int i = 0; i < ServeurJeux.CAPACITE_BOITE; i++) operations.add(serveur.etat(longue));
+        serveur.close();
+        // Chaque opération est soit exécutée, soit refusée : aucune ne reste en suspens
+        CompletableFuture.allOf(operations.toArray(new CompletableFuture<?>[0]))
+                .handle((r, e) -> null).get(5, TimeUnit.SECONDS);
+        assertEquals(0, serveur.getNombreSessions());
+        assertThrows(IllegalStateException.class, () -> serveur.creer(TypeJeu.ECHECS));
+    }
+
+    @Test
+    public void testEchecDArchivageSansAnnulerLeCoup() throws Exception {
+        Path fichier = Files.createTempFile("test", ".parties");
+        try (ServeurJeux serveur = new ServeurJeux(1, 60_000)) {
+            EcrivainArchive archive = new EcrivainArchive(fichier);
+            archive.close();
+            serveur.setArchive(archive);
+            String id = serveur.creer(TypeJeu.PUISSANCE4);
+            for (int i = 0; i < 3; i++) {
+                assertTrue(serveur.jouer(id, "0").join());
+                assertTrue(serveur.jouer(id, "1").join());
+            }
+            assertTrue("Le coup gagnant est joué malgré l'archive fermée", serveur.jouer(id, "0").join());
+            assertTrue(serveur.etat(id).join().contains("termine=true"));
+            assertEquals(1, serveur.getStatistiques().getEchecsArchive());
+        } finally {
+            Files.deleteIfExists(fichier);
+        }
+    }
+}